@@ -0,0 +1,90 @@
+package com.crat.budget.config;
+
+import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.domain.PurchaseOrderItem;
+import com.crat.budget.domain.Supplier;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark of the serialization of a page of {@value #PAGE_SIZE} {@link PurchaseOrder}s, with their supplier and
+ * items, by an {@link ObjectMapper} configured like the one of the application: the modules of
+ * {@link JacksonConfiguration} and the Spring Boot defaults.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonConfigurationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+
+    private List<PurchaseOrder> page;
+
+    @Setup
+    public void setUp() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(), jacksonConfiguration.hibernate6Module())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .build();
+
+        Supplier supplier = new Supplier().id(1L).companyName("Fournitures du Centre").nifNumber("000123456789012");
+        page = new ArrayList<>();
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            PurchaseOrder purchaseOrder = new PurchaseOrder()
+                .id(i)
+                .nameOfTheMinistry("Ministère des Finances")
+                .orderNumber("BC-2024-" + i)
+                .orderDate(Instant.parse("2024-03-01T10:15:30Z"))
+                .totalAmountWithoutTax(new BigDecimal("12500.00"))
+                .taxRate(new BigDecimal("19.00"))
+                .totalTaxAmount(new BigDecimal("2375.00"))
+                .prepaidTaxAmount(BigDecimal.ZERO)
+                .totalAmountWithTax(new BigDecimal("14875.00"))
+                .authExpenditureNumber("AE-" + i)
+                .allocatedCredits(new BigDecimal("50000.00"))
+                .committedExpenditures(new BigDecimal("14875.00"))
+                .availableBalance(new BigDecimal("35125.00"))
+                .version(0)
+                .supplier(supplier);
+            for (long j = 1; j <= 3; j++) {
+                purchaseOrder.addPurchaseOrderItem(
+                    new PurchaseOrderItem()
+                        .id(i * 10 + j)
+                        .productName("Article " + j)
+                        .quantity(5)
+                        .unitPrice(new BigDecimal("833.33"))
+                        .totalAmount(new BigDecimal("4166.65"))
+                );
+            }
+            page.add(purchaseOrder);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,73 @@
+package com.crat.budget.config;
+
+import static com.crat.budget.security.SecurityUtils.AUTHORITIES_KEY;
+import static com.crat.budget.security.SecurityUtils.JWT_ALGORITHM;
+
+import com.crat.budget.management.SecurityMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Benchmark of the decoding and signature verification of a JWT by {@link SecurityJwtConfiguration#jwtDecoder}, which
+ * runs on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityJwtConfigurationBenchmark {
+
+    /**
+     * The secret of the test configuration.
+     */
+    public static final String BASE64_SECRET =
+        "ZDgxMDYyODM4YjE5Y2RjYWIwMTMyNGNjZDUyYjMwYzc3NGM4NmYzYjVjZDE4NjhmMDlkNmJmMTFlZWY2YzQ4MmM5MzYwYjA3ZjM0MjFmMmE3NWQ4ODUx" +
+        "M2NiZDgyYjVlZjQ1YTBmNThiM2NmNTNjNzAxZTZhMjE1YzQ5Yzk4MDY=";
+
+    private JwtDecoder jwtDecoder;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", BASE64_SECRET);
+        jwtDecoder = securityJwtConfiguration.jwtDecoder(new SecurityMetersService(new SimpleMeterRegistry()));
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuedAt(now)
+            .expiresAt(now.plus(Duration.ofDays(1)))
+            .subject("admin")
+            .claim(AUTHORITIES_KEY, "ROLE_ADMIN ROLE_USER")
+            .build();
+        token = securityJwtConfiguration
+            .jwtEncoder()
+            .encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims))
+            .getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return jwtDecoder.decode(token);
+    }
+}
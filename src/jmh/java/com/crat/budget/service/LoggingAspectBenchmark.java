@@ -0,0 +1,67 @@
+package com.crat.budget.service;
+
+import com.crat.budget.aop.logging.LoggingAspect;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.Advised;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Benchmark of the overhead of {@link LoggingAspect#logAround} on a call to a service, compared to a direct call.
+ * <p>
+ * It lives in the service package so that the pointcuts of the aspect match its {@link EchoService}. The level of the
+ * loggers is the one of the test configuration: the debug messages are not written, like in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingAspectBenchmark {
+
+    @Service
+    public static class EchoService {
+
+        public String echo(String value) {
+            return value;
+        }
+    }
+
+    private EchoService direct;
+
+    private EchoService advised;
+
+    @Setup
+    public void setUp() {
+        direct = new EchoService();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new EchoService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect(new StandardEnvironment()));
+        advised = proxyFactory.getProxy();
+        if (((Advised) advised).getAdvisors().length == 0) {
+            throw new IllegalStateException("The pointcuts of the logging aspect do not match " + EchoService.class);
+        }
+    }
+
+    @Benchmark
+    public String directCall() {
+        return direct.echo("value");
+    }
+
+    @Benchmark
+    public String advisedCall() {
+        return advised.echo("value");
+    }
+}
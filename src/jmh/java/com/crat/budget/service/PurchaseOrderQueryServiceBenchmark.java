@@ -0,0 +1,77 @@
+package com.crat.budget.service;
+
+import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.service.criteria.PurchaseOrderCriteria;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import tech.jhipster.service.filter.BigDecimalFilter;
+import tech.jhipster.service.filter.InstantFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Benchmark of the construction of the {@link Specification} of the {@link PurchaseOrder} list queries, which runs on
+ * every list request before any query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PurchaseOrderQueryServiceBenchmark {
+
+    private PurchaseOrderQueryService purchaseOrderQueryService;
+
+    private PurchaseOrderCriteria emptyCriteria;
+
+    private PurchaseOrderCriteria criteria;
+
+    @Setup
+    public void setUp() {
+        // The specification is built without the repository
+        purchaseOrderQueryService = new PurchaseOrderQueryService(null);
+        emptyCriteria = new PurchaseOrderCriteria();
+
+        criteria = new PurchaseOrderCriteria();
+        StringFilter orderNumber = new StringFilter();
+        orderNumber.setContains("2024-");
+        criteria.setOrderNumber(orderNumber);
+        InstantFilter orderDate = new InstantFilter();
+        orderDate.setGreaterThanOrEqual(Instant.parse("2024-01-01T00:00:00Z"));
+        orderDate.setLessThan(Instant.parse("2025-01-01T00:00:00Z"));
+        criteria.setOrderDate(orderDate);
+        BigDecimalFilter totalAmountWithTax = new BigDecimalFilter();
+        totalAmountWithTax.setGreaterThan(BigDecimal.valueOf(1000));
+        criteria.setTotalAmountWithTax(totalAmountWithTax);
+        LongFilter supplierId = new LongFilter();
+        supplierId.setIn(List.of(1L, 2L, 3L));
+        criteria.setSupplierId(supplierId);
+        LongFilter purchaseOrderItemId = new LongFilter();
+        purchaseOrderItemId.setSpecified(true);
+        criteria.setPurchaseOrderItemId(purchaseOrderItemId);
+    }
+
+    @Benchmark
+    public Specification<PurchaseOrder> createSpecificationWithoutFilter() {
+        return purchaseOrderQueryService.createSpecification(emptyCriteria);
+    }
+
+    @Benchmark
+    public Specification<PurchaseOrder> createSpecification() {
+        return purchaseOrderQueryService.createSpecification(criteria);
+    }
+}
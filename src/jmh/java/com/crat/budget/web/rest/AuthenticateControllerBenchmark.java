@@ -0,0 +1,57 @@
+package com.crat.budget.web.rest;
+
+import com.crat.budget.config.SecurityJwtConfiguration;
+import com.crat.budget.config.SecurityJwtConfigurationBenchmark;
+import com.crat.budget.security.AuthoritiesConstants;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Benchmark of the creation and signature of a JWT by {@link AuthenticateController#createToken}, once the user is
+ * authenticated: the password check is not included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticateControllerBenchmark {
+
+    private AuthenticateController authenticateController;
+
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() {
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", SecurityJwtConfigurationBenchmark.BASE64_SECRET);
+        authenticateController = new AuthenticateController(securityJwtConfiguration.jwtEncoder(), null);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSeconds", 86400L);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSecondsForRememberMe", 2592000L);
+        authentication = new UsernamePasswordAuthenticationToken(
+            "admin",
+            null,
+            List.of(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN), new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+        );
+    }
+
+    @Benchmark
+    public String createToken() {
+        return authenticateController.createToken(authentication, false);
+    }
+}
@@ -0,0 +1,62 @@
+package com.crat.budget.aop.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Aspect publishing the SQL statements executed by each Spring Data repository method, under the
+ * {@code repository.invocations.sql} meters tagged by repository and method.
+ */
+@Aspect
+public class RepositoryStatementsAspect {
+
+    public static final String METER_NAME = "repository.invocations.sql";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryStatementsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Advice counting the statements of a repository method.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the method.
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        StatementStatistics statistics = StatementStatistics.open();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            statistics.close();
+            statistics.publish(
+                meterRegistry,
+                METER_NAME,
+                Tags.of("repository", repositoryName(joinPoint.getThis()), "method", joinPoint.getSignature().getName())
+            );
+        }
+    }
+
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type ->
+            Arrays.stream(AopProxyUtils.proxiedUserInterfaces(proxy))
+                .filter(Repository.class::isAssignableFrom)
+                .findFirst()
+                .orElse(type)
+                .getSimpleName()
+        );
+    }
+}
@@ -0,0 +1,129 @@
+package com.crat.budget.aop.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SQL statements executed on the current thread while a scope is open, as counted by the
+ * {@link StatementStatisticsDataSource}.
+ * <p>
+ * Scopes nest: a statement counts in every scope open on the thread, so that the statements of a repository method
+ * also count in the HTTP request which called it. A scope must be closed on the thread which opened it, in the reverse
+ * order of opening, which {@code try}-with-resources ensures.
+ * <p>
+ * Scopes are not carried to other threads: the statements which a request hands over to another thread, such as the
+ * chunks of the monetary amount backfill on the task executor or the rows of a {@code StreamingResponseBody} export
+ * written after the controller returns, count in none of its scopes.
+ */
+public final class StatementStatistics implements AutoCloseable {
+
+    private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private final StatementStatistics parent;
+
+    private long statements;
+
+    private long rows;
+
+    private long nanos;
+
+    private StatementStatistics(StatementStatistics parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Open a scope on the current thread.
+     *
+     * @return the statistics of the scope, which closes it when closed.
+     */
+    public static StatementStatistics open() {
+        StatementStatistics statistics = new StatementStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Count an executed statement in the scopes open on the current thread.
+     *
+     * @param rows the rows updated by the statement, 0 for a query whose rows are counted as they are read.
+     * @param nanos the execution time of the statement.
+     */
+    static void recordStatement(long rows, long nanos) {
+        for (StatementStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.statements++;
+            statistics.rows += rows;
+            statistics.nanos += nanos;
+        }
+    }
+
+    /**
+     * Count rows read from a result set in the scopes open on the current thread.
+     *
+     * @param rows the read rows.
+     */
+    static void recordRows(long rows) {
+        for (StatementStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.rows += rows;
+        }
+    }
+
+    /**
+     * @return the number of executed statements, a batch counting as one statement.
+     */
+    public long getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return the number of rows read by the queries and updated by the other statements.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the execution time of the statements, in nanoseconds, without the reading of the rows.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Publish the statistics of this scope, once closed, as the {@code <name>.statements} and {@code <name>.rows}
+     * distribution summaries and the {@code <name>.time} timer.
+     *
+     * @param meterRegistry the registry of the meters.
+     * @param name the prefix of the meter names.
+     * @param tags the tags of the meters.
+     */
+    public void publish(MeterRegistry meterRegistry, String name, Tags tags) {
+        DistributionSummary.builder(name + ".statements")
+            .description("The SQL statements executed by a call.")
+            .baseUnit("statements")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(getStatements());
+        DistributionSummary.builder(name + ".rows")
+            .description("The rows read or updated by the SQL statements of a call.")
+            .baseUnit("rows")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(getRows());
+        Timer.builder(name + ".time")
+            .description("The execution time of the SQL statements of a call.")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        CURRENT.set(parent);
+        if (parent == null) {
+            CURRENT.remove();
+        }
+    }
+}
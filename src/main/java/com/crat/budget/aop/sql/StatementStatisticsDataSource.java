@@ -0,0 +1,210 @@
+package com.crat.budget.aop.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} counting the statements it executes, their rows and their time in the {@link StatementStatistics}
+ * scopes of the executing thread, and logging the statements slower than a threshold.
+ * <p>
+ * The connections, statements and result sets are wrapped in JDK proxies. A slow statement is logged with the shapes of
+ * its bind parameters, their types and the lengths of the strings and arrays, never with their values.
+ */
+public class StatementStatisticsDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StatementStatisticsDataSource.class);
+
+    private final long slowThresholdNanos;
+
+    /**
+     * @param target the counted data source.
+     * @param slowThreshold the execution time from which a statement is logged.
+     */
+    public StatementStatisticsDataSource(DataSource target, Duration slowThreshold) {
+        super(target);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(proxy, target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, (Connection) proxy, null));
+                case "prepareStatement" -> proxy(
+                    PreparedStatement.class,
+                    new StatementHandler((Statement) result, (Connection) proxy, (String) args[0])
+                );
+                case "prepareCall" -> proxy(
+                    CallableStatement.class,
+                    new StatementHandler((Statement) result, (Connection) proxy, (String) args[0])
+                );
+                default -> result;
+            };
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet target, Statement statement) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            if ("getStatement".equals(method.getName())) {
+                return statement;
+            }
+            Object result = invoke(proxy, target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                StatementStatistics.recordRows(1);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Invoke a method on the target of a proxy, but the identity methods which are answered for the proxy itself.
+     */
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                if (args != null && args.length == 1) {
+                    return proxy == args[0];
+                }
+                break;
+            case "hashCode":
+                if (args == null) {
+                    return System.identityHashCode(proxy);
+                }
+                break;
+            default:
+                break;
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementStatisticsDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Number number) {
+            return Math.max(number.longValue(), 0);
+        }
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+
+    private static String shape(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        if (value instanceof byte[] bytes) {
+            return "byte[" + bytes.length + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+
+        private final Connection connection;
+
+        private final String sql;
+
+        /**
+         * The bind parameters of a prepared statement, by index from 1, for the log of a slow statement.
+         */
+        private final List<Object> parameters = new ArrayList<>();
+
+        private StatementHandler(Statement target, Connection connection, String sql) {
+            this.target = target;
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                Object result = StatementStatisticsDataSource.invoke(proxy, target, method, args);
+                long nanos = System.nanoTime() - start;
+                long rows = updatedRows(result);
+                StatementStatistics.recordStatement(rows, nanos);
+                if (nanos >= slowThresholdNanos) {
+                    LOG.warn(
+                        "Slow statement of {} ms ({} updated rows): {} with parameters {}",
+                        TimeUnit.NANOSECONDS.toMillis(nanos),
+                        rows,
+                        args != null && args.length > 0 && args[0] instanceof String executed ? executed : sql,
+                        parameters.stream().map(StatementStatisticsDataSource::shape).toList()
+                    );
+                }
+                return result instanceof ResultSet resultSet ? resultSet(resultSet, (Statement) proxy) : result;
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                // setNull(index, sqlType) binds no value
+                parameter(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            } else if ("getConnection".equals(name)) {
+                return connection;
+            }
+            Object result = StatementStatisticsDataSource.invoke(proxy, target, method, args);
+            return "getResultSet".equals(name) && result instanceof ResultSet resultSet ? resultSet(resultSet, (Statement) proxy) : result;
+        }
+
+        private void parameter(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * SQL statement statistics.
+ */
+package com.crat.budget.aop.sql;
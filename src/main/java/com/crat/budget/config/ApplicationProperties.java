@@ -1,5 +1,8 @@
 package com.crat.budget.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +16,42 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final IndexAdvisor indexAdvisor = new IndexAdvisor();
+
+    private final ReadReplicas readReplicas = new ReadReplicas();
+
+    private final Dataset dataset = new Dataset();
+
+    private final StatementStatistics statementStatistics = new StatementStatistics();
+
+    private final EntityChanges entityChanges = new EntityChanges();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public IndexAdvisor getIndexAdvisor() {
+        return indexAdvisor;
+    }
+
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    public StatementStatistics getStatementStatistics() {
+        return statementStatistics;
+    }
+
+    public EntityChanges getEntityChanges() {
+        return entityChanges;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +66,329 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class IndexAdvisor {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class ReadReplicas {
+
+        /**
+         * The default lag query, for PostgreSQL: the age of the last replayed transaction, unless the replica has replayed
+         * all it received, and 0 on a server which is not a standby.
+         */
+        public static final String POSTGRESQL_LAG_QUERY =
+            "select coalesce(case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0" +
+            " else extract(epoch from now() - pg_last_xact_replay_timestamp()) end, 0)";
+
+        private boolean enabled = false;
+
+        private final List<Replica> replicas = new ArrayList<>();
+
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+        private Duration stickiness = Duration.ofSeconds(5);
+
+        private String lagQuery = POSTGRESQL_LAG_QUERY;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getLagCheckInterval() {
+            return lagCheckInterval;
+        }
+
+        public void setLagCheckInterval(Duration lagCheckInterval) {
+            this.lagCheckInterval = lagCheckInterval;
+        }
+
+        public Duration getStickiness() {
+            return stickiness;
+        }
+
+        public void setStickiness(Duration stickiness) {
+            this.stickiness = stickiness;
+        }
+
+        public String getLagQuery() {
+            return lagQuery;
+        }
+
+        public void setLagQuery(String lagQuery) {
+            this.lagQuery = lagQuery;
+        }
+
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            private Integer maximumPoolSize;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Integer getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(Integer maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+        }
+    }
+
+    public static class Dataset {
+
+        /**
+         * The seed of the generated values: the same seed and scale generate the same dataset.
+         */
+        private long seed = 42L;
+
+        private int financialYears = 20;
+
+        private int subTitles = 50;
+
+        private int chapters = 1_000;
+
+        private int articles = 50_000;
+
+        private int suppliers = 10_000;
+
+        private int engagements = 500_000;
+
+        private int purchaseOrders = 500_000;
+
+        private int purchaseOrderItems = 5_000_000;
+
+        private int decisions = 200_000;
+
+        private int decisionItems = 1_000_000;
+
+        private int mandates = 200_000;
+
+        /**
+         * The number of rows written by one transaction.
+         */
+        private int chunkSize = 10_000;
+
+        /**
+         * The number of chunks written in parallel, at most the size of the connection pool.
+         */
+        private int threads = 4;
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+
+        public int getFinancialYears() {
+            return financialYears;
+        }
+
+        public void setFinancialYears(int financialYears) {
+            this.financialYears = financialYears;
+        }
+
+        public int getSubTitles() {
+            return subTitles;
+        }
+
+        public void setSubTitles(int subTitles) {
+            this.subTitles = subTitles;
+        }
+
+        public int getChapters() {
+            return chapters;
+        }
+
+        public void setChapters(int chapters) {
+            this.chapters = chapters;
+        }
+
+        public int getArticles() {
+            return articles;
+        }
+
+        public void setArticles(int articles) {
+            this.articles = articles;
+        }
+
+        public int getSuppliers() {
+            return suppliers;
+        }
+
+        public void setSuppliers(int suppliers) {
+            this.suppliers = suppliers;
+        }
+
+        public int getEngagements() {
+            return engagements;
+        }
+
+        public void setEngagements(int engagements) {
+            this.engagements = engagements;
+        }
+
+        public int getPurchaseOrders() {
+            return purchaseOrders;
+        }
+
+        public void setPurchaseOrders(int purchaseOrders) {
+            this.purchaseOrders = purchaseOrders;
+        }
+
+        public int getPurchaseOrderItems() {
+            return purchaseOrderItems;
+        }
+
+        public void setPurchaseOrderItems(int purchaseOrderItems) {
+            this.purchaseOrderItems = purchaseOrderItems;
+        }
+
+        public int getDecisions() {
+            return decisions;
+        }
+
+        public void setDecisions(int decisions) {
+            this.decisions = decisions;
+        }
+
+        public int getDecisionItems() {
+            return decisionItems;
+        }
+
+        public void setDecisionItems(int decisionItems) {
+            this.decisionItems = decisionItems;
+        }
+
+        public int getMandates() {
+            return mandates;
+        }
+
+        public void setMandates(int mandates) {
+            this.mandates = mandates;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+    }
+
+    public static class StatementStatistics {
+
+        private boolean enabled = false;
+
+        private Duration slowThreshold = Duration.ofSeconds(1);
+
+        private boolean queryCountHeader = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+
+        public boolean isQueryCountHeader() {
+            return queryCountHeader;
+        }
+
+        public void setQueryCountHeader(boolean queryCountHeader) {
+            this.queryCountHeader = queryCountHeader;
+        }
+    }
+
+    public static class EntityChanges {
+
+        /**
+         * How often the change counters shared through the database are read, to see the changes of the other instances.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -77,6 +77,7 @@ public class CacheConfiguration {
             createCache(cm, com.crat.budget.domain.Engagement.class.getName());
             createCache(cm, com.crat.budget.domain.Engagement.class.getName() + ".purchaseOrders");
             createCache(cm, com.crat.budget.domain.Mandate.class.getName());
+            createCache(cm, com.crat.budget.service.QueryResultCache.CACHE_NAME);
             // jhipster-needle-ehcache-add-entry
         };
     }
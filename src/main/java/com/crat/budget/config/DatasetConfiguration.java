@@ -0,0 +1,27 @@
+package com.crat.budget.config;
+
+import com.crat.budget.service.DatasetGeneratorService;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Generation of a synthetic dataset when the application starts with the {@value #SPRING_PROFILE_DATASET} profile, at
+ * the scale given by the {@code application.dataset} properties. The application keeps running once the dataset is
+ * written, and generates another one each time it starts with the profile.
+ */
+@Configuration
+@Profile(DatasetConfiguration.SPRING_PROFILE_DATASET)
+public class DatasetConfiguration {
+
+    public static final String SPRING_PROFILE_DATASET = "dataset";
+
+    @Bean
+    public ApplicationRunner datasetGenerator(
+        DatasetGeneratorService datasetGeneratorService,
+        ApplicationProperties applicationProperties
+    ) {
+        return args -> datasetGeneratorService.generate(applicationProperties.getDataset());
+    }
+}
@@ -0,0 +1,91 @@
+package com.crat.budget.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Routing of the read-only transactions to the replicas of the database, enabled by
+ * {@code application.read-replicas.enabled}.
+ * <p>
+ * The primary pool is configured by the usual {@code spring.datasource} properties, and each replica pool copies its
+ * settings but the url and the optional credentials and size given under {@code application.read-replicas.replicas}.
+ * Every pool publishes its Hikari metrics under its own pool name, {@code <pool>-replica-<n>} for the replicas.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaConfiguration.class);
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties,
+        Environment environment,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.ReadReplicas properties = applicationProperties.getReadReplicas();
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("Hikari");
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ApplicationProperties.ReadReplicas.Replica> replicaProperties = properties.getReplicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            ApplicationProperties.ReadReplicas.Replica replicaProperty = replicaProperties.get(i);
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setPoolName(primary.getPoolName() + "-replica-" + (i + 1));
+            replica.setJdbcUrl(replicaProperty.getUrl());
+            if (replicaProperty.getUsername() != null) {
+                replica.setUsername(replicaProperty.getUsername());
+                replica.setPassword(replicaProperty.getPassword());
+            }
+            if (replicaProperty.getMaximumPoolSize() != null) {
+                replica.setMaximumPoolSize(replicaProperty.getMaximumPoolSize());
+            }
+            replica.setReadOnly(true);
+            replicas.put("replica-" + (i + 1), replica);
+        }
+        LOG.info("Routing the read-only transactions to {} replicas", replicas.size());
+
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(
+            primary,
+            replicas,
+            properties.getMaxLag(),
+            properties.getStickiness(),
+            properties.getLagQuery(),
+            meterRegistry,
+            Clock.systemUTC()
+        );
+        routingDataSource.startLagChecks(properties.getLagCheckInterval());
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        // The default auto-commit and isolation of the connections are read from the primary, outside of any transaction
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+}
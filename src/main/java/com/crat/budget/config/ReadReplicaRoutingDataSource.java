@@ -0,0 +1,236 @@
+package com.crat.budget.config;
+
+import com.crat.budget.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link DataSource} sending the connections of the read-only transactions to the replicas of the database, and all the
+ * others to the primary.
+ * <p>
+ * The route is chosen when the connection is obtained, so this data source must be wrapped in a
+ * {@link LazyConnectionDataSourceProxy}: the transaction managers obtain their connection before they expose the
+ * read-only flag of the transaction, the proxy only obtains it at the first statement.
+ * <p>
+ * The replicas take turns, and are skipped while they lag behind the primary by more than the maximum lag or their
+ * lag cannot be checked, see {@link #checkReplicas()}; a read-only transaction goes to the primary when no replica is
+ * available. A user whose read-write transaction committed recently also reads from the primary, for the stickiness
+ * window, so that they see their own writes whatever the lag of the replicas.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    public static final String METER_NAME = "datasource.routing.connections";
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final Duration maxLag;
+
+    private final Duration stickiness;
+
+    private final String lagQuery;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Clock clock;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Map<String, Instant> lastWrites = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService lagChecks;
+
+    /**
+     * @param primary the data source of the primary.
+     * @param replicas the data sources of the replicas, by route name.
+     * @param maxLag the maximum lag of a replica which is used.
+     * @param stickiness how long a user reads from the primary after a read-write transaction.
+     * @param lagQuery the query returning the lag of a replica, in seconds.
+     * @param meterRegistry the registry of the route and lag meters.
+     * @param clock the clock of the stickiness window.
+     */
+    public ReadReplicaRoutingDataSource(
+        DataSource primary,
+        Map<String, DataSource> replicas,
+        Duration maxLag,
+        Duration stickiness,
+        String lagQuery,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.stickiness = stickiness;
+        this.lagQuery = lagQuery;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            targetDataSources.put(name, dataSource);
+            Gauge.builder("datasource.replica.lag", replica, current -> current.lagSeconds)
+                .description("The lag of the replica behind the primary at the last check, in seconds.")
+                .baseUnit("seconds")
+                .tag("route", name)
+                .register(meterRegistry);
+        });
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Check the lag of the replicas every interval, starting now, on a thread of its own until this data source is closed.
+     *
+     * @param interval the interval between two checks.
+     */
+    public void startLagChecks(Duration interval) {
+        lagChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagChecks.scheduleWithFixedDelay(this::checkReplicas, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Check the lag of each replica, which is used until the next check if it is within the maximum lag.
+     * A replica which cannot be reached or checked is not used.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean available;
+            try (
+                Connection connection = replica.dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(lagQuery)
+            ) {
+                replica.lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                available = replica.lagSeconds * 1000 <= maxLag.toMillis();
+            } catch (SQLException | RuntimeException e) {
+                LOG.debug("Could not check the lag of the replica {}", replica.name, e);
+                replica.lagSeconds = Double.NaN;
+                available = false;
+            }
+            if (available && !replica.available) {
+                LOG.info("The replica {} is available (lag: {}s)", replica.name, replica.lagSeconds);
+            } else if (!available && replica.available) {
+                LOG.warn("The replica {} is unavailable (lag: {}s)", replica.name, replica.lagSeconds);
+            }
+            replica.available = available;
+        }
+        Instant expired = clock.instant().minus(stickiness);
+        lastWrites.values().removeIf(lastWrite -> lastWrite.isBefore(expired));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return route(PRIMARY, "read-write");
+        }
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        if (login.isPresent()) {
+            Instant lastWrite = lastWrites.get(login.get());
+            if (lastWrite != null && clock.instant().isBefore(lastWrite.plus(stickiness))) {
+                return route(PRIMARY, "sticky");
+            }
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                return route(replica.name, "read-only");
+            }
+        }
+        return route(PRIMARY, "no-replica");
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (lagChecks != null) {
+            lagChecks.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void recordWriteOnCommit() {
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        if (login.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lastWrites.put(login.get(), clock.instant());
+                }
+            }
+        );
+    }
+
+    private String route(String name, String reason) {
+        Counter.builder(METER_NAME)
+            .description("Connections obtained through the read replica routing, by route and reason.")
+            .tag("route", name)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+        return name;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile boolean available;
+
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.crat.budget.config;
+
+import com.crat.budget.aop.sql.RepositoryStatementsAspect;
+import com.crat.budget.aop.sql.StatementStatisticsDataSource;
+import com.crat.budget.web.filter.StatementStatisticsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.Ordered;
+
+/**
+ * Statistics of the SQL statements per HTTP request and per repository method, enabled by
+ * {@code application.statement-statistics.enabled: true}, as in the dev and test profiles.
+ * <p>
+ * The {@code dataSource} bean is wrapped in a {@link StatementStatisticsDataSource}, which also logs the statements
+ * slower than {@code application.statement-statistics.slow-threshold}. Its proxies cost a reflective call on every JDBC
+ * call, {@code ResultSet.next()} included, so it is off by default and only meant to be enabled in production for a
+ * diagnosis. The {@code X-Query-Count} header is returned when {@code application.statement-statistics.query-count-header}
+ * is set, as in the dev and test profiles.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.statement-statistics", name = "enabled", havingValue = "true")
+public class StatementStatisticsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StatementStatisticsConfiguration.class);
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor statementStatisticsDataSourcePostProcessor(
+        ObjectProvider<ApplicationProperties> applicationProperties
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (
+                    !DATA_SOURCE_BEAN_NAME.equals(beanName) || !(bean instanceof DataSource dataSource) ||
+                    bean instanceof StatementStatisticsDataSource
+                ) {
+                    return bean;
+                }
+                LOG.debug("Counting the statements of the data source {}", beanName);
+                return new StatementStatisticsDataSource(
+                    dataSource,
+                    applicationProperties.getObject().getStatementStatistics().getSlowThreshold()
+                );
+            }
+        };
+    }
+
+    @Bean
+    public RepositoryStatementsAspect repositoryStatementsAspect(MeterRegistry meterRegistry) {
+        return new RepositoryStatementsAspect(meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementStatisticsFilter> statementStatisticsFilter(
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        FilterRegistrationBean<StatementStatisticsFilter> registration = new FilterRegistrationBean<>(
+            new StatementStatisticsFilter(meterRegistry, applicationProperties.getStatementStatistics().isQueryCountHeader())
+        );
+        // Around the security filters, which may load the user
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
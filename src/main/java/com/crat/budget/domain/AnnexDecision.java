@@ -1,12 +1,15 @@
 package com.crat.budget.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A AnnexDecision.
@@ -14,14 +17,15 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "annex_decision")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class AnnexDecision implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "annexDecisionSequenceGenerator")
+    @SequenceGenerator(name = "annexDecisionSequenceGenerator", sequenceName = "annex_decision_seq")
     @Column(name = "id")
     private Long id;
 
@@ -31,12 +35,28 @@ public class AnnexDecision implements Serializable {
     @Column(name = "expense_amount")
     private String expenseAmount;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "expense_amount_value", precision = 21, scale = 2)
+    private BigDecimal expenseAmountValue;
+
     @Column(name = "credits_already_open")
     private String creditsAlreadyOpen;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "credits_already_open_value", precision = 21, scale = 2)
+    private BigDecimal creditsAlreadyOpenValue;
+
     @Column(name = "credits_open")
     private String creditsOpen;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "credits_open_value", precision = 21, scale = 2)
+    private BigDecimal creditsOpenValue;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     @JsonIgnoreProperties(value = { "recipe", "expense", "annexDecision" }, allowSetters = true)
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(unique = true)
@@ -97,6 +117,19 @@ public class AnnexDecision implements Serializable {
         this.expenseAmount = expenseAmount;
     }
 
+    public BigDecimal getExpenseAmountValue() {
+        return this.expenseAmountValue;
+    }
+
+    public AnnexDecision expenseAmountValue(BigDecimal expenseAmountValue) {
+        this.setExpenseAmountValue(expenseAmountValue);
+        return this;
+    }
+
+    public void setExpenseAmountValue(BigDecimal expenseAmountValue) {
+        this.expenseAmountValue = expenseAmountValue;
+    }
+
     public String getCreditsAlreadyOpen() {
         return this.creditsAlreadyOpen;
     }
@@ -110,6 +143,19 @@ public class AnnexDecision implements Serializable {
         this.creditsAlreadyOpen = creditsAlreadyOpen;
     }
 
+    public BigDecimal getCreditsAlreadyOpenValue() {
+        return this.creditsAlreadyOpenValue;
+    }
+
+    public AnnexDecision creditsAlreadyOpenValue(BigDecimal creditsAlreadyOpenValue) {
+        this.setCreditsAlreadyOpenValue(creditsAlreadyOpenValue);
+        return this;
+    }
+
+    public void setCreditsAlreadyOpenValue(BigDecimal creditsAlreadyOpenValue) {
+        this.creditsAlreadyOpenValue = creditsAlreadyOpenValue;
+    }
+
     public String getCreditsOpen() {
         return this.creditsOpen;
     }
@@ -123,6 +169,19 @@ public class AnnexDecision implements Serializable {
         this.creditsOpen = creditsOpen;
     }
 
+    public BigDecimal getCreditsOpenValue() {
+        return this.creditsOpenValue;
+    }
+
+    public AnnexDecision creditsOpenValue(BigDecimal creditsOpenValue) {
+        this.setCreditsOpenValue(creditsOpenValue);
+        return this;
+    }
+
+    public void setCreditsOpenValue(BigDecimal creditsOpenValue) {
+        this.creditsOpenValue = creditsOpenValue;
+    }
+
     public FinancialYear getFinancialYear() {
         return this.financialYear;
     }
@@ -217,6 +276,19 @@ public class AnnexDecision implements Serializable {
         return this;
     }
 
+    public Integer getVersion() {
+        return this.version;
+    }
+
+    public AnnexDecision version(Integer version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -243,8 +315,12 @@ public class AnnexDecision implements Serializable {
             "id=" + getId() +
             ", designation='" + getDesignation() + "'" +
             ", expenseAmount='" + getExpenseAmount() + "'" +
+            ", expenseAmountValue=" + getExpenseAmountValue() +
             ", creditsAlreadyOpen='" + getCreditsAlreadyOpen() + "'" +
+            ", creditsAlreadyOpenValue=" + getCreditsAlreadyOpenValue() +
             ", creditsOpen='" + getCreditsOpen() + "'" +
+            ", creditsOpenValue=" + getCreditsOpenValue() +
+            ", version=" + getVersion() +
             "}";
     }
 }
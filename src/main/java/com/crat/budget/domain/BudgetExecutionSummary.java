@@ -0,0 +1,220 @@
+package com.crat.budget.domain;
+
+import com.crat.budget.domain.enumeration.FinancialCategoryEnum;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A row of the budget execution summary, maintained by {@code BudgetExecutionService} on the writes of recipes, expenses,
+ * annex decisions, purchase orders and articles.
+ * <p>
+ * The rows without chapter and article hold the totals of a financial year per category. The rows with an article hold
+ * the whole amounts linked to it, and the rows with a chapter but no article the amounts linked to its articles, each
+ * counted once per chapter. A row is unique per financial year, category, chapter and article.
+ */
+@Entity
+@Table(name = "budget_execution_summary")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class BudgetExecutionSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budgetExecutionSummarySequenceGenerator")
+    @SequenceGenerator(name = "budgetExecutionSummarySequenceGenerator", sequenceName = "budget_execution_summary_seq")
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "financial_year_id", nullable = false)
+    private Long financialYearId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category")
+    private FinancialCategoryEnum category;
+
+    @Column(name = "chapter_id")
+    private Long chapterId;
+
+    @Column(name = "article_id")
+    private Long articleId;
+
+    @Column(name = "recipe_forecast", precision = 21, scale = 2)
+    private BigDecimal recipeForecast;
+
+    @Column(name = "recipe_achievements", precision = 21, scale = 2)
+    private BigDecimal recipeAchievements;
+
+    @Column(name = "expense_forecast", precision = 21, scale = 2)
+    private BigDecimal expenseForecast;
+
+    @Column(name = "expense_achievements", precision = 21, scale = 2)
+    private BigDecimal expenseAchievements;
+
+    @Column(name = "committed_amount", precision = 21, scale = 2)
+    private BigDecimal committedAmount;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public BudgetExecutionSummary id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getFinancialYearId() {
+        return this.financialYearId;
+    }
+
+    public BudgetExecutionSummary financialYearId(Long financialYearId) {
+        this.setFinancialYearId(financialYearId);
+        return this;
+    }
+
+    public void setFinancialYearId(Long financialYearId) {
+        this.financialYearId = financialYearId;
+    }
+
+    public FinancialCategoryEnum getCategory() {
+        return this.category;
+    }
+
+    public BudgetExecutionSummary category(FinancialCategoryEnum category) {
+        this.setCategory(category);
+        return this;
+    }
+
+    public void setCategory(FinancialCategoryEnum category) {
+        this.category = category;
+    }
+
+    public Long getChapterId() {
+        return this.chapterId;
+    }
+
+    public BudgetExecutionSummary chapterId(Long chapterId) {
+        this.setChapterId(chapterId);
+        return this;
+    }
+
+    public void setChapterId(Long chapterId) {
+        this.chapterId = chapterId;
+    }
+
+    public Long getArticleId() {
+        return this.articleId;
+    }
+
+    public BudgetExecutionSummary articleId(Long articleId) {
+        this.setArticleId(articleId);
+        return this;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public BigDecimal getRecipeForecast() {
+        return this.recipeForecast;
+    }
+
+    public BudgetExecutionSummary recipeForecast(BigDecimal recipeForecast) {
+        this.setRecipeForecast(recipeForecast);
+        return this;
+    }
+
+    public void setRecipeForecast(BigDecimal recipeForecast) {
+        this.recipeForecast = recipeForecast;
+    }
+
+    public BigDecimal getRecipeAchievements() {
+        return this.recipeAchievements;
+    }
+
+    public BudgetExecutionSummary recipeAchievements(BigDecimal recipeAchievements) {
+        this.setRecipeAchievements(recipeAchievements);
+        return this;
+    }
+
+    public void setRecipeAchievements(BigDecimal recipeAchievements) {
+        this.recipeAchievements = recipeAchievements;
+    }
+
+    public BigDecimal getExpenseForecast() {
+        return this.expenseForecast;
+    }
+
+    public BudgetExecutionSummary expenseForecast(BigDecimal expenseForecast) {
+        this.setExpenseForecast(expenseForecast);
+        return this;
+    }
+
+    public void setExpenseForecast(BigDecimal expenseForecast) {
+        this.expenseForecast = expenseForecast;
+    }
+
+    public BigDecimal getExpenseAchievements() {
+        return this.expenseAchievements;
+    }
+
+    public BudgetExecutionSummary expenseAchievements(BigDecimal expenseAchievements) {
+        this.setExpenseAchievements(expenseAchievements);
+        return this;
+    }
+
+    public void setExpenseAchievements(BigDecimal expenseAchievements) {
+        this.expenseAchievements = expenseAchievements;
+    }
+
+    public BigDecimal getCommittedAmount() {
+        return this.committedAmount;
+    }
+
+    public BudgetExecutionSummary committedAmount(BigDecimal committedAmount) {
+        this.setCommittedAmount(committedAmount);
+        return this;
+    }
+
+    public void setCommittedAmount(BigDecimal committedAmount) {
+        this.committedAmount = committedAmount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BudgetExecutionSummary)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((BudgetExecutionSummary) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BudgetExecutionSummary{" +
+            "id=" + getId() +
+            ", financialYearId=" + getFinancialYearId() +
+            ", category='" + getCategory() + "'" +
+            ", chapterId=" + getChapterId() +
+            ", articleId=" + getArticleId() +
+            ", recipeForecast=" + getRecipeForecast() +
+            ", recipeAchievements=" + getRecipeAchievements() +
+            ", expenseForecast=" + getExpenseForecast() +
+            ", expenseAchievements=" + getExpenseAchievements() +
+            ", committedAmount=" + getCommittedAmount() +
+            "}";
+    }
+}
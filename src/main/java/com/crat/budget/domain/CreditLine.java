@@ -0,0 +1,97 @@
+package com.crat.budget.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * The credit line of an annex decision: the credits reserved on its open credits.
+ * <p>
+ * Only written by {@code CreditLedgerService}, with conditional {@code UPDATE} statements which never let the reserved
+ * credits exceed the open credits of the annex decision.
+ */
+@Entity
+@Table(name = "credit_line")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CreditLine implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "creditLineSequenceGenerator")
+    @SequenceGenerator(name = "creditLineSequenceGenerator", sequenceName = "credit_line_seq")
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "annex_decision_id", nullable = false)
+    private Long annexDecisionId;
+
+    @Column(name = "reserved", nullable = false, precision = 21, scale = 2)
+    private BigDecimal reserved;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public CreditLine id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAnnexDecisionId() {
+        return this.annexDecisionId;
+    }
+
+    public CreditLine annexDecisionId(Long annexDecisionId) {
+        this.setAnnexDecisionId(annexDecisionId);
+        return this;
+    }
+
+    public void setAnnexDecisionId(Long annexDecisionId) {
+        this.annexDecisionId = annexDecisionId;
+    }
+
+    public BigDecimal getReserved() {
+        return this.reserved;
+    }
+
+    public CreditLine reserved(BigDecimal reserved) {
+        this.setReserved(reserved);
+        return this;
+    }
+
+    public void setReserved(BigDecimal reserved) {
+        this.reserved = reserved;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CreditLine)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((CreditLine) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CreditLine{" +
+            "id=" + getId() +
+            ", annexDecisionId=" + getAnnexDecisionId() +
+            ", reserved=" + getReserved() +
+            "}";
+    }
+}
@@ -0,0 +1,165 @@
+package com.crat.budget.domain;
+
+import com.crat.budget.domain.enumeration.CreditReservationStatus;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A reservation of credits of an annex decision, optionally committed by a purchase order.
+ */
+@Entity
+@Table(name = "credit_reservation")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CreditReservation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "creditReservationSequenceGenerator")
+    @SequenceGenerator(name = "creditReservationSequenceGenerator", sequenceName = "credit_reservation_seq")
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "annex_decision_id", nullable = false)
+    private Long annexDecisionId;
+
+    @Column(name = "purchase_order_id")
+    private Long purchaseOrderId;
+
+    @Column(name = "amount", nullable = false, precision = 21, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private CreditReservationStatus status;
+
+    @Column(name = "reserved_date", nullable = false)
+    private Instant reservedDate;
+
+    @Column(name = "released_date")
+    private Instant releasedDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public CreditReservation id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAnnexDecisionId() {
+        return this.annexDecisionId;
+    }
+
+    public CreditReservation annexDecisionId(Long annexDecisionId) {
+        this.setAnnexDecisionId(annexDecisionId);
+        return this;
+    }
+
+    public void setAnnexDecisionId(Long annexDecisionId) {
+        this.annexDecisionId = annexDecisionId;
+    }
+
+    public Long getPurchaseOrderId() {
+        return this.purchaseOrderId;
+    }
+
+    public CreditReservation purchaseOrderId(Long purchaseOrderId) {
+        this.setPurchaseOrderId(purchaseOrderId);
+        return this;
+    }
+
+    public void setPurchaseOrderId(Long purchaseOrderId) {
+        this.purchaseOrderId = purchaseOrderId;
+    }
+
+    public BigDecimal getAmount() {
+        return this.amount;
+    }
+
+    public CreditReservation amount(BigDecimal amount) {
+        this.setAmount(amount);
+        return this;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public CreditReservationStatus getStatus() {
+        return this.status;
+    }
+
+    public CreditReservation status(CreditReservationStatus status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(CreditReservationStatus status) {
+        this.status = status;
+    }
+
+    public Instant getReservedDate() {
+        return this.reservedDate;
+    }
+
+    public CreditReservation reservedDate(Instant reservedDate) {
+        this.setReservedDate(reservedDate);
+        return this;
+    }
+
+    public void setReservedDate(Instant reservedDate) {
+        this.reservedDate = reservedDate;
+    }
+
+    public Instant getReleasedDate() {
+        return this.releasedDate;
+    }
+
+    public CreditReservation releasedDate(Instant releasedDate) {
+        this.setReleasedDate(releasedDate);
+        return this;
+    }
+
+    public void setReleasedDate(Instant releasedDate) {
+        this.releasedDate = releasedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CreditReservation)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((CreditReservation) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CreditReservation{" +
+            "id=" + getId() +
+            ", annexDecisionId=" + getAnnexDecisionId() +
+            ", purchaseOrderId=" + getPurchaseOrderId() +
+            ", amount=" + getAmount() +
+            ", status='" + getStatus() + "'" +
+            ", reservedDate='" + getReservedDate() + "'" +
+            ", releasedDate='" + getReleasedDate() + "'" +
+            "}";
+    }
+}
@@ -9,6 +9,7 @@ import java.util.HashSet;
 import java.util.Set;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A Decision.
@@ -16,14 +17,15 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "decision")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Decision implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "decisionSequenceGenerator")
+    @SequenceGenerator(name = "decisionSequenceGenerator", sequenceName = "decision_seq")
     @Column(name = "id")
     private Long id;
 
@@ -35,6 +37,10 @@ public class Decision implements Serializable {
     @Column(name = "decision_date", nullable = false)
     private Instant decisionDate;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     @JsonIgnoreProperties(value = { "decision", "mandate", "purchaseOrders" }, allowSetters = true)
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(unique = true)
@@ -147,6 +153,19 @@ public class Decision implements Serializable {
         return this;
     }
 
+    public Integer getVersion() {
+        return this.version;
+    }
+
+    public Decision version(Integer version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -173,6 +192,7 @@ public class Decision implements Serializable {
             "id=" + getId() +
             ", decisionNumber='" + getDecisionNumber() + "'" +
             ", decisionDate='" + getDecisionDate() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
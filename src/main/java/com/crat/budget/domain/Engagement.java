@@ -1,14 +1,17 @@
 package com.crat.budget.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A Engagement.
@@ -16,14 +19,15 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "engagement")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Engagement implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "engagementSequenceGenerator")
+    @SequenceGenerator(name = "engagementSequenceGenerator", sequenceName = "engagement_seq")
     @Column(name = "id")
     private Long id;
 
@@ -41,15 +45,31 @@ public class Engagement implements Serializable {
     @Column(name = "notified_credits")
     private String notifiedCredits;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "notified_credits_value", precision = 21, scale = 2)
+    private BigDecimal notifiedCreditsValue;
+
     @Column(name = "credit_committed")
     private String creditCommitted;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "credit_committed_value", precision = 21, scale = 2)
+    private BigDecimal creditCommittedValue;
+
     @Column(name = "credits_available")
     private String creditsAvailable;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "credits_available_value", precision = 21, scale = 2)
+    private BigDecimal creditsAvailableValue;
+
     @Column(name = "amount_proposed_commitment")
     private String amountProposedCommitment;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "amount_proposed_commitment_value", precision = 21, scale = 2)
+    private BigDecimal amountProposedCommitmentValue;
+
     @Column(name = "head_daf")
     private String headDaf;
 
@@ -59,6 +79,10 @@ public class Engagement implements Serializable {
     @Column(name = "general_manager")
     private String generalManager;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     @JsonIgnoreProperties(value = { "engagement", "annexDecision", "decisionItems" }, allowSetters = true)
     @OneToOne(fetch = FetchType.LAZY, mappedBy = "engagement")
     private Decision decision;
@@ -139,6 +163,19 @@ public class Engagement implements Serializable {
         this.notifiedCredits = notifiedCredits;
     }
 
+    public BigDecimal getNotifiedCreditsValue() {
+        return this.notifiedCreditsValue;
+    }
+
+    public Engagement notifiedCreditsValue(BigDecimal notifiedCreditsValue) {
+        this.setNotifiedCreditsValue(notifiedCreditsValue);
+        return this;
+    }
+
+    public void setNotifiedCreditsValue(BigDecimal notifiedCreditsValue) {
+        this.notifiedCreditsValue = notifiedCreditsValue;
+    }
+
     public String getCreditCommitted() {
         return this.creditCommitted;
     }
@@ -152,6 +189,19 @@ public class Engagement implements Serializable {
         this.creditCommitted = creditCommitted;
     }
 
+    public BigDecimal getCreditCommittedValue() {
+        return this.creditCommittedValue;
+    }
+
+    public Engagement creditCommittedValue(BigDecimal creditCommittedValue) {
+        this.setCreditCommittedValue(creditCommittedValue);
+        return this;
+    }
+
+    public void setCreditCommittedValue(BigDecimal creditCommittedValue) {
+        this.creditCommittedValue = creditCommittedValue;
+    }
+
     public String getCreditsAvailable() {
         return this.creditsAvailable;
     }
@@ -165,6 +215,19 @@ public class Engagement implements Serializable {
         this.creditsAvailable = creditsAvailable;
     }
 
+    public BigDecimal getCreditsAvailableValue() {
+        return this.creditsAvailableValue;
+    }
+
+    public Engagement creditsAvailableValue(BigDecimal creditsAvailableValue) {
+        this.setCreditsAvailableValue(creditsAvailableValue);
+        return this;
+    }
+
+    public void setCreditsAvailableValue(BigDecimal creditsAvailableValue) {
+        this.creditsAvailableValue = creditsAvailableValue;
+    }
+
     public String getAmountProposedCommitment() {
         return this.amountProposedCommitment;
     }
@@ -178,6 +241,19 @@ public class Engagement implements Serializable {
         this.amountProposedCommitment = amountProposedCommitment;
     }
 
+    public BigDecimal getAmountProposedCommitmentValue() {
+        return this.amountProposedCommitmentValue;
+    }
+
+    public Engagement amountProposedCommitmentValue(BigDecimal amountProposedCommitmentValue) {
+        this.setAmountProposedCommitmentValue(amountProposedCommitmentValue);
+        return this;
+    }
+
+    public void setAmountProposedCommitmentValue(BigDecimal amountProposedCommitmentValue) {
+        this.amountProposedCommitmentValue = amountProposedCommitmentValue;
+    }
+
     public String getHeadDaf() {
         return this.headDaf;
     }
@@ -286,6 +362,19 @@ public class Engagement implements Serializable {
         return this;
     }
 
+    public Integer getVersion() {
+        return this.version;
+    }
+
+    public Engagement version(Integer version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -314,12 +403,17 @@ public class Engagement implements Serializable {
             ", engagementDate='" + getEngagementDate() + "'" +
             ", objectOfExpense='" + getObjectOfExpense() + "'" +
             ", notifiedCredits='" + getNotifiedCredits() + "'" +
+            ", notifiedCreditsValue=" + getNotifiedCreditsValue() +
             ", creditCommitted='" + getCreditCommitted() + "'" +
+            ", creditCommittedValue=" + getCreditCommittedValue() +
             ", creditsAvailable='" + getCreditsAvailable() + "'" +
+            ", creditsAvailableValue=" + getCreditsAvailableValue() +
             ", amountProposedCommitment='" + getAmountProposedCommitment() + "'" +
+            ", amountProposedCommitmentValue=" + getAmountProposedCommitmentValue() +
             ", headDaf='" + getHeadDaf() + "'" +
             ", financialController='" + getFinancialController() + "'" +
             ", generalManager='" + getGeneralManager() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -10,6 +10,7 @@ import java.util.HashSet;
 import java.util.Set;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * A PurchaseOrder.
@@ -17,14 +18,15 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "purchase_order")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class PurchaseOrder implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchaseOrderSequenceGenerator")
+    @SequenceGenerator(name = "purchaseOrderSequenceGenerator", sequenceName = "purchase_order_seq")
     @Column(name = "id")
     private Long id;
 
@@ -67,6 +69,10 @@ public class PurchaseOrder implements Serializable {
     @Column(name = "available_balance", precision = 21, scale = 2)
     private BigDecimal availableBalance;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "financialYear", "expense", "purchaseOrders", "decisions" }, allowSetters = true)
     private AnnexDecision annexDecision;
@@ -325,6 +331,19 @@ public class PurchaseOrder implements Serializable {
         return this;
     }
 
+    public Integer getVersion() {
+        return this.version;
+    }
+
+    public PurchaseOrder version(Integer version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -361,6 +380,7 @@ public class PurchaseOrder implements Serializable {
             ", allocatedCredits=" + getAllocatedCredits() +
             ", committedExpenditures=" + getCommittedExpenditures() +
             ", availableBalance=" + getAvailableBalance() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,9 @@
+package com.crat.budget.domain.enumeration;
+
+/**
+ * The CreditReservationStatus enumeration.
+ */
+public enum CreditReservationStatus {
+    RESERVED,
+    RELEASED,
+}
@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AnnexDecisionRepository extends JpaRepository<AnnexDecision, Long>, JpaSpecificationExecutor<AnnexDecision> {}
+public interface AnnexDecisionRepository
+    extends JpaRepository<AnnexDecision, Long>, JpaSpecificationExecutor<AnnexDecision>, EntityUpdateRepository<AnnexDecision> {}
@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AppUserRepository extends JpaRepository<AppUser, Long>, JpaSpecificationExecutor<AppUser> {}
+public interface AppUserRepository
+    extends JpaRepository<AppUser, Long>, JpaSpecificationExecutor<AppUser>, EntityUpdateRepository<AppUser> {}
@@ -1,6 +1,7 @@
 package com.crat.budget.repository;
 
 import com.crat.budget.domain.Article;
+import com.crat.budget.domain.Article_;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -11,12 +12,29 @@ import org.springframework.stereotype.Repository;
 /**
  * Spring Data JPA repository for the Article entity.
  *
- * When extending this class, extend ArticleRepositoryWithBagRelationships too.
- * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
+ * The recipes and expenses of the articles are loaded by batches of articles, see {@link CollectionFetchRepository}.
  */
 @Repository
 public interface ArticleRepository
-    extends ArticleRepositoryWithBagRelationships, JpaRepository<Article, Long>, JpaSpecificationExecutor<Article> {
+    extends
+        JpaRepository<Article, Long>,
+        JpaSpecificationExecutor<Article>,
+        EntityUpdateRepository<Article>,
+        CollectionFetchRepository<Article> {
+    List<String> BAG_RELATIONSHIPS = List.of(Article_.RECIPES, Article_.EXPENSES);
+
+    default Optional<Article> fetchBagRelationships(Optional<Article> article) {
+        return this.fetchCollections(article, BAG_RELATIONSHIPS);
+    }
+
+    default List<Article> fetchBagRelationships(List<Article> articles) {
+        return this.fetchCollections(articles, BAG_RELATIONSHIPS);
+    }
+
+    default Page<Article> fetchBagRelationships(Page<Article> articles) {
+        return this.fetchCollections(articles, BAG_RELATIONSHIPS);
+    }
+
     default Optional<Article> findOneWithEagerRelationships(Long id) {
         return this.fetchBagRelationships(this.findById(id));
     }
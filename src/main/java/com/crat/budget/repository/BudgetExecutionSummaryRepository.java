@@ -0,0 +1,22 @@
+package com.crat.budget.repository;
+
+import com.crat.budget.domain.BudgetExecutionSummary;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the BudgetExecutionSummary entity.
+ */
+@Repository
+public interface BudgetExecutionSummaryRepository extends JpaRepository<BudgetExecutionSummary, Long> {
+    boolean existsByFinancialYearId(Long financialYearId);
+
+    List<BudgetExecutionSummary> findByFinancialYearId(Long financialYearId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from BudgetExecutionSummary summary where summary.financialYearId in :financialYearIds")
+    int deleteByFinancialYearIdIn(@Param("financialYearIds") Collection<Long> financialYearIds);
+}
@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ChapterRepository extends JpaRepository<Chapter, Long>, JpaSpecificationExecutor<Chapter> {}
+public interface ChapterRepository
+    extends JpaRepository<Chapter, Long>, JpaSpecificationExecutor<Chapter>, EntityUpdateRepository<Chapter> {}
@@ -0,0 +1,49 @@
+package com.crat.budget.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * Repository fragment which initializes collections of entities already loaded in the persistence context.
+ * <p>
+ * The collections are loaded in batches of {@code hibernate.default_batch_fetch_size} owners, with one query per
+ * collection and batch which only selects the collection rows: the owners are neither selected again nor reordered.
+ *
+ * @param <T> the type of the entity.
+ */
+public interface CollectionFetchRepository<T> {
+    /**
+     * Initialize some collections of the given entities, which must be managed by the current persistence context.
+     *
+     * @param entities the entities.
+     * @param collections the names of the collection attributes to initialize.
+     * @return the same entities, in the same order.
+     */
+    List<T> fetchCollections(List<T> entities, Collection<String> collections);
+
+    /**
+     * Initialize some collections of the given entity, as {@link #fetchCollections(List, Collection)} does.
+     *
+     * @param entity the entity, may be empty.
+     * @param collections the names of the collection attributes to initialize.
+     * @return the same entity.
+     */
+    default Optional<T> fetchCollections(Optional<T> entity, Collection<String> collections) {
+        entity.ifPresent(value -> fetchCollections(List.of(value), collections));
+        return entity;
+    }
+
+    /**
+     * Initialize some collections of the entities of a page, as {@link #fetchCollections(List, Collection)} does.
+     *
+     * @param entities the page of entities.
+     * @param collections the names of the collection attributes to initialize.
+     * @return the same page.
+     */
+    default Page<T> fetchCollections(Page<T> entities, Collection<String> collections) {
+        return new PageImpl<>(fetchCollections(entities.getContent(), collections), entities.getPageable(), entities.getTotalElements());
+    }
+}
@@ -0,0 +1,50 @@
+package com.crat.budget.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Implementation of {@link CollectionFetchRepository}, relying on the batch loading of the lazy collections.
+ *
+ * @param <T> the type of the entity.
+ */
+public class CollectionFetchRepositoryImpl<T> implements CollectionFetchRepository<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<T> fetchCollections(List<T> entities, Collection<String> collections) {
+        return initializeCollections(entityManager, entities, collections);
+    }
+
+    /**
+     * Initialize some collections of the given entities, as {@link #fetchCollections(List, Collection)} does, for the
+     * callers which are not repositories of the entity, such as the criteria query services.
+     *
+     * @param entityManager the entity manager, whose persistence context manages the entities.
+     * @param entities the entities.
+     * @param collections the names of the collection attributes to initialize.
+     * @param <T> the type of the entity.
+     * @return the same entities, in the same order.
+     */
+    public static <T> List<T> initializeCollections(EntityManager entityManager, List<T> entities, Collection<String> collections) {
+        if (entities.isEmpty() || collections.isEmpty()) {
+            return entities;
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getEntityPersister(null, entities.get(0));
+        for (String collection : collections) {
+            for (T entity : entities) {
+                // The first uninitialized collection loads those of the next owners of the batch along with it
+                Hibernate.initialize(persister.getPropertyValue(entity, collection));
+            }
+        }
+        return entities;
+    }
+}
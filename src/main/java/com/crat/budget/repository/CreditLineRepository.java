@@ -0,0 +1,49 @@
+package com.crat.budget.repository;
+
+import com.crat.budget.domain.CreditLine;
+import java.math.BigDecimal;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the CreditLine entity.
+ * <p>
+ * The reserved credits are only changed by single conditional statements, which lock the row of the credit line for the
+ * rest of the transaction and never the table.
+ */
+@Repository
+public interface CreditLineRepository extends JpaRepository<CreditLine, Long> {
+    Optional<CreditLine> findByAnnexDecisionId(Long annexDecisionId);
+
+    boolean existsByAnnexDecisionId(Long annexDecisionId);
+
+    /**
+     * Reserve credits if the open credits of the annex decision cover them, as a compare-and-set on the reserved credits.
+     *
+     * @param annexDecisionId the id of the annex decision.
+     * @param amount the credits to reserve.
+     * @return 1 if the credits were reserved, 0 if the credits are insufficient or the credit line does not exist.
+     */
+    @Modifying
+    @Query(
+        "update CreditLine line set line.reserved = line.reserved + :amount" +
+        " where line.annexDecisionId = :annexDecisionId and line.reserved + :amount <=" +
+        " (select coalesce(decision.creditsOpenValue, 0) from AnnexDecision decision where decision.id = :annexDecisionId)"
+    )
+    int reserve(@Param("annexDecisionId") Long annexDecisionId, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("update CreditLine line set line.reserved = line.reserved - :amount where line.annexDecisionId = :annexDecisionId")
+    int release(@Param("annexDecisionId") Long annexDecisionId, @Param("amount") BigDecimal amount);
+
+    @Query(
+        "select coalesce(decision.creditsOpenValue, 0) - line.reserved from CreditLine line, AnnexDecision decision" +
+        " where decision.id = line.annexDecisionId and line.annexDecisionId = :annexDecisionId"
+    )
+    BigDecimal getAvailable(@Param("annexDecisionId") Long annexDecisionId);
+
+    @Query("select coalesce(sum(po.committedExpenditures), 0) from PurchaseOrder po where po.annexDecision.id = :annexDecisionId")
+    BigDecimal sumCommittedExpenditures(@Param("annexDecisionId") Long annexDecisionId);
+}
@@ -0,0 +1,29 @@
+package com.crat.budget.repository;
+
+import com.crat.budget.domain.CreditReservation;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the CreditReservation entity.
+ */
+@Repository
+public interface CreditReservationRepository extends JpaRepository<CreditReservation, Long> {
+    /**
+     * Mark a reservation as released, unless it already is.
+     *
+     * @param id the id of the reservation.
+     * @param releasedDate the release date.
+     * @return 1 if the reservation was released by this call, 0 otherwise.
+     */
+    @Modifying
+    @Query(
+        "update CreditReservation reservation" +
+        " set reservation.status = com.crat.budget.domain.enumeration.CreditReservationStatus.RELEASED," +
+        " reservation.releasedDate = :releasedDate" +
+        " where reservation.id = :id and reservation.status = com.crat.budget.domain.enumeration.CreditReservationStatus.RESERVED"
+    )
+    int release(@Param("id") Long id, @Param("releasedDate") Instant releasedDate);
+}
@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface DecisionItemRepository extends JpaRepository<DecisionItem, Long>, JpaSpecificationExecutor<DecisionItem> {}
+public interface DecisionItemRepository
+    extends JpaRepository<DecisionItem, Long>, JpaSpecificationExecutor<DecisionItem>, EntityUpdateRepository<DecisionItem> {}
@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface DecisionRepository extends JpaRepository<Decision, Long>, JpaSpecificationExecutor<Decision> {}
+public interface DecisionRepository
+    extends JpaRepository<Decision, Long>, JpaSpecificationExecutor<Decision>, EntityUpdateRepository<Decision> {}
@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EngagementRepository extends JpaRepository<Engagement, Long>, JpaSpecificationExecutor<Engagement> {}
+public interface EngagementRepository
+    extends JpaRepository<Engagement, Long>, JpaSpecificationExecutor<Engagement>, EntityUpdateRepository<Engagement> {}
@@ -0,0 +1,350 @@
+package com.crat.budget.repository;
+
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.Chapter;
+import com.crat.budget.domain.FinancialYear;
+import com.crat.budget.domain.SubTitle;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Per-entity change counters, incremented after each committed transaction which wrote the entity.
+ * <p>
+ * The counters live in memory and are read without any query. They are fed by Hibernate events for the writes made
+ * through the persistence context, and by {@link #recordChange(Class)} for the bulk statements which bypass it. A change
+ * is only counted once its transaction committed, so a reader which reads a counter before running its query never tags
+ * committed data with a counter which predates it, and the writing transactions never wait on each other for them.
+ * <p>
+ * The counters of the reference entities ({@link #SHARED_ENTITIES}, whose links are collections of the articles) are
+ * also shared through the {@code entity_change} table: a commit which wrote one of them increments its row in a short
+ * transaction of its own, and every instance reads the table every {@code application.entity-changes.poll-interval}, see
+ * {@link #refresh()}. Their counters thus survive restarts and see the writes of the other instances, including the
+ * manual SQL fixes which increment the rows, within an interval. The counters of the other entities only see the writes
+ * of this instance, like the local caches, which is why their {@link #getVersionTag(Class[])} includes the start time.
+ * <p>
+ * The listeners registered by {@link #addChangeListener(Runnable, Class[])} are run once the counters of their entities
+ * changed, by the committing thread or by the thread reading the table.
+ */
+@Component
+public class EntityChangeTracker
+    implements
+        PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityChangeTracker.class);
+
+    /**
+     * The entities whose counters are shared through the database.
+     */
+    public static final Set<String> SHARED_ENTITIES = Set.of(
+        FinancialYear.class.getName(),
+        SubTitle.class.getName(),
+        Chapter.class.getName(),
+        Article.class.getName()
+    );
+
+    private static final String INCREMENT = "update entity_change set version = version + 1 where entity_name = ?";
+
+    private static final String INSERT = "insert into entity_change (entity_name, version) values (?, 1)";
+
+    private static final String SELECT = "select version from entity_change where entity_name = ?";
+
+    private static final String SELECT_ALL = "select entity_name, version from entity_change";
+
+    private final long epoch = System.currentTimeMillis();
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public EntityChangeTracker(
+        EntityManagerFactory entityManagerFactory,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        // Also run after the commit of another transaction, whose resources may still be bound
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    /**
+     * Get the number of committed changes of some entities.
+     *
+     * @param entityClasses the entity classes.
+     * @return the sum of their change counters, which increases whenever one of them changes.
+     */
+    public long getVersion(Class<?>... entityClasses) {
+        long version = 0;
+        for (Class<?> entityClass : entityClasses) {
+            AtomicLong counter = counters.get(entityClass.getName());
+            if (counter != null) {
+                version += counter.get();
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Get an opaque tag which changes whenever one of some entities changes, including across restarts. The tag of
+     * shared entities only is the same on all the instances.
+     *
+     * @param entityClasses the entity classes.
+     * @return the tag.
+     */
+    public String getVersionTag(Class<?>... entityClasses) {
+        String version = Long.toHexString(getVersion(entityClasses));
+        if (Arrays.stream(entityClasses).allMatch(entityClass -> SHARED_ENTITIES.contains(entityClass.getName()))) {
+            return version;
+        }
+        return Long.toHexString(epoch) + "-" + version;
+    }
+
+    /**
+     * Run a listener after each change of some entities has been counted.
+     *
+     * @param listener the listener, which must not throw.
+     * @param entityClasses the entity classes.
+     */
+    public void addChangeListener(Runnable listener, Class<?>... entityClasses) {
+        listeners.add(new ChangeListener(Arrays.stream(entityClasses).map(Class::getName).collect(Collectors.toUnmodifiableSet()), listener));
+    }
+
+    /**
+     * Record a change of an entity made without the persistence context, by a bulk statement. The change is counted
+     * once the current transaction commits, or at once when there is none.
+     *
+     * @param entityClass the changed entity class.
+     */
+    public void recordChange(Class<?> entityClass) {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        recordChange(entityManager != null ? entityManager.unwrap(SessionImplementor.class) : null, entityClass.getName());
+    }
+
+    /**
+     * Read the shared counters from the database, to see the changes committed by the other instances.
+     */
+    @Scheduled(fixedDelayString = "${application.entity-changes.poll-interval:PT1S}")
+    public void refresh() {
+        List<Map.Entry<String, Long>> rows;
+        try {
+            rows = jdbcTemplate.query(SELECT_ALL, (resultSet, rowNum) -> Map.entry(resultSet.getString(1), resultSet.getLong(2)));
+        } catch (DataAccessException e) {
+            LOG.debug("Could not read the shared change counters: {}", e.getMessage());
+            return;
+        }
+        Set<String> changedEntityNames = new TreeSet<>();
+        for (Map.Entry<String, Long> row : rows) {
+            if (SHARED_ENTITIES.contains(row.getKey()) && advance(row.getKey(), row.getValue())) {
+                changedEntityNames.add(row.getKey());
+            }
+        }
+        notifyListeners(changedEntityNames);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        recordChange(event.getSession(), event.getPersister().getEntityName());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        recordChange(event.getSession(), event.getPersister().getEntityName());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        recordChange(event.getSession(), event.getPersister().getEntityName());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        recordCollectionChange(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        recordCollectionChange(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        recordCollectionChange(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void recordCollectionChange(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerEntityName() != null) {
+            recordChange(event.getSession(), event.getAffectedOwnerEntityName());
+        }
+    }
+
+    private void recordChange(SessionImplementor session, String entityName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (session == null) {
+                increment(Set.of(entityName));
+            } else {
+                // A transaction of the session itself
+                session.getActionQueue().registerProcess(new AfterCommit(entityName));
+            }
+            return;
+        }
+        // Per session, as a transaction which suspends another one has its own
+        Object key = session != null ? new PendingKey(this, session) : this;
+        @SuppressWarnings("unchecked")
+        Set<String> changedEntityNames = (Set<String>) TransactionSynchronizationManager.getResource(key);
+        if (changedEntityNames == null) {
+            Set<String> entityNames = new TreeSet<>();
+            changedEntityNames = entityNames;
+            TransactionSynchronizationManager.bindResource(key, entityNames);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        increment(entityNames);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                    }
+                }
+            );
+        }
+        changedEntityNames.add(entityName);
+    }
+
+    /**
+     * Count the changes of a committed transaction, in memory and, for the shared entities, in the database.
+     */
+    private void increment(Collection<String> entityNames) {
+        for (String entityName : entityNames) {
+            if (!SHARED_ENTITIES.contains(entityName)) {
+                counter(entityName).incrementAndGet();
+                continue;
+            }
+            try {
+                // In the order of the entity names, each row locked for one statement only
+                Long version = transactionTemplate.execute(status -> {
+                    if (jdbcTemplate.update(INCREMENT, entityName) == 0) {
+                        jdbcTemplate.update(INSERT, entityName);
+                    }
+                    return jdbcTemplate.queryForObject(SELECT, Long.class, entityName);
+                });
+                advance(entityName, version != null ? version : 0);
+            } catch (DataAccessException e) {
+                // Still seen by this instance at once, and by the others once the row is incremented again
+                LOG.warn("Could not share the change of {}: {}", entityName, e.getMessage());
+                counter(entityName).incrementAndGet();
+            }
+        }
+        notifyListeners(entityNames);
+    }
+
+    private boolean advance(String entityName, long version) {
+        AtomicLong counter = counter(entityName);
+        return counter.getAndAccumulate(version, Math::max) < version;
+    }
+
+    private AtomicLong counter(String entityName) {
+        return counters.computeIfAbsent(entityName, name -> new AtomicLong());
+    }
+
+    private void notifyListeners(Collection<String> entityNames) {
+        for (ChangeListener listener : listeners) {
+            if (entityNames.stream().anyMatch(listener.entityNames()::contains)) {
+                listener.listener().run();
+            }
+        }
+    }
+
+    private record PendingKey(EntityChangeTracker tracker, SessionImplementor session) {}
+
+    private record ChangeListener(Set<String> entityNames, Runnable listener) {}
+
+    /**
+     * A change counted once the transaction of its session committed, when it is not managed by Spring.
+     */
+    private final class AfterCommit implements AfterTransactionCompletionProcess {
+
+        private final String entityName;
+
+        private AfterCommit(String entityName) {
+            this.entityName = entityName;
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            if (success) {
+                increment(Set.of(entityName));
+            }
+        }
+    }
+}
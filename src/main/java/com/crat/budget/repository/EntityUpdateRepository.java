@@ -0,0 +1,56 @@
+package com.crat.budget.repository;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository fragment which copies the attributes of a request on the managed entity, loaded from the second level
+ * cache when it holds it, and flushes them at once as a single {@code UPDATE} of the changed columns.
+ * <p>
+ * An update finds the entity, checks the version given by the request, copies and validates each written value, then
+ * flushes. Only the columns of the entity table are written: the single valued attributes, and the single valued
+ * associations which own their join column. Collections are left untouched. Only the cache entry of the updated entity
+ * is replaced, where a bulk {@code UPDATE} statement evicts the whole region of the entity and of its collections.
+ * <p>
+ * When the entity has a version attribute, a given version must be the current one, and the statement increments it
+ * and only matches the version which was read: otherwise an
+ * {@link org.springframework.orm.ObjectOptimisticLockingFailureException} is raised. An invalid value raises a
+ * {@link jakarta.validation.ConstraintViolationException} before anything is written.
+ *
+ * @param <T> the type of the entity.
+ */
+public interface EntityUpdateRepository<T> {
+    /**
+     * Update the non null basic attributes of an entity, as a {@code PATCH} does.
+     *
+     * @param changes the entity holding the identifier and the attributes to change.
+     * @return the updated entity, or empty if the entity does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the given version is not the current
+     * one, or if the row was updated meanwhile.
+     * @throws jakarta.validation.ConstraintViolationException if a written value is not valid.
+     */
+    Optional<T> updateNonNullAttributes(T changes);
+
+    /**
+     * Update the non null basic attributes of an entity, as a {@code PATCH} does, and clear some other attributes.
+     *
+     * @param changes the entity holding the identifier and the attributes to change.
+     * @param clearedAttributes the names of the attributes to set to {@code null}, whatever their value in the changes.
+     * @return the updated entity, or empty if the entity does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the given version is not the current
+     * one, or if the row was updated meanwhile.
+     * @throws jakarta.validation.ConstraintViolationException if a written value is not valid.
+     */
+    Optional<T> updateNonNullAttributes(T changes, Set<String> clearedAttributes);
+
+    /**
+     * Update all the attributes of an entity stored in its table, as a {@code PUT} does.
+     *
+     * @param entity the entity holding the identifier and the new state.
+     * @return the updated entity, or empty if the entity does not exist.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the given version is not the current
+     * one, or if the row was updated meanwhile.
+     * @throws jakarta.validation.ConstraintViolationException if a written value is not valid.
+     */
+    Optional<T> updateAllAttributes(T entity);
+}
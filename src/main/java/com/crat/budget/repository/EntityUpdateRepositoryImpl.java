@@ -0,0 +1,130 @@
+package com.crat.budget.repository;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.Attribute.PersistentAttributeType;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.hibernate.Hibernate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Implementation of {@link EntityUpdateRepository} over the persistence context, shared by all the repositories which
+ * extend it.
+ */
+public class EntityUpdateRepositoryImpl<T> implements EntityUpdateRepository<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Validator validator;
+
+    public EntityUpdateRepositoryImpl(Validator validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public Optional<T> updateNonNullAttributes(T changes) {
+        return update(changes, true, Set.of());
+    }
+
+    @Override
+    public Optional<T> updateNonNullAttributes(T changes, Set<String> clearedAttributes) {
+        return update(changes, true, clearedAttributes);
+    }
+
+    @Override
+    public Optional<T> updateAllAttributes(T entity) {
+        return update(entity, false, Set.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<T> update(T changes, boolean nonNullOnly, Set<String> clearedAttributes) {
+        Class<T> entityClass = (Class<T>) Hibernate.getClass(changes);
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        Object id = entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(changes);
+
+        // Usually read from the second level cache
+        T entity = entityManager.find(entityClass, id);
+        if (entity == null) {
+            return Optional.empty();
+        }
+        // The version is checked before any change is copied on the managed entity
+        for (SingularAttribute<? super T, ?> attribute : entityType.getSingularAttributes()) {
+            Object expectedVersion = attribute.isVersion() ? getValue(attribute, changes) : null;
+            if (expectedVersion != null && !expectedVersion.equals(getValue(attribute, entity))) {
+                throw new ObjectOptimisticLockingFailureException(entityClass, id);
+            }
+        }
+        Set<ConstraintViolation<T>> violations = new HashSet<>();
+        for (SingularAttribute<? super T, ?> attribute : entityType.getSingularAttributes()) {
+            if (attribute.isId() || attribute.isVersion() || !isStoredInTable(attribute) || (nonNullOnly && attribute.isAssociation())) {
+                continue;
+            }
+            Object value = clearedAttributes.contains(attribute.getName()) ? null : getValue(attribute, changes);
+            if (value != null) {
+                violations.addAll(validator.validateValue(entityClass, attribute.getName(), value));
+                setValue(attribute, entity, attribute.isAssociation() ? reference(value) : value);
+            } else if (!nonNullOnly || clearedAttributes.contains(attribute.getName())) {
+                setValue(attribute, entity, null);
+            }
+        }
+        if (!violations.isEmpty()) {
+            // Nothing was written yet: forget the changes copied on the entity
+            entityManager.refresh(entity);
+            throw new ConstraintViolationException(violations);
+        }
+        // A single UPDATE of the dirty columns, matching the version which was read, which updates the cache entry of
+        // this entity only, where a bulk UPDATE evicts the whole region of the entity and of its collections
+        entityManager.flush();
+        return Optional.of(entity);
+    }
+
+    private Object reference(Object value) {
+        // The associated entity only holds an identifier, so point at the persistent one without loading it
+        PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        Object id = util.getIdentifier(value);
+        return id != null && !entityManager.contains(value) ? entityManager.getReference(Hibernate.getClass(value), id) : value;
+    }
+
+    private static boolean isStoredInTable(SingularAttribute<?, ?> attribute) {
+        if (!(attribute.getJavaMember() instanceof Field field)) {
+            return false;
+        }
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.updatable()) {
+            return false;
+        }
+        // The inverse side of a one-to-one has no column in the entity table
+        OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+        return (
+            attribute.getPersistentAttributeType() != PersistentAttributeType.EMBEDDED && (oneToOne == null || oneToOne.mappedBy().isEmpty())
+        );
+    }
+
+    private static Object getValue(SingularAttribute<?, ?> attribute, Object entity) {
+        Field field = (Field) attribute.getJavaMember();
+        ReflectionUtils.makeAccessible(field);
+        return ReflectionUtils.getField(field, entity);
+    }
+
+    private static void setValue(SingularAttribute<?, ?> attribute, Object entity, Object value) {
+        Field field = (Field) attribute.getJavaMember();
+        ReflectionUtils.makeAccessible(field);
+        if (!Objects.equals(ReflectionUtils.getField(field, entity), value)) {
+            ReflectionUtils.setField(field, entity, value);
+        }
+    }
+}
@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense> {}
+public interface ExpenseRepository
+    extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense>, EntityUpdateRepository<Expense> {}
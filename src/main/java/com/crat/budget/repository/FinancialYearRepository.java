@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface FinancialYearRepository extends JpaRepository<FinancialYear, Long>, JpaSpecificationExecutor<FinancialYear> {}
+public interface FinancialYearRepository
+    extends JpaRepository<FinancialYear, Long>, JpaSpecificationExecutor<FinancialYear>, EntityUpdateRepository<FinancialYear> {}
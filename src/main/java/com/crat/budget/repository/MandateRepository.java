@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface MandateRepository extends JpaRepository<Mandate, Long>, JpaSpecificationExecutor<Mandate> {}
+public interface MandateRepository
+    extends JpaRepository<Mandate, Long>, JpaSpecificationExecutor<Mandate>, EntityUpdateRepository<Mandate> {}
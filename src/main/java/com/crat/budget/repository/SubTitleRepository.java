@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SubTitleRepository extends JpaRepository<SubTitle, Long>, JpaSpecificationExecutor<SubTitle> {}
+public interface SubTitleRepository
+    extends JpaRepository<SubTitle, Long>, JpaSpecificationExecutor<SubTitle>, EntityUpdateRepository<SubTitle> {}
@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SupplierRepository extends JpaRepository<Supplier, Long>, JpaSpecificationExecutor<Supplier> {}
+public interface SupplierRepository
+    extends JpaRepository<Supplier, Long>, JpaSpecificationExecutor<Supplier>, EntityUpdateRepository<Supplier> {}
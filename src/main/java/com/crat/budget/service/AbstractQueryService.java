@@ -0,0 +1,637 @@
+package com.crat.budget.service;
+
+import com.crat.budget.repository.CollectionFetchRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.Bindable;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.util.StringUtils;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Base service for the criteria query services of the application.
+ * <p>
+ * Every filter built by {@link QueryService} goes through the specification factory methods overridden here,
+ * which lets the {@link IndexAdvisor} record the filtered columns when it is enabled.
+ * <p>
+ * It also resolves the fetch plan of the list endpoints: the associations requested with {@code ?include=} are loaded
+ * for a whole page in one query per collection (plus one for all the single valued associations), instead of one lazy
+ * query per entity and association while the page is serialized. The collections are batch loaded: their queries only
+ * select the collection rows, for as many owners as {@code hibernate.default_batch_fetch_size}, as in the
+ * {@link com.crat.budget.repository.CollectionFetchRepository} fragment of the repositories. The inverse sides of the
+ * one-to-one associations, which Hibernate cannot proxy as it does not know whether a row references the entity, are
+ * always fetch joined by the queries loading the entities (see {@link #withInverseOneToOnes(Specification)}): otherwise
+ * each of them would cost one query per loaded entity, whatever is requested.
+ * <p>
+ * Pages can be returned without counting the matching entities, or with a total estimated from the planner statistics,
+ * see {@link CountMode}. They are read in two phases, ids first then entities, and the filters on to-many associations
+ * are {@code EXISTS} subqueries (see {@link #exists(Specification)}), so a page never holds the same entity twice and
+ * its rows are not widened by the joined collections.
+ * <p>
+ * Finally, list views which only need a few columns can select read-only projections with the same specification,
+ * which skips the entity hydration, the dirty checking snapshots and the second level cache puts. Exports stream such
+ * projections from a forward-only cursor instead, so their memory does not grow with the number of rows.
+ * <p>
+ * The ids of the pages and the counts are kept in the {@link QueryResultCache} when it is available, until one of the
+ * entities the query depends on is written.
+ *
+ * @param <ENTITY> the type of the entity which is queried.
+ */
+public abstract class AbstractQueryService<ENTITY> extends QueryService<ENTITY> {
+
+    /**
+     * The number of rows the JDBC driver fetches at a time while a projection is streamed.
+     */
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * The ids of a page, as cached by the {@link QueryResultCache}.
+     *
+     * @param ids the ids of the entities of the page, in order.
+     * @param hasNext whether there is a next page, only known without count.
+     * @param filtered whether the specification filtered the entities.
+     */
+    private record IdPage(List<Object> ids, boolean hasNext, boolean filtered) implements Serializable {}
+
+    private IndexAdvisor indexAdvisor;
+
+    private QueryResultCache queryResultCache;
+
+    private EntityManager entityManager;
+
+    @Autowired(required = false)
+    public void setIndexAdvisor(IndexAdvisor indexAdvisor) {
+        this.indexAdvisor = indexAdvisor;
+    }
+
+    @Autowired(required = false)
+    public void setQueryResultCache(QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    @PersistenceContext
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Load the requested associations of the given entities, which must be managed by the current persistence context.
+     *
+     * @param entities the entities, usually the content of a page.
+     * @param include the names of the associations to load, may be {@code null} or empty.
+     * @return the same entities, with the requested associations initialized.
+     * @throws InvalidFetchPlanException if a name is not an association of the entity.
+     */
+    protected List<ENTITY> fetchAssociations(List<ENTITY> entities, Set<String> include) {
+        if (include == null || include.isEmpty()) {
+            return entities;
+        }
+        EntityType<ENTITY> entityType = entityManager.getMetamodel().entity(getEntityClass());
+        List<String> singularAssociations = new ArrayList<>();
+        List<String> pluralAssociations = new ArrayList<>();
+        for (String name : include) {
+            Attribute<? super ENTITY, ?> attribute = entityType
+                .getAttributes()
+                .stream()
+                .filter(candidate -> candidate.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new InvalidFetchPlanException(StringUtils.uncapitalize(entityType.getName()), name));
+            if (!attribute.isAssociation()) {
+                throw new InvalidFetchPlanException(StringUtils.uncapitalize(entityType.getName()), name);
+            }
+            (attribute.isCollection() ? pluralAssociations : singularAssociations).add(name);
+        }
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        // Single valued associations can share one query, each collection gets its own to avoid a cartesian product
+        if (!singularAssociations.isEmpty()) {
+            fetch(entityType, entities, singularAssociations);
+        }
+        return CollectionFetchRepositoryImpl.initializeCollections(entityManager, entities, pluralAssociations);
+    }
+
+    /**
+     * Fetch join the inverse sides of the one-to-one associations of the entity, and of the entities they fetch, in the
+     * queries selecting the entity. The count queries built from the same specification are left unchanged.
+     *
+     * @param specification the specification, which the entities should match.
+     * @return the specification, fetching the inverse one-to-one associations along.
+     */
+    protected Specification<ENTITY> withInverseOneToOnes(Specification<ENTITY> specification) {
+        return specification.and((root, query, builder) -> {
+            if (query.getResultType() == getEntityClass()) {
+                fetchInverseOneToOnes(root, entityManager.getMetamodel().entity(getEntityClass()), new HashSet<>());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Return a {@link Page} of projections of the entities which match the specification.
+     * The projections are built by the database query itself, through the constructor of the projection type.
+     *
+     * @param specification the specification, which the entities should match.
+     * @param page the page, which should be returned.
+     * @param projectionType the projection type, which needs a constructor matching the selections.
+     * @param selections the function which selects the constructor arguments from the root of the query.
+     * @param <R> the projection type.
+     * @return the matching projections.
+     * @throws InvalidSortException if the sort goes through a to-many association.
+     */
+    protected <R> Page<R> findProjectedByCriteria(
+        Specification<ENTITY> specification,
+        Pageable page,
+        Class<R> projectionType,
+        Function<Root<ENTITY>, List<Selection<?>>> selections
+    ) {
+        validateSort(page.getSort());
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = builder.createQuery(projectionType);
+        Root<ENTITY> root = query.from(getEntityClass());
+        applySpecification(specification, root, query, builder);
+        query.select(builder.construct(projectionType, selections.apply(root).toArray(Selection<?>[]::new)));
+        if (page.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(page.getSort(), root, builder));
+        }
+        List<R> content = page.isPaged()
+            ? entityManager.createQuery(query).setFirstResult((int) page.getOffset()).setMaxResults(page.getPageSize()).getResultList()
+            : entityManager.createQuery(query).getResultList();
+        return PageableExecutionUtils.getPage(content, page, () -> countBySpecification(specification));
+    }
+
+    /**
+     * Stream projections of the entities which match the specification, in the order of the sort.
+     * <p>
+     * The query runs in a stateless session with its own connection and transaction, and its rows are read from a
+     * forward-only cursor {@value #STREAM_FETCH_SIZE} at a time: nothing is kept in a persistence context, so the memory
+     * used does not depend on the number of rows. The caller should not hold a transaction while the rows are consumed.
+     *
+     * @param specification the specification, which the entities should match.
+     * @param sort the order of the projections, which should be total for the order to be stable.
+     * @param projectionType the projection type, which needs a constructor matching the selections.
+     * @param selections the function which selects the constructor arguments from the root of the query.
+     * @param action the action performed on each projection, in order.
+     * @param <R> the projection type.
+     * @return the number of projections streamed.
+     * @throws InvalidSortException if the sort goes through a to-many association.
+     */
+    protected <R> long streamProjectedByCriteria(
+        Specification<ENTITY> specification,
+        Sort sort,
+        Class<R> projectionType,
+        Function<Root<ENTITY>, List<Selection<?>>> selections,
+        Consumer<? super R> action
+    ) {
+        validateSort(sort);
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            CriteriaBuilder builder = session.getCriteriaBuilder();
+            CriteriaQuery<R> query = builder.createQuery(projectionType);
+            Root<ENTITY> root = query.from(getEntityClass());
+            // Selected first, so that the sort reuses the joins of the selections rather than those of the filters
+            query.select(builder.construct(projectionType, selections.apply(root).toArray(Selection<?>[]::new)));
+            applySpecification(specification, root, query, builder);
+            if (sort.isSorted()) {
+                query.orderBy(QueryUtils.toOrders(sort, root, builder));
+            }
+            // Drivers such as the PostgreSQL one only use a cursor outside of the auto-commit mode
+            Transaction transaction = session.beginTransaction();
+            try (
+                ScrollableResults<R> results = session
+                    .createQuery(query)
+                    .setFetchSize(STREAM_FETCH_SIZE)
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY)
+            ) {
+                long count = 0;
+                while (results.next()) {
+                    action.accept(results.get());
+                    count++;
+                }
+                return count;
+            } finally {
+                // Nothing was written
+                transaction.rollback();
+            }
+        }
+    }
+
+    /**
+     * Return a {@link Slice} of the entities which match the specification, with the total computed as requested:
+     * <ul>
+     *     <li>{@link CountMode#EXACT} returns a {@link Page}, counted unless the page itself tells the total;</li>
+     *     <li>{@link CountMode#ESTIMATE} returns an {@link EstimatedPage} when nothing is filtered and the database has
+     *     planner statistics for the table, and falls back to {@link CountMode#EXACT} otherwise;</li>
+     *     <li>{@link CountMode#NONE} fetches one more entity than the page size instead of counting.</li>
+     * </ul>
+     * A page is read in two phases: the ids of the page are selected first, then the entities are loaded by id in a
+     * single query and returned in the order of the ids. The sort cannot go through a to-many association, which would
+     * select an id once per associated entity. The ids and the count are cached
+     * by the {@link QueryResultCache}, under the criteria and the page; an unpaged query is neither split nor cached.
+     *
+     * @param criteria the criteria the specification was created from, which identify the page in the cache.
+     * @param specification the specification, which the entities should match.
+     * @param page the page, which should be returned.
+     * @param countMode how the total is computed.
+     * @return the matching entities.
+     * @throws InvalidSortException if the sort goes through a to-many association.
+     */
+    protected Slice<ENTITY> findBySpecification(
+        Criteria criteria,
+        Specification<ENTITY> specification,
+        Pageable page,
+        CountMode countMode
+    ) {
+        validateSort(page.getSort());
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        if (page.isUnpaged()) {
+            CriteriaQuery<ENTITY> query = builder.createQuery(getEntityClass());
+            Root<ENTITY> root = query.from(getEntityClass());
+            applySpecification(withInverseOneToOnes(specification), root, query, builder);
+            query.select(root);
+            if (page.getSort().isSorted()) {
+                query.orderBy(QueryUtils.toOrders(page.getSort(), root, builder));
+            }
+            return new PageImpl<>(entityManager.createQuery(query).getResultList());
+        }
+        IdPage idPage = cached(criteria, "page", List.of(page, countMode), page.getSort(), () -> findIds(specification, page, countMode));
+        List<ENTITY> content = findAllById(idPage.ids());
+        if (countMode == CountMode.NONE) {
+            return new SliceImpl<>(content, page, idPage.hasNext());
+        }
+        if (countMode == CountMode.ESTIMATE && !idPage.filtered() && content.size() == page.getPageSize()) {
+            OptionalLong estimatedCount = estimateCount();
+            if (estimatedCount.isPresent()) {
+                return new EstimatedPage<>(content, page, Math.max(estimatedCount.getAsLong(), page.getOffset() + content.size()));
+            }
+        }
+        return PageableExecutionUtils.getPage(content, page, () -> countBySpecification(criteria, specification));
+    }
+
+    /**
+     * Count the entities which match the specification, through the {@link QueryResultCache} when it is available.
+     *
+     * @param criteria the criteria the specification was created from, which identify the count in the cache.
+     * @param specification the specification, which the entities should match.
+     * @return the number of matching entities.
+     */
+    protected long countBySpecification(Criteria criteria, Specification<ENTITY> specification) {
+        return cached(criteria, "count", null, Sort.unsorted(), () -> countBySpecification(specification));
+    }
+
+    /**
+     * Wrap a specification filtering on a to-many association into an {@code EXISTS} subquery correlated to the root.
+     * <p>
+     * The association is then joined in the subquery only: an entity matches once whatever the number of its matching
+     * associated entities, so the query needs neither {@code distinct} nor a join multiplying its rows.
+     *
+     * @param specification the specification joining the to-many association from the root.
+     * @return the specification matching the entities for which the given specification matches at least one row.
+     */
+    protected Specification<ENTITY> exists(Specification<ENTITY> specification) {
+        return (root, query, builder) -> {
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Predicate predicate = specification.toPredicate(subquery.correlate(root), query, builder);
+            if (predicate == null) {
+                return null;
+            }
+            return builder.exists(subquery.select(builder.literal(1)).where(predicate));
+        };
+    }
+
+    /**
+     * Reject the sorts whose path goes through a to-many association: the joined rows would repeat the entities. The
+     * unknown properties are left to the query, which rejects them.
+     *
+     * @param sort the sort of a query of the entity.
+     * @throws InvalidSortException if the sort goes through a to-many association.
+     */
+    protected void validateSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (getAssociationPath(order.getProperty()).stream().anyMatch(Attribute::isCollection)) {
+                String entityName = entityManager.getMetamodel().entity(getEntityClass()).getName();
+                throw new InvalidSortException(StringUtils.uncapitalize(entityName), order.getProperty());
+            }
+        }
+    }
+
+    private IdPage findIds(Specification<ENTITY> specification, Pageable page, CountMode countMode) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<ENTITY> root = query.from(getEntityClass());
+        boolean filtered = applySpecification(specification, root, query, builder) != null;
+        List<Order> orders = page.getSort().isSorted() ? QueryUtils.toOrders(page.getSort(), root, builder) : List.of();
+        // Only through to-one associations (see validateSort), so each id is selected once
+        query.multiselect(root.get(getIdAttribute())).orderBy(orders);
+        // One more id than the page size tells whether there is a next page without counting
+        int maxResults = countMode == CountMode.NONE ? page.getPageSize() + 1 : page.getPageSize();
+        List<Object> ids = entityManager
+            .createQuery(query)
+            .setFirstResult((int) page.getOffset())
+            .setMaxResults(maxResults)
+            .getResultList()
+            .stream()
+            .map(tuple -> tuple.get(0))
+            .toList();
+        boolean hasNext = ids.size() > page.getPageSize();
+        return new IdPage(hasNext ? List.copyOf(ids.subList(0, page.getPageSize())) : ids, hasNext, filtered);
+    }
+
+    private <R> R cached(Criteria criteria, String operation, Object parameters, Sort sort, Supplier<R> query) {
+        if (queryResultCache == null) {
+            return query.get();
+        }
+        QueryResultCache.Key key = new QueryResultCache.Key(
+            getEntityClass(),
+            operation,
+            criteria != null ? criteria.copy() : null,
+            parameters
+        );
+        return queryResultCache.get(key, getDependencies(sort), query);
+    }
+
+    /**
+     * Get the entities whose tables a query of the entity may read: the entity itself, the targets of its associations,
+     * which the filters join, and the entities along the paths of the sort.
+     */
+    private Set<Class<?>> getDependencies(Sort sort) {
+        Metamodel metamodel = entityManager.getMetamodel();
+        EntityType<ENTITY> entityType = metamodel.entity(getEntityClass());
+        Set<Class<?>> dependencies = new LinkedHashSet<>();
+        dependencies.add(getEntityClass());
+        for (Attribute<? super ENTITY, ?> attribute : entityType.getAttributes()) {
+            if (attribute.isAssociation() && attribute instanceof Bindable<?> bindable) {
+                dependencies.add(bindable.getBindableJavaType());
+            }
+        }
+        for (Sort.Order order : sort) {
+            getAssociationPath(order.getProperty()).forEach(association ->
+                dependencies.add(((Bindable<?>) association).getBindableJavaType())
+            );
+        }
+        return dependencies;
+    }
+
+    /**
+     * Get the associations along a property path of the entity, up to its first attribute which is not an association.
+     */
+    private List<Attribute<?, ?>> getAssociationPath(String property) {
+        Metamodel metamodel = entityManager.getMetamodel();
+        List<Attribute<?, ?>> associations = new ArrayList<>();
+        ManagedType<?> type = metamodel.entity(getEntityClass());
+        for (String name : property.split("\\.")) {
+            Attribute<?, ?> attribute = type
+                .getAttributes()
+                .stream()
+                .filter(candidate -> candidate.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+            if (attribute == null || !attribute.isAssociation() || !(attribute instanceof Bindable<?> bindable)) {
+                break;
+            }
+            associations.add(attribute);
+            type = metamodel.entity(bindable.getBindableJavaType());
+        }
+        return associations;
+    }
+
+    private List<ENTITY> findAllById(List<Object> idValues) {
+        if (idValues.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ENTITY> query = builder.createQuery(getEntityClass());
+        Root<ENTITY> root = query.from(getEntityClass());
+        fetchInverseOneToOnes(root, entityManager.getMetamodel().entity(getEntityClass()), new HashSet<>());
+        query.select(root).where(root.get(getIdAttribute()).in(idValues));
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        Map<Object, ENTITY> entitiesById = new HashMap<>();
+        entityManager
+            .createQuery(query)
+            .getResultList()
+            .forEach(entity -> entitiesById.put(persistenceUnitUtil.getIdentifier(entity), entity));
+        // An entity deleted in between is skipped
+        return idValues
+            .stream()
+            .map(entitiesById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Fetch join the one-to-one associations mapped by the other side from the given fetch parent, recursively, except
+     * towards the entity types already fetched along the path.
+     */
+    private void fetchInverseOneToOnes(FetchParent<?, ?> parent, ManagedType<?> type, Set<Class<?>> path) {
+        path.add(type.getJavaType());
+        for (Attribute<?, ?> attribute : type.getAttributes()) {
+            if (
+                attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.ONE_TO_ONE ||
+                !(attribute.getJavaMember() instanceof Field field) ||
+                field.getAnnotation(OneToOne.class) == null ||
+                field.getAnnotation(OneToOne.class).mappedBy().isEmpty() ||
+                path.contains(attribute.getJavaType())
+            ) {
+                continue;
+            }
+            Fetch<?, ?> fetch = parent.fetch(attribute.getName(), JoinType.LEFT);
+            fetchInverseOneToOnes(fetch, entityManager.getMetamodel().entity(attribute.getJavaType()), path);
+        }
+        path.remove(type.getJavaType());
+    }
+
+    private SingularAttribute<? super ENTITY, ?> getIdAttribute() {
+        EntityType<ENTITY> entityType = entityManager.getMetamodel().entity(getEntityClass());
+        return entityType.getId(entityType.getIdType().getJavaType());
+    }
+
+    private OptionalLong estimateCount() {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        if (
+            !(sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQLDialect) ||
+            !(sessionFactory.getMappingMetamodel().getEntityDescriptor(getEntityClass()) instanceof AbstractEntityPersister persister)
+        ) {
+            return OptionalLong.empty();
+        }
+        List<?> reltuples = entityManager
+            .createNativeQuery("select reltuples from pg_class where oid = to_regclass(cast(:table as text))")
+            .setParameter("table", persister.getTableName())
+            .getResultList();
+        // A table which was never analyzed has no (-1 since PostgreSQL 14) or a zero estimate
+        if (reltuples.isEmpty() || !(reltuples.get(0) instanceof Number estimate) || estimate.longValue() <= 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(estimate.longValue());
+    }
+
+    private long countBySpecification(Specification<ENTITY> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<ENTITY> root = query.from(getEntityClass());
+        applySpecification(specification, root, query, builder);
+        query.select(builder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Predicate applySpecification(
+        Specification<ENTITY> specification,
+        Root<ENTITY> root,
+        CriteriaQuery<?> query,
+        CriteriaBuilder builder
+    ) {
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // The filters on to-many associations are EXISTS subqueries, so the rows are unique without the distinct of the
+        // criteria, which would also forbid sorting on the columns which are not selected
+        query.distinct(false);
+        return predicate;
+    }
+
+    private void fetch(EntityType<ENTITY> entityType, List<ENTITY> entities, List<String> associations) {
+        StringBuilder query = new StringBuilder("select distinct e from ").append(entityType.getName()).append(" e");
+        associations.forEach(association -> query.append(" left join fetch e.").append(association));
+        query.append(" where e in :entities");
+        entityManager.createQuery(query.toString(), entityType.getJavaType()).setParameter("entities", entities).getResultList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<ENTITY> getEntityClass() {
+        return (Class<ENTITY>) GenericTypeResolver.resolveTypeArgument(getClass(), AbstractQueryService.class);
+    }
+
+    @Override
+    protected <X> Specification<ENTITY> equalsSpecification(Function<Root<ENTITY>, Expression<X>> metaclassFunction, X value) {
+        return super.equalsSpecification(advised(metaclassFunction), value);
+    }
+
+    @Override
+    protected <X> Specification<ENTITY> notEqualsSpecification(Function<Root<ENTITY>, Expression<X>> metaclassFunction, X value) {
+        return super.notEqualsSpecification(advised(metaclassFunction), value);
+    }
+
+    @Override
+    protected Specification<ENTITY> likeUpperSpecification(Function<Root<ENTITY>, Expression<String>> metaclassFunction, String value) {
+        return super.likeUpperSpecification(advised(metaclassFunction), value);
+    }
+
+    @Override
+    protected Specification<ENTITY> doesNotContainSpecification(
+        Function<Root<ENTITY>, Expression<String>> metaclassFunction,
+        String value
+    ) {
+        return super.doesNotContainSpecification(advised(metaclassFunction), value);
+    }
+
+    @Override
+    protected <X> Specification<ENTITY> byFieldSpecified(Function<Root<ENTITY>, Expression<X>> metaclassFunction, boolean specified) {
+        return super.byFieldSpecified(advised(metaclassFunction), specified);
+    }
+
+    @Override
+    protected <X> Specification<ENTITY> valueIn(Function<Root<ENTITY>, Expression<X>> metaclassFunction, Collection<X> values) {
+        return super.valueIn(advised(metaclassFunction), values);
+    }
+
+    @Override
+    protected <X> Specification<ENTITY> valueNotIn(Function<Root<ENTITY>, Expression<X>> metaclassFunction, Collection<X> values) {
+        return super.valueNotIn(advised(metaclassFunction), values);
+    }
+
+    @Override
+    protected <X extends Comparable<? super X>> Specification<ENTITY> greaterThanOrEqualTo(
+        Function<Root<ENTITY>, Expression<X>> metaclassFunction,
+        X value
+    ) {
+        return super.greaterThanOrEqualTo(advised(metaclassFunction), value);
+    }
+
+    @Override
+    protected <X extends Comparable<? super X>> Specification<ENTITY> greaterThan(
+        Function<Root<ENTITY>, Expression<X>> metaclassFunction,
+        X value
+    ) {
+        return super.greaterThan(advised(metaclassFunction), value);
+    }
+
+    @Override
+    protected <X extends Comparable<? super X>> Specification<ENTITY> lessThanOrEqualTo(
+        Function<Root<ENTITY>, Expression<X>> metaclassFunction,
+        X value
+    ) {
+        return super.lessThanOrEqualTo(advised(metaclassFunction), value);
+    }
+
+    @Override
+    protected <X extends Comparable<? super X>> Specification<ENTITY> lessThan(Function<Root<ENTITY>, Expression<X>> metaclassFunction, X value) {
+        return super.lessThan(advised(metaclassFunction), value);
+    }
+
+    private <X> Function<Root<ENTITY>, Expression<X>> advised(Function<Root<ENTITY>, Expression<X>> metaclassFunction) {
+        IndexAdvisor advisor = this.indexAdvisor;
+        if (advisor == null) {
+            return metaclassFunction;
+        }
+        return root -> {
+            Expression<X> expression = metaclassFunction.apply(root);
+            advisor.recordFilter(expression);
+            return expression;
+        };
+    }
+}
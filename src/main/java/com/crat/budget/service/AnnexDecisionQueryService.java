@@ -5,14 +5,18 @@ import com.crat.budget.domain.AnnexDecision;
 import com.crat.budget.repository.AnnexDecisionRepository;
 import com.crat.budget.service.criteria.AnnexDecisionCriteria;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link AnnexDecision} entities in the database.
@@ -22,7 +26,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class AnnexDecisionQueryService extends QueryService<AnnexDecision> {
+public class AnnexDecisionQueryService extends AbstractQueryService<AnnexDecision> {
 
     private static final Logger LOG = LoggerFactory.getLogger(AnnexDecisionQueryService.class);
 
@@ -33,16 +37,40 @@ public class AnnexDecisionQueryService extends QueryService<AnnexDecision> {
     }
 
     /**
-     * Return a {@link Page} of {@link AnnexDecision} which matches the criteria from the database.
+     * Return a {@link Slice} of {@link AnnexDecision} which matches the criteria from the database,
+     * with the total number of matching entities computed as requested.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param include The associations to load along with the entities, may be empty.
+     * @param countMode How the total number of matching entities is computed.
+     * @return the matching entities, in a {@link Page} unless the count mode is {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<AnnexDecision> findByCriteria(AnnexDecisionCriteria criteria, Pageable page, Set<String> include, CountMode countMode) {
+        LOG.debug("find by criteria : {}, page: {}, include: {}, count: {}", criteria, page, include, countMode);
+        final Specification<AnnexDecision> specification = createSpecification(criteria);
+        Slice<AnnexDecision> result = findBySpecification(criteria, specification, page, countMode);
+        fetchAssociations(result.getContent(), include);
+        return result;
+    }
+
+    /**
+     * Return a {@link Window} of {@link AnnexDecision} which matches the criteria from the database, using keyset pagination.
+     * The window starts right after the given position, and is ordered by the given sort followed by the id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The position to seek to, as returned by the previous window.
+     * @param sort The sort, which must be the same for all the windows of a scroll.
+     * @param size The maximum number of entities in the window.
+     * @param include The associations to load along with the entities, may be empty.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<AnnexDecision> findByCriteria(AnnexDecisionCriteria criteria, Pageable page) {
-        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+    public Window<AnnexDecision> findByCriteria(AnnexDecisionCriteria criteria, ScrollPosition position, Sort sort, int size, Set<String> include) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}, size: {}, include: {}", criteria, position, sort, size, include);
         final Specification<AnnexDecision> specification = createSpecification(criteria);
-        return annexDecisionRepository.findAll(specification, page);
+        Window<AnnexDecision> window = annexDecisionRepository.findBy(withInverseOneToOnes(specification), query -> query.sortBy(sort).limit(size).scroll(position));
+        fetchAssociations(window.getContent(), include);
+        return window;
     }
 
     /**
@@ -54,7 +82,7 @@ public class AnnexDecisionQueryService extends QueryService<AnnexDecision> {
     public long countByCriteria(AnnexDecisionCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<AnnexDecision> specification = createSpecification(criteria);
-        return annexDecisionRepository.count(specification);
+        return countBySpecification(criteria, specification);
     }
 
     /**
@@ -78,19 +106,30 @@ public class AnnexDecisionQueryService extends QueryService<AnnexDecision> {
             if (criteria.getExpenseAmount() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getExpenseAmount(), AnnexDecision_.expenseAmount));
             }
+            if (criteria.getExpenseAmountValue() != null) {
+                specification = specification.and(
+                    buildRangeSpecification(criteria.getExpenseAmountValue(), AnnexDecision_.expenseAmountValue)
+                );
+            }
             if (criteria.getCreditsAlreadyOpen() != null) {
                 specification = specification.and(
                     buildStringSpecification(criteria.getCreditsAlreadyOpen(), AnnexDecision_.creditsAlreadyOpen)
                 );
             }
+            if (criteria.getCreditsAlreadyOpenValue() != null) {
+                specification = specification.and(
+                    buildRangeSpecification(criteria.getCreditsAlreadyOpenValue(), AnnexDecision_.creditsAlreadyOpenValue)
+                );
+            }
             if (criteria.getCreditsOpen() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getCreditsOpen(), AnnexDecision_.creditsOpen));
             }
+            if (criteria.getCreditsOpenValue() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getCreditsOpenValue(), AnnexDecision_.creditsOpenValue));
+            }
             if (criteria.getFinancialYearId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getFinancialYearId(), root ->
-                        root.join(AnnexDecision_.financialYear, JoinType.LEFT).get(FinancialYear_.id)
-                    )
+                    buildSpecification(criteria.getFinancialYearId(), root -> root.get(AnnexDecision_.financialYear).get(FinancialYear_.id))
                 );
             }
             if (criteria.getExpenseId() != null) {
@@ -100,15 +139,19 @@ public class AnnexDecisionQueryService extends QueryService<AnnexDecision> {
             }
             if (criteria.getPurchaseOrderId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getPurchaseOrderId(), root ->
-                        root.join(AnnexDecision_.purchaseOrders, JoinType.LEFT).get(PurchaseOrder_.id)
+                    exists(
+                        buildSpecification(criteria.getPurchaseOrderId(), root ->
+                            root.join(AnnexDecision_.purchaseOrders, JoinType.LEFT).get(PurchaseOrder_.id)
+                        )
                     )
                 );
             }
             if (criteria.getDecisionId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getDecisionId(), root ->
-                        root.join(AnnexDecision_.decisions, JoinType.LEFT).get(Decision_.id)
+                    exists(
+                        buildSpecification(criteria.getDecisionId(), root ->
+                            root.join(AnnexDecision_.decisions, JoinType.LEFT).get(Decision_.id)
+                        )
                     )
                 );
             }
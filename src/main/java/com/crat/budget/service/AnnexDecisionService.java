@@ -20,9 +20,9 @@ public interface AnnexDecisionService {
      * Updates a annexDecision.
      *
      * @param annexDecision the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    AnnexDecision update(AnnexDecision annexDecision);
+    Optional<AnnexDecision> update(AnnexDecision annexDecision);
 
     /**
      * Partially updates a annexDecision.
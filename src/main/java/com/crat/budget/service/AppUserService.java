@@ -19,9 +19,9 @@ public interface AppUserService {
      * Updates a appUser.
      *
      * @param appUser the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    AppUser update(AppUser appUser);
+    Optional<AppUser> update(AppUser appUser);
 
     /**
      * Partially updates a appUser.
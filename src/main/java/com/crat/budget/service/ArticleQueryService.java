@@ -5,14 +5,18 @@ import com.crat.budget.domain.Article;
 import com.crat.budget.repository.ArticleRepository;
 import com.crat.budget.service.criteria.ArticleCriteria;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Article} entities in the database.
@@ -22,7 +26,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class ArticleQueryService extends QueryService<Article> {
+public class ArticleQueryService extends AbstractQueryService<Article> {
 
     private static final Logger LOG = LoggerFactory.getLogger(ArticleQueryService.class);
 
@@ -33,16 +37,40 @@ public class ArticleQueryService extends QueryService<Article> {
     }
 
     /**
-     * Return a {@link Page} of {@link Article} which matches the criteria from the database.
+     * Return a {@link Slice} of {@link Article} which matches the criteria from the database,
+     * with the total number of matching entities computed as requested.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param include The associations to load along with the entities, may be empty.
+     * @param countMode How the total number of matching entities is computed.
+     * @return the matching entities, in a {@link Page} unless the count mode is {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Article> findByCriteria(ArticleCriteria criteria, Pageable page, Set<String> include, CountMode countMode) {
+        LOG.debug("find by criteria : {}, page: {}, include: {}, count: {}", criteria, page, include, countMode);
+        final Specification<Article> specification = createSpecification(criteria);
+        Slice<Article> result = findBySpecification(criteria, specification, page, countMode);
+        fetchAssociations(articleRepository.fetchBagRelationships(result.getContent()), include);
+        return result;
+    }
+
+    /**
+     * Return a {@link Window} of {@link Article} which matches the criteria from the database, using keyset pagination.
+     * The window starts right after the given position, and is ordered by the given sort followed by the id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The position to seek to, as returned by the previous window.
+     * @param sort The sort, which must be the same for all the windows of a scroll.
+     * @param size The maximum number of entities in the window.
+     * @param include The associations to load along with the entities, may be empty.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<Article> findByCriteria(ArticleCriteria criteria, Pageable page) {
-        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+    public Window<Article> findByCriteria(ArticleCriteria criteria, ScrollPosition position, Sort sort, int size, Set<String> include) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}, size: {}, include: {}", criteria, position, sort, size, include);
         final Specification<Article> specification = createSpecification(criteria);
-        return articleRepository.fetchBagRelationships(articleRepository.findAll(specification, page));
+        Window<Article> window = articleRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position));
+        fetchAssociations(window.getContent(), include);
+        return Window.from(articleRepository.fetchBagRelationships(window.getContent()), window::positionAt, window.hasNext());
     }
 
     /**
@@ -54,7 +82,7 @@ public class ArticleQueryService extends QueryService<Article> {
     public long countByCriteria(ArticleCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<Article> specification = createSpecification(criteria);
-        return articleRepository.count(specification);
+        return countBySpecification(criteria, specification);
     }
 
     /**
@@ -92,17 +120,25 @@ public class ArticleQueryService extends QueryService<Article> {
             }
             if (criteria.getChapterId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getChapterId(), root -> root.join(Article_.chapter, JoinType.LEFT).get(Chapter_.id))
+                    buildSpecification(criteria.getChapterId(), root -> root.get(Article_.chapter).get(Chapter_.id))
                 );
             }
             if (criteria.getRecipeId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getRecipeId(), root -> root.join(Article_.recipes, JoinType.LEFT).get(Recipe_.id))
+                    exists(
+                        buildSpecification(criteria.getRecipeId(), root ->
+                            root.join(Article_.recipes, JoinType.LEFT).get(Recipe_.id)
+                        )
+                    )
                 );
             }
             if (criteria.getExpenseId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getExpenseId(), root -> root.join(Article_.expenses, JoinType.LEFT).get(Expense_.id))
+                    exists(
+                        buildSpecification(criteria.getExpenseId(), root ->
+                            root.join(Article_.expenses, JoinType.LEFT).get(Expense_.id)
+                        )
+                    )
                 );
             }
         }
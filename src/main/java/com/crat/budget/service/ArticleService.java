@@ -21,9 +21,9 @@ public interface ArticleService {
      * Updates a article.
      *
      * @param article the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    Article update(Article article);
+    Optional<Article> update(Article article);
 
     /**
      * Partially updates a article.
@@ -0,0 +1,21 @@
+package com.crat.budget.service;
+
+/**
+ * The breakdown of a budget execution report.
+ */
+public enum BudgetExecutionGrouping {
+    /**
+     * One row per {@link com.crat.budget.domain.enumeration.FinancialCategoryEnum}.
+     */
+    CATEGORY,
+
+    /**
+     * One row per {@link com.crat.budget.domain.Chapter}, with the amounts linked to its articles.
+     */
+    CHAPTER,
+
+    /**
+     * One row per {@link com.crat.budget.domain.Article}, with the amounts linked to it.
+     */
+    ARTICLE,
+}
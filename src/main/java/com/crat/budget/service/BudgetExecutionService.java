@@ -0,0 +1,835 @@
+package com.crat.budget.service;
+
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.BudgetExecutionSummary;
+import com.crat.budget.domain.Expense;
+import com.crat.budget.domain.FinancialYear;
+import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.domain.Recipe;
+import com.crat.budget.domain.enumeration.FinancialCategoryEnum;
+import com.crat.budget.repository.BudgetExecutionSummaryRepository;
+import com.crat.budget.service.dto.BudgetExecutionDTO;
+import com.crat.budget.service.dto.BudgetExecutionReportDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.EntityType;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Service computing the budget execution of the financial years: forecast, committed and available amounts, per category,
+ * chapter or article.
+ * <p>
+ * Reports are read with {@code GROUP BY} queries from the {@link BudgetExecutionSummary} table, which is maintained
+ * incrementally. The amounts of the summary come from sources: the recipes, the expenses, and the purchase orders of the
+ * annex decisions. The amounts of a source count whole for each article linked to it, and once for each chapter of these
+ * articles, so the articles of a source linked to several articles add up to more than the total of its category.
+ * Before each write, the services of the recipes, expenses, annex decisions, purchase orders and articles call
+ * {@link #recordChange(Object)} or {@link #recordChange(Class, Long)}, which keeps the amounts that the sources of the
+ * written entity add to each row, after locking the rows of these sources. Just before the transaction commits, the
+ * amounts of the same sources are read again, and only their differences are added to the rows, by
+ * {@code amount = amount + ?} updates: concurrent writes of a financial year only wait on each other when they change
+ * the same sources or the same rows.
+ * <p>
+ * A financial year is summarized whole the first time it is requested, and after the bulk writes which do not record
+ * their changes, with the financial year and its rows locked. A new row is inserted with the financial year locked too,
+ * so that concurrent writes never duplicate it. A row whose amounts fall back to zero is kept until the financial year
+ * is summarized whole again.
+ */
+@Service
+@Transactional
+public class BudgetExecutionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BudgetExecutionService.class);
+
+    private static final String SUMS =
+        "sum(s.recipeForecast), sum(s.recipeAchievements), sum(s.expenseForecast), sum(s.expenseAchievements), sum(s.committedAmount)";
+
+    /**
+     * The maximum number of ids bound to one query.
+     */
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    /**
+     * The amounts of a row, in the order of their columns: recipe forecast and achievements, expense forecast and
+     * achievements, committed amount.
+     */
+    private static final List<String> AMOUNT_COLUMNS = List.of(
+        "recipe_forecast",
+        "recipe_achievements",
+        "expense_forecast",
+        "expense_achievements",
+        "committed_amount"
+    );
+
+    private static final Comparator<SummaryKey> SUMMARY_KEY_ORDER = Comparator.comparing(SummaryKey::financialYearId)
+        .thenComparing(SummaryKey::category, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(SummaryKey::chapterId, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(SummaryKey::articleId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /**
+     * The source of the amounts which each entity is, if any.
+     */
+    private static final Map<Class<?>, SourceType> SOURCE_TYPES = Map.of(
+        Recipe.class,
+        SourceType.RECIPE,
+        Expense.class,
+        SourceType.EXPENSE,
+        AnnexDecision.class,
+        SourceType.ANNEX_DECISION
+    );
+
+    /**
+     * The queries of the other sources whose amounts depend on an entity, by entity.
+     */
+    private static final Map<Class<?>, List<SourceQuery>> SOURCE_QUERIES = Map.of(
+        Recipe.class,
+        List.of(),
+        Expense.class,
+        List.of(new SourceQuery(SourceType.ANNEX_DECISION, "select e.annexDecision.id from Expense e where e.id in :ids")),
+        AnnexDecision.class,
+        List.of(),
+        PurchaseOrder.class,
+        List.of(new SourceQuery(SourceType.ANNEX_DECISION, "select po.annexDecision.id from PurchaseOrder po where po.id in :ids")),
+        Article.class,
+        List.of(
+            new SourceQuery(SourceType.RECIPE, "select r.id from Article a join a.recipes r where a.id in :ids"),
+            new SourceQuery(SourceType.EXPENSE, "select e.id from Article a join a.expenses e where a.id in :ids"),
+            new SourceQuery(SourceType.ANNEX_DECISION, "select e.annexDecision.id from Article a join a.expenses e where a.id in :ids")
+        )
+    );
+
+    /**
+     * The queries of the financial years whose summary depends on entities written in bulk, by entity.
+     */
+    private static final Map<Class<?>, List<String>> FINANCIAL_YEAR_QUERIES = Map.of(
+        Recipe.class,
+        List.of("select r.financialYear.id from Recipe r where r.id in :ids"),
+        Expense.class,
+        List.of(
+            "select e.financialYear.id from Expense e where e.id in :ids",
+            "select e.annexDecision.financialYear.id from Expense e where e.id in :ids"
+        ),
+        Article.class,
+        List.of(
+            "select r.financialYear.id from Article a join a.recipes r where a.id in :ids",
+            "select e.financialYear.id from Article a join a.expenses e where a.id in :ids",
+            "select e.annexDecision.financialYear.id from Article a join a.expenses e where a.id in :ids"
+        )
+    );
+
+    /**
+     * The attributes which the summary reads from each entity, other than its associations.
+     */
+    private static final Map<Class<?>, Set<String>> SUMMARY_ATTRIBUTES = Map.of(
+        Recipe.class,
+        Set.of("category", "newYearForecast", "achievementsInThePastYear"),
+        Expense.class,
+        Set.of("category", "newYearForecast", "achievementsInThePastYear"),
+        AnnexDecision.class,
+        Set.of(),
+        PurchaseOrder.class,
+        Set.of("totalAmountWithTax"),
+        Article.class,
+        Set.of()
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BudgetExecutionSummaryRepository budgetExecutionSummaryRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BudgetExecutionService(BudgetExecutionSummaryRepository budgetExecutionSummaryRepository, JdbcTemplate jdbcTemplate) {
+        this.budgetExecutionSummaryRepository = budgetExecutionSummaryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Get the budget execution of a financial year.
+     *
+     * @param financialYearId the id of the financial year.
+     * @param groupBy the breakdown of the rows.
+     * @return the report, or empty if the financial year does not exist.
+     */
+    public Optional<BudgetExecutionReportDTO> getReport(Long financialYearId, BudgetExecutionGrouping groupBy) {
+        LOG.debug("Request to get the budget execution of FinancialYear : {} by {}", financialYearId, groupBy);
+        if (entityManager.find(FinancialYear.class, financialYearId) == null) {
+            return Optional.empty();
+        }
+        if (!budgetExecutionSummaryRepository.existsByFinancialYearId(financialYearId)) {
+            // Not summarized yet, or nothing to summarize, which is cheap to confirm
+            refresh(Set.of(financialYearId));
+        }
+        List<BudgetExecutionDTO> rows =
+            switch (groupBy) {
+                case CATEGORY -> list(
+                    "select s.category, " + SUMS + " from BudgetExecutionSummary s" +
+                    " where s.financialYearId = :financialYearId and s.chapterId is null and s.articleId is null" +
+                    " group by s.category order by s.category",
+                    financialYearId
+                )
+                    .stream()
+                    .map(row -> toBudgetExecution((FinancialCategoryEnum) row[0], null, null, row, 1))
+                    .toList();
+                case CHAPTER -> list(
+                    "select s.chapterId, " + SUMS + " from BudgetExecutionSummary s" +
+                    " where s.financialYearId = :financialYearId and s.chapterId is not null and s.articleId is null" +
+                    " group by s.chapterId order by s.chapterId",
+                    financialYearId
+                )
+                    .stream()
+                    .map(row -> toBudgetExecution(null, (Long) row[0], null, row, 1))
+                    .toList();
+                case ARTICLE -> list(
+                    "select s.chapterId, s.articleId, " + SUMS + " from BudgetExecutionSummary s" +
+                    " where s.financialYearId = :financialYearId and s.articleId is not null" +
+                    " group by s.chapterId, s.articleId order by s.chapterId, s.articleId",
+                    financialYearId
+                )
+                    .stream()
+                    .map(row -> toBudgetExecution(null, (Long) row[0], (Long) row[1], row, 2))
+                    .toList();
+            };
+        Object[] totals = list(
+            "select " + SUMS + " from BudgetExecutionSummary s" +
+            " where s.financialYearId = :financialYearId and s.chapterId is null and s.articleId is null",
+            financialYearId
+        ).get(0);
+        BudgetExecutionDTO total = toBudgetExecution(null, null, null, totals, 0);
+        return Optional.of(new BudgetExecutionReportDTO(financialYearId, groupBy, total, rows));
+    }
+
+    /**
+     * Record a creation or an update of an entity which the summary depends on, before the write.
+     * <p>
+     * The amounts of the sources which the entity belongs to in the database, and of the sources which its new state
+     * links to, are kept; the differences with their amounts when the transaction commits are then added to the summary.
+     *
+     * @param entity the entity, with its new state.
+     */
+    public void recordChange(Object entity) {
+        recordChanges(List.of(entity));
+    }
+
+    /**
+     * Record creations or updates of entities of the same class, as {@link #recordChange(Object)} does.
+     *
+     * @param entities the entities, with their new state.
+     */
+    public void recordChanges(Collection<?> entities) {
+        if (entities.isEmpty() || !SOURCE_QUERIES.containsKey(entities.iterator().next().getClass())) {
+            return;
+        }
+        Class<?> entityClass = entities.iterator().next().getClass();
+        PendingChanges changes = getPendingChanges();
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        List<Long> ids = new ArrayList<>();
+        Set<Source> sources = new HashSet<>();
+        for (Object entity : entities) {
+            Long id = (Long) persistenceUnitUtil.getIdentifier(entity);
+            if (id != null) {
+                ids.add(id);
+            } else if (SOURCE_TYPES.containsKey(entityClass)) {
+                // A new source has no amounts yet: its id is only known once it is written
+                changes.createdSources().add(entity);
+            }
+            sources.addAll(findLinkedSources(entity));
+        }
+        sources.addAll(findSources(entityClass, ids));
+        keepAmounts(changes, sources);
+    }
+
+    /**
+     * Record an update or a deletion of an entity which the summary depends on, before the write, as
+     * {@link #recordChange(Object)} does for the sources which the entity belongs to in the database.
+     *
+     * @param entityClass the written entity class.
+     * @param id the id of the written entity.
+     */
+    public void recordChange(Class<?> entityClass, Long id) {
+        if (id != null && SOURCE_QUERIES.containsKey(entityClass)) {
+            keepAmounts(getPendingChanges(), findSources(entityClass, List.of(id)));
+        }
+    }
+
+    /**
+     * Record a partial update of an entity, as {@link #recordChange(Class, Long)} does, unless the summary reads none of
+     * the attributes it changes: a partial update only writes the non-null attributes of the patch which are not
+     * associations.
+     *
+     * @param entityClass the updated entity class.
+     * @param id the id of the updated entity.
+     * @param patch the changes of the partial update.
+     * @param <T> the updated entity class.
+     */
+    public <T> void recordPartialUpdate(Class<T> entityClass, Long id, T patch) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        boolean summarized = SUMMARY_ATTRIBUTES.getOrDefault(entityClass, Set.of())
+            .stream()
+            .map(name -> (Field) entityType.getAttribute(name).getJavaMember())
+            .anyMatch(field -> {
+                ReflectionUtils.makeAccessible(field);
+                return ReflectionUtils.getField(field, patch) != null;
+            });
+        if (summarized) {
+            recordChange(entityClass, id);
+        }
+    }
+
+    /**
+     * Recompute the whole summary of the financial years of entities written in bulk, without recording their changes.
+     *
+     * @param entityClass the written entity class.
+     * @param ids the ids of the written entities.
+     */
+    public void refresh(Class<?> entityClass, Collection<Long> ids) {
+        Set<Long> financialYearIds = new TreeSet<>();
+        for (List<Long> chunk : chunks(ids)) {
+            for (String query : FINANCIAL_YEAR_QUERIES.get(entityClass)) {
+                entityManager.createQuery(query, Long.class).setParameter("ids", chunk).getResultList().forEach(financialYearIds::add);
+            }
+        }
+        refresh(financialYearIds);
+    }
+
+    /**
+     * Recompute the whole summary of some financial years.
+     *
+     * @param financialYearIds the ids of the financial years.
+     */
+    public void refresh(Collection<Long> financialYearIds) {
+        if (financialYearIds.isEmpty()) {
+            return;
+        }
+        LOG.debug("Request to refresh the budget execution summary of FinancialYears : {}", financialYearIds);
+        // Locking the financial years serializes their refreshes, always in the same order
+        List<Long> existingIds = lockFinancialYears(new TreeSet<>(financialYearIds));
+        Set<Long> deletedIds = new HashSet<>(financialYearIds);
+        existingIds.forEach(deletedIds::remove);
+        if (!deletedIds.isEmpty()) {
+            budgetExecutionSummaryRepository.deleteByFinancialYearIdIn(deletedIds);
+        }
+        existingIds.forEach(this::summarize);
+    }
+
+    private void summarize(Long financialYearId) {
+        // The rows are locked before the amounts are read: the writes which changed them have committed, and the writes
+        // which change them next add their differences to the new amounts
+        List<BudgetExecutionSummary> rows = entityManager
+            .createQuery("select s from BudgetExecutionSummary s where s.financialYearId = :financialYearId", BudgetExecutionSummary.class)
+            .setParameter("financialYearId", financialYearId)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .getResultList();
+        Set<Source> sources = new HashSet<>();
+        for (SourceType type : SourceType.values()) {
+            entityManager
+                .createQuery("select s.id from " + type.entityName + " s where s.financialYear.id = :financialYearId", Long.class)
+                .setParameter("financialYearId", financialYearId)
+                .getResultList()
+                .forEach(id -> sources.add(new Source(type, id)));
+        }
+        Map<SummaryKey, BigDecimal[]> summaries = new LinkedHashMap<>();
+        findAmounts(sources).values().forEach(amounts -> add(summaries, amounts, BigDecimal.ONE));
+        summaries.values().removeIf(BudgetExecutionService::isZero);
+        // Rows are updated in place, by their unique key: only the changed amounts are written
+        for (BudgetExecutionSummary row : rows) {
+            BigDecimal[] amounts = summaries.remove(
+                new SummaryKey(row.getFinancialYearId(), row.getCategory(), row.getChapterId(), row.getArticleId())
+            );
+            if (amounts == null) {
+                budgetExecutionSummaryRepository.delete(row);
+            } else {
+                row
+                    .recipeForecast(amounts[0])
+                    .recipeAchievements(amounts[1])
+                    .expenseForecast(amounts[2])
+                    .expenseAchievements(amounts[3])
+                    .committedAmount(amounts[4]);
+            }
+        }
+        budgetExecutionSummaryRepository.saveAll(summaries.entrySet().stream().map(entry -> toSummary(entry.getKey(), entry.getValue())).toList());
+    }
+
+    /**
+     * Add the differences between the amounts of the recorded sources now and when they were recorded to the summary.
+     */
+    private void applyChanges(PendingChanges changes) {
+        entityManager.flush();
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        for (Object entity : changes.createdSources()) {
+            Long id = (Long) persistenceUnitUtil.getIdentifier(entity);
+            if (id != null) {
+                changes.amountsBySource().putIfAbsent(new Source(SOURCE_TYPES.get(entity.getClass()), id), Map.of());
+            }
+        }
+        Map<Source, Map<SummaryKey, BigDecimal[]>> newAmounts = findAmounts(changes.amountsBySource().keySet());
+        SortedMap<SummaryKey, BigDecimal[]> differences = new TreeMap<>(SUMMARY_KEY_ORDER);
+        changes
+            .amountsBySource()
+            .forEach((source, amounts) -> {
+                add(differences, amounts, BigDecimal.ONE.negate());
+                add(differences, newAmounts.getOrDefault(source, Map.of()), BigDecimal.ONE);
+            });
+        differences.values().removeIf(BudgetExecutionService::isZero);
+        Map<Long, List<SummaryKey>> keysByYear = new TreeMap<>();
+        differences.keySet().forEach(key -> keysByYear.computeIfAbsent(key.financialYearId(), id -> new ArrayList<>()).add(key));
+        keysByYear.forEach((financialYearId, keys) -> {
+            List<SummaryKey> missingKeys = findExistingKeys(financialYearId, keys).containsAll(keys) ? update(keys, differences) : keys;
+            if (missingKeys.isEmpty()) {
+                return;
+            }
+            // A new row is inserted with the financial year locked, so that concurrent writes never duplicate it. A
+            // financial year never summarized is left to its first report, which waits for this transaction.
+            if (lockFinancialYears(Set.of(financialYearId)).isEmpty() || !budgetExecutionSummaryRepository.existsByFinancialYearId(financialYearId)) {
+                return;
+            }
+            budgetExecutionSummaryRepository.saveAll(
+                update(missingKeys, differences).stream().map(key -> toSummary(key, differences.get(key))).toList()
+            );
+        });
+    }
+
+    /**
+     * Add differences to the rows of some keys of a financial year, always in the same order.
+     *
+     * @return the keys which have no row.
+     */
+    private List<SummaryKey> update(List<SummaryKey> keys, Map<SummaryKey, BigDecimal[]> differences) {
+        // The keys with null columns are matched by other statements, each run as one batch
+        Map<String, List<SummaryKey>> keysByStatement = new TreeMap<>();
+        keys.forEach(key -> keysByStatement.computeIfAbsent(updateStatement(key), statement -> new ArrayList<>()).add(key));
+        List<SummaryKey> missingKeys = new ArrayList<>();
+        keysByStatement.forEach((statement, statementKeys) -> {
+            List<Object[]> arguments = new ArrayList<>();
+            for (SummaryKey key : statementKeys) {
+                List<Object> values = new ArrayList<>(List.of(differences.get(key)));
+                values.add(key.financialYearId());
+                if (key.category() != null) {
+                    values.add(key.category().name());
+                }
+                if (key.chapterId() != null) {
+                    values.add(key.chapterId());
+                }
+                if (key.articleId() != null) {
+                    values.add(key.articleId());
+                }
+                arguments.add(values.toArray());
+            }
+            int[] counts = jdbcTemplate.batchUpdate(statement, arguments);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missingKeys.add(statementKeys.get(i));
+                }
+            }
+        });
+        return missingKeys;
+    }
+
+    private static String updateStatement(SummaryKey key) {
+        StringBuilder statement = new StringBuilder("update budget_execution_summary set ");
+        for (int amount = 0; amount < AMOUNT_COLUMNS.size(); amount++) {
+            String column = AMOUNT_COLUMNS.get(amount);
+            statement.append(amount > 0 ? ", " : "").append(column).append(" = coalesce(").append(column).append(", 0) + ?");
+        }
+        return statement
+            .append(" where financial_year_id = ?")
+            .append(key.category() != null ? " and category = ?" : " and category is null")
+            .append(key.chapterId() != null ? " and chapter_id = ?" : " and chapter_id is null")
+            .append(key.articleId() != null ? " and article_id = ?" : " and article_id is null")
+            .toString();
+    }
+
+    /**
+     * Find which of some keys of a financial year have a row, without locking them.
+     */
+    private Set<SummaryKey> findExistingKeys(Long financialYearId, List<SummaryKey> keys) {
+        Set<SummaryKey> existingKeys = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>(
+            list(
+                "select s.category, s.chapterId, s.articleId from BudgetExecutionSummary s" +
+                " where s.financialYearId = :financialYearId and s.articleId is null",
+                financialYearId
+            )
+        );
+        for (List<Long> chunk : chunks(keys.stream().map(SummaryKey::articleId).filter(Objects::nonNull).distinct().toList())) {
+            rows.addAll(
+                entityManager
+                    .createQuery(
+                        "select s.category, s.chapterId, s.articleId from BudgetExecutionSummary s" +
+                        " where s.financialYearId = :financialYearId and s.articleId in :articleIds",
+                        Object[].class
+                    )
+                    .setParameter("financialYearId", financialYearId)
+                    .setParameter("articleIds", chunk)
+                    .getResultList()
+            );
+        }
+        for (Object[] row : rows) {
+            existingKeys.add(new SummaryKey(financialYearId, (FinancialCategoryEnum) row[0], (Long) row[1], (Long) row[2]));
+        }
+        return existingKeys;
+    }
+
+    private List<Long> lockFinancialYears(Set<Long> financialYearIds) {
+        return entityManager
+            .createNativeQuery("select id from financial_year where id in (:financialYearIds) order by id for update", Long.class)
+            .setParameter("financialYearIds", financialYearIds)
+            .getResultList();
+    }
+
+    /**
+     * Get the changes recorded by the current transaction, which are added to the summary just before it commits.
+     */
+    private PendingChanges getPendingChanges() {
+        PendingChanges pendingChanges = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pendingChanges == null) {
+            PendingChanges changes = new PendingChanges(new HashMap<>(), new ArrayList<>());
+            pendingChanges = changes;
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        applyChanges(changes);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(BudgetExecutionService.this);
+                    }
+                }
+            );
+        }
+        return pendingChanges;
+    }
+
+    /**
+     * Keep the current amounts of the sources which were not recorded yet by the transaction.
+     * <p>
+     * The sources are locked first, until the transaction ends: a concurrent write of the same source, or of another
+     * purchase order of the same annex decision, waits until this one has added its differences and committed, and only
+     * then reads the amounts it started from. Otherwise both would start from the same amounts, and the second one to
+     * commit would add the differences of the first one again.
+     */
+    private void keepAmounts(PendingChanges changes, Set<Source> sources) {
+        Set<Source> newSources = new HashSet<>(sources);
+        newSources.removeAll(changes.amountsBySource().keySet());
+        lockSources(newSources);
+        Map<Source, Map<SummaryKey, BigDecimal[]>> amounts = findAmounts(newSources);
+        newSources.forEach(source -> changes.amountsBySource().put(source, amounts.getOrDefault(source, Map.of())));
+    }
+
+    /**
+     * Lock the rows of some sources, always in the same order: by type, then by id.
+     */
+    private void lockSources(Set<Source> sources) {
+        for (SourceType type : SourceType.values()) {
+            List<Long> ids = sources.stream().filter(source -> source.type() == type).map(Source::id).sorted().toList();
+            for (List<Long> chunk : chunks(ids)) {
+                entityManager
+                    .createQuery("select s.id from " + type.entityName + " s where s.id in :ids order by s.id", Long.class)
+                    .setParameter("ids", chunk)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            }
+        }
+    }
+
+    /**
+     * Find the sources which some entities belong to in the database: the entities themselves, and the sources whose
+     * amounts they change.
+     */
+    private Set<Source> findSources(Class<?> entityClass, Collection<Long> ids) {
+        Set<Source> sources = new HashSet<>();
+        SourceType sourceType = SOURCE_TYPES.get(entityClass);
+        for (List<Long> chunk : chunks(ids)) {
+            if (sourceType != null) {
+                chunk.forEach(id -> sources.add(new Source(sourceType, id)));
+            }
+            for (SourceQuery sourceQuery : SOURCE_QUERIES.get(entityClass)) {
+                for (Long id : entityManager.createQuery(sourceQuery.query(), Long.class).setParameter("ids", chunk).getResultList()) {
+                    if (id != null) {
+                        sources.add(new Source(sourceQuery.type(), id));
+                    }
+                }
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Find the sources which the new state of an entity links to.
+     */
+    private Set<Source> findLinkedSources(Object entity) {
+        if (entity instanceof Expense expense && expense.getAnnexDecision() != null) {
+            return Set.of(new Source(SourceType.ANNEX_DECISION, expense.getAnnexDecision().getId()));
+        }
+        if (entity instanceof PurchaseOrder purchaseOrder && purchaseOrder.getAnnexDecision() != null) {
+            return Set.of(new Source(SourceType.ANNEX_DECISION, purchaseOrder.getAnnexDecision().getId()));
+        }
+        if (entity instanceof Article article) {
+            Set<Source> sources = new HashSet<>(findSources(Recipe.class, article.getRecipes().stream().map(Recipe::getId).toList()));
+            sources.addAll(findSources(Expense.class, article.getExpenses().stream().map(Expense::getId).toList()));
+            return sources;
+        }
+        return Set.of();
+    }
+
+    /**
+     * Compute the amounts which sources add to each row of the summary: the amounts of a source go whole to the total of
+     * its category, to the row of each article linked to it, and to the row of each chapter of these articles, once per
+     * chapter. The purchase orders of an annex decision go to the category, the articles and the chapters of its expense.
+     */
+    private Map<Source, Map<SummaryKey, BigDecimal[]>> findAmounts(Collection<Source> sources) {
+        Map<Source, Map<SummaryKey, BigDecimal[]>> amountsBySource = new HashMap<>();
+        for (SourceType type : SourceType.values()) {
+            List<Long> ids = sources.stream().filter(source -> source.type() == type).map(Source::id).sorted().toList();
+            for (List<Long> chunk : chunks(ids)) {
+                if (type == SourceType.ANNEX_DECISION) {
+                    findCommittedAmounts(amountsBySource, chunk);
+                } else {
+                    findForecastAmounts(amountsBySource, type, chunk);
+                }
+            }
+        }
+        return amountsBySource;
+    }
+
+    private void findForecastAmounts(Map<Source, Map<SummaryKey, BigDecimal[]>> amountsBySource, SourceType type, List<Long> ids) {
+        Map<Long, List<Object[]>> links = findLinks(type, ids);
+        for (Object[] row : entityManager
+            .createQuery(
+                "select s.id, s.financialYear.id, s.category, s.newYearForecast, s.achievementsInThePastYear from " +
+                type.entityName +
+                " s where s.id in :ids",
+                Object[].class
+            )
+            .setParameter("ids", ids)
+            .getResultList()) {
+            BigDecimal[] amounts = zero();
+            amounts[type.firstAmount] = toAmount(row[3]);
+            amounts[type.firstAmount + 1] = toAmount(row[4]);
+            amountsBySource.put(
+                new Source(type, (Long) row[0]),
+                toSummaries((Long) row[1], (FinancialCategoryEnum) row[2], amounts, links.getOrDefault((Long) row[0], List.of()))
+            );
+        }
+    }
+
+    private void findCommittedAmounts(Map<Source, Map<SummaryKey, BigDecimal[]>> amountsBySource, List<Long> ids) {
+        Map<Long, BigDecimal> committedAmounts = new HashMap<>();
+        for (Object[] row : entityManager
+            .createQuery(
+                "select po.annexDecision.id, sum(po.totalAmountWithTax) from PurchaseOrder po where po.annexDecision.id in :ids" +
+                " group by po.annexDecision.id",
+                Object[].class
+            )
+            .setParameter("ids", ids)
+            .getResultList()) {
+            committedAmounts.put((Long) row[0], toAmount(row[1]));
+        }
+        List<Object[]> rows = entityManager
+            .createQuery("select ad.id, ad.financialYear.id, e.id, e.category from AnnexDecision ad left join ad.expense e where ad.id in :ids", Object[].class)
+            .setParameter("ids", ids)
+            .getResultList();
+        Map<Long, List<Object[]>> links = findLinks(
+            SourceType.EXPENSE,
+            rows.stream().map(row -> (Long) row[2]).filter(Objects::nonNull).toList()
+        );
+        for (Object[] row : rows) {
+            BigDecimal[] amounts = zero();
+            amounts[SourceType.ANNEX_DECISION.firstAmount] = committedAmounts.getOrDefault((Long) row[0], BigDecimal.ZERO);
+            amountsBySource.put(
+                new Source(SourceType.ANNEX_DECISION, (Long) row[0]),
+                toSummaries(
+                    (Long) row[1],
+                    (FinancialCategoryEnum) row[3],
+                    amounts,
+                    row[2] != null ? links.getOrDefault((Long) row[2], List.of()) : List.of()
+                )
+            );
+        }
+    }
+
+    /**
+     * Find the articles of recipes or expenses, as rows {@code [chapter id, article id]} ordered by article, by source id.
+     */
+    private Map<Long, List<Object[]>> findLinks(SourceType type, List<Long> ids) {
+        Map<Long, List<Object[]>> links = new HashMap<>();
+        if (ids.isEmpty()) {
+            return links;
+        }
+        for (Object[] row : entityManager
+            .createQuery("select s.id, a.chapter.id, a.id from " + type.entityName + " s join s.articles a where s.id in :ids order by s.id, a.id", Object[].class)
+            .setParameter("ids", ids)
+            .getResultList()) {
+            links.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(new Object[] { row[1], row[2] });
+        }
+        return links;
+    }
+
+    /**
+     * Get the amounts which a source adds to the total of its category and to the rows of its articles and chapters.
+     */
+    private static Map<SummaryKey, BigDecimal[]> toSummaries(
+        Long financialYearId,
+        FinancialCategoryEnum category,
+        BigDecimal[] amounts,
+        List<Object[]> links
+    ) {
+        Map<SummaryKey, BigDecimal[]> summaries = new HashMap<>();
+        if (financialYearId == null) {
+            return summaries;
+        }
+        summaries.put(new SummaryKey(financialYearId, category, null, null), amounts);
+        for (Object[] link : links) {
+            Long chapterId = (Long) link[0];
+            summaries.put(new SummaryKey(financialYearId, category, chapterId, (Long) link[1]), amounts);
+            if (chapterId != null) {
+                summaries.put(new SummaryKey(financialYearId, category, chapterId, null), amounts);
+            }
+        }
+        return summaries;
+    }
+
+    private List<Object[]> list(String query, Long financialYearId) {
+        return entityManager.createQuery(query, Object[].class).setParameter("financialYearId", financialYearId).getResultList();
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> idList = List.copyOf(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int start = 0; start < idList.size(); start += MAX_IDS_PER_QUERY) {
+            chunks.add(idList.subList(start, Math.min(idList.size(), start + MAX_IDS_PER_QUERY)));
+        }
+        return chunks;
+    }
+
+    private static void add(Map<SummaryKey, BigDecimal[]> summaries, Map<SummaryKey, BigDecimal[]> amounts, BigDecimal factor) {
+        amounts.forEach((key, values) -> {
+            BigDecimal[] sums = summaries.computeIfAbsent(key, k -> zero());
+            for (int amount = 0; amount < sums.length; amount++) {
+                sums[amount] = sums[amount].add(values[amount].multiply(factor));
+            }
+        });
+    }
+
+    private static BigDecimal[] zero() {
+        BigDecimal[] amounts = new BigDecimal[AMOUNT_COLUMNS.size()];
+        Arrays.fill(amounts, BigDecimal.ZERO);
+        return amounts;
+    }
+
+    private static boolean isZero(BigDecimal[] amounts) {
+        for (BigDecimal amount : amounts) {
+            if (amount.signum() != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BudgetExecutionSummary toSummary(SummaryKey key, BigDecimal[] amounts) {
+        return new BudgetExecutionSummary()
+            .financialYearId(key.financialYearId())
+            .category(key.category())
+            .chapterId(key.chapterId())
+            .articleId(key.articleId())
+            .recipeForecast(amounts[0])
+            .recipeAchievements(amounts[1])
+            .expenseForecast(amounts[2])
+            .expenseAchievements(amounts[3])
+            .committedAmount(amounts[4]);
+    }
+
+    private static BudgetExecutionDTO toBudgetExecution(
+        FinancialCategoryEnum category,
+        Long chapterId,
+        Long articleId,
+        Object[] sums,
+        int offset
+    ) {
+        BigDecimal expenseForecast = toAmount(sums[offset + 2]);
+        BigDecimal committedAmount = toAmount(sums[offset + 4]);
+        return new BudgetExecutionDTO(
+            category,
+            chapterId,
+            articleId,
+            toAmount(sums[offset]),
+            toAmount(sums[offset + 1]),
+            expenseForecast,
+            toAmount(sums[offset + 3]),
+            committedAmount,
+            expenseForecast.subtract(committedAmount)
+        );
+    }
+
+    private static BigDecimal toAmount(Object sum) {
+        if (sum == null) {
+            return BigDecimal.ZERO;
+        }
+        return sum instanceof BigDecimal amount ? amount : new BigDecimal(sum.toString());
+    }
+
+    /**
+     * The sources of the amounts: the recipes and the expenses for their forecasts and achievements, and the annex
+     * decisions for the amounts of their purchase orders.
+     */
+    private enum SourceType {
+        RECIPE("Recipe", 0),
+        EXPENSE("Expense", 2),
+        ANNEX_DECISION("AnnexDecision", 4);
+
+        private final String entityName;
+
+        /**
+         * The index of the first amount of the source in a row.
+         */
+        private final int firstAmount;
+
+        SourceType(String entityName, int firstAmount) {
+            this.entityName = entityName;
+            this.firstAmount = firstAmount;
+        }
+    }
+
+    private record Source(SourceType type, Long id) {}
+
+    private record SourceQuery(SourceType type, String query) {}
+
+    private record SummaryKey(Long financialYearId, FinancialCategoryEnum category, Long chapterId, Long articleId) {}
+
+    /**
+     * The changes recorded by a transaction: the amounts of the sources when they were first recorded, and the created
+     * sources, whose ids are only known once they are written.
+     */
+    private record PendingChanges(Map<Source, Map<SummaryKey, BigDecimal[]>> amountsBySource, List<Object> createdSources) {}
+}
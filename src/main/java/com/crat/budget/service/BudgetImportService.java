@@ -0,0 +1,862 @@
+package com.crat.budget.service;
+
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.Chapter;
+import com.crat.budget.domain.Expense;
+import com.crat.budget.domain.FinancialYear;
+import com.crat.budget.domain.Recipe;
+import com.crat.budget.domain.enumeration.FinancialCategoryEnum;
+import com.crat.budget.security.AuthoritiesConstants;
+import com.crat.budget.security.SecurityUtils;
+import com.crat.budget.service.dto.ArticleNodeDTO;
+import com.crat.budget.service.dto.ChapterNodeDTO;
+import com.crat.budget.service.dto.ImportJobDTO;
+import com.crat.budget.service.dto.ImportRowErrorDTO;
+import com.crat.budget.service.dto.NomenclatureTreeDTO;
+import com.crat.budget.service.dto.SubTitleNodeDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing {@link Article}s, {@link Recipe}s and {@link Expense}s from CSV or XLSX spreadsheets.
+ * <p>
+ * An upload is saved to a temporary file and imported by a job on the task executor, whose progress can be polled. The
+ * file is read as a stream, in chunks of {@link #CHUNK_SIZE} rows: the rows of a chunk are validated in parallel on the
+ * task executor, the codes of their chapters, sub-titles and articles being resolved in an in-memory lookup built from the
+ * {@link NomenclatureSnapshotService} when the job starts, and the valid rows are then written in one transaction, as JDBC
+ * batches. If that transaction fails, the rows of the chunk are written one by one, so a row which cannot be written is
+ * reported without rejecting the others. An invalid row never aborts the import.
+ * <p>
+ * Rows update the existing rows with the same key, so a file can be imported again: an article is keyed by its chapter
+ * and code, a recipe or an expense by its financial year. The columns missing from the file are left unchanged, and the
+ * links to the articles are added to the existing ones. The budget execution summary of the written rows is refreshed
+ * once, after the last chunk.
+ * <p>
+ * The jobs live in memory, for {@link #JOB_RETENTION} after they end, and are only known by the instance which runs them.
+ * A job is only visible to the user who submitted it and to the administrators.
+ */
+@Service
+public class BudgetImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BudgetImportService.class);
+
+    /**
+     * The number of rows validated and written together.
+     */
+    public static final int CHUNK_SIZE = 500;
+
+    /**
+     * The number of rows validated together by a task.
+     */
+    private static final int VALIDATION_BATCH_SIZE = 100;
+
+    /**
+     * The maximum number of row errors listed in a job.
+     */
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    /**
+     * How long a job is kept after it ends.
+     */
+    public static final Duration JOB_RETENTION = Duration.ofHours(24);
+
+    /**
+     * The maximum length of the text columns, {@code varchar(255)}.
+     */
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    static final String CODE = "code";
+    static final String DESIGNATION = "designation";
+    static final String CATEGORY = "category";
+    static final String ACCOUNT_DIV = "accountDiv";
+    static final String CODE_END = "codeEnd";
+    static final String PARAGRAPH = "paragraph";
+    static final String CHAPTER = "chapter";
+    static final String SUB_TITLE = "subTitle";
+    static final String YEAR = "year";
+    static final String ACHIEVEMENTS_IN_THE_PAST_YEAR = "achievementsInThePastYear";
+    static final String NEW_YEAR_FORECAST = "newYearForecast";
+    static final String ARTICLES = "articles";
+
+    private static final List<String> ARTICLE_COLUMNS = List.of(
+        CODE,
+        DESIGNATION,
+        CATEGORY,
+        ACCOUNT_DIV,
+        CODE_END,
+        PARAGRAPH,
+        CHAPTER,
+        SUB_TITLE
+    );
+
+    private static final List<String> FORECAST_COLUMNS = List.of(
+        YEAR,
+        CATEGORY,
+        ACHIEVEMENTS_IN_THE_PAST_YEAR,
+        NEW_YEAR_FORECAST,
+        ARTICLES
+    );
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final NomenclatureSnapshotService nomenclatureSnapshotService;
+
+    private final BudgetExecutionService budgetExecutionService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Executor taskExecutor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BudgetImportService(
+        NomenclatureSnapshotService nomenclatureSnapshotService,
+        BudgetExecutionService budgetExecutionService,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.nomenclatureSnapshotService = nomenclatureSnapshotService;
+        this.budgetExecutionService = budgetExecutionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Submit a spreadsheet to import.
+     *
+     * @param type the kind of rows of the spreadsheet.
+     * @param format the format of the spreadsheet.
+     * @param fileName the name of the uploaded file.
+     * @param content the content of the file, which is read before returning.
+     * @return the queued job.
+     * @throws IOException if the content cannot be saved to a temporary file.
+     */
+    public ImportJobDTO submit(BudgetImportType type, ImportFormat format, String fileName, InputStream content) throws IOException {
+        LOG.debug("Request to import {} from {}", type, fileName);
+        removeExpiredJobs();
+        Path file = Files.createTempFile("budget-import-", "." + format.getFileExtension());
+        ImportJob job = new ImportJob(type, fileName, SecurityUtils.getCurrentUserLogin().orElse(null));
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+            jobs.put(job.id, job);
+            taskExecutor.execute(() -> run(job, format, file));
+        } catch (IOException | RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Get the progress of a job of the current user, or of any user for an administrator.
+     *
+     * @param id the id of the job.
+     * @return the job, or empty if it does not exist, expired or belongs to another user.
+     */
+    public Optional<ImportJobDTO> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id))
+            .filter(job ->
+                SecurityUtils.getCurrentUserLogin().filter(login -> login.equals(job.owner)).isPresent() ||
+                SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN)
+            )
+            .map(ImportJob::toDTO);
+    }
+
+    private void run(ImportJob job, ImportFormat format, Path file) {
+        job.start();
+        Set<Long> writtenIds = new HashSet<>();
+        try {
+            try {
+                importFile(job, format, file, writtenIds);
+            } finally {
+                // Also the rows written before a failure
+                recordWrites(job.type, writtenIds);
+            }
+            job.complete();
+            LOG.info("Imported {} of {} {} rows of {}, job {}", job.rowsImported, job.rowsRead, job.type, job.fileName, job.id);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to import {} from {}, job {}: {}", job.type, job.fileName, job.id, e.getMessage());
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.warn("Failed to delete the imported file {}", file, e);
+            }
+        }
+    }
+
+    private void importFile(ImportJob job, ImportFormat format, Path file, Set<Long> writtenIds) throws IOException {
+        try (SpreadsheetReader reader = SpreadsheetReader.open(format, file)) {
+            SpreadsheetReader.Row header = reader.next();
+            if (header == null) {
+                throw new InvalidImportException("The file is empty", "importfileempty");
+            }
+            RowParser parser = new RowParser(job.type, header, loadLookup(job.type));
+            List<SpreadsheetReader.Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (SpreadsheetReader.Row row = reader.next(); row != null; row = reader.next()) {
+                if (!row.isBlank()) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(job, parser, chunk, writtenIds);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            importChunk(job, parser, chunk, writtenIds);
+        }
+    }
+
+    /**
+     * Refresh the budget execution summary of the financial years of the written rows, whole: the chunks are written
+     * without recording their changes, so the financial years are resolved once, after all their writes.
+     */
+    private void recordWrites(BudgetImportType type, Set<Long> writtenIds) {
+        if (writtenIds.isEmpty()) {
+            return;
+        }
+        Class<?> entityClass =
+            switch (type) {
+                case ARTICLE -> Article.class;
+                case RECIPE -> Recipe.class;
+                case EXPENSE -> Expense.class;
+            };
+        transactionTemplate.executeWithoutResult(status -> budgetExecutionService.refresh(entityClass, writtenIds));
+    }
+
+    private void importChunk(ImportJob job, RowParser parser, List<SpreadsheetReader.Row> chunk, Set<Long> writtenIds) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<ParsedRow> parsedRows = validate(parser, chunk);
+        job.read(chunk.size());
+        List<ParsedRow> validRows = new ArrayList<>(parsedRows.size());
+        for (ParsedRow row : parsedRows) {
+            if (row.errors().isEmpty()) {
+                validRows.add(row);
+            } else {
+                job.reject(row.errors());
+            }
+        }
+        write(job, parser, validRows, writtenIds);
+    }
+
+    /**
+     * Validate the rows of a chunk by batches, on the task executor. Validation only reads the immutable lookup, so the
+     * batches can be validated on any thread. The job, which runs on the same executor, validates batches too and only
+     * waits for the batches taken by the other tasks: it never waits on a task queued behind it.
+     */
+    private List<ParsedRow> validate(RowParser parser, List<SpreadsheetReader.Row> chunk) {
+        int batches = (chunk.size() + VALIDATION_BATCH_SIZE - 1) / VALIDATION_BATCH_SIZE;
+        ParsedRow[] parsedRows = new ParsedRow[chunk.size()];
+        AtomicInteger nextBatch = new AtomicInteger();
+        CountDownLatch validated = new CountDownLatch(batches);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable validator = () -> {
+            for (int batch = nextBatch.getAndIncrement(); batch < batches; batch = nextBatch.getAndIncrement()) {
+                int end = Math.min(chunk.size(), (batch + 1) * VALIDATION_BATCH_SIZE);
+                try {
+                    for (int row = batch * VALIDATION_BATCH_SIZE; row < end; row++) {
+                        parsedRows[row] = parser.parse(chunk.get(row));
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    validated.countDown();
+                }
+            }
+        };
+        try {
+            for (int task = 1; task < batches; task++) {
+                taskExecutor.execute(validator);
+            }
+        } catch (RejectedExecutionException e) {
+            LOG.debug("The task executor is saturated, validating the rows on the job thread");
+        }
+        validator.run();
+        try {
+            validated.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating the rows", e);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return Arrays.asList(parsedRows);
+    }
+
+    private void write(ImportJob job, RowParser parser, List<ParsedRow> rows, Set<Long> writtenIds) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            writtenIds.addAll(
+                transactionTemplate.execute(status ->
+                    switch (job.type) {
+                        case ARTICLE -> writeArticles(parser, rows);
+                        case RECIPE -> writeRecipes(parser, rows);
+                        case EXPENSE -> writeExpenses(parser, rows);
+                    }
+                )
+            );
+            job.imported(rows.size());
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                job.reject(List.of(new ImportRowErrorDTO(rows.get(0).number(), null, "The row could not be written: " + message)));
+            } else {
+                LOG.debug("Failed to write a chunk of {} rows, writing them one by one", rows.size(), e);
+                rows.forEach(row -> write(job, parser, List.of(row), writtenIds));
+            }
+        }
+    }
+
+    private Set<Long> writeArticles(RowParser parser, List<ParsedRow> rows) {
+        List<ArticleRow> articleRows = rows.stream().map(row -> (ArticleRow) row.value()).toList();
+        Map<ArticleKey, Article> articles = new HashMap<>();
+        Set<Long> writtenIds = new HashSet<>();
+        entityManager
+            .createQuery("select a from Article a where a.code in :codes order by a.id", Article.class)
+            .setParameter("codes", articleRows.stream().map(ArticleRow::code).collect(Collectors.toSet()))
+            .getResultList()
+            .forEach(article ->
+                articles.putIfAbsent(
+                    new ArticleKey(Optional.ofNullable(article.getChapter()).map(Chapter::getId).orElse(null), article.getCode()),
+                    article
+                )
+            );
+        for (ArticleRow row : articleRows) {
+            ArticleKey key = new ArticleKey(row.chapterId(), row.code());
+            Article article = articles.get(key);
+            boolean created = article == null;
+            if (created) {
+                article = new Article()
+                    .code(row.code())
+                    .chapter(row.chapterId() != null ? entityManager.getReference(Chapter.class, row.chapterId()) : null);
+                articles.put(key, article);
+            }
+            article.setDesignation(row.designation());
+            if (parser.hasColumn(CATEGORY)) {
+                article.setCategory(row.category());
+            }
+            if (parser.hasColumn(ACCOUNT_DIV)) {
+                article.setAccountDiv(row.accountDiv());
+            }
+            if (parser.hasColumn(CODE_END)) {
+                article.setCodeEnd(row.codeEnd());
+            }
+            if (parser.hasColumn(PARAGRAPH)) {
+                article.setParagraph(row.paragraph());
+            }
+            if (created) {
+                // Once its values are set, so it is written in a single insert
+                entityManager.persist(article);
+            }
+            writtenIds.add(article.getId());
+        }
+        return writtenIds;
+    }
+
+    private Set<Long> writeRecipes(RowParser parser, List<ParsedRow> rows) {
+        List<ForecastRow> forecastRows = rows.stream().map(row -> (ForecastRow) row.value()).toList();
+        Map<Long, Recipe> recipes = findByFinancialYear(Recipe.class, forecastRows, Recipe::getFinancialYear);
+        Map<Long, Article> articles = loadArticles(forecastRows, "recipes");
+        Set<Long> writtenIds = new HashSet<>();
+        for (ForecastRow row : forecastRows) {
+            Recipe recipe = row.financialYearId() != null ? recipes.get(row.financialYearId()) : null;
+            boolean created = recipe == null;
+            if (created) {
+                recipe = new Recipe().financialYear(getFinancialYear(row));
+                if (row.financialYearId() != null) {
+                    recipes.put(row.financialYearId(), recipe);
+                }
+            }
+            if (parser.hasColumn(CATEGORY)) {
+                recipe.setCategory(row.category());
+            }
+            if (parser.hasColumn(ACHIEVEMENTS_IN_THE_PAST_YEAR)) {
+                recipe.setAchievementsInThePastYear(row.achievementsInThePastYear());
+            }
+            if (parser.hasColumn(NEW_YEAR_FORECAST)) {
+                recipe.setNewYearForecast(row.newYearForecast());
+            }
+            if (created) {
+                entityManager.persist(recipe);
+            }
+            writtenIds.add(recipe.getId());
+            for (Long articleId : row.articleIds()) {
+                getArticle(articles, articleId).addRecipe(recipe);
+            }
+        }
+        return writtenIds;
+    }
+
+    private Set<Long> writeExpenses(RowParser parser, List<ParsedRow> rows) {
+        List<ForecastRow> forecastRows = rows.stream().map(row -> (ForecastRow) row.value()).toList();
+        Map<Long, Expense> expenses = findByFinancialYear(Expense.class, forecastRows, Expense::getFinancialYear);
+        Map<Long, Article> articles = loadArticles(forecastRows, "expenses");
+        Set<Long> writtenIds = new HashSet<>();
+        for (ForecastRow row : forecastRows) {
+            Expense expense = row.financialYearId() != null ? expenses.get(row.financialYearId()) : null;
+            boolean created = expense == null;
+            if (created) {
+                expense = new Expense().financialYear(getFinancialYear(row));
+                if (row.financialYearId() != null) {
+                    expenses.put(row.financialYearId(), expense);
+                }
+            }
+            if (parser.hasColumn(CATEGORY)) {
+                expense.setCategory(row.category());
+            }
+            if (parser.hasColumn(ACHIEVEMENTS_IN_THE_PAST_YEAR)) {
+                expense.setAchievementsInThePastYear(row.achievementsInThePastYear());
+            }
+            if (parser.hasColumn(NEW_YEAR_FORECAST)) {
+                expense.setNewYearForecast(row.newYearForecast());
+            }
+            if (created) {
+                entityManager.persist(expense);
+            }
+            writtenIds.add(expense.getId());
+            for (Long articleId : row.articleIds()) {
+                getArticle(articles, articleId).addExpense(expense);
+            }
+        }
+        return writtenIds;
+    }
+
+    /**
+     * Find the recipes or expenses of the financial years of the rows, by id of financial year.
+     */
+    private <T> Map<Long, T> findByFinancialYear(Class<T> entityClass, List<ForecastRow> rows, Function<T, FinancialYear> financialYear) {
+        Map<Long, T> entities = new HashMap<>();
+        Set<Long> ids = rows.stream().map(ForecastRow::financialYearId).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (!ids.isEmpty()) {
+            entityManager
+                .createQuery("select e from " + entityClass.getSimpleName() + " e where e.financialYear.id in :ids", entityClass)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .forEach(entity -> entities.put(financialYear.apply(entity).getId(), entity));
+        }
+        return entities;
+    }
+
+    private FinancialYear getFinancialYear(ForecastRow row) {
+        return row.financialYearId() != null ? entityManager.getReference(FinancialYear.class, row.financialYearId()) : null;
+    }
+
+    /**
+     * Load the articles linked by the rows, with the links to update, which are owned by the articles.
+     */
+    private Map<Long, Article> loadArticles(List<ForecastRow> rows, String links) {
+        Set<Long> ids = rows.stream().flatMap(row -> row.articleIds().stream()).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager
+            .createQuery("select distinct a from Article a left join fetch a." + links + " where a.id in :ids", Article.class)
+            .setParameter("ids", ids)
+            .getResultStream()
+            .collect(Collectors.toMap(Article::getId, Function.identity()));
+    }
+
+    private static Article getArticle(Map<Long, Article> articles, Long id) {
+        Article article = articles.get(id);
+        if (article == null) {
+            throw new IllegalStateException("The article " + id + " was deleted during the import");
+        }
+        return article;
+    }
+
+    private Lookup loadLookup(BudgetImportType type) {
+        NomenclatureTreeDTO tree = nomenclatureSnapshotService.getTree();
+        Map<String, List<ChapterKey>> chaptersByCode = new HashMap<>();
+        Map<String, List<Long>> articlesByCode = new HashMap<>();
+        Set<String> subTitleCodes = new LinkedHashSet<>();
+        for (SubTitleNodeDTO subTitle : tree.subTitles()) {
+            subTitleCodes.add(subTitle.code());
+            for (ChapterNodeDTO chapter : subTitle.chapters()) {
+                addChapter(chaptersByCode, articlesByCode, chapter, subTitle.code());
+            }
+        }
+        for (ChapterNodeDTO chapter : tree.unassignedChapters()) {
+            addChapter(chaptersByCode, articlesByCode, chapter, null);
+        }
+        for (ArticleNodeDTO article : tree.unassignedArticles()) {
+            articlesByCode.computeIfAbsent(article.code(), code -> new ArrayList<>()).add(article.id());
+        }
+        Map<Integer, List<Long>> financialYearsByYear = new HashMap<>();
+        if (type != BudgetImportType.ARTICLE) {
+            readOnlyTransactionTemplate.executeWithoutResult(status ->
+                entityManager
+                    .createQuery("select f.year, f.id from FinancialYear f order by f.id", Object[].class)
+                    .getResultStream()
+                    .forEach(row -> financialYearsByYear.computeIfAbsent((Integer) row[0], year -> new ArrayList<>()).add((Long) row[1]))
+            );
+        }
+        return new Lookup(subTitleCodes, chaptersByCode, articlesByCode, financialYearsByYear);
+    }
+
+    private static void addChapter(
+        Map<String, List<ChapterKey>> chaptersByCode,
+        Map<String, List<Long>> articlesByCode,
+        ChapterNodeDTO chapter,
+        String subTitleCode
+    ) {
+        chaptersByCode.computeIfAbsent(chapter.code(), code -> new ArrayList<>()).add(new ChapterKey(chapter.id(), subTitleCode));
+        for (ArticleNodeDTO article : chapter.articles()) {
+            articlesByCode.computeIfAbsent(article.code(), code -> new ArrayList<>()).add(article.id());
+        }
+    }
+
+    private void removeExpiredJobs() {
+        Instant expiry = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinishedBefore(expiry));
+    }
+
+    private record ChapterKey(Long id, String subTitleCode) {}
+
+    private record ArticleKey(Long chapterId, String code) {}
+
+    /**
+     * The codes of the nomenclature and the financial years, as they were when the job started.
+     */
+    private record Lookup(
+        Set<String> subTitleCodes,
+        Map<String, List<ChapterKey>> chaptersByCode,
+        Map<String, List<Long>> articlesByCode,
+        Map<Integer, List<Long>> financialYearsByYear
+    ) {}
+
+    private record ArticleRow(
+        String code,
+        String designation,
+        FinancialCategoryEnum category,
+        String accountDiv,
+        String codeEnd,
+        String paragraph,
+        Long chapterId
+    ) {}
+
+    private record ForecastRow(
+        Long financialYearId,
+        FinancialCategoryEnum category,
+        Integer achievementsInThePastYear,
+        Integer newYearForecast,
+        Set<Long> articleIds
+    ) {}
+
+    /**
+     * A validated row: its value, {@link ArticleRow} or {@link ForecastRow}, if it has no error.
+     */
+    private record ParsedRow(long number, Object value, List<ImportRowErrorDTO> errors) {}
+
+    /**
+     * Validator of the rows of a file, from the names of the columns of its header.
+     */
+    private static final class RowParser {
+
+        private final BudgetImportType type;
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private final Lookup lookup;
+
+        RowParser(BudgetImportType type, SpreadsheetReader.Row header, Lookup lookup) {
+            this.type = type;
+            this.lookup = lookup;
+            List<String> expected = type == BudgetImportType.ARTICLE ? ARTICLE_COLUMNS : FORECAST_COLUMNS;
+            Map<String, String> expectedByKey = expected.stream().collect(Collectors.toMap(RowParser::columnKey, Function.identity()));
+            for (int i = 0; i < header.cells().size(); i++) {
+                String name = expectedByKey.get(columnKey(header.get(i)));
+                if (name != null) {
+                    columns.putIfAbsent(name, i);
+                }
+            }
+            List<String> required = type == BudgetImportType.ARTICLE ? List.of(CODE, DESIGNATION) : List.of(YEAR);
+            List<String> missing = required.stream().filter(name -> !columns.containsKey(name)).toList();
+            if (!missing.isEmpty()) {
+                throw new InvalidImportException(
+                    "Missing columns " + String.join(", ", missing) + ", the columns are " + String.join(", ", expected),
+                    "importcolumnsmissing"
+                );
+            }
+        }
+
+        boolean hasColumn(String name) {
+            return columns.containsKey(name);
+        }
+
+        /**
+         * The name of a column, without case, spaces or punctuation, so "Account div" is {@code accountDiv}.
+         */
+        private static String columnKey(String name) {
+            return name == null ? "" : name.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", "");
+        }
+
+        ParsedRow parse(SpreadsheetReader.Row row) {
+            Cells cells = new Cells(row);
+            Object value = type == BudgetImportType.ARTICLE ? parseArticle(cells) : parseForecast(cells);
+            return new ParsedRow(row.number(), value, cells.errors);
+        }
+
+        private ArticleRow parseArticle(Cells cells) {
+            String subTitleCode = cells.text(SUB_TITLE, false);
+            if (subTitleCode != null && !lookup.subTitleCodes().contains(subTitleCode)) {
+                cells.error(SUB_TITLE, "Unknown sub-title " + subTitleCode);
+            }
+            String chapterCode = cells.text(CHAPTER, false);
+            Long chapterId = null;
+            if (chapterCode != null) {
+                List<ChapterKey> chapters = lookup
+                    .chaptersByCode()
+                    .getOrDefault(chapterCode, List.of())
+                    .stream()
+                    .filter(chapter -> subTitleCode == null || subTitleCode.equals(chapter.subTitleCode()))
+                    .toList();
+                if (chapters.size() == 1) {
+                    chapterId = chapters.get(0).id();
+                } else if (chapters.isEmpty()) {
+                    cells.error(CHAPTER, "Unknown chapter " + chapterCode + (subTitleCode != null ? " in sub-title " + subTitleCode : ""));
+                } else {
+                    cells.error(CHAPTER, "Several chapters have the code " + chapterCode + ", the sub-title is required");
+                }
+            }
+            return new ArticleRow(
+                cells.text(CODE, true),
+                cells.text(DESIGNATION, true),
+                cells.category(),
+                cells.text(ACCOUNT_DIV, false),
+                cells.text(CODE_END, false),
+                cells.text(PARAGRAPH, false),
+                chapterId
+            );
+        }
+
+        private ForecastRow parseForecast(Cells cells) {
+            Integer year = cells.integer(YEAR);
+            Long financialYearId = null;
+            if (year != null) {
+                List<Long> financialYears = lookup.financialYearsByYear().getOrDefault(year, List.of());
+                if (financialYears.size() == 1) {
+                    financialYearId = financialYears.get(0);
+                } else {
+                    cells.error(
+                        YEAR,
+                        financialYears.isEmpty() ? "Unknown financial year " + year : "Several financial years have the year " + year
+                    );
+                }
+            }
+            Set<Long> articleIds = new LinkedHashSet<>();
+            String articleCodes = cells.text(ARTICLES, false);
+            if (articleCodes != null) {
+                Stream.of(articleCodes.split("[;,|]"))
+                    .map(String::strip)
+                    .filter(code -> !code.isEmpty())
+                    .forEach(code -> {
+                        List<Long> articles = lookup.articlesByCode().getOrDefault(code, List.of());
+                        if (articles.size() == 1) {
+                            articleIds.add(articles.get(0));
+                        } else {
+                            cells.error(
+                                ARTICLES,
+                                articles.isEmpty() ? "Unknown article " + code : "Several articles have the code " + code
+                            );
+                        }
+                    });
+            }
+            return new ForecastRow(
+                financialYearId,
+                cells.category(),
+                cells.integer(ACHIEVEMENTS_IN_THE_PAST_YEAR),
+                cells.integer(NEW_YEAR_FORECAST),
+                articleIds
+            );
+        }
+
+        /**
+         * The cells of a row, which collects the errors of their values.
+         */
+        private final class Cells {
+
+            private final SpreadsheetReader.Row row;
+
+            private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+            Cells(SpreadsheetReader.Row row) {
+                this.row = row;
+            }
+
+            void error(String column, String message) {
+                errors.add(new ImportRowErrorDTO(row.number(), column, message));
+            }
+
+            String text(String column, boolean required) {
+                String text = row.get(columns.getOrDefault(column, -1));
+                if (text == null && required) {
+                    error(column, "A value is required");
+                } else if (text != null && text.length() > MAX_TEXT_LENGTH) {
+                    error(column, "The value is longer than " + MAX_TEXT_LENGTH + " characters");
+                }
+                return text;
+            }
+
+            Integer integer(String column) {
+                String text = text(column, false);
+                if (text == null) {
+                    return null;
+                }
+                try {
+                    return new BigDecimal(text.replaceAll("[\\s\\u00A0\\u202F]", "")).intValueExact();
+                } catch (ArithmeticException | NumberFormatException e) {
+                    error(column, "Not a whole number: " + text);
+                    return null;
+                }
+            }
+
+            FinancialCategoryEnum category() {
+                String text = text(CATEGORY, false);
+                if (text == null) {
+                    return null;
+                }
+                try {
+                    return FinancialCategoryEnum.valueOf(text.toUpperCase(Locale.ROOT).replaceAll("[\\s-]+", "_"));
+                } catch (IllegalArgumentException e) {
+                    error(CATEGORY, "Unknown category " + text + ", the categories are " + Arrays.toString(FinancialCategoryEnum.values()));
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * The progress of a job, written by the thread running it and read by the threads polling it.
+     */
+    private static final class ImportJob {
+
+        private final String id = UUID.randomUUID().toString();
+
+        private final BudgetImportType type;
+
+        private final String fileName;
+
+        private final String owner;
+
+        private final Instant submittedAt = Instant.now();
+
+        private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+        private ImportJobStatus status = ImportJobStatus.QUEUED;
+
+        private long rowsRead;
+
+        private long rowsImported;
+
+        private long rowsFailed;
+
+        private String failure;
+
+        private Instant startedAt;
+
+        private Instant finishedAt;
+
+        ImportJob(BudgetImportType type, String fileName, String owner) {
+            this.type = type;
+            this.fileName = fileName;
+            this.owner = owner;
+        }
+
+        synchronized void start() {
+            status = ImportJobStatus.RUNNING;
+            startedAt = Instant.now();
+        }
+
+        synchronized void read(int rows) {
+            rowsRead += rows;
+        }
+
+        synchronized void imported(int rows) {
+            rowsImported += rows;
+        }
+
+        synchronized void reject(List<ImportRowErrorDTO> rowErrors) {
+            rowsFailed++;
+            rowErrors.stream().limit(Math.max(0, MAX_REPORTED_ERRORS - errors.size())).forEach(errors::add);
+        }
+
+        synchronized void complete() {
+            status = ImportJobStatus.COMPLETED;
+            finishedAt = Instant.now();
+        }
+
+        synchronized void fail(String message) {
+            status = ImportJobStatus.FAILED;
+            failure = message;
+            finishedAt = Instant.now();
+        }
+
+        synchronized boolean isFinishedBefore(Instant instant) {
+            return finishedAt != null && finishedAt.isBefore(instant);
+        }
+
+        synchronized ImportJobDTO toDTO() {
+            return new ImportJobDTO(
+                id,
+                type,
+                fileName,
+                status,
+                rowsRead,
+                rowsImported,
+                rowsFailed,
+                errors,
+                failure,
+                submittedAt,
+                startedAt,
+                finishedAt
+            );
+        }
+    }
+}
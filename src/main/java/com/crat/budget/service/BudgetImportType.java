@@ -0,0 +1,44 @@
+package com.crat.budget.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The kinds of rows of the budget nomenclature and forecasts which can be imported from a spreadsheet.
+ */
+public enum BudgetImportType {
+    /**
+     * {@link com.crat.budget.domain.Article}s, with the codes of their chapters and sub-titles.
+     */
+    ARTICLE("articles"),
+
+    /**
+     * {@link com.crat.budget.domain.Recipe}s, with their financial years and the codes of their articles.
+     */
+    RECIPE("recipes"),
+
+    /**
+     * {@link com.crat.budget.domain.Expense}s, with their financial years and the codes of their articles.
+     */
+    EXPENSE("expenses");
+
+    private final String pathName;
+
+    BudgetImportType(String pathName) {
+        this.pathName = pathName;
+    }
+
+    public String getPathName() {
+        return pathName;
+    }
+
+    /**
+     * Get a type from its name in the URLs.
+     *
+     * @param pathName the name, such as {@code articles}.
+     * @return the type, or empty if the name is not one of the types.
+     */
+    public static Optional<BudgetImportType> fromPathName(String pathName) {
+        return Arrays.stream(values()).filter(type -> type.pathName.equals(pathName)).findFirst();
+    }
+}
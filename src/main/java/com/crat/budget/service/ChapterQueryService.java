@@ -5,14 +5,18 @@ import com.crat.budget.domain.Chapter;
 import com.crat.budget.repository.ChapterRepository;
 import com.crat.budget.service.criteria.ChapterCriteria;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Chapter} entities in the database.
@@ -22,7 +26,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class ChapterQueryService extends QueryService<Chapter> {
+public class ChapterQueryService extends AbstractQueryService<Chapter> {
 
     private static final Logger LOG = LoggerFactory.getLogger(ChapterQueryService.class);
 
@@ -33,16 +37,40 @@ public class ChapterQueryService extends QueryService<Chapter> {
     }
 
     /**
-     * Return a {@link Page} of {@link Chapter} which matches the criteria from the database.
+     * Return a {@link Slice} of {@link Chapter} which matches the criteria from the database,
+     * with the total number of matching entities computed as requested.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param include The associations to load along with the entities, may be empty.
+     * @param countMode How the total number of matching entities is computed.
+     * @return the matching entities, in a {@link Page} unless the count mode is {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Chapter> findByCriteria(ChapterCriteria criteria, Pageable page, Set<String> include, CountMode countMode) {
+        LOG.debug("find by criteria : {}, page: {}, include: {}, count: {}", criteria, page, include, countMode);
+        final Specification<Chapter> specification = createSpecification(criteria);
+        Slice<Chapter> result = findBySpecification(criteria, specification, page, countMode);
+        fetchAssociations(result.getContent(), include);
+        return result;
+    }
+
+    /**
+     * Return a {@link Window} of {@link Chapter} which matches the criteria from the database, using keyset pagination.
+     * The window starts right after the given position, and is ordered by the given sort followed by the id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The position to seek to, as returned by the previous window.
+     * @param sort The sort, which must be the same for all the windows of a scroll.
+     * @param size The maximum number of entities in the window.
+     * @param include The associations to load along with the entities, may be empty.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<Chapter> findByCriteria(ChapterCriteria criteria, Pageable page) {
-        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+    public Window<Chapter> findByCriteria(ChapterCriteria criteria, ScrollPosition position, Sort sort, int size, Set<String> include) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}, size: {}, include: {}", criteria, position, sort, size, include);
         final Specification<Chapter> specification = createSpecification(criteria);
-        return chapterRepository.findAll(specification, page);
+        Window<Chapter> window = chapterRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position));
+        fetchAssociations(window.getContent(), include);
+        return window;
     }
 
     /**
@@ -54,7 +82,7 @@ public class ChapterQueryService extends QueryService<Chapter> {
     public long countByCriteria(ChapterCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<Chapter> specification = createSpecification(criteria);
-        return chapterRepository.count(specification);
+        return countBySpecification(criteria, specification);
     }
 
     /**
@@ -80,12 +108,16 @@ public class ChapterQueryService extends QueryService<Chapter> {
             }
             if (criteria.getSubTitleId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getSubTitleId(), root -> root.join(Chapter_.subTitle, JoinType.LEFT).get(SubTitle_.id))
+                    buildSpecification(criteria.getSubTitleId(), root -> root.get(Chapter_.subTitle).get(SubTitle_.id))
                 );
             }
             if (criteria.getArticleId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getArticleId(), root -> root.join(Chapter_.articles, JoinType.LEFT).get(Article_.id))
+                    exists(
+                        buildSpecification(criteria.getArticleId(), root ->
+                            root.join(Chapter_.articles, JoinType.LEFT).get(Article_.id)
+                        )
+                    )
                 );
             }
         }
@@ -19,9 +19,9 @@ public interface ChapterService {
      * Updates a chapter.
      *
      * @param chapter the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    Chapter update(Chapter chapter);
+    Optional<Chapter> update(Chapter chapter);
 
     /**
      * Partially updates a chapter.
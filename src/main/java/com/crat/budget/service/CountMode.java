@@ -0,0 +1,22 @@
+package com.crat.budget.service;
+
+/**
+ * How the total number of entities matching a criteria is computed for a page of a list endpoint.
+ */
+public enum CountMode {
+    /**
+     * The total is counted with a {@code count(*)} query, unless the page itself tells it.
+     */
+    EXACT,
+
+    /**
+     * The total is estimated from the planner statistics of the database when the criteria does not filter anything,
+     * and counted otherwise.
+     */
+    ESTIMATE,
+
+    /**
+     * The total is not computed: one more entity than the page size is fetched to know if there is a next page.
+     */
+    NONE,
+}
@@ -0,0 +1,232 @@
+package com.crat.budget.service;
+
+import com.crat.budget.domain.CreditLine;
+import com.crat.budget.domain.CreditReservation;
+import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.domain.enumeration.CreditReservationStatus;
+import com.crat.budget.repository.AnnexDecisionRepository;
+import com.crat.budget.repository.CreditLineRepository;
+import com.crat.budget.repository.CreditReservationRepository;
+import com.crat.budget.service.dto.CreditBalanceDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service reserving and releasing the open credits of the {@link com.crat.budget.domain.AnnexDecision}s.
+ * <p>
+ * Each annex decision has a {@link CreditLine} holding its reserved credits. A reservation is a single conditional
+ * {@code UPDATE} of that row, which only matches while the open credits cover the reserved credits plus the amount: the
+ * database serializes the concurrent reservations of a line on its row lock, and re-checks the condition once it holds
+ * it, so the available credits never go negative. No table lock is taken and reservations on different lines do not
+ * wait for each other.
+ */
+@Service
+public class CreditLedgerService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CreditLedgerService.class);
+
+    private final CreditLineRepository creditLineRepository;
+
+    private final CreditReservationRepository creditReservationRepository;
+
+    private final AnnexDecisionRepository annexDecisionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate creditLineTransactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CreditLedgerService(
+        CreditLineRepository creditLineRepository,
+        CreditReservationRepository creditReservationRepository,
+        AnnexDecisionRepository annexDecisionRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.creditLineRepository = creditLineRepository;
+        this.creditReservationRepository = creditReservationRepository;
+        this.annexDecisionRepository = annexDecisionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A credit line created concurrently must not roll back the calling transaction
+        this.creditLineTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.creditLineTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserve credits of an annex decision.
+     *
+     * @param annexDecisionId the id of the annex decision.
+     * @param amount the credits to reserve, positive.
+     * @param purchaseOrderId the id of the purchase order of the annex decision committing the credits, or {@code null}.
+     *                        Its committed expenditures and available balance are updated with the reservation.
+     * @return the reservation, or empty if the annex decision does not exist.
+     * @throws CreditReservationException if the credits available are insufficient, or if the purchase order is not one of
+     * the annex decision.
+     */
+    public Optional<CreditReservation> reserve(Long annexDecisionId, BigDecimal amount, Long purchaseOrderId) {
+        LOG.debug("Request to reserve {} on AnnexDecision : {}", amount, annexDecisionId);
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("The amount to reserve must be positive: " + amount);
+        }
+        if (!createCreditLineIfAbsent(annexDecisionId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(
+            transactionTemplate.execute(status -> {
+                if (creditLineRepository.reserve(annexDecisionId, amount) == 0) {
+                    throw new CreditReservationException(
+                        "Insufficient credits on the annex decision " + annexDecisionId + " to reserve " + amount,
+                        "insufficientcredits"
+                    );
+                }
+                if (purchaseOrderId != null && updatePurchaseOrder(purchaseOrderId, annexDecisionId, amount) == 0) {
+                    throw new CreditReservationException(
+                        "The purchase order " + purchaseOrderId + " is not one of the annex decision " + annexDecisionId,
+                        "purchaseorderinvalid"
+                    );
+                }
+                return creditReservationRepository.save(
+                    new CreditReservation()
+                        .annexDecisionId(annexDecisionId)
+                        .purchaseOrderId(purchaseOrderId)
+                        .amount(amount)
+                        .status(CreditReservationStatus.RESERVED)
+                        .reservedDate(Instant.now())
+                );
+            })
+        );
+    }
+
+    /**
+     * Release a reservation, giving its credits back to its annex decision. Releasing a released reservation has no
+     * effect.
+     *
+     * @param reservationId the id of the reservation.
+     * @return the released reservation, or empty if it does not exist.
+     */
+    public Optional<CreditReservation> release(Long reservationId) {
+        LOG.debug("Request to release CreditReservation : {}", reservationId);
+        return transactionTemplate.execute(status -> {
+            // Only the caller which switches the status gives the credits back
+            boolean released = creditReservationRepository.release(reservationId, Instant.now()) == 1;
+            Optional<CreditReservation> reservation = creditReservationRepository.findById(reservationId);
+            if (released) {
+                CreditReservation creditReservation = reservation.orElseThrow();
+                if (creditReservation.getStatus() != CreditReservationStatus.RELEASED) {
+                    // Loaded by the calling transaction before the update
+                    entityManager.refresh(creditReservation);
+                }
+                creditLineRepository.release(creditReservation.getAnnexDecisionId(), creditReservation.getAmount());
+                if (creditReservation.getPurchaseOrderId() != null) {
+                    updatePurchaseOrder(
+                        creditReservation.getPurchaseOrderId(),
+                        creditReservation.getAnnexDecisionId(),
+                        creditReservation.getAmount().negate()
+                    );
+                }
+            }
+            return reservation;
+        });
+    }
+
+    /**
+     * Get a reservation.
+     *
+     * @param reservationId the id of the reservation.
+     * @return the reservation, or empty if it does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CreditReservation> findReservation(Long reservationId) {
+        LOG.debug("Request to get CreditReservation : {}", reservationId);
+        return creditReservationRepository.findById(reservationId);
+    }
+
+    /**
+     * Get the credit balance of an annex decision.
+     *
+     * @param annexDecisionId the id of the annex decision.
+     * @return the balance, or empty if the annex decision does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CreditBalanceDTO> getBalance(Long annexDecisionId) {
+        LOG.debug("Request to get the credit balance of AnnexDecision : {}", annexDecisionId);
+        return annexDecisionRepository
+            .findById(annexDecisionId)
+            .map(annexDecision -> {
+                BigDecimal creditsOpen = Optional.ofNullable(annexDecision.getCreditsOpenValue()).orElse(BigDecimal.ZERO);
+                BigDecimal reserved = creditLineRepository
+                    .findByAnnexDecisionId(annexDecisionId)
+                    .map(CreditLine::getReserved)
+                    .orElseGet(() -> creditLineRepository.sumCommittedExpenditures(annexDecisionId));
+                return new CreditBalanceDTO(annexDecisionId, creditsOpen, reserved, creditsOpen.subtract(reserved));
+            });
+    }
+
+    /**
+     * Create the credit line of an annex decision the first time its credits are reserved, starting from the committed
+     * expenditures of its purchase orders.
+     *
+     * @return false if the annex decision does not exist.
+     */
+    private boolean createCreditLineIfAbsent(Long annexDecisionId) {
+        if (creditLineRepository.existsByAnnexDecisionId(annexDecisionId)) {
+            return true;
+        }
+        if (!annexDecisionRepository.existsById(annexDecisionId)) {
+            return false;
+        }
+        try {
+            creditLineTransactionTemplate.executeWithoutResult(status ->
+                creditLineRepository.saveAndFlush(
+                    new CreditLine()
+                        .annexDecisionId(annexDecisionId)
+                        .reserved(creditLineRepository.sumCommittedExpenditures(annexDecisionId))
+                )
+            );
+        } catch (DataIntegrityViolationException e) {
+            LOG.debug("The credit line of AnnexDecision {} was created concurrently", annexDecisionId);
+        }
+        return true;
+    }
+
+    /**
+     * Set the committed expenditures and the available balance of a purchase order after credits were reserved or
+     * released for it.
+     *
+     * @param amount the credits reserved, negative when released.
+     * @return 1 if the purchase order was updated, 0 if it does not exist or is linked to another annex decision.
+     */
+    private int updatePurchaseOrder(Long purchaseOrderId, Long annexDecisionId, BigDecimal amount) {
+        // Locked like the line, so that its version does not change before the commit; an UPDATE of the entity updates
+        // its cache entry and its version, where a bulk UPDATE would evict the whole region
+        PurchaseOrder purchaseOrder = entityManager.find(PurchaseOrder.class, purchaseOrderId, LockModeType.PESSIMISTIC_WRITE);
+        if (
+            purchaseOrder == null ||
+            purchaseOrder.getAnnexDecision() == null ||
+            !annexDecisionId.equals(purchaseOrder.getAnnexDecision().getId())
+        ) {
+            return 0;
+        }
+        // The line is locked by the reservation or release, so its balance is the one left by this transaction
+        BigDecimal availableBalance = creditLineRepository.getAvailable(annexDecisionId);
+        purchaseOrder.setCommittedExpenditures(
+            Optional.ofNullable(purchaseOrder.getCommittedExpenditures()).orElse(BigDecimal.ZERO).add(amount)
+        );
+        purchaseOrder.setAvailableBalance(availableBalance);
+        entityManager.flush();
+        return 1;
+    }
+}
@@ -0,0 +1,20 @@
+package com.crat.budget.service;
+
+/**
+ * Thrown when credits cannot be reserved on an annex decision.
+ */
+public class CreditReservationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public CreditReservationException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
@@ -0,0 +1,129 @@
+package com.crat.budget.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader of the CSV files (RFC 4180) in UTF-8, with or without byte order mark.
+ * <p>
+ * The separator is the comma, or the semicolon used by the spreadsheets of the locales whose decimal separator is the
+ * comma: it is the one of them which occurs most often, out of quotes, in the first line.
+ */
+final class CsvSpreadsheetReader implements SpreadsheetReader {
+
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    /**
+     * The maximum length of the first line, read ahead to find the separator.
+     */
+    private static final int MAX_HEADER_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+
+    private final char separator;
+
+    private long lineNumber = 1;
+
+    private boolean ended;
+
+    CsvSpreadsheetReader(Path file) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        reader.mark(1);
+        if (reader.read() != BYTE_ORDER_MARK) {
+            reader.reset();
+        }
+        this.separator = detectSeparator();
+    }
+
+    @Override
+    public Row next() throws IOException {
+        if (ended) {
+            return null;
+        }
+        long number = lineNumber;
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        int c = reader.read();
+        if (c == -1) {
+            ended = true;
+            return null;
+        }
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted cell starting on line " + number);
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        cell.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    cell.append((char) c);
+                }
+            } else if (c == '"' && cell.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == separator) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                cells.add(cell.toString());
+                if (c == -1) {
+                    ended = true;
+                } else {
+                    lineNumber++;
+                }
+                return new Row(number, cells);
+            } else {
+                cell.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private char detectSeparator() throws IOException {
+        reader.mark(MAX_HEADER_LENGTH);
+        int commas = 0;
+        int semicolons = 0;
+        boolean quoted = false;
+        for (int i = 0, c = reader.read(); i < MAX_HEADER_LENGTH && c != -1; i++, c = reader.read()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && (c == '\r' || c == '\n')) {
+                break;
+            } else if (!quoted && c == ',') {
+                commas++;
+            } else if (!quoted && c == ';') {
+                semicolons++;
+            }
+        }
+        reader.reset();
+        return semicolons > commas ? ';' : ',';
+    }
+}
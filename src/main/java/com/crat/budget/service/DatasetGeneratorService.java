@@ -0,0 +1,804 @@
+package com.crat.budget.service;
+
+import com.crat.budget.config.ApplicationProperties;
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.Chapter;
+import com.crat.budget.domain.Decision;
+import com.crat.budget.domain.DecisionItem;
+import com.crat.budget.domain.Engagement;
+import com.crat.budget.domain.Expense;
+import com.crat.budget.domain.FinancialYear;
+import com.crat.budget.domain.Mandate;
+import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.domain.PurchaseOrderItem;
+import com.crat.budget.domain.Recipe;
+import com.crat.budget.domain.SubTitle;
+import com.crat.budget.domain.Supplier;
+import com.crat.budget.domain.enumeration.FinancialCategoryEnum;
+import com.crat.budget.repository.EntityChangeTracker;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service generating a synthetic dataset at a configurable scale, so that the application can be measured against
+ * realistic cardinalities on a local database.
+ * <p>
+ * The tables are written in the order of their foreign keys, each row referring to rows written before it. A table is
+ * written in chunks, in parallel: each chunk by its own transaction, as JDBC batches of multi-row inserts. The values
+ * of a row only depend on the seed, its table and its index, whatever the chunk size and the order in which the chunks
+ * are written, so the totals of a purchase order are computed by generating the amounts of its items again.
+ * <p>
+ * Every financial year has one annex decision, one recipe and one expense, as required by their unique constraints, and
+ * every article is linked to the recipe and the expense of every year, as the financial year rollover does. An
+ * engagement has at most one decision and one mandate. The budget execution summary of the new financial years is then
+ * computed, one year per transaction, as the writes of the application would have maintained it, once the planner
+ * statistics of the written tables are up to date.
+ * <p>
+ * The ids of each table are a block past the current value of its sequence, which is then moved past the block, so the
+ * ids allocated by Hibernate afterwards do not collide with them. Nothing else may write the database meanwhile.
+ */
+@Service
+public class DatasetGeneratorService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatasetGeneratorService.class);
+
+    /**
+     * The number of rows inserted by one statement.
+     */
+    private static final int ROWS_PER_STATEMENT = 100;
+
+    private static final BigDecimal TAX_RATE = BigDecimal.valueOf(18);
+
+    private static final String[] FIRSTNAMES = { "Amadou", "Awa", "Moussa", "Fatou", "Ibrahim", "Mariam", "Oumar", "Aïcha" };
+
+    private static final String[] LASTNAMES = { "Diallo", "Traoré", "Koné", "Diarra", "Coulibaly", "Keita", "Sangaré", "Touré" };
+
+    private static final String[] PRODUCTS = { "Papier A4", "Cartouche d'encre", "Ordinateur portable", "Chaise", "Carburant" };
+
+    private static final List<Class<?>> ENTITY_CLASSES = List.of(
+        FinancialYear.class,
+        SubTitle.class,
+        Chapter.class,
+        Article.class,
+        AnnexDecision.class,
+        Recipe.class,
+        Expense.class,
+        Supplier.class,
+        Engagement.class,
+        PurchaseOrder.class,
+        PurchaseOrderItem.class,
+        Decision.class,
+        DecisionItem.class,
+        Mandate.class
+    );
+
+    /**
+     * The rows written to a table.
+     *
+     * @param name the name of the table.
+     * @param firstId the first id of the rows, which are consecutive, or {@code null} for a join table.
+     * @param rows the number of rows.
+     */
+    public record GeneratedTable(String name, Long firstId, long rows) {}
+
+    private record Column(String name, int sqlType) {}
+
+    private record PurchaseOrderItemAmounts(int quantity, BigDecimal unitPrice, BigDecimal totalAmount) {}
+
+    @FunctionalInterface
+    private interface RowGenerator {
+        /**
+         * @param index the index of the row in its table.
+         * @param random the random values of the row.
+         * @return the values of the columns.
+         */
+        Object[] row(int index, SplittableRandom random);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final EntityChangeTracker entityChangeTracker;
+
+    private final BudgetExecutionService budgetExecutionService;
+
+    public DatasetGeneratorService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        EntityManagerFactory entityManagerFactory,
+        EntityChangeTracker entityChangeTracker,
+        BudgetExecutionService budgetExecutionService
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityChangeTracker = entityChangeTracker;
+        this.budgetExecutionService = budgetExecutionService;
+    }
+
+    /**
+     * Generate a dataset, on top of the existing rows.
+     *
+     * @param dataset the scale of the dataset.
+     * @return the rows written to each table, in the order they were written.
+     * @throws IllegalArgumentException if the scale is inconsistent, such as items without orders.
+     */
+    public List<GeneratedTable> generate(ApplicationProperties.Dataset dataset) {
+        validate(dataset);
+        LOG.info(
+            "Generating a dataset of {} purchase order items and {} decision items",
+            dataset.getPurchaseOrderItems(),
+            dataset.getDecisionItems()
+        );
+        Instant start = Instant.now();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(dataset.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "dataset-generator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<GeneratedTable> tables;
+        try {
+            tables = new Generation(dataset, executor).run();
+        } finally {
+            executor.shutdownNow();
+        }
+        // The rows were written behind the back of the second level cache and of the persistence events
+        entityManagerFactory.getCache().evictAll();
+        ENTITY_CLASSES.forEach(entityChangeTracker::recordChange);
+        tables
+            .stream()
+            .filter(table -> table.name().equals("financial_year"))
+            .forEach(financialYears -> {
+                for (long id = financialYears.firstId(); id < financialYears.firstId() + financialYears.rows(); id++) {
+                    budgetExecutionService.refresh(List.of(id));
+                }
+            });
+        LOG.info(
+            "Generated {} rows in {}: {}",
+            tables.stream().mapToLong(GeneratedTable::rows).sum(),
+            Duration.between(start, Instant.now()),
+            tables.stream().map(table -> table.name() + "=" + table.rows()).collect(Collectors.joining(", "))
+        );
+        return tables;
+    }
+
+    private static void validate(ApplicationProperties.Dataset dataset) {
+        int[] counts = {
+            dataset.getFinancialYears(),
+            dataset.getSubTitles(),
+            dataset.getChapters(),
+            dataset.getArticles(),
+            dataset.getSuppliers(),
+            dataset.getEngagements(),
+            dataset.getPurchaseOrders(),
+            dataset.getPurchaseOrderItems(),
+            dataset.getDecisions(),
+            dataset.getDecisionItems(),
+            dataset.getMandates(),
+        };
+        if (Arrays.stream(counts).anyMatch(count -> count < 0)) {
+            throw new IllegalArgumentException("The numbers of rows cannot be negative");
+        }
+        if (dataset.getChunkSize() < 1 || dataset.getThreads() < 1) {
+            throw new IllegalArgumentException("The chunk size and the number of threads must be positive");
+        }
+        requireParents(dataset.getChapters(), "chapters", dataset.getSubTitles(), "sub-titles");
+        requireParents(dataset.getArticles(), "articles", dataset.getChapters(), "chapters");
+        requireParents(dataset.getPurchaseOrders(), "purchase orders", dataset.getFinancialYears(), "financial years");
+        requireParents(dataset.getPurchaseOrders(), "purchase orders", dataset.getSuppliers(), "suppliers");
+        requireParents(dataset.getPurchaseOrderItems(), "purchase order items", dataset.getPurchaseOrders(), "purchase orders");
+        requireParents(dataset.getDecisions(), "decisions", dataset.getFinancialYears(), "financial years");
+        requireParents(dataset.getDecisionItems(), "decision items", dataset.getDecisions(), "decisions");
+        if (dataset.getDecisions() > dataset.getEngagements() || dataset.getMandates() > dataset.getEngagements()) {
+            throw new IllegalArgumentException("An engagement has at most one decision and one mandate");
+        }
+    }
+
+    private static void requireParents(int children, String childName, int parents, String parentName) {
+        if (children > 0 && parents == 0) {
+            throw new IllegalArgumentException("The " + childName + " require " + parentName);
+        }
+    }
+
+    /**
+     * The state of one generation: the scale, the executor of the chunks and the tables written so far.
+     */
+    private final class Generation {
+
+        private final ApplicationProperties.Dataset dataset;
+
+        private final ExecutorService executor;
+
+        private final Dialect dialect;
+
+        private final Map<String, GeneratedTable> tables = new LinkedHashMap<>();
+
+        private Generation(ApplicationProperties.Dataset dataset, ExecutorService executor) {
+            this.dataset = dataset;
+            this.executor = executor;
+            this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        }
+
+        private List<GeneratedTable> run() {
+            int years = dataset.getFinancialYears();
+            Integer lastYear = jdbcTemplate.queryForObject("select max(year) from financial_year", Integer.class);
+            int firstYear = lastYear != null ? lastYear + 1 : LocalDate.now().getYear() - years + 1;
+
+            long financialYears = insert("financial_year", years, List.of(bigint("id"), integer("year")), (i, random) ->
+                new Object[] { id("financial_year", i), firstYear + i }
+            );
+            long subTitles = insert(
+                "sub_title",
+                dataset.getSubTitles(),
+                List.of(bigint("id"), varchar("code"), varchar("designation")),
+                (i, random) -> new Object[] { id("sub_title", i), "ST" + (i + 1), "Sous-titre " + (i + 1) }
+            );
+            long chapters = insert(
+                "chapter",
+                dataset.getChapters(),
+                List.of(bigint("id"), varchar("code"), varchar("designation"), bigint("sub_title_id")),
+                (i, random) ->
+                    new Object[] {
+                        id("chapter", i),
+                        "CH" + (i + 1),
+                        "Chapitre " + (i + 1),
+                        subTitles + parent(i, dataset.getChapters(), dataset.getSubTitles()),
+                    }
+            );
+            insert(
+                "article",
+                dataset.getArticles(),
+                List.of(
+                    bigint("id"),
+                    varchar("category"),
+                    varchar("code"),
+                    varchar("designation"),
+                    varchar("account_div"),
+                    varchar("code_end"),
+                    varchar("paragraph"),
+                    bigint("chapter_id")
+                ),
+                (i, random) ->
+                    new Object[] {
+                        id("article", i),
+                        pick(random, FinancialCategoryEnum.values()).name(),
+                        "AR" + (i + 1),
+                        "Article " + (i + 1),
+                        String.valueOf(random.nextInt(60, 70)),
+                        String.valueOf(random.nextInt(100, 1000)),
+                        String.valueOf(random.nextInt(1, 10)),
+                        chapters + parent(i, dataset.getArticles(), dataset.getChapters()),
+                    }
+            );
+
+            long annexDecisions = insert(
+                "annex_decision",
+                years,
+                List.of(
+                    bigint("id"),
+                    varchar("designation"),
+                    varchar("expense_amount"),
+                    decimal("expense_amount_value"),
+                    varchar("credits_already_open"),
+                    decimal("credits_already_open_value"),
+                    varchar("credits_open"),
+                    decimal("credits_open_value"),
+                    integer("version"),
+                    bigint("financial_year_id")
+                ),
+                (i, random) -> {
+                    BigDecimal expenseAmount = amount(random, 10_000_000_000L);
+                    BigDecimal creditsAlreadyOpen = amount(random, 5_000_000_000L);
+                    BigDecimal creditsOpen = amount(random, 10_000_000_000L);
+                    return new Object[] {
+                        id("annex_decision", i),
+                        "Décision annexe " + (firstYear + i),
+                        expenseAmount.toPlainString(),
+                        expenseAmount,
+                        creditsAlreadyOpen.toPlainString(),
+                        creditsAlreadyOpen,
+                        creditsOpen.toPlainString(),
+                        creditsOpen,
+                        0,
+                        financialYears + i,
+                    };
+                }
+            );
+            List<Column> budgetLineColumns = List.of(
+                bigint("id"),
+                integer("achievements_in_the_past_year"),
+                integer("new_year_forecast"),
+                varchar("category"),
+                bigint("financial_year_id")
+            );
+            insert("recipe", years, budgetLineColumns, (i, random) ->
+                new Object[] {
+                    id("recipe", i),
+                    random.nextInt(1_000_000_000),
+                    random.nextInt(1_000_000_000),
+                    (random.nextBoolean() ? FinancialCategoryEnum.OPERATING_RECIPE : FinancialCategoryEnum.INVESTMENT_RECIPE).name(),
+                    financialYears + i,
+                }
+            );
+            List<Column> expenseColumns = new ArrayList<>(budgetLineColumns);
+            expenseColumns.add(bigint("annex_decision_id"));
+            insert("expense", years, expenseColumns, (i, random) ->
+                new Object[] {
+                    id("expense", i),
+                    random.nextInt(1_000_000_000),
+                    random.nextInt(1_000_000_000),
+                    (random.nextBoolean() ? FinancialCategoryEnum.OPERATING_EXPENSE : FinancialCategoryEnum.INVESTMENT_EXPENSE).name(),
+                    financialYears + i,
+                    annexDecisions + i,
+                }
+            );
+            int links = Math.multiplyExact(dataset.getArticles(), years);
+            for (String budgetLine : List.of("recipe", "expense")) {
+                insertLinks("rel_article__" + budgetLine, links, List.of(bigint(budgetLine + "_id"), bigint("article_id")), (i, random) ->
+                    new Object[] { id(budgetLine, i % years), id("article", i / years) }
+                );
+            }
+
+            long suppliers = insert(
+                "supplier",
+                dataset.getSuppliers(),
+                List.of(
+                    bigint("id"),
+                    varchar("company_name"),
+                    varchar("address"),
+                    varchar("phone"),
+                    varchar("nif_number"),
+                    varchar("commercial_register"),
+                    varchar("bank_account"),
+                    varchar("mandating_establishment"),
+                    varchar("email"),
+                    varchar("website"),
+                    varchar("description"),
+                    varchar("contact_firstname"),
+                    varchar("contactlastname")
+                ),
+                (i, random) ->
+                    new Object[] {
+                        id("supplier", i),
+                        "Fournisseur " + (i + 1),
+                        random.nextInt(1, 1000) + " rue " + pick(random, LASTNAMES),
+                        String.format("+223 %08d", random.nextInt(100_000_000)),
+                        String.format("NIF%010d", i + 1),
+                        String.format("RC-%08d", i + 1),
+                        String.format("ML%022d", random.nextLong(1_000_000_000_000_000L)),
+                        "Établissement " + (random.nextInt(100) + 1),
+                        "contact" + (i + 1) + "@fournisseur.example",
+                        "https://fournisseur" + (i + 1) + ".example",
+                        "Fournisseur généré",
+                        pick(random, FIRSTNAMES),
+                        pick(random, LASTNAMES),
+                    }
+            );
+            long engagements = insert(
+                "engagement",
+                dataset.getEngagements(),
+                List.of(
+                    bigint("id"),
+                    varchar("engagement_number"),
+                    timestamp("engagement_date"),
+                    varchar("object_of_expense"),
+                    varchar("notified_credits"),
+                    decimal("notified_credits_value"),
+                    varchar("credit_committed"),
+                    decimal("credit_committed_value"),
+                    varchar("credits_available"),
+                    decimal("credits_available_value"),
+                    varchar("amount_proposed_commitment"),
+                    decimal("amount_proposed_commitment_value"),
+                    varchar("head_daf"),
+                    varchar("financial_controller"),
+                    varchar("general_manager"),
+                    integer("version")
+                ),
+                (i, random) -> {
+                    BigDecimal notifiedCredits = amount(random, 100_000_000L);
+                    BigDecimal creditCommitted = amount(random, notifiedCredits.longValue());
+                    BigDecimal creditsAvailable = notifiedCredits.subtract(creditCommitted);
+                    BigDecimal amountProposed = amount(random, creditsAvailable.longValue());
+                    return new Object[] {
+                        id("engagement", i),
+                        "ENG-" + (i + 1),
+                        date(firstYear + random.nextInt(Math.max(years, 1)), random),
+                        "Dépense " + (i + 1),
+                        notifiedCredits.toPlainString(),
+                        notifiedCredits,
+                        creditCommitted.toPlainString(),
+                        creditCommitted,
+                        creditsAvailable.toPlainString(),
+                        creditsAvailable,
+                        amountProposed.toPlainString(),
+                        amountProposed,
+                        name(random),
+                        name(random),
+                        name(random),
+                        0,
+                    };
+                }
+            );
+            long purchaseOrders = insert(
+                "purchase_order",
+                dataset.getPurchaseOrders(),
+                List.of(
+                    bigint("id"),
+                    varchar("name_of_the_ministry"),
+                    varchar("order_number"),
+                    timestamp("order_date"),
+                    decimal("total_amount_without_tax"),
+                    decimal("tax_rate"),
+                    decimal("total_tax_amount"),
+                    decimal("prepaid_tax_amount"),
+                    decimal("total_amount_with_tax"),
+                    varchar("auth_expenditure_number"),
+                    decimal("allocated_credits"),
+                    decimal("committed_expenditures"),
+                    decimal("available_balance"),
+                    integer("version"),
+                    bigint("annex_decision_id"),
+                    bigint("supplier_id"),
+                    bigint("engagement_id")
+                ),
+                (i, random) -> {
+                    int year = random.nextInt(years);
+                    // The items of the order are generated again, to sum their amounts
+                    BigDecimal totalWithoutTax = BigDecimal.ZERO.setScale(2);
+                    for (int item = firstChild(i, dataset.getPurchaseOrders(), dataset.getPurchaseOrderItems());
+                        item < firstChild(i + 1, dataset.getPurchaseOrders(), dataset.getPurchaseOrderItems());
+                        item++
+                    ) {
+                        totalWithoutTax = totalWithoutTax.add(purchaseOrderItem(item).totalAmount());
+                    }
+                    BigDecimal totalTax = totalWithoutTax.multiply(TAX_RATE).movePointLeft(2).setScale(2, RoundingMode.HALF_UP);
+                    BigDecimal totalWithTax = totalWithoutTax.add(totalTax);
+                    BigDecimal allocatedCredits = amount(random, 500_000_000L).add(totalWithTax);
+                    return new Object[] {
+                        id("purchase_order", i),
+                        "Ministère " + (random.nextInt(30) + 1),
+                        "BC-" + (firstYear + year) + "-" + (i + 1),
+                        date(firstYear + year, random),
+                        totalWithoutTax,
+                        TAX_RATE,
+                        totalTax,
+                        BigDecimal.ZERO.setScale(2),
+                        totalWithTax,
+                        "AE-" + (i + 1),
+                        allocatedCredits,
+                        totalWithTax,
+                        allocatedCredits.subtract(totalWithTax),
+                        0,
+                        annexDecisions + year,
+                        suppliers + random.nextInt(dataset.getSuppliers()),
+                        dataset.getEngagements() > 0 ? engagements + random.nextInt(dataset.getEngagements()) : null,
+                    };
+                }
+            );
+            insert(
+                "purchase_order_item",
+                dataset.getPurchaseOrderItems(),
+                List.of(
+                    bigint("id"),
+                    varchar("product_name"),
+                    integer("quantity"),
+                    decimal("unit_price"),
+                    decimal("total_amount"),
+                    bigint("purchase_order_id")
+                ),
+                (i, random) -> {
+                    PurchaseOrderItemAmounts amounts = purchaseOrderItem(i);
+                    return new Object[] {
+                        id("purchase_order_item", i),
+                        pick(random, PRODUCTS),
+                        amounts.quantity(),
+                        amounts.unitPrice(),
+                        amounts.totalAmount(),
+                        purchaseOrders + parent(i, dataset.getPurchaseOrderItems(), dataset.getPurchaseOrders()),
+                    };
+                }
+            );
+
+            long decisions = insert(
+                "decision",
+                dataset.getDecisions(),
+                List.of(
+                    bigint("id"),
+                    varchar("decision_number"),
+                    timestamp("decision_date"),
+                    integer("version"),
+                    bigint("engagement_id"),
+                    bigint("annex_decision_id")
+                ),
+                (i, random) -> {
+                    int year = random.nextInt(years);
+                    return new Object[] {
+                        id("decision", i),
+                        "DEC-" + (firstYear + year) + "-" + (i + 1),
+                        date(firstYear + year, random),
+                        0,
+                        engagements + i,
+                        annexDecisions + year,
+                    };
+                }
+            );
+            insert(
+                "decision_item",
+                dataset.getDecisionItems(),
+                List.of(bigint("id"), varchar("beneficiary"), integer("amount"), decimal("observation"), bigint("decision_id")),
+                (i, random) ->
+                    new Object[] {
+                        id("decision_item", i),
+                        name(random),
+                        random.nextInt(1, 10_000_000),
+                        amount(random, 10_000L),
+                        decisions + parent(i, dataset.getDecisionItems(), dataset.getDecisions()),
+                    }
+            );
+            insert(
+                "mandate",
+                dataset.getMandates(),
+                List.of(
+                    bigint("id"),
+                    varchar("mandate_number"),
+                    timestamp("mandate_date"),
+                    varchar("issue_slip_number"),
+                    varchar("month_and_year_of_issue"),
+                    varchar("supporting_documents"),
+                    bigint("engagement_id")
+                ),
+                (i, random) -> {
+                    LocalDateTime date = date(firstYear + random.nextInt(Math.max(years, 1)), random);
+                    return new Object[] {
+                        id("mandate", i),
+                        "MDT-" + (i + 1),
+                        date,
+                        "BE-" + (i + 1),
+                        String.format("%02d/%d", date.getMonthValue(), date.getYear()),
+                        "Facture, bon de livraison",
+                        engagements + i,
+                    };
+                }
+            );
+            analyze();
+            return List.copyOf(tables.values());
+        }
+
+        /**
+         * Update the planner statistics of the written tables. Until the autovacuum gets to them, the planner would keep
+         * estimating them from their former size, and plan the filters on their foreign keys as scans of their primary
+         * key index.
+         */
+        private void analyze() {
+            if (!(dialect instanceof PostgreSQLDialect)) {
+                // H2 only serves the dev and test profiles
+                return;
+            }
+            tables.keySet().forEach(table -> jdbcTemplate.execute("analyze " + table));
+        }
+
+        /**
+         * Write the rows of a table with ids, reserved from the sequence of the table.
+         *
+         * @return the first id of the rows.
+         */
+        private long insert(String table, int rows, List<Column> columns, RowGenerator generator) {
+            long firstId = reserveIds(table + "_seq", rows);
+            tables.put(table, new GeneratedTable(table, firstId, rows));
+            write(table, rows, columns, generator);
+            return firstId;
+        }
+
+        private void insertLinks(String table, int rows, List<Column> columns, RowGenerator generator) {
+            tables.put(table, new GeneratedTable(table, null, rows));
+            write(table, rows, columns, generator);
+        }
+
+        /**
+         * Get the id of a row of a table written before.
+         */
+        private long id(String table, int index) {
+            return tables.get(table).firstId() + index;
+        }
+
+        private long reserveIds(String sequence, int rows) {
+            // Each value of the sequence is the first id of a block (pooled-lo optimizer), so the value read here is past the
+            // blocks already allocated, and the value Hibernate reads next is the first id of its next block
+            if (dialect instanceof PostgreSQLDialect) {
+                // Read and moved in a single statement, so that no block is allocated in between
+                return jdbcTemplate.queryForObject(
+                    "select setval('" + sequence + "', nextval('" + sequence + "') + " + rows + ", false) - " + rows,
+                    Long.class
+                );
+            }
+            // H2 has no setval, and only serves the dev and test profiles
+            Long firstId = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (firstId + rows));
+            return firstId;
+        }
+
+        private void write(String table, int rows, List<Column> columns, RowGenerator generator) {
+            Instant start = Instant.now();
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < rows; from += dataset.getChunkSize()) {
+                int chunkStart = from;
+                int chunkEnd = (int) Math.min(rows, (long) from + dataset.getChunkSize());
+                chunks.add(
+                    executor.submit(() ->
+                        transactionTemplate.executeWithoutResult(status -> writeChunk(table, chunkStart, chunkEnd, columns, generator))
+                    )
+                );
+            }
+            await(chunks);
+            LOG.info("Wrote {} rows to {} in {}", rows, table, Duration.between(start, Instant.now()));
+        }
+
+        private void writeChunk(String table, int from, int to, List<Column> columns, RowGenerator generator) {
+            int[] columnTypes = columns.stream().mapToInt(Column::sqlType).toArray();
+            List<Object[]> batch = new ArrayList<>();
+            int index = from;
+            while (to - index >= ROWS_PER_STATEMENT) {
+                batch.add(rows(table, index, ROWS_PER_STATEMENT, columns.size(), generator));
+                index += ROWS_PER_STATEMENT;
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                    insertStatement(table, columns, ROWS_PER_STATEMENT),
+                    batch,
+                    repeat(columnTypes, ROWS_PER_STATEMENT)
+                );
+            }
+            int remaining = to - index;
+            if (remaining > 0) {
+                jdbcTemplate.update(
+                    insertStatement(table, columns, remaining),
+                    rows(table, index, remaining, columns.size(), generator),
+                    repeat(columnTypes, remaining)
+                );
+            }
+        }
+
+        private Object[] rows(String table, int from, int count, int columns, RowGenerator generator) {
+            Object[] values = new Object[count * columns];
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(generator.row(from + i, random(table, from + i)), 0, values, i * columns, columns);
+            }
+            return values;
+        }
+
+        private PurchaseOrderItemAmounts purchaseOrderItem(int index) {
+            SplittableRandom random = random("purchase_order_item.amounts", index);
+            int quantity = random.nextInt(1, 100);
+            BigDecimal unitPrice = amount(random, 1_000_000L);
+            return new PurchaseOrderItemAmounts(quantity, unitPrice, unitPrice.multiply(BigDecimal.valueOf(quantity)));
+        }
+
+        /**
+         * Get the random values of a row, which only depend on the seed, the table and the index of the row.
+         */
+        private SplittableRandom random(String table, int index) {
+            return new SplittableRandom((dataset.getSeed() * 31 + table.hashCode()) * 0x100000000L + index);
+        }
+    }
+
+    private static String insertStatement(String table, List<Column> columns, int rows) {
+        String row = columns.stream().map(column -> "?").collect(Collectors.joining(", ", "(", ")"));
+        return (
+            "insert into " +
+            table +
+            " (" +
+            columns.stream().map(Column::name).collect(Collectors.joining(", ")) +
+            ") values " +
+            String.join(", ", Collections.nCopies(rows, row))
+        );
+    }
+
+    private static int[] repeat(int[] columnTypes, int rows) {
+        int[] types = new int[columnTypes.length * rows];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(columnTypes, 0, types, i * columnTypes.length, columnTypes.length);
+        }
+        return types;
+    }
+
+    private static void await(List<? extends Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating the dataset", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause() instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new IllegalStateException("Could not generate the dataset", e.getCause());
+        }
+    }
+
+    /**
+     * Get the index of the parent of a row, the children of a parent being consecutive.
+     */
+    private static int parent(int index, int children, int parents) {
+        return (int) ((long) index * parents / children);
+    }
+
+    /**
+     * Get the index of the first child of a parent, the inverse of {@link #parent(int, int, int)}.
+     */
+    private static int firstChild(int index, int parents, int children) {
+        return (int) -Math.floorDiv(-(long) index * children, parents);
+    }
+
+    private static BigDecimal amount(SplittableRandom random, long max) {
+        return BigDecimal.valueOf(random.nextLong(1, Math.max(max, 1) * 100 + 1), 2);
+    }
+
+    private static LocalDateTime date(int year, SplittableRandom random) {
+        // Stored as UTC, as Hibernate stores the instants
+        return LocalDate.ofYearDay(year, random.nextInt(1, 366)).atTime(random.nextInt(8, 18), random.nextInt(60));
+    }
+
+    private static String name(SplittableRandom random) {
+        return pick(random, FIRSTNAMES) + " " + pick(random, LASTNAMES);
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static Column bigint(String name) {
+        return new Column(name, Types.BIGINT);
+    }
+
+    private static Column integer(String name) {
+        return new Column(name, Types.INTEGER);
+    }
+
+    private static Column varchar(String name) {
+        return new Column(name, Types.VARCHAR);
+    }
+
+    private static Column decimal(String name) {
+        return new Column(name, Types.DECIMAL);
+    }
+
+    private static Column timestamp(String name) {
+        return new Column(name, Types.TIMESTAMP);
+    }
+}
@@ -4,15 +4,18 @@ import com.crat.budget.domain.*; // for static metamodels
 import com.crat.budget.domain.DecisionItem;
 import com.crat.budget.repository.DecisionItemRepository;
 import com.crat.budget.service.criteria.DecisionItemCriteria;
-import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link DecisionItem} entities in the database.
@@ -22,7 +25,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class DecisionItemQueryService extends QueryService<DecisionItem> {
+public class DecisionItemQueryService extends AbstractQueryService<DecisionItem> {
 
     private static final Logger LOG = LoggerFactory.getLogger(DecisionItemQueryService.class);
 
@@ -33,16 +36,40 @@ public class DecisionItemQueryService extends QueryService<DecisionItem> {
     }
 
     /**
-     * Return a {@link Page} of {@link DecisionItem} which matches the criteria from the database.
+     * Return a {@link Slice} of {@link DecisionItem} which matches the criteria from the database,
+     * with the total number of matching entities computed as requested.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param include The associations to load along with the entities, may be empty.
+     * @param countMode How the total number of matching entities is computed.
+     * @return the matching entities, in a {@link Page} unless the count mode is {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<DecisionItem> findByCriteria(DecisionItemCriteria criteria, Pageable page, Set<String> include, CountMode countMode) {
+        LOG.debug("find by criteria : {}, page: {}, include: {}, count: {}", criteria, page, include, countMode);
+        final Specification<DecisionItem> specification = createSpecification(criteria);
+        Slice<DecisionItem> result = findBySpecification(criteria, specification, page, countMode);
+        fetchAssociations(result.getContent(), include);
+        return result;
+    }
+
+    /**
+     * Return a {@link Window} of {@link DecisionItem} which matches the criteria from the database, using keyset pagination.
+     * The window starts right after the given position, and is ordered by the given sort followed by the id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The position to seek to, as returned by the previous window.
+     * @param sort The sort, which must be the same for all the windows of a scroll.
+     * @param size The maximum number of entities in the window.
+     * @param include The associations to load along with the entities, may be empty.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<DecisionItem> findByCriteria(DecisionItemCriteria criteria, Pageable page) {
-        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+    public Window<DecisionItem> findByCriteria(DecisionItemCriteria criteria, ScrollPosition position, Sort sort, int size, Set<String> include) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}, size: {}, include: {}", criteria, position, sort, size, include);
         final Specification<DecisionItem> specification = createSpecification(criteria);
-        return decisionItemRepository.findAll(specification, page);
+        Window<DecisionItem> window = decisionItemRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position));
+        fetchAssociations(window.getContent(), include);
+        return window;
     }
 
     /**
@@ -54,7 +81,7 @@ public class DecisionItemQueryService extends QueryService<DecisionItem> {
     public long countByCriteria(DecisionItemCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<DecisionItem> specification = createSpecification(criteria);
-        return decisionItemRepository.count(specification);
+        return countBySpecification(criteria, specification);
     }
 
     /**
@@ -83,7 +110,7 @@ public class DecisionItemQueryService extends QueryService<DecisionItem> {
             }
             if (criteria.getDecisionId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getDecisionId(), root -> root.join(DecisionItem_.decision, JoinType.LEFT).get(Decision_.id))
+                    buildSpecification(criteria.getDecisionId(), root -> root.get(DecisionItem_.decision).get(Decision_.id))
                 );
             }
         }
@@ -19,9 +19,9 @@ public interface DecisionItemService {
      * Updates a decisionItem.
      *
      * @param decisionItem the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    DecisionItem update(DecisionItem decisionItem);
+    Optional<DecisionItem> update(DecisionItem decisionItem);
 
     /**
      * Partially updates a decisionItem.
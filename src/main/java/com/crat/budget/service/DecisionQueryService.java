@@ -5,14 +5,18 @@ import com.crat.budget.domain.Decision;
 import com.crat.budget.repository.DecisionRepository;
 import com.crat.budget.service.criteria.DecisionCriteria;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Decision} entities in the database.
@@ -22,7 +26,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class DecisionQueryService extends QueryService<Decision> {
+public class DecisionQueryService extends AbstractQueryService<Decision> {
 
     private static final Logger LOG = LoggerFactory.getLogger(DecisionQueryService.class);
 
@@ -33,16 +37,40 @@ public class DecisionQueryService extends QueryService<Decision> {
     }
 
     /**
-     * Return a {@link Page} of {@link Decision} which matches the criteria from the database.
+     * Return a {@link Slice} of {@link Decision} which matches the criteria from the database,
+     * with the total number of matching entities computed as requested.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param include The associations to load along with the entities, may be empty.
+     * @param countMode How the total number of matching entities is computed.
+     * @return the matching entities, in a {@link Page} unless the count mode is {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Decision> findByCriteria(DecisionCriteria criteria, Pageable page, Set<String> include, CountMode countMode) {
+        LOG.debug("find by criteria : {}, page: {}, include: {}, count: {}", criteria, page, include, countMode);
+        final Specification<Decision> specification = createSpecification(criteria);
+        Slice<Decision> result = findBySpecification(criteria, specification, page, countMode);
+        fetchAssociations(result.getContent(), include);
+        return result;
+    }
+
+    /**
+     * Return a {@link Window} of {@link Decision} which matches the criteria from the database, using keyset pagination.
+     * The window starts right after the given position, and is ordered by the given sort followed by the id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The position to seek to, as returned by the previous window.
+     * @param sort The sort, which must be the same for all the windows of a scroll.
+     * @param size The maximum number of entities in the window.
+     * @param include The associations to load along with the entities, may be empty.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<Decision> findByCriteria(DecisionCriteria criteria, Pageable page) {
-        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+    public Window<Decision> findByCriteria(DecisionCriteria criteria, ScrollPosition position, Sort sort, int size, Set<String> include) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}, size: {}, include: {}", criteria, position, sort, size, include);
         final Specification<Decision> specification = createSpecification(criteria);
-        return decisionRepository.findAll(specification, page);
+        Window<Decision> window = decisionRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position));
+        fetchAssociations(window.getContent(), include);
+        return window;
     }
 
     /**
@@ -54,7 +82,7 @@ public class DecisionQueryService extends QueryService<Decision> {
     public long countByCriteria(DecisionCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<Decision> specification = createSpecification(criteria);
-        return decisionRepository.count(specification);
+        return countBySpecification(criteria, specification);
     }
 
     /**
@@ -80,22 +108,20 @@ public class DecisionQueryService extends QueryService<Decision> {
             }
             if (criteria.getEngagementId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getEngagementId(), root ->
-                        root.join(Decision_.engagement, JoinType.LEFT).get(Engagement_.id)
-                    )
+                    buildSpecification(criteria.getEngagementId(), root -> root.get(Decision_.engagement).get(Engagement_.id))
                 );
             }
             if (criteria.getAnnexDecisionId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getAnnexDecisionId(), root ->
-                        root.join(Decision_.annexDecision, JoinType.LEFT).get(AnnexDecision_.id)
-                    )
+                    buildSpecification(criteria.getAnnexDecisionId(), root -> root.get(Decision_.annexDecision).get(AnnexDecision_.id))
                 );
             }
             if (criteria.getDecisionItemId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getDecisionItemId(), root ->
-                        root.join(Decision_.decisionItems, JoinType.LEFT).get(DecisionItem_.id)
+                    exists(
+                        buildSpecification(criteria.getDecisionItemId(), root ->
+                            root.join(Decision_.decisionItems, JoinType.LEFT).get(DecisionItem_.id)
+                        )
                     )
                 );
             }
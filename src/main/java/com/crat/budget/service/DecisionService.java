@@ -19,9 +19,9 @@ public interface DecisionService {
      * Updates a decision.
      *
      * @param decision the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    Decision update(Decision decision);
+    Optional<Decision> update(Decision decision);
 
     /**
      * Partially updates a decision.
@@ -4,15 +4,21 @@ import com.crat.budget.domain.*; // for static metamodels
 import com.crat.budget.domain.Engagement;
 import com.crat.budget.repository.EngagementRepository;
 import com.crat.budget.service.criteria.EngagementCriteria;
+import com.crat.budget.service.dto.EngagementSummaryDTO;
 import jakarta.persistence.criteria.JoinType;
+import java.util.List;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Engagement} entities in the database.
@@ -22,7 +28,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class EngagementQueryService extends QueryService<Engagement> {
+public class EngagementQueryService extends AbstractQueryService<Engagement> {
 
     private static final Logger LOG = LoggerFactory.getLogger(EngagementQueryService.class);
 
@@ -33,16 +39,66 @@ public class EngagementQueryService extends QueryService<Engagement> {
     }
 
     /**
-     * Return a {@link Page} of {@link Engagement} which matches the criteria from the database.
+     * Return a {@link Slice} of {@link Engagement} which matches the criteria from the database,
+     * with the total number of matching entities computed as requested.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param include The associations to load along with the entities, may be empty.
+     * @param countMode How the total number of matching entities is computed.
+     * @return the matching entities, in a {@link Page} unless the count mode is {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Engagement> findByCriteria(EngagementCriteria criteria, Pageable page, Set<String> include, CountMode countMode) {
+        LOG.debug("find by criteria : {}, page: {}, include: {}, count: {}", criteria, page, include, countMode);
+        final Specification<Engagement> specification = createSpecification(criteria);
+        Slice<Engagement> result = findBySpecification(criteria, specification, page, countMode);
+        fetchAssociations(result.getContent(), include);
+        return result;
+    }
+
+    /**
+     * Return a {@link Window} of {@link Engagement} which matches the criteria from the database, using keyset pagination.
+     * The window starts right after the given position, and is ordered by the given sort followed by the id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The position to seek to, as returned by the previous window.
+     * @param sort The sort, which must be the same for all the windows of a scroll.
+     * @param size The maximum number of entities in the window.
+     * @param include The associations to load along with the entities, may be empty.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<Engagement> findByCriteria(EngagementCriteria criteria, Pageable page) {
-        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+    public Window<Engagement> findByCriteria(EngagementCriteria criteria, ScrollPosition position, Sort sort, int size, Set<String> include) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}, size: {}, include: {}", criteria, position, sort, size, include);
         final Specification<Engagement> specification = createSpecification(criteria);
-        return engagementRepository.findAll(specification, page);
+        Window<Engagement> window = engagementRepository.findBy(withInverseOneToOnes(specification), query -> query.sortBy(sort).limit(size).scroll(position));
+        fetchAssociations(window.getContent(), include);
+        return window;
+    }
+
+    /**
+     * Return a {@link Page} of {@link EngagementSummaryDTO} which matches the criteria from the database.
+     * Only the summary columns are selected, no {@link Engagement} entity is loaded.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<EngagementSummaryDTO> findSummariesByCriteria(EngagementCriteria criteria, Pageable page) {
+        LOG.debug("find summaries by criteria : {}, page: {}", criteria, page);
+        final Specification<Engagement> specification = createSpecification(criteria);
+        return findProjectedByCriteria(
+            specification,
+            page,
+            EngagementSummaryDTO.class,
+            root ->
+                List.of(
+                    root.get(Engagement_.id),
+                    root.get(Engagement_.engagementNumber),
+                    root.get(Engagement_.engagementDate),
+                    root.get(Engagement_.objectOfExpense),
+                    root.get(Engagement_.amountProposedCommitment)
+                )
+        );
     }
 
     /**
@@ -54,7 +110,7 @@ public class EngagementQueryService extends QueryService<Engagement> {
     public long countByCriteria(EngagementCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<Engagement> specification = createSpecification(criteria);
-        return engagementRepository.count(specification);
+        return countBySpecification(criteria, specification);
     }
 
     /**
@@ -84,17 +140,37 @@ public class EngagementQueryService extends QueryService<Engagement> {
             if (criteria.getNotifiedCredits() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getNotifiedCredits(), Engagement_.notifiedCredits));
             }
+            if (criteria.getNotifiedCreditsValue() != null) {
+                specification = specification.and(
+                    buildRangeSpecification(criteria.getNotifiedCreditsValue(), Engagement_.notifiedCreditsValue)
+                );
+            }
             if (criteria.getCreditCommitted() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getCreditCommitted(), Engagement_.creditCommitted));
             }
+            if (criteria.getCreditCommittedValue() != null) {
+                specification = specification.and(
+                    buildRangeSpecification(criteria.getCreditCommittedValue(), Engagement_.creditCommittedValue)
+                );
+            }
             if (criteria.getCreditsAvailable() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getCreditsAvailable(), Engagement_.creditsAvailable));
             }
+            if (criteria.getCreditsAvailableValue() != null) {
+                specification = specification.and(
+                    buildRangeSpecification(criteria.getCreditsAvailableValue(), Engagement_.creditsAvailableValue)
+                );
+            }
             if (criteria.getAmountProposedCommitment() != null) {
                 specification = specification.and(
                     buildStringSpecification(criteria.getAmountProposedCommitment(), Engagement_.amountProposedCommitment)
                 );
             }
+            if (criteria.getAmountProposedCommitmentValue() != null) {
+                specification = specification.and(
+                    buildRangeSpecification(criteria.getAmountProposedCommitmentValue(), Engagement_.amountProposedCommitmentValue)
+                );
+            }
             if (criteria.getHeadDaf() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getHeadDaf(), Engagement_.headDaf));
             }
@@ -118,8 +194,10 @@ public class EngagementQueryService extends QueryService<Engagement> {
             }
             if (criteria.getPurchaseOrderId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getPurchaseOrderId(), root ->
-                        root.join(Engagement_.purchaseOrders, JoinType.LEFT).get(PurchaseOrder_.id)
+                    exists(
+                        buildSpecification(criteria.getPurchaseOrderId(), root ->
+                            root.join(Engagement_.purchaseOrders, JoinType.LEFT).get(PurchaseOrder_.id)
+                        )
                     )
                 );
             }
@@ -20,9 +20,9 @@ public interface EngagementService {
      * Updates a engagement.
      *
      * @param engagement the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    Engagement update(Engagement engagement);
+    Optional<Engagement> update(Engagement engagement);
 
     /**
      * Partially updates a engagement.
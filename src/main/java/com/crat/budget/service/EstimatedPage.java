@@ -0,0 +1,19 @@
+package com.crat.budget.service;
+
+import java.util.List;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A {@link org.springframework.data.domain.Page} whose total is an estimate from the planner statistics of the database.
+ *
+ * @param <T> the type of the content.
+ */
+public class EstimatedPage<T> extends PageImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    public EstimatedPage(List<T> content, Pageable pageable, long estimatedTotal) {
+        super(content, pageable, estimatedTotal);
+    }
+}
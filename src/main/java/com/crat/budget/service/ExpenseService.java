@@ -19,9 +19,9 @@ public interface ExpenseService {
      * Updates a expense.
      *
      * @param expense the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    Expense update(Expense expense);
+    Optional<Expense> update(Expense expense);
 
     /**
      * Partially updates a expense.
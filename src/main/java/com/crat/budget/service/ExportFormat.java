@@ -0,0 +1,33 @@
+package com.crat.budget.service;
+
+/**
+ * The formats of the streamed exports.
+ */
+public enum ExportFormat {
+    /**
+     * Comma separated values, with a header line and one line per row (RFC 4180).
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * Newline delimited JSON, with one JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+
+    private final String fileExtension;
+
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
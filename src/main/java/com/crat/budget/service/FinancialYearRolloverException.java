@@ -0,0 +1,20 @@
+package com.crat.budget.service;
+
+/**
+ * Thrown when a financial year cannot be copied forward into a new one.
+ */
+public class FinancialYearRolloverException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public FinancialYearRolloverException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
@@ -0,0 +1,165 @@
+package com.crat.budget.service;
+
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.Expense;
+import com.crat.budget.domain.FinancialYear;
+import com.crat.budget.domain.Recipe;
+import com.crat.budget.repository.EntityChangeTracker;
+import com.crat.budget.repository.FinancialYearRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service opening a new {@link FinancialYear} from the budget structure of a previous one.
+ * <p>
+ * The annex decision, the recipe, the expense and their links to the articles are copied with one
+ * {@code INSERT ... SELECT} statement per table, in a single transaction, whatever the number of rows. The ids are
+ * taken from the sequences of the tables, so they never collide with the blocks already allocated by Hibernate.
+ */
+@Service
+public class FinancialYearRolloverService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FinancialYearRolloverService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final EntityChangeTracker entityChangeTracker;
+
+    private final BudgetExecutionService budgetExecutionService;
+
+    private final FinancialYearRepository financialYearRepository;
+
+    public FinancialYearRolloverService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        EntityManagerFactory entityManagerFactory,
+        EntityChangeTracker entityChangeTracker,
+        BudgetExecutionService budgetExecutionService,
+        FinancialYearRepository financialYearRepository
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityChangeTracker = entityChangeTracker;
+        this.budgetExecutionService = budgetExecutionService;
+        this.financialYearRepository = financialYearRepository;
+    }
+
+    /**
+     * Copy a financial year forward into a new financial year.
+     * <p>
+     * The new forecasts of the recipe and the expense become their achievements of the past year, and their new
+     * forecasts are left empty. The annex decision is copied as it is, and the expense refers to the copy of its annex
+     * decision.
+     *
+     * @param id the id of the financial year to copy.
+     * @param year the year of the new financial year, the next year of the copied one if {@code null}.
+     * @return the new financial year, or empty if the financial year to copy does not exist.
+     * @throws FinancialYearRolloverException if a financial year of the same year already exists.
+     */
+    public Optional<FinancialYear> copyForward(Long id, Integer year) {
+        LOG.debug("Request to copy FinancialYear {} forward into year {}", id, year);
+        Long newId = transactionTemplate.execute(status -> insertCopy(id, year));
+        if (newId == null) {
+            return Optional.empty();
+        }
+        // The links were written behind the back of the second level cache, the new rows are not cached yet
+        org.hibernate.Cache cache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        cache.evictCollectionData(Article.class.getName() + ".recipes");
+        cache.evictCollectionData(Article.class.getName() + ".expenses");
+        for (Class<?> entityClass : List.of(FinancialYear.class, AnnexDecision.class, Recipe.class, Expense.class, Article.class)) {
+            entityChangeTracker.recordChange(entityClass);
+        }
+        return financialYearRepository.findById(newId);
+    }
+
+    private Long insertCopy(Long id, Integer year) {
+        // Locking the copied financial year serializes its concurrent copies
+        List<Integer> years = jdbcTemplate.queryForList("select year from financial_year where id = ? for update", Integer.class, id);
+        if (years.isEmpty()) {
+            return null;
+        }
+        int newYear = year != null ? year : years.get(0) + 1;
+        Long existing = jdbcTemplate.queryForObject("select count(*) from financial_year where year = ?", Long.class, newYear);
+        if (existing != null && existing > 0) {
+            throw new FinancialYearRolloverException("The financial year " + newYear + " already exists", "yearexists");
+        }
+        SequenceSupport sequenceSupport = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices()
+            .getDialect()
+            .getSequenceSupport();
+        Long newId = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString("financial_year_seq"), Long.class);
+        jdbcTemplate.update("insert into financial_year (id, year) values (?, ?)", newId, newYear);
+
+        int annexDecisions = jdbcTemplate.update(
+            "insert into annex_decision (id, designation, expense_amount, expense_amount_value, credits_already_open," +
+            " credits_already_open_value, credits_open, credits_open_value, version, financial_year_id)" +
+            " select " +
+            sequenceSupport.getSelectSequenceNextValString("annex_decision_seq") +
+            ", designation, expense_amount, expense_amount_value, credits_already_open, credits_already_open_value," +
+            " credits_open, credits_open_value, 0, ? from annex_decision where financial_year_id = ?",
+            newId,
+            id
+        );
+        int recipes = jdbcTemplate.update(
+            "insert into recipe (id, achievements_in_the_past_year, new_year_forecast, category, financial_year_id)" +
+            " select " +
+            sequenceSupport.getSelectSequenceNextValString("recipe_seq") +
+            ", new_year_forecast, null, category, ? from recipe where financial_year_id = ?",
+            newId,
+            id
+        );
+        // An expense of an annex decision of another financial year is copied without annex decision
+        int expenses = jdbcTemplate.update(
+            "insert into expense (id, achievements_in_the_past_year, new_year_forecast, category, financial_year_id, annex_decision_id)" +
+            " select " +
+            sequenceSupport.getSelectSequenceNextValString("expense_seq") +
+            ", e.new_year_forecast, null, e.category, ?, (select c.id from annex_decision a" +
+            " join annex_decision c on c.financial_year_id = ? where a.id = e.annex_decision_id and a.financial_year_id = ?)" +
+            " from expense e where e.financial_year_id = ?",
+            newId,
+            newId,
+            id,
+            id
+        );
+        int links = jdbcTemplate.update(
+            "insert into rel_article__recipe (article_id, recipe_id) select l.article_id, c.id from rel_article__recipe l" +
+            " join recipe r on r.id = l.recipe_id join recipe c on c.financial_year_id = ? where r.financial_year_id = ?",
+            newId,
+            id
+        );
+        links += jdbcTemplate.update(
+            "insert into rel_article__expense (article_id, expense_id) select l.article_id, c.id from rel_article__expense l" +
+            " join expense e on e.id = l.expense_id join expense c on c.financial_year_id = ? where e.financial_year_id = ?",
+            newId,
+            id
+        );
+        budgetExecutionService.refresh(List.of(newId));
+        LOG.info(
+            "Copied FinancialYear {} forward into {} ({}): {} annex decisions, {} recipes, {} expenses, {} article links",
+            id,
+            newId,
+            newYear,
+            annexDecisions,
+            recipes,
+            expenses,
+            links
+        );
+        return newId;
+    }
+}
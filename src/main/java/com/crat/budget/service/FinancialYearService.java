@@ -20,9 +20,9 @@ public interface FinancialYearService {
      * Updates a financialYear.
      *
      * @param financialYear the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    FinancialYear update(FinancialYear financialYear);
+    Optional<FinancialYear> update(FinancialYear financialYear);
 
     /**
      * Partially updates a financialYear.
@@ -0,0 +1,44 @@
+package com.crat.budget.service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The formats of the imported spreadsheets.
+ */
+public enum ImportFormat {
+    /**
+     * Comma or semicolon separated values, with a header line and one line per row (RFC 4180), in UTF-8.
+     */
+    CSV("csv"),
+
+    /**
+     * Office Open XML workbook, of which the first sheet is read, with a header row.
+     */
+    XLSX("xlsx");
+
+    private final String fileExtension;
+
+    ImportFormat(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Get the format of a file from the extension of its name.
+     *
+     * @param fileName the name of the file.
+     * @return the format, or empty if the extension is not one of the formats.
+     */
+    public static Optional<ImportFormat> fromFileName(String fileName) {
+        if (fileName == null || fileName.lastIndexOf('.') < 0) {
+            return Optional.empty();
+        }
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return Arrays.stream(values()).filter(format -> format.fileExtension.equals(extension)).findFirst();
+    }
+}
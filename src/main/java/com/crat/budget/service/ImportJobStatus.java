@@ -0,0 +1,26 @@
+package com.crat.budget.service;
+
+/**
+ * The statuses of an import job.
+ */
+public enum ImportJobStatus {
+    /**
+     * Waiting for a thread of the task executor.
+     */
+    QUEUED,
+
+    /**
+     * Reading the file and writing its rows.
+     */
+    RUNNING,
+
+    /**
+     * The whole file was read: the valid rows are written, the others are reported.
+     */
+    COMPLETED,
+
+    /**
+     * The file could not be read to its end, the rows written before the failure are kept.
+     */
+    FAILED,
+}
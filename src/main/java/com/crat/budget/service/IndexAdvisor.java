@@ -0,0 +1,200 @@
+package com.crat.budget.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Development and test time advisor, which records the columns filtered by the criteria query services
+ * and reports the filters that hit a column which is not the leading column of any index.
+ * <p>
+ * It is enabled with the {@code application.index-advisor.enabled} property, and must not be enabled in production:
+ * index metadata is read through JDBC the first time a table is filtered.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.index-advisor", name = "enabled", havingValue = "true")
+public class IndexAdvisor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexAdvisor.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final DataSource dataSource;
+
+    private final Map<FilteredAttribute, FilteredColumns> filteredColumns = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> indexedColumnsByTable = new ConcurrentHashMap<>();
+
+    public IndexAdvisor(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Record the expression filtered by a criteria.
+     *
+     * @param expression the filtered expression, as built by a {@link tech.jhipster.service.QueryService}.
+     */
+    public void recordFilter(Expression<?> expression) {
+        if (!(expression instanceof Path<?> path) || !(path.getModel() instanceof Attribute<?, ?> attribute)) {
+            return;
+        }
+        FilteredAttribute filteredAttribute;
+        if (path.getParentPath() instanceof Join<?, ?> join && isIdentifier(attribute) && join.getParent() instanceof Root<?> root) {
+            // Filtering on the identifier of a joined entity only hits the join column of the association
+            filteredAttribute = new FilteredAttribute(root.getJavaType(), join.getAttribute().getName());
+        } else if (
+            isIdentifier(attribute) &&
+            path.getParentPath().getModel() instanceof SingularAttribute<?, ?> association &&
+            association.isAssociation() &&
+            path.getParentPath().getParentPath() instanceof Root<?> root
+        ) {
+            // So does filtering on the identifier of a to-one association, read through its foreign key
+            filteredAttribute = new FilteredAttribute(root.getJavaType(), association.getName());
+        } else {
+            filteredAttribute = new FilteredAttribute(path.getParentPath().getJavaType(), attribute.getName());
+        }
+        filteredColumns.computeIfAbsent(filteredAttribute, this::resolve).hits().increment();
+    }
+
+    /**
+     * Get the filters recorded so far.
+     *
+     * @return the filters, unindexed first.
+     */
+    public List<FilterUsage> getFilterUsages() {
+        return filteredColumns
+            .entrySet()
+            .stream()
+            .map(entry ->
+                new FilterUsage(
+                    entry.getKey().entity().getSimpleName(),
+                    entry.getKey().attribute(),
+                    entry.getValue().table(),
+                    entry.getValue().columns(),
+                    entry.getValue().indexed(),
+                    entry.getValue().hits().sum()
+                )
+            )
+            .sorted(Comparator.comparing(FilterUsage::indexed).thenComparing(FilterUsage::hits, Comparator.reverseOrder()))
+            .toList();
+    }
+
+    /**
+     * Get the recorded filters which hit unindexed columns.
+     *
+     * @return the unindexed filters.
+     */
+    public List<FilterUsage> getUnindexedFilters() {
+        return getFilterUsages().stream().filter(usage -> !usage.indexed()).toList();
+    }
+
+    private FilteredColumns resolve(FilteredAttribute filteredAttribute) {
+        MappingMetamodel metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+        EntityPersister persister = metamodel.getEntityDescriptor(filteredAttribute.entity());
+        String table = null;
+        List<String> columns = List.of();
+        if (persister instanceof AbstractEntityPersister entityPersister) {
+            String role = entityPersister.getEntityName() + "." + filteredAttribute.attribute();
+            if (metamodel.findCollectionDescriptor(role) instanceof AbstractCollectionPersister collectionPersister) {
+                table = collectionPersister.getTableName();
+                columns = List.of(
+                    collectionPersister.isManyToMany() ? collectionPersister.getElementColumnNames() : collectionPersister.getKeyColumnNames()
+                );
+            } else if (filteredAttribute.attribute().equals(entityPersister.getIdentifierPropertyName())) {
+                table = entityPersister.getTableName();
+                columns = List.of(entityPersister.getIdentifierColumnNames());
+            } else {
+                table = entityPersister.getTableName();
+                columns = List.of(entityPersister.getPropertyColumnNames(filteredAttribute.attribute()));
+            }
+        }
+        if (table == null || columns.isEmpty()) {
+            // Inverse side of a one-to-one: the column lives on the other table, which is covered by its unique constraint
+            return new FilteredColumns(table, columns, true, new LongAdder());
+        }
+        boolean indexed = getIndexedColumns(table).contains(normalize(columns.get(0)));
+        if (!indexed) {
+            LOG.warn(
+                "Criteria filter on {}.{} hits unindexed column {}.{}",
+                filteredAttribute.entity().getSimpleName(),
+                filteredAttribute.attribute(),
+                table,
+                String.join(", ", columns)
+            );
+        }
+        return new FilteredColumns(table, columns, indexed, new LongAdder());
+    }
+
+    private Set<String> getIndexedColumns(String table) {
+        return indexedColumnsByTable.computeIfAbsent(normalize(table), this::loadIndexedColumns);
+    }
+
+    private Set<String> loadIndexedColumns(String table) {
+        Set<String> leadingColumns = new HashSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, tableName, false, true)) {
+                while (indexes.next()) {
+                    if (indexes.getShort("ORDINAL_POSITION") == 1 && indexes.getString("COLUMN_NAME") != null) {
+                        leadingColumns.add(normalize(indexes.getString("COLUMN_NAME")));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOG.warn("Could not read the indexes of table {}: {}", table, e.getMessage());
+        }
+        return leadingColumns;
+    }
+
+    private static boolean isIdentifier(Attribute<?, ?> attribute) {
+        return attribute instanceof SingularAttribute<?, ?> singularAttribute && singularAttribute.isId();
+    }
+
+    private static String normalize(String identifier) {
+        return identifier.replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+
+    private record FilteredAttribute(Class<?> entity, String attribute) {}
+
+    private record FilteredColumns(String table, List<String> columns, boolean indexed, LongAdder hits) {}
+
+    /**
+     * Usage of a criteria filter.
+     *
+     * @param entity the filtered entity.
+     * @param attribute the filtered attribute.
+     * @param table the table holding the filtered column.
+     * @param columns the filtered columns.
+     * @param indexed whether the first filtered column is the leading column of an index.
+     * @param hits the number of times the filter was applied.
+     */
+    public record FilterUsage(String entity, String attribute, String table, List<String> columns, boolean indexed, long hits) {}
+}
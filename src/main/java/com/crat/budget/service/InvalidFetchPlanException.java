@@ -0,0 +1,20 @@
+package com.crat.budget.service;
+
+/**
+ * Thrown when a list endpoint is asked to include something which is not an association of the entity.
+ */
+public class InvalidFetchPlanException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String entityName;
+
+    public InvalidFetchPlanException(String entityName, String association) {
+        super("Unknown association to include: " + association);
+        this.entityName = entityName;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+}
@@ -0,0 +1,20 @@
+package com.crat.budget.service;
+
+/**
+ * Thrown when a spreadsheet cannot be imported as a whole.
+ */
+public class InvalidImportException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public InvalidImportException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
@@ -0,0 +1,20 @@
+package com.crat.budget.service;
+
+/**
+ * Thrown when a purchase order cannot be created from a request.
+ */
+public class InvalidPurchaseOrderException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public InvalidPurchaseOrderException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
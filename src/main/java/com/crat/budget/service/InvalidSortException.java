@@ -0,0 +1,20 @@
+package com.crat.budget.service;
+
+/**
+ * Thrown when a list endpoint is asked to sort on a path through a to-many association, which would repeat the entities.
+ */
+public class InvalidSortException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String entityName;
+
+    public InvalidSortException(String entityName, String property) {
+        super("Cannot sort on a collection: " + property);
+        this.entityName = entityName;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+}
@@ -4,15 +4,18 @@ import com.crat.budget.domain.*; // for static metamodels
 import com.crat.budget.domain.Mandate;
 import com.crat.budget.repository.MandateRepository;
 import com.crat.budget.service.criteria.MandateCriteria;
-import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Mandate} entities in the database.
@@ -22,7 +25,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class MandateQueryService extends QueryService<Mandate> {
+public class MandateQueryService extends AbstractQueryService<Mandate> {
 
     private static final Logger LOG = LoggerFactory.getLogger(MandateQueryService.class);
 
@@ -33,16 +36,40 @@ public class MandateQueryService extends QueryService<Mandate> {
     }
 
     /**
-     * Return a {@link Page} of {@link Mandate} which matches the criteria from the database.
+     * Return a {@link Slice} of {@link Mandate} which matches the criteria from the database,
+     * with the total number of matching entities computed as requested.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param include The associations to load along with the entities, may be empty.
+     * @param countMode How the total number of matching entities is computed.
+     * @return the matching entities, in a {@link Page} unless the count mode is {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Mandate> findByCriteria(MandateCriteria criteria, Pageable page, Set<String> include, CountMode countMode) {
+        LOG.debug("find by criteria : {}, page: {}, include: {}, count: {}", criteria, page, include, countMode);
+        final Specification<Mandate> specification = createSpecification(criteria);
+        Slice<Mandate> result = findBySpecification(criteria, specification, page, countMode);
+        fetchAssociations(result.getContent(), include);
+        return result;
+    }
+
+    /**
+     * Return a {@link Window} of {@link Mandate} which matches the criteria from the database, using keyset pagination.
+     * The window starts right after the given position, and is ordered by the given sort followed by the id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The position to seek to, as returned by the previous window.
+     * @param sort The sort, which must be the same for all the windows of a scroll.
+     * @param size The maximum number of entities in the window.
+     * @param include The associations to load along with the entities, may be empty.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<Mandate> findByCriteria(MandateCriteria criteria, Pageable page) {
-        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+    public Window<Mandate> findByCriteria(MandateCriteria criteria, ScrollPosition position, Sort sort, int size, Set<String> include) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}, size: {}, include: {}", criteria, position, sort, size, include);
         final Specification<Mandate> specification = createSpecification(criteria);
-        return mandateRepository.findAll(specification, page);
+        Window<Mandate> window = mandateRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position));
+        fetchAssociations(window.getContent(), include);
+        return window;
     }
 
     /**
@@ -54,7 +81,7 @@ public class MandateQueryService extends QueryService<Mandate> {
     public long countByCriteria(MandateCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<Mandate> specification = createSpecification(criteria);
-        return mandateRepository.count(specification);
+        return countBySpecification(criteria, specification);
     }
 
     /**
@@ -93,8 +120,7 @@ public class MandateQueryService extends QueryService<Mandate> {
             }
             if (criteria.getEngagementId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getEngagementId(), root -> root.join(Mandate_.engagement, JoinType.LEFT).get(Engagement_.id)
-                    )
+                    buildSpecification(criteria.getEngagementId(), root -> root.get(Mandate_.engagement).get(Engagement_.id))
                 );
             }
         }
@@ -19,9 +19,9 @@ public interface MandateService {
      * Updates a mandate.
      *
      * @param mandate the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    Mandate update(Mandate mandate);
+    Optional<Mandate> update(Mandate mandate);
 
     /**
      * Partially updates a mandate.
@@ -0,0 +1,211 @@
+package com.crat.budget.service;
+
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.AnnexDecision_;
+import com.crat.budget.domain.Engagement;
+import com.crat.budget.domain.Engagement_;
+import com.crat.budget.repository.EntityChangeTracker;
+import com.crat.budget.service.dto.MonetaryAmountBackfillReportDTO;
+import com.crat.budget.service.dto.UnparseableAmountDTO;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service filling the numeric amounts of the existing rows from their amounts stored as text.
+ * <p>
+ * The rows of each table are split in chunks of consecutive ids, which are parsed and written in parallel on the task
+ * executor, each chunk in its own transaction. A row is only written when its version is unchanged since it was read:
+ * a concurrent write through the services fills the numeric amounts itself. The job can be run again safely, it only
+ * writes the rows whose numeric amounts differ from their texts.
+ */
+@Service
+public class MonetaryAmountBackfillService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MonetaryAmountBackfillService.class);
+
+    /**
+     * The maximum number of texts which are not amounts listed in a report.
+     */
+    public static final int MAX_REPORTED_AMOUNTS = 1000;
+
+    private record AmountColumn(String attribute, String column) {}
+
+    private record AmountTable(Class<?> entityClass, String name, List<AmountColumn> columns) {}
+
+    private static final List<AmountTable> TABLES = List.of(
+        new AmountTable(
+            AnnexDecision.class,
+            "annex_decision",
+            List.of(
+                new AmountColumn(AnnexDecision_.EXPENSE_AMOUNT, "expense_amount"),
+                new AmountColumn(AnnexDecision_.CREDITS_ALREADY_OPEN, "credits_already_open"),
+                new AmountColumn(AnnexDecision_.CREDITS_OPEN, "credits_open")
+            )
+        ),
+        new AmountTable(
+            Engagement.class,
+            "engagement",
+            List.of(
+                new AmountColumn(Engagement_.NOTIFIED_CREDITS, "notified_credits"),
+                new AmountColumn(Engagement_.CREDIT_COMMITTED, "credit_committed"),
+                new AmountColumn(Engagement_.CREDITS_AVAILABLE, "credits_available"),
+                new AmountColumn(Engagement_.AMOUNT_PROPOSED_COMMITMENT, "amount_proposed_commitment")
+            )
+        )
+    );
+
+    private static final class ChunkResult {
+
+        private long rowsScanned;
+
+        private long rowsUpdated;
+
+        private final List<UnparseableAmountDTO> unparseableAmounts = new ArrayList<>();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor taskExecutor;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final EntityChangeTracker entityChangeTracker;
+
+    public MonetaryAmountBackfillService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        EntityManagerFactory entityManagerFactory,
+        EntityChangeTracker entityChangeTracker
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityChangeTracker = entityChangeTracker;
+    }
+
+    /**
+     * Fill the numeric amounts of all the rows from their amounts stored as text.
+     *
+     * @param chunkSize the number of rows of a chunk.
+     * @return the report of the backfill.
+     */
+    public MonetaryAmountBackfillReportDTO backfill(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+        }
+        long rowsScanned = 0;
+        long rowsUpdated = 0;
+        long unparseableCount = 0;
+        List<UnparseableAmountDTO> unparseableAmounts = new ArrayList<>();
+        for (AmountTable table : TABLES) {
+            List<Long> ids = jdbcTemplate.queryForList("select id from " + table.name() + " order by id", Long.class);
+            List<CompletableFuture<ChunkResult>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                long firstId = ids.get(from);
+                long lastId = ids.get(Math.min(from + chunkSize, ids.size()) - 1);
+                chunks.add(
+                    CompletableFuture.supplyAsync(
+                        () -> transactionTemplate.execute(status -> backfillChunk(table, firstId, lastId)),
+                        taskExecutor
+                    )
+                );
+            }
+            long tableRowsUpdated = 0;
+            for (CompletableFuture<ChunkResult> chunk : chunks) {
+                ChunkResult result = chunk.join();
+                rowsScanned += result.rowsScanned;
+                tableRowsUpdated += result.rowsUpdated;
+                unparseableCount += result.unparseableAmounts.size();
+                result.unparseableAmounts
+                    .stream()
+                    .limit(Math.max(0, MAX_REPORTED_AMOUNTS - unparseableAmounts.size()))
+                    .forEach(unparseableAmounts::add);
+            }
+            if (tableRowsUpdated > 0) {
+                // The rows were written behind the back of the second level cache
+                entityManagerFactory.getCache().evict(table.entityClass());
+                entityChangeTracker.recordChange(table.entityClass());
+            }
+            LOG.info("Backfilled the amounts of {} rows of {} in {} chunks", tableRowsUpdated, table.name(), chunks.size());
+            rowsUpdated += tableRowsUpdated;
+        }
+        return new MonetaryAmountBackfillReportDTO(rowsScanned, rowsUpdated, unparseableCount, unparseableAmounts);
+    }
+
+    private ChunkResult backfillChunk(AmountTable table, long firstId, long lastId) {
+        List<AmountColumn> columns = table.columns();
+        ChunkResult result = new ChunkResult();
+        List<Object[]> updates = new ArrayList<>();
+        String select =
+            "select id, version, " +
+            columns.stream().map(column -> column.column() + ", " + column.column() + "_value").collect(Collectors.joining(", ")) +
+            " from " +
+            table.name() +
+            " where id between ? and ?";
+        jdbcTemplate.query(
+            select,
+            rs -> {
+                result.rowsScanned++;
+                long id = rs.getLong("id");
+                Object[] args = new Object[columns.size() + 2];
+                boolean changed = false;
+                for (int i = 0; i < columns.size(); i++) {
+                    AmountColumn column = columns.get(i);
+                    String text = rs.getString(column.column());
+                    Optional<BigDecimal> amount = MonetaryAmountParser.parse(text);
+                    if (amount.isEmpty() && !MonetaryAmountParser.isBlank(text)) {
+                        result.unparseableAmounts.add(
+                            new UnparseableAmountDTO(table.entityClass().getSimpleName(), id, column.attribute(), text)
+                        );
+                    }
+                    BigDecimal stored = rs.getBigDecimal(column.column() + "_value");
+                    args[i] = amount.orElse(null);
+                    changed |= amount.map(value -> stored == null || value.compareTo(stored) != 0).orElse(stored != null);
+                }
+                args[columns.size()] = id;
+                args[columns.size() + 1] = rs.getInt("version");
+                if (changed) {
+                    updates.add(args);
+                }
+            },
+            firstId,
+            lastId
+        );
+        if (!updates.isEmpty()) {
+            String update =
+                "update " +
+                table.name() +
+                " set " +
+                columns.stream().map(column -> column.column() + "_value = ?").collect(Collectors.joining(", ")) +
+                " where id = ? and version = ?";
+            int[] argTypes = new int[columns.size() + 2];
+            Arrays.fill(argTypes, Types.DECIMAL);
+            argTypes[columns.size()] = Types.BIGINT;
+            argTypes[columns.size() + 1] = Types.INTEGER;
+            result.rowsUpdated = Arrays.stream(jdbcTemplate.batchUpdate(update, updates, argTypes))
+                .filter(count -> count > 0 || count == Statement.SUCCESS_NO_INFO)
+                .count();
+        }
+        return result;
+    }
+}
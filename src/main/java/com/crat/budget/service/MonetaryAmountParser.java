@@ -0,0 +1,100 @@
+package com.crat.budget.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Lenient parser of the monetary amounts stored as text, as they were typed by the users.
+ * <p>
+ * Spaces, apostrophes and underscores are taken as digit grouping, and a currency code or symbol is accepted on either
+ * side of the number. When both {@code .} and {@code ,} occur, the last one is the decimal separator. When only one of
+ * them occurs, it is a grouping separator if it occurs several times or is followed by exactly three digits, and the
+ * decimal separator otherwise. Amounts are rounded half up to the cent.
+ */
+public final class MonetaryAmountParser {
+
+    /**
+     * The scale of the numeric columns.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * The number of integer digits of the numeric columns, {@code decimal(21,2)}.
+     */
+    private static final int INTEGER_DIGITS = 19;
+
+    private static final Pattern GROUPING = Pattern.compile("[\\s\\u00A0\\u202F'’_]");
+
+    private static final Pattern CURRENCY = Pattern.compile("^[\\p{L}\\p{Sc}]*|[\\p{L}\\p{Sc}.]*$");
+
+    private static final Pattern NUMBER = Pattern.compile("[-+]?[0-9]+([.,][0-9]+)*[.,]?[0-9]*");
+
+    private MonetaryAmountParser() {}
+
+    /**
+     * Parse an amount.
+     *
+     * @param text the amount as text.
+     * @return the amount, or empty if the text is blank or is not an amount which fits the numeric columns.
+     */
+    public static Optional<BigDecimal> parse(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        String number = CURRENCY.matcher(GROUPING.matcher(text).replaceAll("")).replaceAll("");
+        if (!NUMBER.matcher(number).matches()) {
+            return Optional.empty();
+        }
+        BigDecimal amount = new BigDecimal(normalizeSeparators(number)).setScale(SCALE, RoundingMode.HALF_UP);
+        if (amount.precision() - amount.scale() > INTEGER_DIGITS) {
+            return Optional.empty();
+        }
+        return Optional.of(amount);
+    }
+
+    /**
+     * Parse an amount, and collect the name of its numeric attribute when the text is not blank but is not an amount.
+     *
+     * @param text the amount as text.
+     * @param valueAttribute the name of the numeric attribute which holds the amount.
+     * @param unparseableAttributes the names of the numeric attributes whose text is not an amount.
+     * @return the amount, or {@code null} if the text is blank or is not an amount.
+     */
+    public static BigDecimal parse(String text, String valueAttribute, Set<String> unparseableAttributes) {
+        Optional<BigDecimal> amount = parse(text);
+        if (amount.isEmpty() && !isBlank(text)) {
+            unparseableAttributes.add(valueAttribute);
+        }
+        return amount.orElse(null);
+    }
+
+    /**
+     * Check whether a text holds no amount at all, as opposed to a text which is not an amount.
+     *
+     * @param text the amount as text.
+     * @return true if the text is null or blank.
+     */
+    public static boolean isBlank(String text) {
+        return text == null || GROUPING.matcher(text).replaceAll("").isEmpty();
+    }
+
+    private static String normalizeSeparators(String number) {
+        int lastDot = number.lastIndexOf('.');
+        int lastComma = number.lastIndexOf(',');
+        if (lastDot >= 0 && lastComma >= 0) {
+            char decimal = lastDot > lastComma ? '.' : ',';
+            char grouping = decimal == '.' ? ',' : '.';
+            return number.replace(String.valueOf(grouping), "").replace(decimal, '.');
+        }
+        int last = Math.max(lastDot, lastComma);
+        if (last < 0) {
+            return number;
+        }
+        char separator = number.charAt(last);
+        boolean grouping = number.indexOf(separator) != last || number.length() - last - 1 == 3;
+        return grouping ? number.replace(String.valueOf(separator), "") : number.replace(separator, '.');
+    }
+}
@@ -0,0 +1,288 @@
+package com.crat.budget.service;
+
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.Chapter;
+import com.crat.budget.domain.SubTitle;
+import com.crat.budget.domain.enumeration.FinancialCategoryEnum;
+import com.crat.budget.repository.EntityChangeTracker;
+import com.crat.budget.service.dto.ArticleNodeDTO;
+import com.crat.budget.service.dto.ChapterNodeDTO;
+import com.crat.budget.service.dto.NomenclatureTreeDTO;
+import com.crat.budget.service.dto.SubTitleNodeDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service serving the budget nomenclature ({@link SubTitle} &gt; {@link Chapter} &gt; {@link Article}, and the links of the
+ * articles to their recipes and expenses) from an immutable in-memory snapshot.
+ * <p>
+ * The reads only get the current snapshot, without any query. The snapshot is loaded in five set-based queries and
+ * replaced as a whole, copy-on-write, once a write of a sub-title, a chapter or an article (including its links) has
+ * been counted by the {@link EntityChangeTracker}: by the committing thread for the writes of this instance, so that the
+ * writer reads its own changes, and by the thread reading the shared counters for the writes of the other instances.
+ * The recipes and expenses themselves are not part of it. The readers keep serving the previous snapshot during a load,
+ * and only the first load makes them wait; a failed load is retried by the next read.
+ */
+@Service
+public class NomenclatureSnapshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NomenclatureSnapshotService.class);
+
+    private static final Class<?>[] NOMENCLATURE_ENTITIES = { SubTitle.class, Chapter.class, Article.class };
+
+    private static final Comparator<ArticleNodeDTO> ARTICLE_ORDER = Comparator.comparing(
+        ArticleNodeDTO::code,
+        Comparator.nullsLast(Comparator.naturalOrder())
+    ).thenComparing(ArticleNodeDTO::id);
+
+    private static final Comparator<ChapterNodeDTO> CHAPTER_ORDER = Comparator.comparing(
+        ChapterNodeDTO::code,
+        Comparator.nullsLast(Comparator.naturalOrder())
+    ).thenComparing(ChapterNodeDTO::id);
+
+    private static final Comparator<SubTitleNodeDTO> SUB_TITLE_ORDER = Comparator.comparing(
+        SubTitleNodeDTO::code,
+        Comparator.nullsLast(Comparator.naturalOrder())
+    ).thenComparing(SubTitleNodeDTO::id);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final EntityChangeTracker entityChangeTracker;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile boolean stale = true;
+
+    public NomenclatureSnapshotService(EntityChangeTracker entityChangeTracker, PlatformTransactionManager transactionManager) {
+        this.entityChangeTracker = entityChangeTracker;
+        // Also run after the commit of a writing transaction, whose resources may still be bound
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        entityChangeTracker.addChangeListener(this::onNomenclatureChange, NOMENCLATURE_ENTITIES);
+    }
+
+    /**
+     * Get the whole nomenclature tree.
+     *
+     * @return the tree.
+     */
+    public NomenclatureTreeDTO getTree() {
+        return getSnapshot().tree();
+    }
+
+    /**
+     * Get the subtree of a sub-title.
+     *
+     * @param id the id of the sub-title.
+     * @return the sub-title with its chapters and articles.
+     */
+    public Optional<SubTitleNodeDTO> getSubTitle(Long id) {
+        return Optional.ofNullable(getSnapshot().subTitles().get(id));
+    }
+
+    /**
+     * Get the subtree of a chapter.
+     *
+     * @param id the id of the chapter.
+     * @return the chapter with its articles.
+     */
+    public Optional<ChapterNodeDTO> getChapter(Long id) {
+        return Optional.ofNullable(getSnapshot().chapters().get(id));
+    }
+
+    /**
+     * Get an article.
+     *
+     * @param id the id of the article.
+     * @return the article.
+     */
+    public Optional<ArticleNodeDTO> getArticle(Long id) {
+        return Optional.ofNullable(getSnapshot().articles().get(id));
+    }
+
+    /**
+     * Find the articles with a code.
+     *
+     * @param code the code of the articles.
+     * @return the articles, ordered by id.
+     */
+    public List<ArticleNodeDTO> findArticlesByCode(String code) {
+        return getSnapshot().articlesByCode().getOrDefault(code, List.of());
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current != null && !stale) {
+            return current;
+        }
+        if (current == null) {
+            loadLock.lock();
+        } else if (!loadLock.tryLock()) {
+            // Another thread is loading the new snapshot
+            return current;
+        }
+        try {
+            return reload();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void onNomenclatureChange() {
+        stale = true;
+        if (snapshot.get() == null) {
+            // Loaded by the first read
+            return;
+        }
+        loadLock.lock();
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            LOG.warn("Could not reload the budget nomenclature snapshot, retried by the next read: {}", e.getMessage());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot reload() {
+        Snapshot current = snapshot.get();
+        if (current != null && !stale) {
+            return current;
+        }
+        // Cleared before loading: a change counted during the load marks the snapshot stale again and loads it again
+        stale = false;
+        long version = entityChangeTracker.getVersion(NOMENCLATURE_ENTITIES);
+        try {
+            current = transactionTemplate.execute(status -> load(version));
+        } catch (RuntimeException e) {
+            stale = true;
+            throw e;
+        }
+        snapshot.set(current);
+        return current;
+    }
+
+    private Snapshot load(long version) {
+        LOG.debug("Loading the budget nomenclature snapshot, version {}", version);
+        Map<Long, List<Long>> recipeIds = loadLinks("select a.id, r.id from Article a join a.recipes r order by r.id");
+        Map<Long, List<Long>> expenseIds = loadLinks("select a.id, e.id from Article a join a.expenses e order by e.id");
+
+        List<ArticleNodeDTO> articles = new ArrayList<>();
+        for (Object[] row : entityManager
+            .createQuery(
+                "select a.id, a.category, a.code, a.designation, a.accountDiv, a.codeEnd, a.paragraph, a.chapter.id from Article a",
+                Object[].class
+            )
+            .getResultList()) {
+            Long id = (Long) row[0];
+            articles.add(
+                new ArticleNodeDTO(
+                    id,
+                    (FinancialCategoryEnum) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    (String) row[4],
+                    (String) row[5],
+                    (String) row[6],
+                    (Long) row[7],
+                    recipeIds.getOrDefault(id, List.of()),
+                    expenseIds.getOrDefault(id, List.of())
+                )
+            );
+        }
+        articles.sort(ARTICLE_ORDER);
+        Map<Long, List<ArticleNodeDTO>> articlesByChapter = groupBy(articles, ArticleNodeDTO::chapterId);
+
+        List<ChapterNodeDTO> chapters = new ArrayList<>();
+        for (Object[] row : entityManager
+            .createQuery("select c.id, c.code, c.designation, c.subTitle.id from Chapter c", Object[].class)
+            .getResultList()) {
+            Long id = (Long) row[0];
+            List<ArticleNodeDTO> chapterArticles = articlesByChapter.getOrDefault(id, List.of());
+            chapters.add(new ChapterNodeDTO(id, (String) row[1], (String) row[2], (Long) row[3], chapterArticles));
+        }
+        chapters.sort(CHAPTER_ORDER);
+        Map<Long, List<ChapterNodeDTO>> chaptersBySubTitle = groupBy(chapters, ChapterNodeDTO::subTitleId);
+
+        List<SubTitleNodeDTO> subTitles = new ArrayList<>();
+        for (Object[] row : entityManager
+            .createQuery("select s.id, s.code, s.designation from SubTitle s", Object[].class)
+            .getResultList()) {
+            Long id = (Long) row[0];
+            subTitles.add(new SubTitleNodeDTO(id, (String) row[1], (String) row[2], chaptersBySubTitle.getOrDefault(id, List.of())));
+        }
+        subTitles.sort(SUB_TITLE_ORDER);
+
+        Map<String, List<ArticleNodeDTO>> articlesByCode = articles
+            .stream()
+            .filter(article -> article.code() != null)
+            .sorted(Comparator.comparing(ArticleNodeDTO::id))
+            .collect(Collectors.groupingBy(ArticleNodeDTO::code, Collectors.toUnmodifiableList()));
+        NomenclatureTreeDTO tree = new NomenclatureTreeDTO(
+            version,
+            Instant.now(),
+            List.copyOf(subTitles),
+            chaptersBySubTitle.getOrDefault(null, List.of()),
+            articlesByChapter.getOrDefault(null, List.of())
+        );
+        return new Snapshot(
+            version,
+            tree,
+            subTitles.stream().collect(Collectors.toUnmodifiableMap(SubTitleNodeDTO::id, Function.identity())),
+            chapters.stream().collect(Collectors.toUnmodifiableMap(ChapterNodeDTO::id, Function.identity())),
+            articles.stream().collect(Collectors.toUnmodifiableMap(ArticleNodeDTO::id, Function.identity())),
+            Map.copyOf(articlesByCode)
+        );
+    }
+
+    private Map<Long, List<Long>> loadLinks(String query) {
+        Map<Long, List<Long>> links = new HashMap<>();
+        for (Object[] row : entityManager.createQuery(query, Object[].class).getResultList()) {
+            links.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+        links.replaceAll((id, linkedIds) -> List.copyOf(linkedIds));
+        return links;
+    }
+
+    private static <T> Map<Long, List<T>> groupBy(List<T> nodes, Function<T, Long> parentId) {
+        // Not Collectors.groupingBy, which rejects the null key of the nodes without parent
+        Map<Long, List<T>> nodesByParent = new HashMap<>();
+        for (T node : nodes) {
+            nodesByParent.computeIfAbsent(parentId.apply(node), id -> new ArrayList<>()).add(node);
+        }
+        nodesByParent.replaceAll((id, children) -> List.copyOf(children));
+        return nodesByParent;
+    }
+
+    private record Snapshot(
+        long version,
+        NomenclatureTreeDTO tree,
+        Map<Long, SubTitleNodeDTO> subTitles,
+        Map<Long, ChapterNodeDTO> chapters,
+        Map<Long, ArticleNodeDTO> articles,
+        Map<String, List<ArticleNodeDTO>> articlesByCode
+    ) {}
+}
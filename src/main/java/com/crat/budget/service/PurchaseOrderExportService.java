@@ -0,0 +1,196 @@
+package com.crat.budget.service;
+
+import com.crat.budget.service.criteria.PurchaseOrderCriteria;
+import com.crat.budget.service.dto.PurchaseOrderExportDTO;
+import com.crat.budget.service.dto.PurchaseOrderExportRowDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service writing the exports of the {@link com.crat.budget.domain.PurchaseOrder}s and their items.
+ * <p>
+ * The rows are written as they are read from the database cursor, through a fixed size buffer: only the purchase order
+ * being written is held in memory, whatever the number of rows exported.
+ */
+@Service
+public class PurchaseOrderExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PurchaseOrderExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final List<String> CSV_HEADER = List.of(
+        "id",
+        "orderNumber",
+        "orderDate",
+        "nameOfTheMinistry",
+        "totalAmountWithoutTax",
+        "taxRate",
+        "totalTaxAmount",
+        "prepaidTaxAmount",
+        "totalAmountWithTax",
+        "authExpenditureNumber",
+        "allocatedCredits",
+        "committedExpenditures",
+        "availableBalance",
+        "annexDecisionId",
+        "supplierId",
+        "engagementId",
+        "itemId",
+        "itemProductName",
+        "itemQuantity",
+        "itemUnitPrice",
+        "itemTotalAmount"
+    );
+
+    private final PurchaseOrderQueryService purchaseOrderQueryService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter objectWriter;
+
+    public PurchaseOrderExportService(PurchaseOrderQueryService purchaseOrderQueryService, ObjectMapper objectMapper) {
+        this.purchaseOrderQueryService = purchaseOrderQueryService;
+        this.objectMapper = objectMapper;
+        // The lines are buffered by the generator, not flushed one by one
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Export the purchase orders which match the criteria.
+     * <ul>
+     *     <li>In {@link ExportFormat#CSV}, each item is a line repeating the columns of its purchase order, and a purchase
+     *     order without items is a line with empty item columns.</li>
+     *     <li>In {@link ExportFormat#NDJSON}, each purchase order is a line, with its items.</li>
+     * </ul>
+     *
+     * @param criteria the criteria which the purchase orders should match.
+     * @param sort the order of the purchase orders, completed by their id.
+     * @param format the format of the export.
+     * @param outputStream the stream the export is written to, which is flushed but not closed.
+     * @return the number of rows read from the database.
+     * @throws IOException if the export cannot be written.
+     */
+    public long export(PurchaseOrderCriteria criteria, Sort sort, ExportFormat format, OutputStream outputStream) throws IOException {
+        LOG.debug("Request to export PurchaseOrders as {} by criteria : {}", format, criteria);
+        try {
+            return switch (format) {
+                case CSV -> exportCsv(criteria, sort, outputStream);
+                case NDJSON -> exportNdjson(criteria, sort, outputStream);
+            };
+        } catch (UncheckedIOException e) {
+            // Usually the client which went away
+            throw e.getCause();
+        }
+    }
+
+    private long exportCsv(PurchaseOrderCriteria criteria, Sort sort, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeCsvLine(writer, CSV_HEADER.stream());
+        long rows = purchaseOrderQueryService.streamExportRowsByCriteria(criteria, sort, row -> {
+            try {
+                writeCsvLine(
+                    writer,
+                    Stream.of(
+                        row.id(),
+                        row.orderNumber(),
+                        row.orderDate(),
+                        row.nameOfTheMinistry(),
+                        row.totalAmountWithoutTax(),
+                        row.taxRate(),
+                        row.totalTaxAmount(),
+                        row.prepaidTaxAmount(),
+                        row.totalAmountWithTax(),
+                        row.authExpenditureNumber(),
+                        row.allocatedCredits(),
+                        row.committedExpenditures(),
+                        row.availableBalance(),
+                        row.annexDecisionId(),
+                        row.supplierId(),
+                        row.engagementId(),
+                        row.itemId(),
+                        row.itemProductName(),
+                        row.itemQuantity(),
+                        row.itemUnitPrice(),
+                        row.itemTotalAmount()
+                    )
+                );
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return rows;
+    }
+
+    private long exportNdjson(PurchaseOrderCriteria criteria, Sort sort, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper
+            .getFactory()
+            .createGenerator(outputStream)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        // The rows of a purchase order follow each other: it is written when the next one starts
+        PurchaseOrderExportDTO[] current = new PurchaseOrderExportDTO[1];
+        long rows = purchaseOrderQueryService.streamExportRowsByCriteria(criteria, sort, row -> {
+            try {
+                if (current[0] != null && !current[0].id().equals(row.id())) {
+                    writeJsonLine(generator, current[0]);
+                    current[0] = null;
+                }
+                if (current[0] == null) {
+                    current[0] = row.toPurchaseOrder();
+                }
+                PurchaseOrderExportDTO.Item item = row.toItem();
+                if (item != null) {
+                    current[0].items().add(item);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (current[0] != null) {
+            writeJsonLine(generator, current[0]);
+        }
+        generator.close();
+        outputStream.flush();
+        return rows;
+    }
+
+    private void writeJsonLine(JsonGenerator generator, PurchaseOrderExportDTO purchaseOrder) throws IOException {
+        objectWriter.writeValue(generator, purchaseOrder);
+        generator.writeRaw('\n');
+    }
+
+    private static void writeCsvLine(Writer writer, Stream<?> values) throws IOException {
+        writer.write(values.map(PurchaseOrderExportService::toCsvValue).collect(Collectors.joining(",")));
+        writer.write("\r\n");
+    }
+
+    private static String toCsvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
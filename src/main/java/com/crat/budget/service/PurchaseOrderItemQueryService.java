@@ -4,15 +4,20 @@ import com.crat.budget.domain.*; // for static metamodels
 import com.crat.budget.domain.PurchaseOrderItem;
 import com.crat.budget.repository.PurchaseOrderItemRepository;
 import com.crat.budget.service.criteria.PurchaseOrderItemCriteria;
-import jakarta.persistence.criteria.JoinType;
+import com.crat.budget.service.dto.PurchaseOrderItemSummaryDTO;
+import java.util.List;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link PurchaseOrderItem} entities in the database.
@@ -22,7 +27,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class PurchaseOrderItemQueryService extends QueryService<PurchaseOrderItem> {
+public class PurchaseOrderItemQueryService extends AbstractQueryService<PurchaseOrderItem> {
 
     private static final Logger LOG = LoggerFactory.getLogger(PurchaseOrderItemQueryService.class);
 
@@ -33,16 +38,66 @@ public class PurchaseOrderItemQueryService extends QueryService<PurchaseOrderIte
     }
 
     /**
-     * Return a {@link Page} of {@link PurchaseOrderItem} which matches the criteria from the database.
+     * Return a {@link Slice} of {@link PurchaseOrderItem} which matches the criteria from the database,
+     * with the total number of matching entities computed as requested.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param include The associations to load along with the entities, may be empty.
+     * @param countMode How the total number of matching entities is computed.
+     * @return the matching entities, in a {@link Page} unless the count mode is {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PurchaseOrderItem> findByCriteria(PurchaseOrderItemCriteria criteria, Pageable page, Set<String> include, CountMode countMode) {
+        LOG.debug("find by criteria : {}, page: {}, include: {}, count: {}", criteria, page, include, countMode);
+        final Specification<PurchaseOrderItem> specification = createSpecification(criteria);
+        Slice<PurchaseOrderItem> result = findBySpecification(criteria, specification, page, countMode);
+        fetchAssociations(result.getContent(), include);
+        return result;
+    }
+
+    /**
+     * Return a {@link Window} of {@link PurchaseOrderItem} which matches the criteria from the database, using keyset pagination.
+     * The window starts right after the given position, and is ordered by the given sort followed by the id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The position to seek to, as returned by the previous window.
+     * @param sort The sort, which must be the same for all the windows of a scroll.
+     * @param size The maximum number of entities in the window.
+     * @param include The associations to load along with the entities, may be empty.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<PurchaseOrderItem> findByCriteria(PurchaseOrderItemCriteria criteria, Pageable page) {
-        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+    public Window<PurchaseOrderItem> findByCriteria(PurchaseOrderItemCriteria criteria, ScrollPosition position, Sort sort, int size, Set<String> include) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}, size: {}, include: {}", criteria, position, sort, size, include);
+        final Specification<PurchaseOrderItem> specification = createSpecification(criteria);
+        Window<PurchaseOrderItem> window = purchaseOrderItemRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position));
+        fetchAssociations(window.getContent(), include);
+        return window;
+    }
+
+    /**
+     * Return a {@link Page} of {@link PurchaseOrderItemSummaryDTO} which matches the criteria from the database.
+     * Only the summary columns are selected, no {@link PurchaseOrderItem} entity is loaded.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<PurchaseOrderItemSummaryDTO> findSummariesByCriteria(PurchaseOrderItemCriteria criteria, Pageable page) {
+        LOG.debug("find summaries by criteria : {}, page: {}", criteria, page);
         final Specification<PurchaseOrderItem> specification = createSpecification(criteria);
-        return purchaseOrderItemRepository.findAll(specification, page);
+        return findProjectedByCriteria(
+            specification,
+            page,
+            PurchaseOrderItemSummaryDTO.class,
+            root ->
+                List.of(
+                    root.get(PurchaseOrderItem_.id),
+                    root.get(PurchaseOrderItem_.productName),
+                    root.get(PurchaseOrderItem_.quantity),
+                    root.get(PurchaseOrderItem_.totalAmount),
+                    root.get(PurchaseOrderItem_.purchaseOrder).get(PurchaseOrder_.id)
+                )
+        );
     }
 
     /**
@@ -54,7 +109,7 @@ public class PurchaseOrderItemQueryService extends QueryService<PurchaseOrderIte
     public long countByCriteria(PurchaseOrderItemCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<PurchaseOrderItem> specification = createSpecification(criteria);
-        return purchaseOrderItemRepository.count(specification);
+        return countBySpecification(criteria, specification);
     }
 
     /**
@@ -87,7 +142,7 @@ public class PurchaseOrderItemQueryService extends QueryService<PurchaseOrderIte
             if (criteria.getPurchaseOrderId() != null) {
                 specification = specification.and(
                     buildSpecification(criteria.getPurchaseOrderId(), root ->
-                        root.join(PurchaseOrderItem_.purchaseOrder, JoinType.LEFT).get(PurchaseOrder_.id)
+                        root.get(PurchaseOrderItem_.purchaseOrder).get(PurchaseOrder_.id)
                     )
                 );
             }
@@ -19,9 +19,9 @@ public interface PurchaseOrderItemService {
      * Updates a purchaseOrderItem.
      *
      * @param purchaseOrderItem the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    PurchaseOrderItem update(PurchaseOrderItem purchaseOrderItem);
+    Optional<PurchaseOrderItem> update(PurchaseOrderItem purchaseOrderItem);
 
     /**
      * Partially updates a purchaseOrderItem.
@@ -4,15 +4,25 @@ import com.crat.budget.domain.*; // for static metamodels
 import com.crat.budget.domain.PurchaseOrder;
 import com.crat.budget.repository.PurchaseOrderRepository;
 import com.crat.budget.service.criteria.PurchaseOrderCriteria;
+import com.crat.budget.service.dto.PurchaseOrderExportRowDTO;
+import com.crat.budget.service.dto.PurchaseOrderSummaryDTO;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link PurchaseOrder} entities in the database.
@@ -22,7 +32,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class PurchaseOrderQueryService extends QueryService<PurchaseOrder> {
+public class PurchaseOrderQueryService extends AbstractQueryService<PurchaseOrder> {
 
     private static final Logger LOG = LoggerFactory.getLogger(PurchaseOrderQueryService.class);
 
@@ -33,16 +43,120 @@ public class PurchaseOrderQueryService extends QueryService<PurchaseOrder> {
     }
 
     /**
-     * Return a {@link Page} of {@link PurchaseOrder} which matches the criteria from the database.
+     * Return a {@link Slice} of {@link PurchaseOrder} which matches the criteria from the database,
+     * with the total number of matching entities computed as requested.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param include The associations to load along with the entities, may be empty.
+     * @param countMode How the total number of matching entities is computed.
+     * @return the matching entities, in a {@link Page} unless the count mode is {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PurchaseOrder> findByCriteria(PurchaseOrderCriteria criteria, Pageable page, Set<String> include, CountMode countMode) {
+        LOG.debug("find by criteria : {}, page: {}, include: {}, count: {}", criteria, page, include, countMode);
+        final Specification<PurchaseOrder> specification = createSpecification(criteria);
+        Slice<PurchaseOrder> result = findBySpecification(criteria, specification, page, countMode);
+        fetchAssociations(result.getContent(), include);
+        return result;
+    }
+
+    /**
+     * Return a {@link Window} of {@link PurchaseOrder} which matches the criteria from the database, using keyset pagination.
+     * The window starts right after the given position, and is ordered by the given sort followed by the id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The position to seek to, as returned by the previous window.
+     * @param sort The sort, which must be the same for all the windows of a scroll.
+     * @param size The maximum number of entities in the window.
+     * @param include The associations to load along with the entities, may be empty.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<PurchaseOrder> findByCriteria(PurchaseOrderCriteria criteria, Pageable page) {
-        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+    public Window<PurchaseOrder> findByCriteria(PurchaseOrderCriteria criteria, ScrollPosition position, Sort sort, int size, Set<String> include) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}, size: {}, include: {}", criteria, position, sort, size, include);
+        validateSort(sort);
         final Specification<PurchaseOrder> specification = createSpecification(criteria);
-        return purchaseOrderRepository.findAll(specification, page);
+        Window<PurchaseOrder> window = purchaseOrderRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position));
+        fetchAssociations(window.getContent(), include);
+        return window;
+    }
+
+    /**
+     * Return a {@link Page} of {@link PurchaseOrderSummaryDTO} which matches the criteria from the database.
+     * Only the summary columns are selected, no {@link PurchaseOrder} entity is loaded.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<PurchaseOrderSummaryDTO> findSummariesByCriteria(PurchaseOrderCriteria criteria, Pageable page) {
+        LOG.debug("find summaries by criteria : {}, page: {}", criteria, page);
+        final Specification<PurchaseOrder> specification = createSpecification(criteria);
+        return findProjectedByCriteria(
+            specification,
+            page,
+            PurchaseOrderSummaryDTO.class,
+            root -> {
+                Join<PurchaseOrder, Supplier> supplier = root.join(PurchaseOrder_.supplier, JoinType.LEFT);
+                return List.of(
+                    root.get(PurchaseOrder_.id),
+                    root.get(PurchaseOrder_.orderNumber),
+                    root.get(PurchaseOrder_.orderDate),
+                    root.get(PurchaseOrder_.nameOfTheMinistry),
+                    root.get(PurchaseOrder_.totalAmountWithTax),
+                    supplier.get(Supplier_.id),
+                    supplier.get(Supplier_.companyName)
+                );
+            }
+        );
+    }
+
+    /**
+     * Stream the {@link PurchaseOrder}s which match the criteria, each with one row per {@link PurchaseOrderItem}.
+     * The rows of a purchase order follow each other, ordered by the id of the item, and the purchase orders are ordered
+     * by the given sort followed by the id. The rows are read from a cursor, see
+     * {@link #streamProjectedByCriteria(Specification, Sort, Class, java.util.function.Function, Consumer)}.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The order of the purchase orders.
+     * @param action The action performed on each row, in order.
+     * @return the number of rows streamed.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long streamExportRowsByCriteria(PurchaseOrderCriteria criteria, Sort sort, Consumer<? super PurchaseOrderExportRowDTO> action) {
+        LOG.debug("stream export rows by criteria : {}, sort: {}", criteria, sort);
+        final Specification<PurchaseOrder> specification = createSpecification(criteria);
+        return streamProjectedByCriteria(
+            specification,
+            sort.and(Sort.by(PurchaseOrder_.ID, PurchaseOrder_.PURCHASE_ORDER_ITEMS + "." + PurchaseOrderItem_.ID)),
+            PurchaseOrderExportRowDTO.class,
+            root -> {
+                // The sort on the items reuses this join
+                Join<PurchaseOrder, PurchaseOrderItem> item = root.join(PurchaseOrder_.purchaseOrderItems, JoinType.LEFT);
+                return List.of(
+                    root.get(PurchaseOrder_.id),
+                    root.get(PurchaseOrder_.orderNumber),
+                    root.get(PurchaseOrder_.orderDate),
+                    root.get(PurchaseOrder_.nameOfTheMinistry),
+                    root.get(PurchaseOrder_.totalAmountWithoutTax),
+                    root.get(PurchaseOrder_.taxRate),
+                    root.get(PurchaseOrder_.totalTaxAmount),
+                    root.get(PurchaseOrder_.prepaidTaxAmount),
+                    root.get(PurchaseOrder_.totalAmountWithTax),
+                    root.get(PurchaseOrder_.authExpenditureNumber),
+                    root.get(PurchaseOrder_.allocatedCredits),
+                    root.get(PurchaseOrder_.committedExpenditures),
+                    root.get(PurchaseOrder_.availableBalance),
+                    root.get(PurchaseOrder_.annexDecision).get(AnnexDecision_.id),
+                    root.get(PurchaseOrder_.supplier).get(Supplier_.id),
+                    root.get(PurchaseOrder_.engagement).get(Engagement_.id),
+                    item.get(PurchaseOrderItem_.id),
+                    item.get(PurchaseOrderItem_.productName),
+                    item.get(PurchaseOrderItem_.quantity),
+                    item.get(PurchaseOrderItem_.unitPrice),
+                    item.get(PurchaseOrderItem_.totalAmount)
+                );
+            },
+            action
+        );
     }
 
     /**
@@ -54,7 +168,7 @@ public class PurchaseOrderQueryService extends QueryService<PurchaseOrder> {
     public long countByCriteria(PurchaseOrderCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<PurchaseOrder> specification = createSpecification(criteria);
-        return purchaseOrderRepository.count(specification);
+        return countBySpecification(criteria, specification);
     }
 
     /**
@@ -120,28 +234,25 @@ public class PurchaseOrderQueryService extends QueryService<PurchaseOrder> {
             }
             if (criteria.getAnnexDecisionId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getAnnexDecisionId(), root ->
-                        root.join(PurchaseOrder_.annexDecision, JoinType.LEFT).get(AnnexDecision_.id)
-                    )
+                    buildSpecification(criteria.getAnnexDecisionId(), root -> root.get(PurchaseOrder_.annexDecision).get(AnnexDecision_.id))
                 );
             }
             if (criteria.getSupplierId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getSupplierId(), root -> root.join(PurchaseOrder_.supplier, JoinType.LEFT).get(Supplier_.id)
-                    )
+                    buildSpecification(criteria.getSupplierId(), root -> root.get(PurchaseOrder_.supplier).get(Supplier_.id))
                 );
             }
             if (criteria.getEngagementId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getEngagementId(), root ->
-                        root.join(PurchaseOrder_.engagement, JoinType.LEFT).get(Engagement_.id)
-                    )
+                    buildSpecification(criteria.getEngagementId(), root -> root.get(PurchaseOrder_.engagement).get(Engagement_.id))
                 );
             }
             if (criteria.getPurchaseOrderItemId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getPurchaseOrderItemId(), root ->
-                        root.join(PurchaseOrder_.purchaseOrderItems, JoinType.LEFT).get(PurchaseOrderItem_.id)
+                    exists(
+                        buildSpecification(criteria.getPurchaseOrderItemId(), root ->
+                            root.join(PurchaseOrder_.purchaseOrderItems, JoinType.LEFT).get(PurchaseOrderItem_.id)
+                        )
                     )
                 );
             }
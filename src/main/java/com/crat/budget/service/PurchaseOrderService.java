@@ -1,6 +1,8 @@
 package com.crat.budget.service;
 
 import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.service.dto.PurchaseOrderRequestDTO;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,9 +21,18 @@ public interface PurchaseOrderService {
      * Updates a purchaseOrder.
      *
      * @param purchaseOrder the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
+     */
+    Optional<PurchaseOrder> update(PurchaseOrder purchaseOrder);
+
+    /**
+     * Create purchaseOrders with their items, in one transaction, computing their amounts.
+     *
+     * @param purchaseOrders the purchaseOrders to create.
+     * @return the persisted entities, in the order of the requests.
+     * @throws InvalidPurchaseOrderException if an annex decision, supplier or engagement does not exist.
      */
-    PurchaseOrder update(PurchaseOrder purchaseOrder);
+    List<PurchaseOrder> createWithItems(List<PurchaseOrderRequestDTO> purchaseOrders);
 
     /**
      * Partially updates a purchaseOrder.
@@ -0,0 +1,92 @@
+package com.crat.budget.service;
+
+import com.crat.budget.repository.EntityChangeTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of the results of the criteria queries, in front of the database: the ids of the pages and the counts.
+ * <p>
+ * Each result is stored with the {@link EntityChangeTracker} version of the entities its query depends on, read from
+ * memory before the query runs, so that a hit runs no statement at all. Once a transaction which wrote one of these
+ * entities commits, the tracker increments their counters after the commit, the version changes and the result is no
+ * longer returned: the next call runs the query again. A result is never older than the writes committed on this
+ * instance before its lookup, nor than the writes of the reference entities committed on the others before the last
+ * read of their shared counters; the entries of the queries which do not depend on a written entity stay valid.
+ * <p>
+ * Only read-only transactions use the cache: a read-write transaction may see its own uncommitted writes, which must
+ * neither be stored nor be hidden by a stored result. The hits and misses are counted per entity by the
+ * {@value #METER_NAME} meter.
+ */
+@Service
+public class QueryResultCache {
+
+    public static final String CACHE_NAME = "queryResults";
+
+    public static final String METER_NAME = "query.result.cache.gets";
+
+    /**
+     * The key of a result.
+     *
+     * @param entityClass the queried entity class.
+     * @param operation the kind of result, such as the ids of a page or a count.
+     * @param criteria a copy of the criteria of the query.
+     * @param parameters the other parameters of the query, such as the page.
+     */
+    public record Key(Class<?> entityClass, String operation, Object criteria, Object parameters) implements Serializable {}
+
+    private record Entry(long version, Object result) implements Serializable {}
+
+    private final Cache cache;
+
+    private final EntityChangeTracker entityChangeTracker;
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryResultCache(CacheManager cacheManager, EntityChangeTracker entityChangeTracker, MeterRegistry meterRegistry) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.entityChangeTracker = entityChangeTracker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Get the result of a query, running it unless a result stored for the same key is still valid.
+     *
+     * @param key the key of the result.
+     * @param dependencies the entity classes whose tables the query reads.
+     * @param query the query, which must return an immutable result.
+     * @param <R> the type of the result.
+     * @return the result.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R get(Key key, Collection<Class<?>> dependencies, Supplier<R> query) {
+        if (cache == null || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return query.get();
+        }
+        long version = entityChangeTracker.getVersion(dependencies.toArray(Class<?>[]::new));
+        Entry entry = cache.get(key, Entry.class);
+        if (entry != null && entry.version() == version) {
+            counter(key.entityClass(), "hit").increment();
+            return (R) entry.result();
+        }
+        counter(key.entityClass(), "miss").increment();
+        R result = query.get();
+        cache.put(key, new Entry(version, result));
+        return result;
+    }
+
+    private Counter counter(Class<?> entityClass, String result) {
+        return Counter.builder(METER_NAME)
+            .description("Lookups of the criteria query results in the cache.")
+            .tag("entity", entityClass.getSimpleName())
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -19,9 +19,9 @@ public interface RecipeService {
      * Updates a recipe.
      *
      * @param recipe the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    Recipe update(Recipe recipe);
+    Optional<Recipe> update(Recipe recipe);
 
     /**
      * Partially updates a recipe.
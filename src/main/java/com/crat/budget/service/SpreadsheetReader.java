@@ -0,0 +1,60 @@
+package com.crat.budget.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Forward-only reader of the rows of a spreadsheet, which only holds the current row in memory.
+ */
+interface SpreadsheetReader extends Closeable {
+    /**
+     * A row of a spreadsheet.
+     *
+     * @param number the number of the row in the file, from 1, as shown to the users.
+     * @param cells the texts of the cells, {@code null} for the empty cells.
+     */
+    record Row(long number, List<String> cells) {
+        /**
+         * Get the text of a cell.
+         *
+         * @param column the index of the column, from 0.
+         * @return the text of the cell, trimmed, or {@code null} if the cell is empty or missing.
+         */
+        String get(int column) {
+            if (column < 0 || column >= cells.size() || cells.get(column) == null) {
+                return null;
+            }
+            String text = cells.get(column).strip();
+            return text.isEmpty() ? null : text;
+        }
+
+        boolean isBlank() {
+            return cells.stream().allMatch(cell -> cell == null || cell.isBlank());
+        }
+    }
+
+    /**
+     * Read the next row.
+     *
+     * @return the row, or {@code null} at the end of the spreadsheet.
+     * @throws IOException if the file cannot be read or is malformed.
+     */
+    Row next() throws IOException;
+
+    /**
+     * Open a spreadsheet.
+     *
+     * @param format the format of the file.
+     * @param file the file.
+     * @return the reader, positioned before the first row.
+     * @throws IOException if the file cannot be read or is malformed.
+     */
+    static SpreadsheetReader open(ImportFormat format, Path file) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvSpreadsheetReader(file);
+            case XLSX -> new XlsxSpreadsheetReader(file);
+        };
+    }
+}
@@ -5,14 +5,18 @@ import com.crat.budget.domain.SubTitle;
 import com.crat.budget.repository.SubTitleRepository;
 import com.crat.budget.service.criteria.SubTitleCriteria;
 import jakarta.persistence.criteria.JoinType;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link SubTitle} entities in the database.
@@ -22,7 +26,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class SubTitleQueryService extends QueryService<SubTitle> {
+public class SubTitleQueryService extends AbstractQueryService<SubTitle> {
 
     private static final Logger LOG = LoggerFactory.getLogger(SubTitleQueryService.class);
 
@@ -33,16 +37,40 @@ public class SubTitleQueryService extends QueryService<SubTitle> {
     }
 
     /**
-     * Return a {@link Page} of {@link SubTitle} which matches the criteria from the database.
+     * Return a {@link Slice} of {@link SubTitle} which matches the criteria from the database,
+     * with the total number of matching entities computed as requested.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
+     * @param include The associations to load along with the entities, may be empty.
+     * @param countMode How the total number of matching entities is computed.
+     * @return the matching entities, in a {@link Page} unless the count mode is {@link CountMode#NONE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<SubTitle> findByCriteria(SubTitleCriteria criteria, Pageable page, Set<String> include, CountMode countMode) {
+        LOG.debug("find by criteria : {}, page: {}, include: {}, count: {}", criteria, page, include, countMode);
+        final Specification<SubTitle> specification = createSpecification(criteria);
+        Slice<SubTitle> result = findBySpecification(criteria, specification, page, countMode);
+        fetchAssociations(result.getContent(), include);
+        return result;
+    }
+
+    /**
+     * Return a {@link Window} of {@link SubTitle} which matches the criteria from the database, using keyset pagination.
+     * The window starts right after the given position, and is ordered by the given sort followed by the id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position The position to seek to, as returned by the previous window.
+     * @param sort The sort, which must be the same for all the windows of a scroll.
+     * @param size The maximum number of entities in the window.
+     * @param include The associations to load along with the entities, may be empty.
      * @return the matching entities.
      */
     @Transactional(readOnly = true)
-    public Page<SubTitle> findByCriteria(SubTitleCriteria criteria, Pageable page) {
-        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+    public Window<SubTitle> findByCriteria(SubTitleCriteria criteria, ScrollPosition position, Sort sort, int size, Set<String> include) {
+        LOG.debug("find by criteria : {}, position: {}, sort: {}, size: {}, include: {}", criteria, position, sort, size, include);
         final Specification<SubTitle> specification = createSpecification(criteria);
-        return subTitleRepository.findAll(specification, page);
+        Window<SubTitle> window = subTitleRepository.findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position));
+        fetchAssociations(window.getContent(), include);
+        return window;
     }
 
     /**
@@ -54,7 +82,7 @@ public class SubTitleQueryService extends QueryService<SubTitle> {
     public long countByCriteria(SubTitleCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<SubTitle> specification = createSpecification(criteria);
-        return subTitleRepository.count(specification);
+        return countBySpecification(criteria, specification);
     }
 
     /**
@@ -80,7 +108,11 @@ public class SubTitleQueryService extends QueryService<SubTitle> {
             }
             if (criteria.getChapterId() != null) {
                 specification = specification.and(
-                    buildSpecification(criteria.getChapterId(), root -> root.join(SubTitle_.chapters, JoinType.LEFT).get(Chapter_.id))
+                    exists(
+                        buildSpecification(criteria.getChapterId(), root ->
+                            root.join(SubTitle_.chapters, JoinType.LEFT).get(Chapter_.id)
+                        )
+                    )
                 );
             }
         }
@@ -19,9 +19,9 @@ public interface SubTitleService {
      * Updates a subTitle.
      *
      * @param subTitle the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    SubTitle update(SubTitle subTitle);
+    Optional<SubTitle> update(SubTitle subTitle);
 
     /**
      * Partially updates a subTitle.
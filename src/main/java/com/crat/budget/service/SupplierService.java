@@ -19,9 +19,9 @@ public interface SupplierService {
      * Updates a supplier.
      *
      * @param supplier the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if it does not exist.
      */
-    Supplier update(Supplier supplier);
+    Optional<Supplier> update(Supplier supplier);
 
     /**
      * Partially updates a supplier.
@@ -0,0 +1,244 @@
+package com.crat.budget.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reader of the first sheet of the Office Open XML workbooks (.xlsx).
+ * <p>
+ * The sheet is parsed as a stream of XML events, so only the current row is held in memory, besides the table of the
+ * texts shared by the cells of the workbook. Numbers are read as they are stored, without their display format: a
+ * whole number has no decimals, and a date is the number of days since 1900.
+ */
+final class XlsxSpreadsheetReader implements SpreadsheetReader {
+
+    private static final String WORKBOOK = "xl/workbook.xml";
+
+    private static final String WORKBOOK_RELATIONSHIPS = "xl/_rels/workbook.xml.rels";
+
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+
+    private static final String RELATIONSHIPS_NAMESPACE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private final ZipFile zipFile;
+
+    private final List<String> sharedStrings;
+
+    private final XMLStreamReader sheet;
+
+    private long lastRowNumber;
+
+    XlsxSpreadsheetReader(Path file) throws IOException {
+        this.zipFile = new ZipFile(file.toFile());
+        try {
+            this.sharedStrings = readSharedStrings();
+            this.sheet = XML_INPUT_FACTORY.createXMLStreamReader(getInputStream(getFirstSheetName()));
+        } catch (XMLStreamException e) {
+            zipFile.close();
+            throw new IOException("Malformed workbook", e);
+        } catch (IOException | RuntimeException e) {
+            zipFile.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Row next() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    return readRow();
+                }
+            }
+            return null;
+        } catch (XMLStreamException | RuntimeException e) {
+            throw new IOException("Malformed sheet after row " + lastRowNumber, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // The zip file holds the resources
+        }
+        zipFile.close();
+    }
+
+    private Row readRow() throws XMLStreamException {
+        String reference = sheet.getAttributeValue(null, "r");
+        long number = reference != null ? Long.parseLong(reference) : lastRowNumber + 1;
+        lastRowNumber = number;
+        List<String> cells = new ArrayList<>();
+        while (sheet.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (!"c".equals(sheet.getLocalName())) {
+                skipElement();
+                continue;
+            }
+            String cellReference = sheet.getAttributeValue(null, "r");
+            int column = cellReference != null ? columnIndex(cellReference) : cells.size();
+            String value = readCell(sheet.getAttributeValue(null, "t"));
+            while (cells.size() <= column) {
+                cells.add(null);
+            }
+            cells.set(column, value);
+        }
+        return new Row(number, cells);
+    }
+
+    private String readCell(String type) throws XMLStreamException {
+        String text = null;
+        while (sheet.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (sheet.getLocalName()) {
+                case "v" -> text = sheet.getElementText();
+                case "is" -> text = readRichText(sheet, "is");
+                default -> skipElement();
+            }
+        }
+        if (text == null) {
+            return null;
+        }
+        return switch (type == null ? "n" : type) {
+            case "s" -> sharedStrings.get(Integer.parseInt(text.strip()));
+            case "b" -> "1".equals(text.strip()) ? "TRUE" : "FALSE";
+            case "n" -> normalizeNumber(text);
+            default -> text;
+        };
+    }
+
+    /**
+     * Read the text of a rich text element, the concatenation of its runs, without their phonetic readings.
+     */
+    private static String readRichText(XMLStreamReader reader, String element) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int phoneticDepth = 0;
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if ("rPh".equals(reader.getLocalName())) {
+                    phoneticDepth++;
+                } else if ("t".equals(reader.getLocalName()) && phoneticDepth == 0) {
+                    text.append(reader.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if ("rPh".equals(reader.getLocalName())) {
+                    phoneticDepth--;
+                } else if (element.equals(reader.getLocalName())) {
+                    return text.toString();
+                }
+            }
+        }
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        if (zipFile.getEntry(SHARED_STRINGS) == null) {
+            return strings;
+        }
+        try (InputStream in = getInputStream(SHARED_STRINGS)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "si".equals(reader.getLocalName())) {
+                    strings.add(readRichText(reader, "si"));
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    /**
+     * Get the name of the entry of the first sheet, from the relationship of the first sheet of the workbook.
+     */
+    private String getFirstSheetName() throws IOException, XMLStreamException {
+        String relationshipId = null;
+        try (InputStream in = getInputStream(WORKBOOK)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            while (relationshipId == null && reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(reader.getLocalName())) {
+                    relationshipId = reader.getAttributeValue(RELATIONSHIPS_NAMESPACE, "id");
+                }
+            }
+            reader.close();
+        }
+        if (relationshipId == null) {
+            throw new IOException("The workbook has no sheet");
+        }
+        try (InputStream in = getInputStream(WORKBOOK_RELATIONSHIPS)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                if (
+                    reader.next() == XMLStreamConstants.START_ELEMENT &&
+                    "Relationship".equals(reader.getLocalName()) &&
+                    relationshipId.equals(reader.getAttributeValue(null, "Id"))
+                ) {
+                    String target = reader.getAttributeValue(null, "Target");
+                    reader.close();
+                    return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                }
+            }
+            reader.close();
+        }
+        throw new IOException("The first sheet of the workbook is missing");
+    }
+
+    private InputStream getInputStream(String name) throws IOException {
+        ZipEntry entry = zipFile.getEntry(name);
+        if (entry == null) {
+            throw new IOException("Not a workbook, " + name + " is missing");
+        }
+        return zipFile.getInputStream(entry);
+    }
+
+    /**
+     * Get the index of the column of a cell reference, such as 0 for {@code A1} and 27 for {@code AB12}.
+     */
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length() && Character.isLetter(cellReference.charAt(i)); i++) {
+            column = column * 26 + (Character.toUpperCase(cellReference.charAt(i)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static String normalizeNumber(String text) {
+        try {
+            return new BigDecimal(text.strip()).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            return text;
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // The workbooks are uploaded by the users: no DTD, no external entity
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
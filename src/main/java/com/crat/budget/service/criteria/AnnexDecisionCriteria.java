@@ -28,10 +28,16 @@ public class AnnexDecisionCriteria implements Serializable, Criteria {
 
     private StringFilter expenseAmount;
 
+    private BigDecimalFilter expenseAmountValue;
+
     private StringFilter creditsAlreadyOpen;
 
+    private BigDecimalFilter creditsAlreadyOpenValue;
+
     private StringFilter creditsOpen;
 
+    private BigDecimalFilter creditsOpenValue;
+
     private LongFilter financialYearId;
 
     private LongFilter expenseId;
@@ -48,8 +54,11 @@ public class AnnexDecisionCriteria implements Serializable, Criteria {
         this.id = other.optionalId().map(LongFilter::copy).orElse(null);
         this.designation = other.optionalDesignation().map(StringFilter::copy).orElse(null);
         this.expenseAmount = other.optionalExpenseAmount().map(StringFilter::copy).orElse(null);
+        this.expenseAmountValue = other.optionalExpenseAmountValue().map(BigDecimalFilter::copy).orElse(null);
         this.creditsAlreadyOpen = other.optionalCreditsAlreadyOpen().map(StringFilter::copy).orElse(null);
+        this.creditsAlreadyOpenValue = other.optionalCreditsAlreadyOpenValue().map(BigDecimalFilter::copy).orElse(null);
         this.creditsOpen = other.optionalCreditsOpen().map(StringFilter::copy).orElse(null);
+        this.creditsOpenValue = other.optionalCreditsOpenValue().map(BigDecimalFilter::copy).orElse(null);
         this.financialYearId = other.optionalFinancialYearId().map(LongFilter::copy).orElse(null);
         this.expenseId = other.optionalExpenseId().map(LongFilter::copy).orElse(null);
         this.purchaseOrderId = other.optionalPurchaseOrderId().map(LongFilter::copy).orElse(null);
@@ -119,6 +128,25 @@ public class AnnexDecisionCriteria implements Serializable, Criteria {
         this.expenseAmount = expenseAmount;
     }
 
+    public BigDecimalFilter getExpenseAmountValue() {
+        return expenseAmountValue;
+    }
+
+    public Optional<BigDecimalFilter> optionalExpenseAmountValue() {
+        return Optional.ofNullable(expenseAmountValue);
+    }
+
+    public BigDecimalFilter expenseAmountValue() {
+        if (expenseAmountValue == null) {
+            setExpenseAmountValue(new BigDecimalFilter());
+        }
+        return expenseAmountValue;
+    }
+
+    public void setExpenseAmountValue(BigDecimalFilter expenseAmountValue) {
+        this.expenseAmountValue = expenseAmountValue;
+    }
+
     public StringFilter getCreditsAlreadyOpen() {
         return creditsAlreadyOpen;
     }
@@ -138,6 +166,25 @@ public class AnnexDecisionCriteria implements Serializable, Criteria {
         this.creditsAlreadyOpen = creditsAlreadyOpen;
     }
 
+    public BigDecimalFilter getCreditsAlreadyOpenValue() {
+        return creditsAlreadyOpenValue;
+    }
+
+    public Optional<BigDecimalFilter> optionalCreditsAlreadyOpenValue() {
+        return Optional.ofNullable(creditsAlreadyOpenValue);
+    }
+
+    public BigDecimalFilter creditsAlreadyOpenValue() {
+        if (creditsAlreadyOpenValue == null) {
+            setCreditsAlreadyOpenValue(new BigDecimalFilter());
+        }
+        return creditsAlreadyOpenValue;
+    }
+
+    public void setCreditsAlreadyOpenValue(BigDecimalFilter creditsAlreadyOpenValue) {
+        this.creditsAlreadyOpenValue = creditsAlreadyOpenValue;
+    }
+
     public StringFilter getCreditsOpen() {
         return creditsOpen;
     }
@@ -157,6 +204,25 @@ public class AnnexDecisionCriteria implements Serializable, Criteria {
         this.creditsOpen = creditsOpen;
     }
 
+    public BigDecimalFilter getCreditsOpenValue() {
+        return creditsOpenValue;
+    }
+
+    public Optional<BigDecimalFilter> optionalCreditsOpenValue() {
+        return Optional.ofNullable(creditsOpenValue);
+    }
+
+    public BigDecimalFilter creditsOpenValue() {
+        if (creditsOpenValue == null) {
+            setCreditsOpenValue(new BigDecimalFilter());
+        }
+        return creditsOpenValue;
+    }
+
+    public void setCreditsOpenValue(BigDecimalFilter creditsOpenValue) {
+        this.creditsOpenValue = creditsOpenValue;
+    }
+
     public LongFilter getFinancialYearId() {
         return financialYearId;
     }
@@ -265,8 +331,11 @@ public class AnnexDecisionCriteria implements Serializable, Criteria {
             Objects.equals(id, that.id) &&
             Objects.equals(designation, that.designation) &&
             Objects.equals(expenseAmount, that.expenseAmount) &&
+            Objects.equals(expenseAmountValue, that.expenseAmountValue) &&
             Objects.equals(creditsAlreadyOpen, that.creditsAlreadyOpen) &&
+            Objects.equals(creditsAlreadyOpenValue, that.creditsAlreadyOpenValue) &&
             Objects.equals(creditsOpen, that.creditsOpen) &&
+            Objects.equals(creditsOpenValue, that.creditsOpenValue) &&
             Objects.equals(financialYearId, that.financialYearId) &&
             Objects.equals(expenseId, that.expenseId) &&
             Objects.equals(purchaseOrderId, that.purchaseOrderId) &&
@@ -281,8 +350,11 @@ public class AnnexDecisionCriteria implements Serializable, Criteria {
             id,
             designation,
             expenseAmount,
+            expenseAmountValue,
             creditsAlreadyOpen,
+            creditsAlreadyOpenValue,
             creditsOpen,
+            creditsOpenValue,
             financialYearId,
             expenseId,
             purchaseOrderId,
@@ -298,8 +370,11 @@ public class AnnexDecisionCriteria implements Serializable, Criteria {
             optionalId().map(f -> "id=" + f + ", ").orElse("") +
             optionalDesignation().map(f -> "designation=" + f + ", ").orElse("") +
             optionalExpenseAmount().map(f -> "expenseAmount=" + f + ", ").orElse("") +
+            optionalExpenseAmountValue().map(f -> "expenseAmountValue=" + f + ", ").orElse("") +
             optionalCreditsAlreadyOpen().map(f -> "creditsAlreadyOpen=" + f + ", ").orElse("") +
+            optionalCreditsAlreadyOpenValue().map(f -> "creditsAlreadyOpenValue=" + f + ", ").orElse("") +
             optionalCreditsOpen().map(f -> "creditsOpen=" + f + ", ").orElse("") +
+            optionalCreditsOpenValue().map(f -> "creditsOpenValue=" + f + ", ").orElse("") +
             optionalFinancialYearId().map(f -> "financialYearId=" + f + ", ").orElse("") +
             optionalExpenseId().map(f -> "expenseId=" + f + ", ").orElse("") +
             optionalPurchaseOrderId().map(f -> "purchaseOrderId=" + f + ", ").orElse("") +
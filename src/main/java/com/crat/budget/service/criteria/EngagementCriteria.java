@@ -32,12 +32,20 @@ public class EngagementCriteria implements Serializable, Criteria {
 
     private StringFilter notifiedCredits;
 
+    private BigDecimalFilter notifiedCreditsValue;
+
     private StringFilter creditCommitted;
 
+    private BigDecimalFilter creditCommittedValue;
+
     private StringFilter creditsAvailable;
 
+    private BigDecimalFilter creditsAvailableValue;
+
     private StringFilter amountProposedCommitment;
 
+    private BigDecimalFilter amountProposedCommitmentValue;
+
     private StringFilter headDaf;
 
     private StringFilter financialController;
@@ -60,9 +68,13 @@ public class EngagementCriteria implements Serializable, Criteria {
         this.engagementDate = other.optionalEngagementDate().map(InstantFilter::copy).orElse(null);
         this.objectOfExpense = other.optionalObjectOfExpense().map(StringFilter::copy).orElse(null);
         this.notifiedCredits = other.optionalNotifiedCredits().map(StringFilter::copy).orElse(null);
+        this.notifiedCreditsValue = other.optionalNotifiedCreditsValue().map(BigDecimalFilter::copy).orElse(null);
         this.creditCommitted = other.optionalCreditCommitted().map(StringFilter::copy).orElse(null);
+        this.creditCommittedValue = other.optionalCreditCommittedValue().map(BigDecimalFilter::copy).orElse(null);
         this.creditsAvailable = other.optionalCreditsAvailable().map(StringFilter::copy).orElse(null);
+        this.creditsAvailableValue = other.optionalCreditsAvailableValue().map(BigDecimalFilter::copy).orElse(null);
         this.amountProposedCommitment = other.optionalAmountProposedCommitment().map(StringFilter::copy).orElse(null);
+        this.amountProposedCommitmentValue = other.optionalAmountProposedCommitmentValue().map(BigDecimalFilter::copy).orElse(null);
         this.headDaf = other.optionalHeadDaf().map(StringFilter::copy).orElse(null);
         this.financialController = other.optionalFinancialController().map(StringFilter::copy).orElse(null);
         this.generalManager = other.optionalGeneralManager().map(StringFilter::copy).orElse(null);
@@ -172,6 +184,25 @@ public class EngagementCriteria implements Serializable, Criteria {
         this.notifiedCredits = notifiedCredits;
     }
 
+    public BigDecimalFilter getNotifiedCreditsValue() {
+        return notifiedCreditsValue;
+    }
+
+    public Optional<BigDecimalFilter> optionalNotifiedCreditsValue() {
+        return Optional.ofNullable(notifiedCreditsValue);
+    }
+
+    public BigDecimalFilter notifiedCreditsValue() {
+        if (notifiedCreditsValue == null) {
+            setNotifiedCreditsValue(new BigDecimalFilter());
+        }
+        return notifiedCreditsValue;
+    }
+
+    public void setNotifiedCreditsValue(BigDecimalFilter notifiedCreditsValue) {
+        this.notifiedCreditsValue = notifiedCreditsValue;
+    }
+
     public StringFilter getCreditCommitted() {
         return creditCommitted;
     }
@@ -191,6 +222,25 @@ public class EngagementCriteria implements Serializable, Criteria {
         this.creditCommitted = creditCommitted;
     }
 
+    public BigDecimalFilter getCreditCommittedValue() {
+        return creditCommittedValue;
+    }
+
+    public Optional<BigDecimalFilter> optionalCreditCommittedValue() {
+        return Optional.ofNullable(creditCommittedValue);
+    }
+
+    public BigDecimalFilter creditCommittedValue() {
+        if (creditCommittedValue == null) {
+            setCreditCommittedValue(new BigDecimalFilter());
+        }
+        return creditCommittedValue;
+    }
+
+    public void setCreditCommittedValue(BigDecimalFilter creditCommittedValue) {
+        this.creditCommittedValue = creditCommittedValue;
+    }
+
     public StringFilter getCreditsAvailable() {
         return creditsAvailable;
     }
@@ -210,6 +260,25 @@ public class EngagementCriteria implements Serializable, Criteria {
         this.creditsAvailable = creditsAvailable;
     }
 
+    public BigDecimalFilter getCreditsAvailableValue() {
+        return creditsAvailableValue;
+    }
+
+    public Optional<BigDecimalFilter> optionalCreditsAvailableValue() {
+        return Optional.ofNullable(creditsAvailableValue);
+    }
+
+    public BigDecimalFilter creditsAvailableValue() {
+        if (creditsAvailableValue == null) {
+            setCreditsAvailableValue(new BigDecimalFilter());
+        }
+        return creditsAvailableValue;
+    }
+
+    public void setCreditsAvailableValue(BigDecimalFilter creditsAvailableValue) {
+        this.creditsAvailableValue = creditsAvailableValue;
+    }
+
     public StringFilter getAmountProposedCommitment() {
         return amountProposedCommitment;
     }
@@ -229,6 +298,25 @@ public class EngagementCriteria implements Serializable, Criteria {
         this.amountProposedCommitment = amountProposedCommitment;
     }
 
+    public BigDecimalFilter getAmountProposedCommitmentValue() {
+        return amountProposedCommitmentValue;
+    }
+
+    public Optional<BigDecimalFilter> optionalAmountProposedCommitmentValue() {
+        return Optional.ofNullable(amountProposedCommitmentValue);
+    }
+
+    public BigDecimalFilter amountProposedCommitmentValue() {
+        if (amountProposedCommitmentValue == null) {
+            setAmountProposedCommitmentValue(new BigDecimalFilter());
+        }
+        return amountProposedCommitmentValue;
+    }
+
+    public void setAmountProposedCommitmentValue(BigDecimalFilter amountProposedCommitmentValue) {
+        this.amountProposedCommitmentValue = amountProposedCommitmentValue;
+    }
+
     public StringFilter getHeadDaf() {
         return headDaf;
     }
@@ -377,9 +465,13 @@ public class EngagementCriteria implements Serializable, Criteria {
             Objects.equals(engagementDate, that.engagementDate) &&
             Objects.equals(objectOfExpense, that.objectOfExpense) &&
             Objects.equals(notifiedCredits, that.notifiedCredits) &&
+            Objects.equals(notifiedCreditsValue, that.notifiedCreditsValue) &&
             Objects.equals(creditCommitted, that.creditCommitted) &&
+            Objects.equals(creditCommittedValue, that.creditCommittedValue) &&
             Objects.equals(creditsAvailable, that.creditsAvailable) &&
+            Objects.equals(creditsAvailableValue, that.creditsAvailableValue) &&
             Objects.equals(amountProposedCommitment, that.amountProposedCommitment) &&
+            Objects.equals(amountProposedCommitmentValue, that.amountProposedCommitmentValue) &&
             Objects.equals(headDaf, that.headDaf) &&
             Objects.equals(financialController, that.financialController) &&
             Objects.equals(generalManager, that.generalManager) &&
@@ -398,9 +490,13 @@ public class EngagementCriteria implements Serializable, Criteria {
             engagementDate,
             objectOfExpense,
             notifiedCredits,
+            notifiedCreditsValue,
             creditCommitted,
+            creditCommittedValue,
             creditsAvailable,
+            creditsAvailableValue,
             amountProposedCommitment,
+            amountProposedCommitmentValue,
             headDaf,
             financialController,
             generalManager,
@@ -420,9 +516,13 @@ public class EngagementCriteria implements Serializable, Criteria {
             optionalEngagementDate().map(f -> "engagementDate=" + f + ", ").orElse("") +
             optionalObjectOfExpense().map(f -> "objectOfExpense=" + f + ", ").orElse("") +
             optionalNotifiedCredits().map(f -> "notifiedCredits=" + f + ", ").orElse("") +
+            optionalNotifiedCreditsValue().map(f -> "notifiedCreditsValue=" + f + ", ").orElse("") +
             optionalCreditCommitted().map(f -> "creditCommitted=" + f + ", ").orElse("") +
+            optionalCreditCommittedValue().map(f -> "creditCommittedValue=" + f + ", ").orElse("") +
             optionalCreditsAvailable().map(f -> "creditsAvailable=" + f + ", ").orElse("") +
+            optionalCreditsAvailableValue().map(f -> "creditsAvailableValue=" + f + ", ").orElse("") +
             optionalAmountProposedCommitment().map(f -> "amountProposedCommitment=" + f + ", ").orElse("") +
+            optionalAmountProposedCommitmentValue().map(f -> "amountProposedCommitmentValue=" + f + ", ").orElse("") +
             optionalHeadDaf().map(f -> "headDaf=" + f + ", ").orElse("") +
             optionalFinancialController().map(f -> "financialController=" + f + ", ").orElse("") +
             optionalGeneralManager().map(f -> "generalManager=" + f + ", ").orElse("") +
@@ -0,0 +1,27 @@
+package com.crat.budget.service.dto;
+
+import com.crat.budget.domain.enumeration.FinancialCategoryEnum;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * An {@link com.crat.budget.domain.Article} of the budget nomenclature tree, with the ids of its linked recipes and expenses.
+ */
+public record ArticleNodeDTO(
+    Long id,
+    FinancialCategoryEnum category,
+    String code,
+    String designation,
+    String accountDiv,
+    String codeEnd,
+    String paragraph,
+    Long chapterId,
+    List<Long> recipeIds,
+    List<Long> expenseIds
+)
+    implements Serializable {
+    public ArticleNodeDTO {
+        recipeIds = List.copyOf(recipeIds);
+        expenseIds = List.copyOf(expenseIds);
+    }
+}
@@ -0,0 +1,31 @@
+package com.crat.budget.service.dto;
+
+import com.crat.budget.domain.enumeration.FinancialCategoryEnum;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * The forecast, committed and available amounts of a part of the budget of a financial year.
+ *
+ * @param category the category, if the row is broken down by category.
+ * @param chapterId the chapter, if the row is broken down by chapter or article.
+ * @param articleId the article, if the row is broken down by article.
+ * @param recipeForecast the sum of the new year forecasts of the recipes.
+ * @param recipeAchievements the sum of the achievements of the past year of the recipes.
+ * @param expenseForecast the sum of the new year forecasts of the expenses.
+ * @param expenseAchievements the sum of the achievements of the past year of the expenses.
+ * @param committedAmount the sum of the amounts with tax of the purchase orders.
+ * @param availableAmount the expense forecast which is not committed.
+ */
+public record BudgetExecutionDTO(
+    FinancialCategoryEnum category,
+    Long chapterId,
+    Long articleId,
+    BigDecimal recipeForecast,
+    BigDecimal recipeAchievements,
+    BigDecimal expenseForecast,
+    BigDecimal expenseAchievements,
+    BigDecimal committedAmount,
+    BigDecimal availableAmount
+)
+    implements Serializable {}
@@ -0,0 +1,25 @@
+package com.crat.budget.service.dto;
+
+import com.crat.budget.service.BudgetExecutionGrouping;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The budget execution of a financial year.
+ *
+ * @param financialYearId the financial year.
+ * @param groupBy the breakdown of the rows.
+ * @param total the totals of the financial year, where each amount is counted once.
+ * @param rows the rows.
+ */
+public record BudgetExecutionReportDTO(
+    Long financialYearId,
+    BudgetExecutionGrouping groupBy,
+    BudgetExecutionDTO total,
+    List<BudgetExecutionDTO> rows
+)
+    implements Serializable {
+    public BudgetExecutionReportDTO {
+        rows = List.copyOf(rows);
+    }
+}
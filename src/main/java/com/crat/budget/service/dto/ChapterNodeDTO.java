@@ -0,0 +1,14 @@
+package com.crat.budget.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A {@link com.crat.budget.domain.Chapter} of the budget nomenclature tree, with its articles.
+ */
+public record ChapterNodeDTO(Long id, String code, String designation, Long subTitleId, List<ArticleNodeDTO> articles)
+    implements Serializable {
+    public ChapterNodeDTO {
+        articles = List.copyOf(articles);
+    }
+}
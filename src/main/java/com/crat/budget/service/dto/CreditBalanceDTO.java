@@ -0,0 +1,16 @@
+package com.crat.budget.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * The credit balance of an annex decision.
+ *
+ * @param annexDecisionId the annex decision.
+ * @param creditsOpen the open credits, or zero if they are not an amount.
+ * @param reserved the reserved credits.
+ * @param available the credits which can still be reserved, only negative when the open credits were lowered below the
+ * reserved credits.
+ */
+public record CreditBalanceDTO(Long annexDecisionId, BigDecimal creditsOpen, BigDecimal reserved, BigDecimal available)
+    implements Serializable {}
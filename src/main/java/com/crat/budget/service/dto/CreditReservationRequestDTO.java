@@ -0,0 +1,19 @@
+package com.crat.budget.service.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A request to reserve credits of an annex decision.
+ *
+ * @param amount the credits to reserve.
+ * @param purchaseOrderId the purchase order of the annex decision committing the credits, if any.
+ */
+public record CreditReservationRequestDTO(
+    @NotNull @DecimalMin("0.01") @Digits(integer = 19, fraction = 2) BigDecimal amount,
+    Long purchaseOrderId
+)
+    implements Serializable {}
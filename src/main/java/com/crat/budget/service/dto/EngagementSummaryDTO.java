@@ -0,0 +1,16 @@
+package com.crat.budget.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A read-only summary of an {@link com.crat.budget.domain.Engagement}, for the list views.
+ */
+public record EngagementSummaryDTO(
+    Long id,
+    String engagementNumber,
+    Instant engagementDate,
+    String objectOfExpense,
+    String amountProposedCommitment
+)
+    implements Serializable {}
@@ -0,0 +1,43 @@
+package com.crat.budget.service.dto;
+
+import com.crat.budget.service.BudgetImportType;
+import com.crat.budget.service.ImportJobStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The progress of the import of a spreadsheet.
+ *
+ * @param id the id of the job.
+ * @param type the kind of rows imported.
+ * @param fileName the name of the uploaded file.
+ * @param status the status of the job.
+ * @param rowsRead the number of rows read so far, without the header and the blank rows.
+ * @param rowsImported the number of rows created or updated so far.
+ * @param rowsFailed the number of rows rejected so far.
+ * @param errors the errors of the rejected rows, at most {@link com.crat.budget.service.BudgetImportService#MAX_REPORTED_ERRORS}.
+ * @param failure the reason the file could not be read to its end, if the job failed.
+ * @param submittedAt the time the file was uploaded.
+ * @param startedAt the time the job started, if it did.
+ * @param finishedAt the time the job completed or failed, if it did.
+ */
+public record ImportJobDTO(
+    String id,
+    BudgetImportType type,
+    String fileName,
+    ImportJobStatus status,
+    long rowsRead,
+    long rowsImported,
+    long rowsFailed,
+    List<ImportRowErrorDTO> errors,
+    String failure,
+    Instant submittedAt,
+    Instant startedAt,
+    Instant finishedAt
+)
+    implements Serializable {
+    public ImportJobDTO {
+        errors = List.copyOf(errors);
+    }
+}
@@ -0,0 +1,12 @@
+package com.crat.budget.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * An error on a row of an imported spreadsheet, which was not written.
+ *
+ * @param row the number of the row in the file, from 1 for the header.
+ * @param column the name of the column of the invalid cell, or {@code null} if the row as a whole could not be written.
+ * @param message the error.
+ */
+public record ImportRowErrorDTO(long row, String column, String message) implements Serializable {}
@@ -0,0 +1,24 @@
+package com.crat.budget.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The outcome of a backfill of the numeric amounts from the amounts stored as text.
+ *
+ * @param rowsScanned the number of rows read.
+ * @param rowsUpdated the number of rows whose numeric amounts were written.
+ * @param unparseableCount the number of texts which are not amounts.
+ * @param unparseableAmounts the first texts which are not amounts, at most a fixed number of them.
+ */
+public record MonetaryAmountBackfillReportDTO(
+    long rowsScanned,
+    long rowsUpdated,
+    long unparseableCount,
+    List<UnparseableAmountDTO> unparseableAmounts
+)
+    implements Serializable {
+    public MonetaryAmountBackfillReportDTO {
+        unparseableAmounts = List.copyOf(unparseableAmounts);
+    }
+}
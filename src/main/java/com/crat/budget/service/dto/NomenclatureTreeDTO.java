@@ -0,0 +1,29 @@
+package com.crat.budget.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The budget nomenclature tree: sub-titles, chapters and articles.
+ *
+ * @param version the version of the snapshot, which changes whenever the nomenclature is written.
+ * @param loadedAt the time the snapshot was loaded.
+ * @param subTitles the sub-titles, with their chapters and articles.
+ * @param unassignedChapters the chapters without sub-title, with their articles.
+ * @param unassignedArticles the articles without chapter.
+ */
+public record NomenclatureTreeDTO(
+    long version,
+    Instant loadedAt,
+    List<SubTitleNodeDTO> subTitles,
+    List<ChapterNodeDTO> unassignedChapters,
+    List<ArticleNodeDTO> unassignedArticles
+)
+    implements Serializable {
+    public NomenclatureTreeDTO {
+        subTitles = List.copyOf(subTitles);
+        unassignedChapters = List.copyOf(unassignedChapters);
+        unassignedArticles = List.copyOf(unassignedArticles);
+    }
+}
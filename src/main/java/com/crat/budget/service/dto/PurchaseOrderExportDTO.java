@@ -0,0 +1,33 @@
+package com.crat.budget.service.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A {@link com.crat.budget.domain.PurchaseOrder} with its items, as exported in JSON lines.
+ */
+public record PurchaseOrderExportDTO(
+    Long id,
+    String orderNumber,
+    Instant orderDate,
+    String nameOfTheMinistry,
+    BigDecimal totalAmountWithoutTax,
+    BigDecimal taxRate,
+    BigDecimal totalTaxAmount,
+    BigDecimal prepaidTaxAmount,
+    BigDecimal totalAmountWithTax,
+    String authExpenditureNumber,
+    BigDecimal allocatedCredits,
+    BigDecimal committedExpenditures,
+    BigDecimal availableBalance,
+    Long annexDecisionId,
+    Long supplierId,
+    Long engagementId,
+    List<Item> items
+) {
+    /**
+     * A {@link com.crat.budget.domain.PurchaseOrderItem} of the purchase order.
+     */
+    public record Item(Long id, String productName, Integer quantity, BigDecimal unitPrice, BigDecimal totalAmount) {}
+}
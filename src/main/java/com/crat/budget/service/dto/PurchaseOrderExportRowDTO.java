@@ -0,0 +1,68 @@
+package com.crat.budget.service.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+
+/**
+ * A row of the export of the {@link com.crat.budget.domain.PurchaseOrder}s: a purchase order with one of its items, or
+ * with no item columns when it has none.
+ */
+public record PurchaseOrderExportRowDTO(
+    Long id,
+    String orderNumber,
+    Instant orderDate,
+    String nameOfTheMinistry,
+    BigDecimal totalAmountWithoutTax,
+    BigDecimal taxRate,
+    BigDecimal totalTaxAmount,
+    BigDecimal prepaidTaxAmount,
+    BigDecimal totalAmountWithTax,
+    String authExpenditureNumber,
+    BigDecimal allocatedCredits,
+    BigDecimal committedExpenditures,
+    BigDecimal availableBalance,
+    Long annexDecisionId,
+    Long supplierId,
+    Long engagementId,
+    Long itemId,
+    String itemProductName,
+    Integer itemQuantity,
+    BigDecimal itemUnitPrice,
+    BigDecimal itemTotalAmount
+) {
+    /**
+     * @return the purchase order of the row, with no items.
+     */
+    public PurchaseOrderExportDTO toPurchaseOrder() {
+        return new PurchaseOrderExportDTO(
+            id,
+            orderNumber,
+            orderDate,
+            nameOfTheMinistry,
+            totalAmountWithoutTax,
+            taxRate,
+            totalTaxAmount,
+            prepaidTaxAmount,
+            totalAmountWithTax,
+            authExpenditureNumber,
+            allocatedCredits,
+            committedExpenditures,
+            availableBalance,
+            annexDecisionId,
+            supplierId,
+            engagementId,
+            new ArrayList<>()
+        );
+    }
+
+    /**
+     * @return the item of the row, or {@code null} if the purchase order has no items.
+     */
+    public PurchaseOrderExportDTO.Item toItem() {
+        if (itemId == null) {
+            return null;
+        }
+        return new PurchaseOrderExportDTO.Item(itemId, itemProductName, itemQuantity, itemUnitPrice, itemTotalAmount);
+    }
+}
@@ -0,0 +1,23 @@
+package com.crat.budget.service.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * An item of a {@link PurchaseOrderRequestDTO}. Its total amount is computed.
+ *
+ * @param productName the name of the product.
+ * @param quantity the quantity ordered.
+ * @param unitPrice the price of one unit, without tax.
+ */
+public record PurchaseOrderItemRequestDTO(
+    @NotNull @Size(max = 255) String productName,
+    @NotNull @Min(1) Integer quantity,
+    @NotNull @DecimalMin("0") @Digits(integer = 19, fraction = 2) BigDecimal unitPrice
+)
+    implements Serializable {}
@@ -0,0 +1,10 @@
+package com.crat.budget.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A read-only summary of a {@link com.crat.budget.domain.PurchaseOrderItem}, for the list views.
+ */
+public record PurchaseOrderItemSummaryDTO(Long id, String productName, Integer quantity, BigDecimal totalAmount, Long purchaseOrderId)
+    implements Serializable {}
@@ -0,0 +1,45 @@
+package com.crat.budget.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A request to create a {@link com.crat.budget.domain.PurchaseOrder} with its items. Its amounts are computed from the
+ * items and the tax rates.
+ *
+ * @param nameOfTheMinistry the name of the ministry.
+ * @param orderNumber the number of the order.
+ * @param orderDate the date of the order.
+ * @param taxRate the rate of the tax, in percent of the amount without tax, none if {@code null}.
+ * @param prepaidTaxRate the rate of the part of the tax paid in advance, in percent of the amount without tax, none if
+ * {@code null}.
+ * @param authExpenditureNumber the number of the authorization of the expenditure.
+ * @param allocatedCredits the credits allocated to the order.
+ * @param annexDecisionId the id of the annex decision of the order, if any.
+ * @param supplierId the id of the supplier of the order, if any.
+ * @param engagementId the id of the engagement of the order, if any.
+ * @param items the items of the order.
+ */
+public record PurchaseOrderRequestDTO(
+    @NotNull @Size(max = 255) String nameOfTheMinistry,
+    @NotNull @Size(max = 255) String orderNumber,
+    @NotNull Instant orderDate,
+    @DecimalMin("0") @DecimalMax("100") @Digits(integer = 3, fraction = 2) BigDecimal taxRate,
+    @DecimalMin("0") @DecimalMax("100") @Digits(integer = 3, fraction = 2) BigDecimal prepaidTaxRate,
+    @Size(max = 255) String authExpenditureNumber,
+    @Digits(integer = 19, fraction = 2) BigDecimal allocatedCredits,
+    Long annexDecisionId,
+    Long supplierId,
+    Long engagementId,
+    @NotEmpty List<@NotNull @Valid PurchaseOrderItemRequestDTO> items
+)
+    implements Serializable {}
@@ -0,0 +1,19 @@
+package com.crat.budget.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A read-only summary of a {@link com.crat.budget.domain.PurchaseOrder}, for the list views.
+ */
+public record PurchaseOrderSummaryDTO(
+    Long id,
+    String orderNumber,
+    Instant orderDate,
+    String nameOfTheMinistry,
+    BigDecimal totalAmountWithTax,
+    Long supplierId,
+    String supplierCompanyName
+)
+    implements Serializable {}
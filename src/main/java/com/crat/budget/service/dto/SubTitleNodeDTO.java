@@ -0,0 +1,13 @@
+package com.crat.budget.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A {@link com.crat.budget.domain.SubTitle} of the budget nomenclature tree, with its chapters.
+ */
+public record SubTitleNodeDTO(Long id, String code, String designation, List<ChapterNodeDTO> chapters) implements Serializable {
+    public SubTitleNodeDTO {
+        chapters = List.copyOf(chapters);
+    }
+}
@@ -0,0 +1,13 @@
+package com.crat.budget.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * An amount stored as text which is not an amount.
+ *
+ * @param entity the name of the entity.
+ * @param id the id of the entity.
+ * @param field the name of the attribute holding the text.
+ * @param value the text.
+ */
+public record UnparseableAmountDTO(String entity, Long id, String field, String value) implements Serializable {}
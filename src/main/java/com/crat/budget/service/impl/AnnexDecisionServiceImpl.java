@@ -1,10 +1,15 @@
 package com.crat.budget.service.impl;
 
 import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.AnnexDecision_;
 import com.crat.budget.repository.AnnexDecisionRepository;
 import com.crat.budget.service.AnnexDecisionService;
+import com.crat.budget.service.BudgetExecutionService;
+import com.crat.budget.service.MonetaryAmountParser;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,45 +27,35 @@ public class AnnexDecisionServiceImpl implements AnnexDecisionService {
 
     private final AnnexDecisionRepository annexDecisionRepository;
 
-    public AnnexDecisionServiceImpl(AnnexDecisionRepository annexDecisionRepository) {
+    private final BudgetExecutionService budgetExecutionService;
+
+    public AnnexDecisionServiceImpl(AnnexDecisionRepository annexDecisionRepository, BudgetExecutionService budgetExecutionService) {
         this.annexDecisionRepository = annexDecisionRepository;
+        this.budgetExecutionService = budgetExecutionService;
     }
 
     @Override
     public AnnexDecision save(AnnexDecision annexDecision) {
         LOG.debug("Request to save AnnexDecision : {}", annexDecision);
+        fillAmountValues(annexDecision);
+        budgetExecutionService.recordChange(annexDecision);
         return annexDecisionRepository.save(annexDecision);
     }
 
     @Override
-    public AnnexDecision update(AnnexDecision annexDecision) {
+    public Optional<AnnexDecision> update(AnnexDecision annexDecision) {
         LOG.debug("Request to update AnnexDecision : {}", annexDecision);
-        return annexDecisionRepository.save(annexDecision);
+        fillAmountValues(annexDecision);
+        budgetExecutionService.recordChange(annexDecision);
+        return annexDecisionRepository.updateAllAttributes(annexDecision);
     }
 
     @Override
     public Optional<AnnexDecision> partialUpdate(AnnexDecision annexDecision) {
         LOG.debug("Request to partially update AnnexDecision : {}", annexDecision);
-
-        return annexDecisionRepository
-            .findById(annexDecision.getId())
-            .map(existingAnnexDecision -> {
-                if (annexDecision.getDesignation() != null) {
-                    existingAnnexDecision.setDesignation(annexDecision.getDesignation());
-                }
-                if (annexDecision.getExpenseAmount() != null) {
-                    existingAnnexDecision.setExpenseAmount(annexDecision.getExpenseAmount());
-                }
-                if (annexDecision.getCreditsAlreadyOpen() != null) {
-                    existingAnnexDecision.setCreditsAlreadyOpen(annexDecision.getCreditsAlreadyOpen());
-                }
-                if (annexDecision.getCreditsOpen() != null) {
-                    existingAnnexDecision.setCreditsOpen(annexDecision.getCreditsOpen());
-                }
-
-                return existingAnnexDecision;
-            })
-            .map(annexDecisionRepository::save);
+        budgetExecutionService.recordPartialUpdate(AnnexDecision.class, annexDecision.getId(), annexDecision);
+        // An amount changed to a text which is not an amount clears the stale numeric amount
+        return annexDecisionRepository.updateNonNullAttributes(annexDecision, fillAmountValues(annexDecision));
     }
 
     /**
@@ -85,6 +80,31 @@ public class AnnexDecisionServiceImpl implements AnnexDecisionService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete AnnexDecision : {}", id);
+        budgetExecutionService.recordChange(AnnexDecision.class, id);
         annexDecisionRepository.deleteById(id);
     }
+
+    /**
+     * Fill the numeric amounts of an annex decision from its amounts typed as text.
+     *
+     * @param annexDecision the annex decision.
+     * @return the names of the numeric amounts whose text is not an amount.
+     */
+    private static Set<String> fillAmountValues(AnnexDecision annexDecision) {
+        Set<String> unparseableAttributes = new HashSet<>();
+        annexDecision.setExpenseAmountValue(
+            MonetaryAmountParser.parse(annexDecision.getExpenseAmount(), AnnexDecision_.EXPENSE_AMOUNT_VALUE, unparseableAttributes)
+        );
+        annexDecision.setCreditsAlreadyOpenValue(
+            MonetaryAmountParser.parse(
+                annexDecision.getCreditsAlreadyOpen(),
+                AnnexDecision_.CREDITS_ALREADY_OPEN_VALUE,
+                unparseableAttributes
+            )
+        );
+        annexDecision.setCreditsOpenValue(
+            MonetaryAmountParser.parse(annexDecision.getCreditsOpen(), AnnexDecision_.CREDITS_OPEN_VALUE, unparseableAttributes)
+        );
+        return unparseableAttributes;
+    }
 }
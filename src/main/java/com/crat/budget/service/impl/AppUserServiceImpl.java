@@ -31,58 +31,15 @@ public class AppUserServiceImpl implements AppUserService {
     }
 
     @Override
-    public AppUser update(AppUser appUser) {
+    public Optional<AppUser> update(AppUser appUser) {
         LOG.debug("Request to update AppUser : {}", appUser);
-        return appUserRepository.save(appUser);
+        return appUserRepository.updateAllAttributes(appUser);
     }
 
     @Override
     public Optional<AppUser> partialUpdate(AppUser appUser) {
         LOG.debug("Request to partially update AppUser : {}", appUser);
-
-        return appUserRepository
-            .findById(appUser.getId())
-            .map(existingAppUser -> {
-                if (appUser.getAccountStatus() != null) {
-                    existingAppUser.setAccountStatus(appUser.getAccountStatus());
-                }
-                if (appUser.getLastDateUpdate() != null) {
-                    existingAppUser.setLastDateUpdate(appUser.getLastDateUpdate());
-                }
-                if (appUser.getDateCreated() != null) {
-                    existingAppUser.setDateCreated(appUser.getDateCreated());
-                }
-                if (appUser.getFirstname() != null) {
-                    existingAppUser.setFirstname(appUser.getFirstname());
-                }
-                if (appUser.getLastname() != null) {
-                    existingAppUser.setLastname(appUser.getLastname());
-                }
-                if (appUser.getPhoneNumber() != null) {
-                    existingAppUser.setPhoneNumber(appUser.getPhoneNumber());
-                }
-                if (appUser.getBirthDate() != null) {
-                    existingAppUser.setBirthDate(appUser.getBirthDate());
-                }
-                if (appUser.getBirthPlace() != null) {
-                    existingAppUser.setBirthPlace(appUser.getBirthPlace());
-                }
-                if (appUser.getGender() != null) {
-                    existingAppUser.setGender(appUser.getGender());
-                }
-                if (appUser.getFamilySituation() != null) {
-                    existingAppUser.setFamilySituation(appUser.getFamilySituation());
-                }
-                if (appUser.getPosition() != null) {
-                    existingAppUser.setPosition(appUser.getPosition());
-                }
-                if (appUser.getAddress() != null) {
-                    existingAppUser.setAddress(appUser.getAddress());
-                }
-
-                return existingAppUser;
-            })
-            .map(appUserRepository::save);
+        return appUserRepository.updateNonNullAttributes(appUser);
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.crat.budget.service.impl;
 
 import com.crat.budget.domain.Article;
 import com.crat.budget.repository.ArticleRepository;
+import com.crat.budget.service.BudgetExecutionService;
 import com.crat.budget.service.ArticleService;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -22,51 +23,35 @@ public class ArticleServiceImpl implements ArticleService {
 
     private final ArticleRepository articleRepository;
 
-    public ArticleServiceImpl(ArticleRepository articleRepository) {
+    private final BudgetExecutionService budgetExecutionService;
+
+    public ArticleServiceImpl(ArticleRepository articleRepository, BudgetExecutionService budgetExecutionService) {
         this.articleRepository = articleRepository;
+        this.budgetExecutionService = budgetExecutionService;
     }
 
     @Override
     public Article save(Article article) {
         LOG.debug("Request to save Article : {}", article);
+        budgetExecutionService.recordChange(article);
         return articleRepository.save(article);
     }
 
     @Override
-    public Article update(Article article) {
+    public Optional<Article> update(Article article) {
         LOG.debug("Request to update Article : {}", article);
-        return articleRepository.save(article);
+        budgetExecutionService.recordChange(article);
+        // The recipes and expenses live in join tables, which are rewritten from the collections at flush time
+        return articleRepository
+            .updateAllAttributes(article)
+            .map(existingArticle -> existingArticle.recipes(article.getRecipes()).expenses(article.getExpenses()));
     }
 
     @Override
     public Optional<Article> partialUpdate(Article article) {
         LOG.debug("Request to partially update Article : {}", article);
-
-        return articleRepository
-            .findById(article.getId())
-            .map(existingArticle -> {
-                if (article.getCategory() != null) {
-                    existingArticle.setCategory(article.getCategory());
-                }
-                if (article.getCode() != null) {
-                    existingArticle.setCode(article.getCode());
-                }
-                if (article.getDesignation() != null) {
-                    existingArticle.setDesignation(article.getDesignation());
-                }
-                if (article.getAccountDiv() != null) {
-                    existingArticle.setAccountDiv(article.getAccountDiv());
-                }
-                if (article.getCodeEnd() != null) {
-                    existingArticle.setCodeEnd(article.getCodeEnd());
-                }
-                if (article.getParagraph() != null) {
-                    existingArticle.setParagraph(article.getParagraph());
-                }
-
-                return existingArticle;
-            })
-            .map(articleRepository::save);
+        budgetExecutionService.recordPartialUpdate(Article.class, article.getId(), article);
+        return articleRepository.updateNonNullAttributes(article);
     }
 
     public Page<Article> findAllWithEagerRelationships(Pageable pageable) {
@@ -83,6 +68,7 @@ public class ArticleServiceImpl implements ArticleService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Article : {}", id);
+        budgetExecutionService.recordChange(Article.class, id);
         articleRepository.deleteById(id);
     }
 }
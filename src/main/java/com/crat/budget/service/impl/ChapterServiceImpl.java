@@ -31,28 +31,15 @@ public class ChapterServiceImpl implements ChapterService {
     }
 
     @Override
-    public Chapter update(Chapter chapter) {
+    public Optional<Chapter> update(Chapter chapter) {
         LOG.debug("Request to update Chapter : {}", chapter);
-        return chapterRepository.save(chapter);
+        return chapterRepository.updateAllAttributes(chapter);
     }
 
     @Override
     public Optional<Chapter> partialUpdate(Chapter chapter) {
         LOG.debug("Request to partially update Chapter : {}", chapter);
-
-        return chapterRepository
-            .findById(chapter.getId())
-            .map(existingChapter -> {
-                if (chapter.getCode() != null) {
-                    existingChapter.setCode(chapter.getCode());
-                }
-                if (chapter.getDesignation() != null) {
-                    existingChapter.setDesignation(chapter.getDesignation());
-                }
-
-                return existingChapter;
-            })
-            .map(chapterRepository::save);
+        return chapterRepository.updateNonNullAttributes(chapter);
     }
 
     @Override
@@ -31,31 +31,15 @@ public class DecisionItemServiceImpl implements DecisionItemService {
     }
 
     @Override
-    public DecisionItem update(DecisionItem decisionItem) {
+    public Optional<DecisionItem> update(DecisionItem decisionItem) {
         LOG.debug("Request to update DecisionItem : {}", decisionItem);
-        return decisionItemRepository.save(decisionItem);
+        return decisionItemRepository.updateAllAttributes(decisionItem);
     }
 
     @Override
     public Optional<DecisionItem> partialUpdate(DecisionItem decisionItem) {
         LOG.debug("Request to partially update DecisionItem : {}", decisionItem);
-
-        return decisionItemRepository
-            .findById(decisionItem.getId())
-            .map(existingDecisionItem -> {
-                if (decisionItem.getBeneficiary() != null) {
-                    existingDecisionItem.setBeneficiary(decisionItem.getBeneficiary());
-                }
-                if (decisionItem.getAmount() != null) {
-                    existingDecisionItem.setAmount(decisionItem.getAmount());
-                }
-                if (decisionItem.getObservation() != null) {
-                    existingDecisionItem.setObservation(decisionItem.getObservation());
-                }
-
-                return existingDecisionItem;
-            })
-            .map(decisionItemRepository::save);
+        return decisionItemRepository.updateNonNullAttributes(decisionItem);
     }
 
     @Override
@@ -31,28 +31,15 @@ public class DecisionServiceImpl implements DecisionService {
     }
 
     @Override
-    public Decision update(Decision decision) {
+    public Optional<Decision> update(Decision decision) {
         LOG.debug("Request to update Decision : {}", decision);
-        return decisionRepository.save(decision);
+        return decisionRepository.updateAllAttributes(decision);
     }
 
     @Override
     public Optional<Decision> partialUpdate(Decision decision) {
         LOG.debug("Request to partially update Decision : {}", decision);
-
-        return decisionRepository
-            .findById(decision.getId())
-            .map(existingDecision -> {
-                if (decision.getDecisionNumber() != null) {
-                    existingDecision.setDecisionNumber(decision.getDecisionNumber());
-                }
-                if (decision.getDecisionDate() != null) {
-                    existingDecision.setDecisionDate(decision.getDecisionDate());
-                }
-
-                return existingDecision;
-            })
-            .map(decisionRepository::save);
+        return decisionRepository.updateNonNullAttributes(decision);
     }
 
     @Override
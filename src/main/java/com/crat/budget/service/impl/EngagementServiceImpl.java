@@ -1,10 +1,14 @@
 package com.crat.budget.service.impl;
 
 import com.crat.budget.domain.Engagement;
+import com.crat.budget.domain.Engagement_;
 import com.crat.budget.repository.EngagementRepository;
 import com.crat.budget.service.EngagementService;
+import com.crat.budget.service.MonetaryAmountParser;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,56 +33,22 @@ public class EngagementServiceImpl implements EngagementService {
     @Override
     public Engagement save(Engagement engagement) {
         LOG.debug("Request to save Engagement : {}", engagement);
+        fillAmountValues(engagement);
         return engagementRepository.save(engagement);
     }
 
     @Override
-    public Engagement update(Engagement engagement) {
+    public Optional<Engagement> update(Engagement engagement) {
         LOG.debug("Request to update Engagement : {}", engagement);
-        return engagementRepository.save(engagement);
+        fillAmountValues(engagement);
+        return engagementRepository.updateAllAttributes(engagement);
     }
 
     @Override
     public Optional<Engagement> partialUpdate(Engagement engagement) {
         LOG.debug("Request to partially update Engagement : {}", engagement);
-
-        return engagementRepository
-            .findById(engagement.getId())
-            .map(existingEngagement -> {
-                if (engagement.getEngagementNumber() != null) {
-                    existingEngagement.setEngagementNumber(engagement.getEngagementNumber());
-                }
-                if (engagement.getEngagementDate() != null) {
-                    existingEngagement.setEngagementDate(engagement.getEngagementDate());
-                }
-                if (engagement.getObjectOfExpense() != null) {
-                    existingEngagement.setObjectOfExpense(engagement.getObjectOfExpense());
-                }
-                if (engagement.getNotifiedCredits() != null) {
-                    existingEngagement.setNotifiedCredits(engagement.getNotifiedCredits());
-                }
-                if (engagement.getCreditCommitted() != null) {
-                    existingEngagement.setCreditCommitted(engagement.getCreditCommitted());
-                }
-                if (engagement.getCreditsAvailable() != null) {
-                    existingEngagement.setCreditsAvailable(engagement.getCreditsAvailable());
-                }
-                if (engagement.getAmountProposedCommitment() != null) {
-                    existingEngagement.setAmountProposedCommitment(engagement.getAmountProposedCommitment());
-                }
-                if (engagement.getHeadDaf() != null) {
-                    existingEngagement.setHeadDaf(engagement.getHeadDaf());
-                }
-                if (engagement.getFinancialController() != null) {
-                    existingEngagement.setFinancialController(engagement.getFinancialController());
-                }
-                if (engagement.getGeneralManager() != null) {
-                    existingEngagement.setGeneralManager(engagement.getGeneralManager());
-                }
-
-                return existingEngagement;
-            })
-            .map(engagementRepository::save);
+        // An amount changed to a text which is not an amount clears the stale numeric amount
+        return engagementRepository.updateNonNullAttributes(engagement, fillAmountValues(engagement));
     }
 
     /**
@@ -117,4 +87,31 @@ public class EngagementServiceImpl implements EngagementService {
         LOG.debug("Request to delete Engagement : {}", id);
         engagementRepository.deleteById(id);
     }
+
+    /**
+     * Fill the numeric amounts of an engagement from its amounts typed as text.
+     *
+     * @param engagement the engagement.
+     * @return the names of the numeric amounts whose text is not an amount.
+     */
+    private static Set<String> fillAmountValues(Engagement engagement) {
+        Set<String> unparseableAttributes = new HashSet<>();
+        engagement.setNotifiedCreditsValue(
+            MonetaryAmountParser.parse(engagement.getNotifiedCredits(), Engagement_.NOTIFIED_CREDITS_VALUE, unparseableAttributes)
+        );
+        engagement.setCreditCommittedValue(
+            MonetaryAmountParser.parse(engagement.getCreditCommitted(), Engagement_.CREDIT_COMMITTED_VALUE, unparseableAttributes)
+        );
+        engagement.setCreditsAvailableValue(
+            MonetaryAmountParser.parse(engagement.getCreditsAvailable(), Engagement_.CREDITS_AVAILABLE_VALUE, unparseableAttributes)
+        );
+        engagement.setAmountProposedCommitmentValue(
+            MonetaryAmountParser.parse(
+                engagement.getAmountProposedCommitment(),
+                Engagement_.AMOUNT_PROPOSED_COMMITMENT_VALUE,
+                unparseableAttributes
+            )
+        );
+        return unparseableAttributes;
+    }
 }
@@ -2,6 +2,7 @@ package com.crat.budget.service.impl;
 
 import com.crat.budget.domain.Expense;
 import com.crat.budget.repository.ExpenseRepository;
+import com.crat.budget.service.BudgetExecutionService;
 import com.crat.budget.service.ExpenseService;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -20,42 +21,32 @@ public class ExpenseServiceImpl implements ExpenseService {
 
     private final ExpenseRepository expenseRepository;
 
-    public ExpenseServiceImpl(ExpenseRepository expenseRepository) {
+    private final BudgetExecutionService budgetExecutionService;
+
+    public ExpenseServiceImpl(ExpenseRepository expenseRepository, BudgetExecutionService budgetExecutionService) {
         this.expenseRepository = expenseRepository;
+        this.budgetExecutionService = budgetExecutionService;
     }
 
     @Override
     public Expense save(Expense expense) {
         LOG.debug("Request to save Expense : {}", expense);
+        budgetExecutionService.recordChange(expense);
         return expenseRepository.save(expense);
     }
 
     @Override
-    public Expense update(Expense expense) {
+    public Optional<Expense> update(Expense expense) {
         LOG.debug("Request to update Expense : {}", expense);
-        return expenseRepository.save(expense);
+        budgetExecutionService.recordChange(expense);
+        return expenseRepository.updateAllAttributes(expense);
     }
 
     @Override
     public Optional<Expense> partialUpdate(Expense expense) {
         LOG.debug("Request to partially update Expense : {}", expense);
-
-        return expenseRepository
-            .findById(expense.getId())
-            .map(existingExpense -> {
-                if (expense.getAchievementsInThePastYear() != null) {
-                    existingExpense.setAchievementsInThePastYear(expense.getAchievementsInThePastYear());
-                }
-                if (expense.getNewYearForecast() != null) {
-                    existingExpense.setNewYearForecast(expense.getNewYearForecast());
-                }
-                if (expense.getCategory() != null) {
-                    existingExpense.setCategory(expense.getCategory());
-                }
-
-                return existingExpense;
-            })
-            .map(expenseRepository::save);
+        budgetExecutionService.recordPartialUpdate(Expense.class, expense.getId(), expense);
+        return expenseRepository.updateNonNullAttributes(expense);
     }
 
     @Override
@@ -68,6 +59,7 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Expense : {}", id);
+        budgetExecutionService.recordChange(Expense.class, id);
         expenseRepository.deleteById(id);
     }
 }
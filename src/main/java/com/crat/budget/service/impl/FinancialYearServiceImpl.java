@@ -33,25 +33,15 @@ public class FinancialYearServiceImpl implements FinancialYearService {
     }
 
     @Override
-    public FinancialYear update(FinancialYear financialYear) {
+    public Optional<FinancialYear> update(FinancialYear financialYear) {
         LOG.debug("Request to update FinancialYear : {}", financialYear);
-        return financialYearRepository.save(financialYear);
+        return financialYearRepository.updateAllAttributes(financialYear);
     }
 
     @Override
     public Optional<FinancialYear> partialUpdate(FinancialYear financialYear) {
         LOG.debug("Request to partially update FinancialYear : {}", financialYear);
-
-        return financialYearRepository
-            .findById(financialYear.getId())
-            .map(existingFinancialYear -> {
-                if (financialYear.getYear() != null) {
-                    existingFinancialYear.setYear(financialYear.getYear());
-                }
-
-                return existingFinancialYear;
-            })
-            .map(financialYearRepository::save);
+        return financialYearRepository.updateNonNullAttributes(financialYear);
     }
 
     /**
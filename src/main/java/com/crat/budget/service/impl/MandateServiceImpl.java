@@ -31,37 +31,15 @@ public class MandateServiceImpl implements MandateService {
     }
 
     @Override
-    public Mandate update(Mandate mandate) {
+    public Optional<Mandate> update(Mandate mandate) {
         LOG.debug("Request to update Mandate : {}", mandate);
-        return mandateRepository.save(mandate);
+        return mandateRepository.updateAllAttributes(mandate);
     }
 
     @Override
     public Optional<Mandate> partialUpdate(Mandate mandate) {
         LOG.debug("Request to partially update Mandate : {}", mandate);
-
-        return mandateRepository
-            .findById(mandate.getId())
-            .map(existingMandate -> {
-                if (mandate.getMandateNumber() != null) {
-                    existingMandate.setMandateNumber(mandate.getMandateNumber());
-                }
-                if (mandate.getMandateDate() != null) {
-                    existingMandate.setMandateDate(mandate.getMandateDate());
-                }
-                if (mandate.getIssueSlipNumber() != null) {
-                    existingMandate.setIssueSlipNumber(mandate.getIssueSlipNumber());
-                }
-                if (mandate.getMonthAndYearOfIssue() != null) {
-                    existingMandate.setMonthAndYearOfIssue(mandate.getMonthAndYearOfIssue());
-                }
-                if (mandate.getSupportingDocuments() != null) {
-                    existingMandate.setSupportingDocuments(mandate.getSupportingDocuments());
-                }
-
-                return existingMandate;
-            })
-            .map(mandateRepository::save);
+        return mandateRepository.updateNonNullAttributes(mandate);
     }
 
     @Override
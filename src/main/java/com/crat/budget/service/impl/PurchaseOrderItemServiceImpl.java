@@ -31,34 +31,15 @@ public class PurchaseOrderItemServiceImpl implements PurchaseOrderItemService {
     }
 
     @Override
-    public PurchaseOrderItem update(PurchaseOrderItem purchaseOrderItem) {
+    public Optional<PurchaseOrderItem> update(PurchaseOrderItem purchaseOrderItem) {
         LOG.debug("Request to update PurchaseOrderItem : {}", purchaseOrderItem);
-        return purchaseOrderItemRepository.save(purchaseOrderItem);
+        return purchaseOrderItemRepository.updateAllAttributes(purchaseOrderItem);
     }
 
     @Override
     public Optional<PurchaseOrderItem> partialUpdate(PurchaseOrderItem purchaseOrderItem) {
         LOG.debug("Request to partially update PurchaseOrderItem : {}", purchaseOrderItem);
-
-        return purchaseOrderItemRepository
-            .findById(purchaseOrderItem.getId())
-            .map(existingPurchaseOrderItem -> {
-                if (purchaseOrderItem.getProductName() != null) {
-                    existingPurchaseOrderItem.setProductName(purchaseOrderItem.getProductName());
-                }
-                if (purchaseOrderItem.getQuantity() != null) {
-                    existingPurchaseOrderItem.setQuantity(purchaseOrderItem.getQuantity());
-                }
-                if (purchaseOrderItem.getUnitPrice() != null) {
-                    existingPurchaseOrderItem.setUnitPrice(purchaseOrderItem.getUnitPrice());
-                }
-                if (purchaseOrderItem.getTotalAmount() != null) {
-                    existingPurchaseOrderItem.setTotalAmount(purchaseOrderItem.getTotalAmount());
-                }
-
-                return existingPurchaseOrderItem;
-            })
-            .map(purchaseOrderItemRepository::save);
+        return purchaseOrderItemRepository.updateNonNullAttributes(purchaseOrderItem);
     }
 
     @Override
@@ -1,11 +1,33 @@
 package com.crat.budget.service.impl;
 
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.Engagement;
 import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.domain.PurchaseOrderItem;
+import com.crat.budget.domain.Supplier;
+import com.crat.budget.repository.AnnexDecisionRepository;
+import com.crat.budget.repository.EngagementRepository;
+import com.crat.budget.repository.PurchaseOrderItemRepository;
 import com.crat.budget.repository.PurchaseOrderRepository;
+import com.crat.budget.repository.SupplierRepository;
+import com.crat.budget.service.BudgetExecutionService;
+import com.crat.budget.service.InvalidPurchaseOrderException;
 import com.crat.budget.service.PurchaseOrderService;
+import com.crat.budget.service.dto.PurchaseOrderItemRequestDTO;
+import com.crat.budget.service.dto.PurchaseOrderRequestDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,71 +40,127 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
 
     private static final Logger LOG = LoggerFactory.getLogger(PurchaseOrderServiceImpl.class);
 
+    private static final int AMOUNT_SCALE = 2;
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
     private final PurchaseOrderRepository purchaseOrderRepository;
 
-    public PurchaseOrderServiceImpl(PurchaseOrderRepository purchaseOrderRepository) {
+    private final PurchaseOrderItemRepository purchaseOrderItemRepository;
+
+    private final AnnexDecisionRepository annexDecisionRepository;
+
+    private final SupplierRepository supplierRepository;
+
+    private final EngagementRepository engagementRepository;
+
+    private final BudgetExecutionService budgetExecutionService;
+
+    public PurchaseOrderServiceImpl(
+        PurchaseOrderRepository purchaseOrderRepository,
+        PurchaseOrderItemRepository purchaseOrderItemRepository,
+        AnnexDecisionRepository annexDecisionRepository,
+        SupplierRepository supplierRepository,
+        EngagementRepository engagementRepository,
+        BudgetExecutionService budgetExecutionService
+    ) {
         this.purchaseOrderRepository = purchaseOrderRepository;
+        this.purchaseOrderItemRepository = purchaseOrderItemRepository;
+        this.annexDecisionRepository = annexDecisionRepository;
+        this.supplierRepository = supplierRepository;
+        this.engagementRepository = engagementRepository;
+        this.budgetExecutionService = budgetExecutionService;
     }
 
     @Override
     public PurchaseOrder save(PurchaseOrder purchaseOrder) {
         LOG.debug("Request to save PurchaseOrder : {}", purchaseOrder);
+        budgetExecutionService.recordChange(purchaseOrder);
         return purchaseOrderRepository.save(purchaseOrder);
     }
 
     @Override
-    public PurchaseOrder update(PurchaseOrder purchaseOrder) {
+    public Optional<PurchaseOrder> update(PurchaseOrder purchaseOrder) {
         LOG.debug("Request to update PurchaseOrder : {}", purchaseOrder);
-        return purchaseOrderRepository.save(purchaseOrder);
+        budgetExecutionService.recordChange(purchaseOrder);
+        return purchaseOrderRepository.updateAllAttributes(purchaseOrder);
+    }
+
+    @Override
+    public List<PurchaseOrder> createWithItems(List<PurchaseOrderRequestDTO> purchaseOrders) {
+        LOG.debug("Request to create {} PurchaseOrders with their items", purchaseOrders.size());
+        // The referenced entities are loaded once for all the orders
+        Map<Long, AnnexDecision> annexDecisions = findAllById(
+            annexDecisionRepository,
+            AnnexDecision::getId,
+            purchaseOrders.stream().map(PurchaseOrderRequestDTO::annexDecisionId),
+            "annexdecisionnotfound"
+        );
+        Map<Long, Supplier> suppliers = findAllById(
+            supplierRepository,
+            Supplier::getId,
+            purchaseOrders.stream().map(PurchaseOrderRequestDTO::supplierId),
+            "suppliernotfound"
+        );
+        Map<Long, Engagement> engagements = findAllById(
+            engagementRepository,
+            Engagement::getId,
+            purchaseOrders.stream().map(PurchaseOrderRequestDTO::engagementId),
+            "engagementnotfound"
+        );
+        // The ids come from the pooled sequence, so the orders then the items are inserted in JDBC batches of
+        // hibernate.jdbc.batch_size when flushed
+        List<PurchaseOrder> result = new ArrayList<>(purchaseOrders.size());
+        List<PurchaseOrderItem> items = new ArrayList<>();
+        for (PurchaseOrderRequestDTO request : purchaseOrders) {
+            PurchaseOrder purchaseOrder = new PurchaseOrder()
+                .nameOfTheMinistry(request.nameOfTheMinistry())
+                .orderNumber(request.orderNumber())
+                .orderDate(request.orderDate())
+                .authExpenditureNumber(request.authExpenditureNumber())
+                .allocatedCredits(request.allocatedCredits())
+                .annexDecision(annexDecisions.get(request.annexDecisionId()))
+                .supplier(suppliers.get(request.supplierId()))
+                .engagement(engagements.get(request.engagementId()));
+            BigDecimal totalAmountWithoutTax = BigDecimal.ZERO.setScale(AMOUNT_SCALE);
+            for (PurchaseOrderItemRequestDTO itemRequest : request.items()) {
+                PurchaseOrderItem item = new PurchaseOrderItem()
+                    .productName(itemRequest.productName())
+                    .quantity(itemRequest.quantity())
+                    .unitPrice(itemRequest.unitPrice())
+                    .totalAmount(
+                        itemRequest
+                            .unitPrice()
+                            .multiply(BigDecimal.valueOf(itemRequest.quantity()))
+                            .setScale(AMOUNT_SCALE, RoundingMode.HALF_UP)
+                    );
+                purchaseOrder.addPurchaseOrderItem(item);
+                items.add(item);
+                totalAmountWithoutTax = totalAmountWithoutTax.add(item.getTotalAmount());
+            }
+            BigDecimal taxRate = Objects.requireNonNullElse(request.taxRate(), BigDecimal.ZERO);
+            BigDecimal totalTaxAmount = percentOf(totalAmountWithoutTax, taxRate);
+            purchaseOrder
+                .totalAmountWithoutTax(totalAmountWithoutTax)
+                .taxRate(taxRate)
+                .totalTaxAmount(totalTaxAmount)
+                .prepaidTaxAmount(
+                    percentOf(totalAmountWithoutTax, Objects.requireNonNullElse(request.prepaidTaxRate(), BigDecimal.ZERO))
+                )
+                .totalAmountWithTax(totalAmountWithoutTax.add(totalTaxAmount));
+            result.add(purchaseOrder);
+        }
+        budgetExecutionService.recordChanges(result);
+        purchaseOrderRepository.saveAll(result);
+        purchaseOrderItemRepository.saveAll(items);
+        return result;
     }
 
     @Override
     public Optional<PurchaseOrder> partialUpdate(PurchaseOrder purchaseOrder) {
         LOG.debug("Request to partially update PurchaseOrder : {}", purchaseOrder);
-
-        return purchaseOrderRepository
-            .findById(purchaseOrder.getId())
-            .map(existingPurchaseOrder -> {
-                if (purchaseOrder.getNameOfTheMinistry() != null) {
-                    existingPurchaseOrder.setNameOfTheMinistry(purchaseOrder.getNameOfTheMinistry());
-                }
-                if (purchaseOrder.getOrderNumber() != null) {
-                    existingPurchaseOrder.setOrderNumber(purchaseOrder.getOrderNumber());
-                }
-                if (purchaseOrder.getOrderDate() != null) {
-                    existingPurchaseOrder.setOrderDate(purchaseOrder.getOrderDate());
-                }
-                if (purchaseOrder.getTotalAmountWithoutTax() != null) {
-                    existingPurchaseOrder.setTotalAmountWithoutTax(purchaseOrder.getTotalAmountWithoutTax());
-                }
-                if (purchaseOrder.getTaxRate() != null) {
-                    existingPurchaseOrder.setTaxRate(purchaseOrder.getTaxRate());
-                }
-                if (purchaseOrder.getTotalTaxAmount() != null) {
-                    existingPurchaseOrder.setTotalTaxAmount(purchaseOrder.getTotalTaxAmount());
-                }
-                if (purchaseOrder.getPrepaidTaxAmount() != null) {
-                    existingPurchaseOrder.setPrepaidTaxAmount(purchaseOrder.getPrepaidTaxAmount());
-                }
-                if (purchaseOrder.getTotalAmountWithTax() != null) {
-                    existingPurchaseOrder.setTotalAmountWithTax(purchaseOrder.getTotalAmountWithTax());
-                }
-                if (purchaseOrder.getAuthExpenditureNumber() != null) {
-                    existingPurchaseOrder.setAuthExpenditureNumber(purchaseOrder.getAuthExpenditureNumber());
-                }
-                if (purchaseOrder.getAllocatedCredits() != null) {
-                    existingPurchaseOrder.setAllocatedCredits(purchaseOrder.getAllocatedCredits());
-                }
-                if (purchaseOrder.getCommittedExpenditures() != null) {
-                    existingPurchaseOrder.setCommittedExpenditures(purchaseOrder.getCommittedExpenditures());
-                }
-                if (purchaseOrder.getAvailableBalance() != null) {
-                    existingPurchaseOrder.setAvailableBalance(purchaseOrder.getAvailableBalance());
-                }
-
-                return existingPurchaseOrder;
-            })
-            .map(purchaseOrderRepository::save);
+        budgetExecutionService.recordPartialUpdate(PurchaseOrder.class, purchaseOrder.getId(), purchaseOrder);
+        return purchaseOrderRepository.updateNonNullAttributes(purchaseOrder);
     }
 
     @Override
@@ -95,6 +173,30 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete PurchaseOrder : {}", id);
+        budgetExecutionService.recordChange(PurchaseOrder.class, id);
         purchaseOrderRepository.deleteById(id);
     }
+
+    private static BigDecimal percentOf(BigDecimal amount, BigDecimal rate) {
+        return amount.multiply(rate).divide(ONE_HUNDRED, AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static <T> Map<Long, T> findAllById(
+        JpaRepository<T, Long> repository,
+        Function<T, Long> idFunction,
+        Stream<Long> requestedIds,
+        String errorKey
+    ) {
+        List<Long> ids = requestedIds.filter(Objects::nonNull).distinct().toList();
+        Map<Long, T> entities = repository
+            .findAllById(ids)
+            .stream()
+            .collect(Collectors.toMap(idFunction, Function.identity()));
+        for (Long id : ids) {
+            if (!entities.containsKey(id)) {
+                throw new InvalidPurchaseOrderException("The entity " + id + " referenced by a purchase order does not exist", errorKey);
+            }
+        }
+        return entities;
+    }
 }
@@ -2,6 +2,7 @@ package com.crat.budget.service.impl;
 
 import com.crat.budget.domain.Recipe;
 import com.crat.budget.repository.RecipeRepository;
+import com.crat.budget.service.BudgetExecutionService;
 import com.crat.budget.service.RecipeService;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -20,42 +21,32 @@ public class RecipeServiceImpl implements RecipeService {
 
     private final RecipeRepository recipeRepository;
 
-    public RecipeServiceImpl(RecipeRepository recipeRepository) {
+    private final BudgetExecutionService budgetExecutionService;
+
+    public RecipeServiceImpl(RecipeRepository recipeRepository, BudgetExecutionService budgetExecutionService) {
         this.recipeRepository = recipeRepository;
+        this.budgetExecutionService = budgetExecutionService;
     }
 
     @Override
     public Recipe save(Recipe recipe) {
         LOG.debug("Request to save Recipe : {}", recipe);
+        budgetExecutionService.recordChange(recipe);
         return recipeRepository.save(recipe);
     }
 
     @Override
-    public Recipe update(Recipe recipe) {
+    public Optional<Recipe> update(Recipe recipe) {
         LOG.debug("Request to update Recipe : {}", recipe);
-        return recipeRepository.save(recipe);
+        budgetExecutionService.recordChange(recipe);
+        return recipeRepository.updateAllAttributes(recipe);
     }
 
     @Override
     public Optional<Recipe> partialUpdate(Recipe recipe) {
         LOG.debug("Request to partially update Recipe : {}", recipe);
-
-        return recipeRepository
-            .findById(recipe.getId())
-            .map(existingRecipe -> {
-                if (recipe.getAchievementsInThePastYear() != null) {
-                    existingRecipe.setAchievementsInThePastYear(recipe.getAchievementsInThePastYear());
-                }
-                if (recipe.getNewYearForecast() != null) {
-                    existingRecipe.setNewYearForecast(recipe.getNewYearForecast());
-                }
-                if (recipe.getCategory() != null) {
-                    existingRecipe.setCategory(recipe.getCategory());
-                }
-
-                return existingRecipe;
-            })
-            .map(recipeRepository::save);
+        budgetExecutionService.recordPartialUpdate(Recipe.class, recipe.getId(), recipe);
+        return recipeRepository.updateNonNullAttributes(recipe);
     }
 
     @Override
@@ -68,6 +59,7 @@ public class RecipeServiceImpl implements RecipeService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Recipe : {}", id);
+        budgetExecutionService.recordChange(Recipe.class, id);
         recipeRepository.deleteById(id);
     }
 }
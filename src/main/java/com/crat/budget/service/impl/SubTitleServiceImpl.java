@@ -31,28 +31,15 @@ public class SubTitleServiceImpl implements SubTitleService {
     }
 
     @Override
-    public SubTitle update(SubTitle subTitle) {
+    public Optional<SubTitle> update(SubTitle subTitle) {
         LOG.debug("Request to update SubTitle : {}", subTitle);
-        return subTitleRepository.save(subTitle);
+        return subTitleRepository.updateAllAttributes(subTitle);
     }
 
     @Override
     public Optional<SubTitle> partialUpdate(SubTitle subTitle) {
         LOG.debug("Request to partially update SubTitle : {}", subTitle);
-
-        return subTitleRepository
-            .findById(subTitle.getId())
-            .map(existingSubTitle -> {
-                if (subTitle.getCode() != null) {
-                    existingSubTitle.setCode(subTitle.getCode());
-                }
-                if (subTitle.getDesignation() != null) {
-                    existingSubTitle.setDesignation(subTitle.getDesignation());
-                }
-
-                return existingSubTitle;
-            })
-            .map(subTitleRepository::save);
+        return subTitleRepository.updateNonNullAttributes(subTitle);
     }
 
     @Override
@@ -31,58 +31,15 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
-    public Supplier update(Supplier supplier) {
+    public Optional<Supplier> update(Supplier supplier) {
         LOG.debug("Request to update Supplier : {}", supplier);
-        return supplierRepository.save(supplier);
+        return supplierRepository.updateAllAttributes(supplier);
     }
 
     @Override
     public Optional<Supplier> partialUpdate(Supplier supplier) {
         LOG.debug("Request to partially update Supplier : {}", supplier);
-
-        return supplierRepository
-            .findById(supplier.getId())
-            .map(existingSupplier -> {
-                if (supplier.getCompanyName() != null) {
-                    existingSupplier.setCompanyName(supplier.getCompanyName());
-                }
-                if (supplier.getAddress() != null) {
-                    existingSupplier.setAddress(supplier.getAddress());
-                }
-                if (supplier.getPhone() != null) {
-                    existingSupplier.setPhone(supplier.getPhone());
-                }
-                if (supplier.getNifNumber() != null) {
-                    existingSupplier.setNifNumber(supplier.getNifNumber());
-                }
-                if (supplier.getCommercialRegister() != null) {
-                    existingSupplier.setCommercialRegister(supplier.getCommercialRegister());
-                }
-                if (supplier.getBankAccount() != null) {
-                    existingSupplier.setBankAccount(supplier.getBankAccount());
-                }
-                if (supplier.getMandatingEstablishment() != null) {
-                    existingSupplier.setMandatingEstablishment(supplier.getMandatingEstablishment());
-                }
-                if (supplier.getEmail() != null) {
-                    existingSupplier.setEmail(supplier.getEmail());
-                }
-                if (supplier.getWebsite() != null) {
-                    existingSupplier.setWebsite(supplier.getWebsite());
-                }
-                if (supplier.getDescription() != null) {
-                    existingSupplier.setDescription(supplier.getDescription());
-                }
-                if (supplier.getContactFirstname() != null) {
-                    existingSupplier.setContactFirstname(supplier.getContactFirstname());
-                }
-                if (supplier.getContactlastname() != null) {
-                    existingSupplier.setContactlastname(supplier.getContactlastname());
-                }
-
-                return existingSupplier;
-            })
-            .map(supplierRepository::save);
+        return supplierRepository.updateNonNullAttributes(supplier);
     }
 
     @Override
@@ -0,0 +1,113 @@
+package com.crat.budget.web.filter;
+
+import com.crat.budget.aop.sql.StatementStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Filter publishing the SQL statements executed by each HTTP request, under the {@code http.server.requests.sql}
+ * meters tagged by method and URI pattern, and optionally returning their count in the {@code X-Query-Count} header.
+ * <p>
+ * The header counts the statements executed before the response is committed, usually all of them. The statements
+ * executed on other threads, such as the body of a streamed response, are not counted: see {@link StatementStatistics}.
+ */
+public class StatementStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String METER_NAME = "http.server.requests.sql";
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean queryCountHeader;
+
+    public StatementStatisticsFilter(MeterRegistry meterRegistry, boolean queryCountHeader) {
+        this.meterRegistry = meterRegistry;
+        this.queryCountHeader = queryCountHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        StatementStatistics statistics = StatementStatistics.open();
+        try {
+            filterChain.doFilter(request, queryCountHeader ? new QueryCountResponse(response, statistics) : response);
+        } finally {
+            statistics.close();
+            if (queryCountHeader && !response.isCommitted()) {
+                response.setHeader(QUERY_COUNT_HEADER, String.valueOf(statistics.getStatements()));
+            }
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            statistics.publish(
+                meterRegistry,
+                METER_NAME,
+                Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN")
+            );
+        }
+    }
+
+    /**
+     * Response setting the header before its body is written.
+     */
+    private static final class QueryCountResponse extends HttpServletResponseWrapper {
+
+        private final StatementStatistics statistics;
+
+        private QueryCountResponse(HttpServletResponse response, StatementStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setQueryCount();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setQueryCount();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setQueryCount();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            setQueryCount();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            setQueryCount();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            setQueryCount();
+            super.sendRedirect(location);
+        }
+
+        private void setQueryCount() {
+            if (!isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, String.valueOf(statistics.getStatements()));
+            }
+        }
+    }
+}
@@ -1,28 +1,30 @@
 package com.crat.budget.web.rest;
 
 import com.crat.budget.domain.AnnexDecision;
-import com.crat.budget.repository.AnnexDecisionRepository;
 import com.crat.budget.service.AnnexDecisionQueryService;
 import com.crat.budget.service.AnnexDecisionService;
 import com.crat.budget.service.criteria.AnnexDecisionCriteria;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.ETagUtil;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.crat.budget.domain.AnnexDecision}.
@@ -40,17 +42,10 @@ public class AnnexDecisionResource {
 
     private final AnnexDecisionService annexDecisionService;
 
-    private final AnnexDecisionRepository annexDecisionRepository;
-
     private final AnnexDecisionQueryService annexDecisionQueryService;
 
-    public AnnexDecisionResource(
-        AnnexDecisionService annexDecisionService,
-        AnnexDecisionRepository annexDecisionRepository,
-        AnnexDecisionQueryService annexDecisionQueryService
-    ) {
+    public AnnexDecisionResource(AnnexDecisionService annexDecisionService, AnnexDecisionQueryService annexDecisionQueryService) {
         this.annexDecisionService = annexDecisionService;
-        this.annexDecisionRepository = annexDecisionRepository;
         this.annexDecisionQueryService = annexDecisionQueryService;
     }
 
@@ -77,15 +72,19 @@ public class AnnexDecisionResource {
      * {@code PUT  /annex-decisions/:id} : Updates an existing annexDecision.
      *
      * @param id the id of the annexDecision to save.
+     * @param ifMatch the entity tag of the version of the annexDecision to update, if any.
      * @param annexDecision the annexDecision to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated annexDecision,
      * or with status {@code 400 (Bad Request)} if the annexDecision is not valid,
+     * or with status {@code 409 (Conflict)} if the annexDecision was updated meanwhile,
+     * or with status {@code 412 (Precondition Failed)} if the annexDecision was updated since the version of {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the annexDecision couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<AnnexDecision> updateAnnexDecision(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody AnnexDecision annexDecision
     ) throws URISyntaxException {
         LOG.debug("REST request to update AnnexDecision : {}, {}", id, annexDecision);
@@ -95,14 +94,19 @@ public class AnnexDecisionResource {
         if (!Objects.equals(id, annexDecision.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!annexDecisionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (ifMatch != null) {
+            Integer expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+            if (expectedVersion != null) {
+                annexDecision.setVersion(expectedVersion);
+            }
         }
 
-        annexDecision = annexDecisionService.update(annexDecision);
+        annexDecision = ETagUtil.updateIfMatch(ifMatch, annexDecision, annexDecisionService::update).orElseThrow(() ->
+            new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+        );
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, annexDecision.getId().toString()))
+            .eTag(ETagUtil.toETag(annexDecision.getVersion()))
             .body(annexDecision);
     }
 
@@ -110,16 +114,20 @@ public class AnnexDecisionResource {
      * {@code PATCH  /annex-decisions/:id} : Partial updates given fields of an existing annexDecision, field will ignore if it is null
      *
      * @param id the id of the annexDecision to save.
+     * @param ifMatch the entity tag of the version of the annexDecision to update, if any.
      * @param annexDecision the annexDecision to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated annexDecision,
      * or with status {@code 400 (Bad Request)} if the annexDecision is not valid,
      * or with status {@code 404 (Not Found)} if the annexDecision is not found,
+     * or with status {@code 409 (Conflict)} if the annexDecision was updated meanwhile,
+     * or with status {@code 412 (Precondition Failed)} if the annexDecision was updated since the version of {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the annexDecision couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<AnnexDecision> partialUpdateAnnexDecision(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody AnnexDecision annexDecision
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update AnnexDecision partially : {}, {}", id, annexDecision);
@@ -129,15 +137,18 @@ public class AnnexDecisionResource {
         if (!Objects.equals(id, annexDecision.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!annexDecisionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (ifMatch != null) {
+            Integer expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+            if (expectedVersion != null) {
+                annexDecision.setVersion(expectedVersion);
+            }
         }
 
-        Optional<AnnexDecision> result = annexDecisionService.partialUpdate(annexDecision);
+        Optional<AnnexDecision> result = ETagUtil.updateIfMatch(ifMatch, annexDecision, annexDecisionService::partialUpdate);
 
-        return ResponseUtil.wrapOrNotFound(
+        return ETagUtil.wrapOrNotFound(
             result,
+            AnnexDecision::getVersion,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, annexDecision.getId().toString())
         );
     }
@@ -147,17 +158,40 @@ public class AnnexDecisionResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of annexDecisions in body.
      */
     @GetMapping("")
     public ResponseEntity<List<AnnexDecision>> getAllAnnexDecisions(
         AnnexDecisionCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count
     ) {
         LOG.debug("REST request to get AnnexDecisions by criteria: {}", criteria);
 
-        Page<AnnexDecision> page = annexDecisionQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        if (after != null) {
+            Window<AnnexDecision> window = annexDecisionQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+
+        Slice<AnnexDecision> page = annexDecisionQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -177,13 +211,13 @@ public class AnnexDecisionResource {
      * {@code GET  /annex-decisions/:id} : get the "id" annexDecision.
      *
      * @param id the id of the annexDecision to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the annexDecision, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the annexDecision and its version as entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
     public ResponseEntity<AnnexDecision> getAnnexDecision(@PathVariable("id") Long id) {
         LOG.debug("REST request to get AnnexDecision : {}", id);
         Optional<AnnexDecision> annexDecision = annexDecisionService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(annexDecision);
+        return ETagUtil.wrapOrNotFound(annexDecision, AnnexDecision::getVersion, null);
     }
 
     /**
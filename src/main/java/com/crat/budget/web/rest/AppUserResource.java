@@ -1,27 +1,29 @@
 package com.crat.budget.web.rest;
 
 import com.crat.budget.domain.AppUser;
-import com.crat.budget.repository.AppUserRepository;
 import com.crat.budget.service.AppUserQueryService;
 import com.crat.budget.service.AppUserService;
 import com.crat.budget.service.criteria.AppUserCriteria;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -40,13 +42,10 @@ public class AppUserResource {
 
     private final AppUserService appUserService;
 
-    private final AppUserRepository appUserRepository;
-
     private final AppUserQueryService appUserQueryService;
 
-    public AppUserResource(AppUserService appUserService, AppUserRepository appUserRepository, AppUserQueryService appUserQueryService) {
+    public AppUserResource(AppUserService appUserService, AppUserQueryService appUserQueryService) {
         this.appUserService = appUserService;
-        this.appUserRepository = appUserRepository;
         this.appUserQueryService = appUserQueryService;
     }
 
@@ -90,11 +89,9 @@ public class AppUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!appUserRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        appUser = appUserService.update(appUser);
+        appUser = appUserService
+            .update(appUser)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, appUser.getId().toString()))
             .body(appUser);
@@ -124,10 +121,6 @@ public class AppUserResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!appUserRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<AppUser> result = appUserService.partialUpdate(appUser);
 
         return ResponseUtil.wrapOrNotFound(
@@ -141,17 +134,40 @@ public class AppUserResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appUsers in body.
      */
     @GetMapping("")
     public ResponseEntity<List<AppUser>> getAllAppUsers(
         AppUserCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count
     ) {
         LOG.debug("REST request to get AppUsers by criteria: {}", criteria);
 
-        Page<AppUser> page = appUserQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        if (after != null) {
+            Window<AppUser> window = appUserQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+
+        Slice<AppUser> page = appUserQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
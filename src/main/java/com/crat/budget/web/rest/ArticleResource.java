@@ -1,11 +1,17 @@
 package com.crat.budget.web.rest;
 
 import com.crat.budget.domain.Article;
-import com.crat.budget.repository.ArticleRepository;
+import com.crat.budget.domain.Chapter;
+import com.crat.budget.domain.Expense;
+import com.crat.budget.domain.Recipe;
+import com.crat.budget.repository.EntityChangeTracker;
 import com.crat.budget.service.ArticleQueryService;
 import com.crat.budget.service.ArticleService;
 import com.crat.budget.service.criteria.ArticleCriteria;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.ETagUtil;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,17 +19,19 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -42,14 +50,18 @@ public class ArticleResource {
 
     private final ArticleService articleService;
 
-    private final ArticleRepository articleRepository;
-
     private final ArticleQueryService articleQueryService;
 
-    public ArticleResource(ArticleService articleService, ArticleRepository articleRepository, ArticleQueryService articleQueryService) {
+    private final EntityChangeTracker entityChangeTracker;
+
+    public ArticleResource(
+        ArticleService articleService,
+        ArticleQueryService articleQueryService,
+        EntityChangeTracker entityChangeTracker
+    ) {
         this.articleService = articleService;
-        this.articleRepository = articleRepository;
         this.articleQueryService = articleQueryService;
+        this.entityChangeTracker = entityChangeTracker;
     }
 
     /**
@@ -94,11 +106,9 @@ public class ArticleResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!articleRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        article = articleService.update(article);
+        article = articleService
+            .update(article)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, article.getId().toString()))
             .body(article);
@@ -128,10 +138,6 @@ public class ArticleResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!articleRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<Article> result = articleService.partialUpdate(article);
 
         return ResponseUtil.wrapOrNotFound(
@@ -145,17 +151,47 @@ public class ArticleResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of articles in body.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
+     * @param webRequest the current request, whose {@code If-None-Match} header is checked before the query.
+     * @return the {@link ResponseEntity} with status {@code 304 (Not Modified)} if the list did not change since the entity tag
+     * in the {@code If-None-Match} header, otherwise with status {@code 200 (OK)} and the list of articles in body.
      */
     @GetMapping("")
     public ResponseEntity<List<Article>> getAllArticles(
         ArticleCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count,
+        WebRequest webRequest
     ) {
         LOG.debug("REST request to get Articles by criteria: {}", criteria);
+        String versionTag = entityChangeTracker.getVersionTag(Article.class, Chapter.class, Recipe.class, Expense.class);
+        if (ETagUtil.checkNotModified(webRequest, versionTag)) {
+            return null;
+        }
 
-        Page<Article> page = articleQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        if (after != null) {
+            Window<Article> window = articleQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+
+        Slice<Article> page = articleQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -0,0 +1,60 @@
+package com.crat.budget.web.rest;
+
+import com.crat.budget.service.BudgetExecutionGrouping;
+import com.crat.budget.service.BudgetExecutionService;
+import com.crat.budget.service.dto.BudgetExecutionReportDTO;
+import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for the budget execution of the {@link com.crat.budget.domain.FinancialYear}s.
+ */
+@RestController
+@RequestMapping("/api/budget-execution")
+public class BudgetExecutionResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BudgetExecutionResource.class);
+
+    private static final String ENTITY_NAME = "budgetExecution";
+
+    private final BudgetExecutionService budgetExecutionService;
+
+    public BudgetExecutionResource(BudgetExecutionService budgetExecutionService) {
+        this.budgetExecutionService = budgetExecutionService;
+    }
+
+    /**
+     * {@code GET  /budget-execution/:financialYearId} : get the forecast, committed and available amounts of the
+     * "financialYearId" financial year.
+     *
+     * @param financialYearId the id of the financial year.
+     * @param groupBy the breakdown of the rows: {@code category} (default), {@code chapter} or {@code article}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the report,
+     * or with status {@code 400 (Bad Request)} if the breakdown is unknown,
+     * or with status {@code 404 (Not Found)} if the financial year does not exist.
+     */
+    @GetMapping("/{financialYearId}")
+    public ResponseEntity<BudgetExecutionReportDTO> getBudgetExecution(
+        @PathVariable("financialYearId") Long financialYearId,
+        @RequestParam(name = "groupBy", required = false) String groupBy
+    ) {
+        LOG.debug("REST request to get the budget execution of FinancialYear : {} by {}", financialYearId, groupBy);
+        return ResponseUtil.wrapOrNotFound(budgetExecutionService.getReport(financialYearId, parseGrouping(groupBy)));
+    }
+
+    private static BudgetExecutionGrouping parseGrouping(String groupBy) {
+        if (groupBy == null || groupBy.isBlank()) {
+            return BudgetExecutionGrouping.CATEGORY;
+        }
+        try {
+            return BudgetExecutionGrouping.valueOf(groupBy.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid grouping", ENTITY_NAME, "groupbyinvalid");
+        }
+    }
+}
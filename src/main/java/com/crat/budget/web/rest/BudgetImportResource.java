@@ -0,0 +1,79 @@
+package com.crat.budget.web.rest;
+
+import com.crat.budget.service.BudgetImportService;
+import com.crat.budget.service.BudgetImportType;
+import com.crat.budget.service.ImportFormat;
+import com.crat.budget.service.dto.ImportJobDTO;
+import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for importing the budget nomenclature and forecasts from spreadsheets.
+ */
+@RestController
+@RequestMapping("/api/imports")
+public class BudgetImportResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BudgetImportResource.class);
+
+    private static final String ENTITY_NAME = "budgetImport";
+
+    private final BudgetImportService budgetImportService;
+
+    public BudgetImportResource(BudgetImportService budgetImportService) {
+        this.budgetImportService = budgetImportService;
+    }
+
+    /**
+     * {@code POST  /imports/:type} : import a CSV or XLSX spreadsheet of articles, recipes or expenses.
+     *
+     * @param type the kind of rows of the spreadsheet: {@code articles}, {@code recipes} or {@code expenses}.
+     * @param file the spreadsheet, whose format is given by the extension of its name.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the queued job, whose progress
+     * is at the location of the response, or with status {@code 400 (Bad Request)} if the type or the format is not
+     * supported or the file is empty.
+     * @throws IOException if the file cannot be read.
+     */
+    @PostMapping(path = "/{type}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importFile(@PathVariable("type") String type, @RequestParam("file") MultipartFile file)
+        throws IOException {
+        LOG.debug("REST request to import {} from {}", type, file.getOriginalFilename());
+        BudgetImportType importType = BudgetImportType.fromPathName(type).orElseThrow(() ->
+            new BadRequestAlertException("Invalid import type " + type, ENTITY_NAME, "importtypeinvalid")
+        );
+        ImportFormat format = ImportFormat.fromFileName(file.getOriginalFilename()).orElseThrow(() ->
+            new BadRequestAlertException("Invalid import format, the file must be .csv or .xlsx", ENTITY_NAME, "importformatinvalid")
+        );
+        if (file.isEmpty()) {
+            throw new BadRequestAlertException("The file is empty", ENTITY_NAME, "importfileempty");
+        }
+        ImportJobDTO job;
+        try (InputStream content = file.getInputStream()) {
+            job = budgetImportService.submit(importType, format, file.getOriginalFilename(), content);
+        }
+        return ResponseEntity.accepted().location(URI.create("/api/imports/" + job.id())).body(job);
+    }
+
+    /**
+     * {@code GET  /imports/:id} : get the progress of the "id" import job.
+     *
+     * @param id the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job, or with status
+     * {@code 404 (Not Found)} if it does not exist, expired or was submitted by another user, unless the current user
+     * is an administrator.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> getJob(@PathVariable("id") String id) {
+        LOG.debug("REST request to get import job : {}", id);
+        return ResponseUtil.wrapOrNotFound(budgetImportService.getJob(id));
+    }
+}
@@ -1,11 +1,16 @@
 package com.crat.budget.web.rest;
 
+import com.crat.budget.domain.Article;
 import com.crat.budget.domain.Chapter;
-import com.crat.budget.repository.ChapterRepository;
+import com.crat.budget.domain.SubTitle;
+import com.crat.budget.repository.EntityChangeTracker;
 import com.crat.budget.service.ChapterQueryService;
 import com.crat.budget.service.ChapterService;
 import com.crat.budget.service.criteria.ChapterCriteria;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.ETagUtil;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,17 +18,19 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -42,14 +49,18 @@ public class ChapterResource {
 
     private final ChapterService chapterService;
 
-    private final ChapterRepository chapterRepository;
-
     private final ChapterQueryService chapterQueryService;
 
-    public ChapterResource(ChapterService chapterService, ChapterRepository chapterRepository, ChapterQueryService chapterQueryService) {
+    private final EntityChangeTracker entityChangeTracker;
+
+    public ChapterResource(
+        ChapterService chapterService,
+        ChapterQueryService chapterQueryService,
+        EntityChangeTracker entityChangeTracker
+    ) {
         this.chapterService = chapterService;
-        this.chapterRepository = chapterRepository;
         this.chapterQueryService = chapterQueryService;
+        this.entityChangeTracker = entityChangeTracker;
     }
 
     /**
@@ -94,11 +105,9 @@ public class ChapterResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!chapterRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        chapter = chapterService.update(chapter);
+        chapter = chapterService
+            .update(chapter)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, chapter.getId().toString()))
             .body(chapter);
@@ -128,10 +137,6 @@ public class ChapterResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!chapterRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<Chapter> result = chapterService.partialUpdate(chapter);
 
         return ResponseUtil.wrapOrNotFound(
@@ -145,17 +150,47 @@ public class ChapterResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of chapters in body.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
+     * @param webRequest the current request, whose {@code If-None-Match} header is checked before the query.
+     * @return the {@link ResponseEntity} with status {@code 304 (Not Modified)} if the list did not change since the entity tag
+     * in the {@code If-None-Match} header, otherwise with status {@code 200 (OK)} and the list of chapters in body.
      */
     @GetMapping("")
     public ResponseEntity<List<Chapter>> getAllChapters(
         ChapterCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count,
+        WebRequest webRequest
     ) {
         LOG.debug("REST request to get Chapters by criteria: {}", criteria);
+        String versionTag = entityChangeTracker.getVersionTag(Chapter.class, SubTitle.class, Article.class);
+        if (ETagUtil.checkNotModified(webRequest, versionTag)) {
+            return null;
+        }
 
-        Page<Chapter> page = chapterQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        if (after != null) {
+            Window<Chapter> window = chapterQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+
+        Slice<Chapter> page = chapterQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -0,0 +1,91 @@
+package com.crat.budget.web.rest;
+
+import com.crat.budget.domain.CreditReservation;
+import com.crat.budget.service.CreditLedgerService;
+import com.crat.budget.service.dto.CreditBalanceDTO;
+import com.crat.budget.service.dto.CreditReservationRequestDTO;
+import jakarta.validation.Valid;
+import java.net.URI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for reserving and releasing the credits of the {@link com.crat.budget.domain.AnnexDecision}s.
+ */
+@RestController
+@RequestMapping("/api/credit-ledger")
+public class CreditLedgerResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CreditLedgerResource.class);
+
+    private final CreditLedgerService creditLedgerService;
+
+    public CreditLedgerResource(CreditLedgerService creditLedgerService) {
+        this.creditLedgerService = creditLedgerService;
+    }
+
+    /**
+     * {@code GET  /credit-ledger/:annexDecisionId} : get the credit balance of the "annexDecisionId" annex decision.
+     *
+     * @param annexDecisionId the id of the annex decision.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the balance,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{annexDecisionId}")
+    public ResponseEntity<CreditBalanceDTO> getBalance(@PathVariable("annexDecisionId") Long annexDecisionId) {
+        LOG.debug("REST request to get the credit balance of AnnexDecision : {}", annexDecisionId);
+        return ResponseUtil.wrapOrNotFound(creditLedgerService.getBalance(annexDecisionId));
+    }
+
+    /**
+     * {@code POST  /credit-ledger/:annexDecisionId/reservations} : reserve credits of the "annexDecisionId" annex decision.
+     *
+     * @param annexDecisionId the id of the annex decision.
+     * @param request the credits to reserve, and the purchase order committing them if any.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new reservation,
+     * or with status {@code 400 (Bad Request)} if the credits available are insufficient or the purchase order is not one
+     * of the annex decision, or with status {@code 404 (Not Found)} if the annex decision does not exist.
+     */
+    @PostMapping("/{annexDecisionId}/reservations")
+    public ResponseEntity<CreditReservation> reserve(
+        @PathVariable("annexDecisionId") Long annexDecisionId,
+        @Valid @RequestBody CreditReservationRequestDTO request
+    ) {
+        LOG.debug("REST request to reserve credits of AnnexDecision {} : {}", annexDecisionId, request);
+        return creditLedgerService
+            .reserve(annexDecisionId, request.amount(), request.purchaseOrderId())
+            .map(reservation ->
+                ResponseEntity.created(URI.create("/api/credit-ledger/reservations/" + reservation.getId())).body(reservation)
+            )
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code GET  /credit-ledger/reservations/:id} : get the "id" reservation.
+     *
+     * @param id the id of the reservation.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the reservation,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/reservations/{id}")
+    public ResponseEntity<CreditReservation> getReservation(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get CreditReservation : {}", id);
+        return ResponseUtil.wrapOrNotFound(creditLedgerService.findReservation(id));
+    }
+
+    /**
+     * {@code POST  /credit-ledger/reservations/:id/release} : release the "id" reservation.
+     *
+     * @param id the id of the reservation.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the released reservation,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @PostMapping("/reservations/{id}/release")
+    public ResponseEntity<CreditReservation> release(@PathVariable("id") Long id) {
+        LOG.debug("REST request to release CreditReservation : {}", id);
+        return ResponseUtil.wrapOrNotFound(creditLedgerService.release(id));
+    }
+}
@@ -1,11 +1,12 @@
 package com.crat.budget.web.rest;
 
 import com.crat.budget.domain.DecisionItem;
-import com.crat.budget.repository.DecisionItemRepository;
 import com.crat.budget.service.DecisionItemQueryService;
 import com.crat.budget.service.DecisionItemService;
 import com.crat.budget.service.criteria.DecisionItemCriteria;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,17 +14,18 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -42,17 +44,10 @@ public class DecisionItemResource {
 
     private final DecisionItemService decisionItemService;
 
-    private final DecisionItemRepository decisionItemRepository;
-
     private final DecisionItemQueryService decisionItemQueryService;
 
-    public DecisionItemResource(
-        DecisionItemService decisionItemService,
-        DecisionItemRepository decisionItemRepository,
-        DecisionItemQueryService decisionItemQueryService
-    ) {
+    public DecisionItemResource(DecisionItemService decisionItemService, DecisionItemQueryService decisionItemQueryService) {
         this.decisionItemService = decisionItemService;
-        this.decisionItemRepository = decisionItemRepository;
         this.decisionItemQueryService = decisionItemQueryService;
     }
 
@@ -98,11 +93,9 @@ public class DecisionItemResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!decisionItemRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        decisionItem = decisionItemService.update(decisionItem);
+        decisionItem = decisionItemService
+            .update(decisionItem)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, decisionItem.getId().toString()))
             .body(decisionItem);
@@ -132,10 +125,6 @@ public class DecisionItemResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!decisionItemRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<DecisionItem> result = decisionItemService.partialUpdate(decisionItem);
 
         return ResponseUtil.wrapOrNotFound(
@@ -149,17 +138,40 @@ public class DecisionItemResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of decisionItems in body.
      */
     @GetMapping("")
     public ResponseEntity<List<DecisionItem>> getAllDecisionItems(
         DecisionItemCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count
     ) {
         LOG.debug("REST request to get DecisionItems by criteria: {}", criteria);
 
-        Page<DecisionItem> page = decisionItemQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        if (after != null) {
+            Window<DecisionItem> window = decisionItemQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+
+        Slice<DecisionItem> page = decisionItemQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -1,11 +1,13 @@
 package com.crat.budget.web.rest;
 
 import com.crat.budget.domain.Decision;
-import com.crat.budget.repository.DecisionRepository;
 import com.crat.budget.service.DecisionQueryService;
 import com.crat.budget.service.DecisionService;
 import com.crat.budget.service.criteria.DecisionCriteria;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.ETagUtil;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,18 +15,18 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.crat.budget.domain.Decision}.
@@ -42,17 +44,10 @@ public class DecisionResource {
 
     private final DecisionService decisionService;
 
-    private final DecisionRepository decisionRepository;
-
     private final DecisionQueryService decisionQueryService;
 
-    public DecisionResource(
-        DecisionService decisionService,
-        DecisionRepository decisionRepository,
-        DecisionQueryService decisionQueryService
-    ) {
+    public DecisionResource(DecisionService decisionService, DecisionQueryService decisionQueryService) {
         this.decisionService = decisionService;
-        this.decisionRepository = decisionRepository;
         this.decisionQueryService = decisionQueryService;
     }
 
@@ -79,15 +74,19 @@ public class DecisionResource {
      * {@code PUT  /decisions/:id} : Updates an existing decision.
      *
      * @param id the id of the decision to save.
+     * @param ifMatch the entity tag of the version of the decision to update, if any.
      * @param decision the decision to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated decision,
      * or with status {@code 400 (Bad Request)} if the decision is not valid,
+     * or with status {@code 409 (Conflict)} if the decision was updated meanwhile,
+     * or with status {@code 412 (Precondition Failed)} if the decision was updated since the version of {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the decision couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Decision> updateDecision(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Decision decision
     ) throws URISyntaxException {
         LOG.debug("REST request to update Decision : {}, {}", id, decision);
@@ -97,14 +96,19 @@ public class DecisionResource {
         if (!Objects.equals(id, decision.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!decisionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (ifMatch != null) {
+            Integer expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+            if (expectedVersion != null) {
+                decision.setVersion(expectedVersion);
+            }
         }
 
-        decision = decisionService.update(decision);
+        decision = ETagUtil.updateIfMatch(ifMatch, decision, decisionService::update).orElseThrow(() ->
+            new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+        );
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, decision.getId().toString()))
+            .eTag(ETagUtil.toETag(decision.getVersion()))
             .body(decision);
     }
 
@@ -112,16 +116,20 @@ public class DecisionResource {
      * {@code PATCH  /decisions/:id} : Partial updates given fields of an existing decision, field will ignore if it is null
      *
      * @param id the id of the decision to save.
+     * @param ifMatch the entity tag of the version of the decision to update, if any.
      * @param decision the decision to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated decision,
      * or with status {@code 400 (Bad Request)} if the decision is not valid,
      * or with status {@code 404 (Not Found)} if the decision is not found,
+     * or with status {@code 409 (Conflict)} if the decision was updated meanwhile,
+     * or with status {@code 412 (Precondition Failed)} if the decision was updated since the version of {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the decision couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Decision> partialUpdateDecision(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Decision decision
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Decision partially : {}, {}", id, decision);
@@ -131,15 +139,18 @@ public class DecisionResource {
         if (!Objects.equals(id, decision.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!decisionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (ifMatch != null) {
+            Integer expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+            if (expectedVersion != null) {
+                decision.setVersion(expectedVersion);
+            }
         }
 
-        Optional<Decision> result = decisionService.partialUpdate(decision);
+        Optional<Decision> result = ETagUtil.updateIfMatch(ifMatch, decision, decisionService::partialUpdate);
 
-        return ResponseUtil.wrapOrNotFound(
+        return ETagUtil.wrapOrNotFound(
             result,
+            Decision::getVersion,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, decision.getId().toString())
         );
     }
@@ -149,17 +160,40 @@ public class DecisionResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of decisions in body.
      */
     @GetMapping("")
     public ResponseEntity<List<Decision>> getAllDecisions(
         DecisionCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count
     ) {
         LOG.debug("REST request to get Decisions by criteria: {}", criteria);
 
-        Page<Decision> page = decisionQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        if (after != null) {
+            Window<Decision> window = decisionQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+
+        Slice<Decision> page = decisionQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -179,13 +213,13 @@ public class DecisionResource {
      * {@code GET  /decisions/:id} : get the "id" decision.
      *
      * @param id the id of the decision to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the decision, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the decision and its version as entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
     public ResponseEntity<Decision> getDecision(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Decision : {}", id);
         Optional<Decision> decision = decisionService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(decision);
+        return ETagUtil.wrapOrNotFound(decision, Decision::getVersion, null);
     }
 
     /**
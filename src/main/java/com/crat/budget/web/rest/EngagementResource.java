@@ -1,11 +1,14 @@
 package com.crat.budget.web.rest;
 
 import com.crat.budget.domain.Engagement;
-import com.crat.budget.repository.EngagementRepository;
 import com.crat.budget.service.EngagementQueryService;
 import com.crat.budget.service.EngagementService;
 import com.crat.budget.service.criteria.EngagementCriteria;
+import com.crat.budget.service.dto.EngagementSummaryDTO;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.ETagUtil;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,18 +16,20 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.crat.budget.domain.Engagement}.
@@ -42,17 +47,10 @@ public class EngagementResource {
 
     private final EngagementService engagementService;
 
-    private final EngagementRepository engagementRepository;
-
     private final EngagementQueryService engagementQueryService;
 
-    public EngagementResource(
-        EngagementService engagementService,
-        EngagementRepository engagementRepository,
-        EngagementQueryService engagementQueryService
-    ) {
+    public EngagementResource(EngagementService engagementService, EngagementQueryService engagementQueryService) {
         this.engagementService = engagementService;
-        this.engagementRepository = engagementRepository;
         this.engagementQueryService = engagementQueryService;
     }
 
@@ -79,15 +77,19 @@ public class EngagementResource {
      * {@code PUT  /engagements/:id} : Updates an existing engagement.
      *
      * @param id the id of the engagement to save.
+     * @param ifMatch the entity tag of the version of the engagement to update, if any.
      * @param engagement the engagement to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated engagement,
      * or with status {@code 400 (Bad Request)} if the engagement is not valid,
+     * or with status {@code 409 (Conflict)} if the engagement was updated meanwhile,
+     * or with status {@code 412 (Precondition Failed)} if the engagement was updated since the version of {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the engagement couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Engagement> updateEngagement(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Engagement engagement
     ) throws URISyntaxException {
         LOG.debug("REST request to update Engagement : {}, {}", id, engagement);
@@ -97,14 +99,19 @@ public class EngagementResource {
         if (!Objects.equals(id, engagement.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!engagementRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (ifMatch != null) {
+            Integer expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+            if (expectedVersion != null) {
+                engagement.setVersion(expectedVersion);
+            }
         }
 
-        engagement = engagementService.update(engagement);
+        engagement = ETagUtil.updateIfMatch(ifMatch, engagement, engagementService::update).orElseThrow(() ->
+            new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+        );
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, engagement.getId().toString()))
+            .eTag(ETagUtil.toETag(engagement.getVersion()))
             .body(engagement);
     }
 
@@ -112,16 +119,20 @@ public class EngagementResource {
      * {@code PATCH  /engagements/:id} : Partial updates given fields of an existing engagement, field will ignore if it is null
      *
      * @param id the id of the engagement to save.
+     * @param ifMatch the entity tag of the version of the engagement to update, if any.
      * @param engagement the engagement to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated engagement,
      * or with status {@code 400 (Bad Request)} if the engagement is not valid,
      * or with status {@code 404 (Not Found)} if the engagement is not found,
+     * or with status {@code 409 (Conflict)} if the engagement was updated meanwhile,
+     * or with status {@code 412 (Precondition Failed)} if the engagement was updated since the version of {@code ifMatch},
      * or with status {@code 500 (Internal Server Error)} if the engagement couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Engagement> partialUpdateEngagement(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Engagement engagement
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Engagement partially : {}, {}", id, engagement);
@@ -131,15 +142,18 @@ public class EngagementResource {
         if (!Objects.equals(id, engagement.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!engagementRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (ifMatch != null) {
+            Integer expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+            if (expectedVersion != null) {
+                engagement.setVersion(expectedVersion);
+            }
         }
 
-        Optional<Engagement> result = engagementService.partialUpdate(engagement);
+        Optional<Engagement> result = ETagUtil.updateIfMatch(ifMatch, engagement, engagementService::partialUpdate);
 
-        return ResponseUtil.wrapOrNotFound(
+        return ETagUtil.wrapOrNotFound(
             result,
+            Engagement::getVersion,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, engagement.getId().toString())
         );
     }
@@ -149,16 +163,58 @@ public class EngagementResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of engagements in body.
      */
     @GetMapping("")
     public ResponseEntity<List<Engagement>> getAllEngagements(
         EngagementCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count
     ) {
         LOG.debug("REST request to get Engagements by criteria: {}", criteria);
 
-        Page<Engagement> page = engagementQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            Window<Engagement> window = engagementQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+
+        Slice<Engagement> page = engagementQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /engagements?view=summary} : get the summaries of all the engagements.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of engagement summaries in body.
+     */
+    @GetMapping(value = "", params = "view=summary")
+    public ResponseEntity<List<EngagementSummaryDTO>> getAllEngagementsSummaries(
+        EngagementCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get Engagement summaries by criteria: {}", criteria);
+
+        Page<EngagementSummaryDTO> page = engagementQueryService.findSummariesByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -179,13 +235,13 @@ public class EngagementResource {
      * {@code GET  /engagements/:id} : get the "id" engagement.
      *
      * @param id the id of the engagement to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the engagement, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the engagement and its version as entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
     public ResponseEntity<Engagement> getEngagement(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Engagement : {}", id);
         Optional<Engagement> engagement = engagementService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(engagement);
+        return ETagUtil.wrapOrNotFound(engagement, Engagement::getVersion, null);
     }
 
     /**
@@ -1,11 +1,18 @@
 package com.crat.budget.web.rest;
 
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.Expense;
 import com.crat.budget.domain.FinancialYear;
-import com.crat.budget.repository.FinancialYearRepository;
+import com.crat.budget.domain.Recipe;
+import com.crat.budget.repository.EntityChangeTracker;
 import com.crat.budget.service.FinancialYearQueryService;
+import com.crat.budget.service.FinancialYearRolloverService;
 import com.crat.budget.service.FinancialYearService;
 import com.crat.budget.service.criteria.FinancialYearCriteria;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.ETagUtil;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,17 +20,19 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -42,18 +51,22 @@ public class FinancialYearResource {
 
     private final FinancialYearService financialYearService;
 
-    private final FinancialYearRepository financialYearRepository;
-
     private final FinancialYearQueryService financialYearQueryService;
 
+    private final EntityChangeTracker entityChangeTracker;
+
+    private final FinancialYearRolloverService financialYearRolloverService;
+
     public FinancialYearResource(
         FinancialYearService financialYearService,
-        FinancialYearRepository financialYearRepository,
-        FinancialYearQueryService financialYearQueryService
+        FinancialYearQueryService financialYearQueryService,
+        EntityChangeTracker entityChangeTracker,
+        FinancialYearRolloverService financialYearRolloverService
     ) {
         this.financialYearService = financialYearService;
-        this.financialYearRepository = financialYearRepository;
         this.financialYearQueryService = financialYearQueryService;
+        this.entityChangeTracker = entityChangeTracker;
+        this.financialYearRolloverService = financialYearRolloverService;
     }
 
     /**
@@ -75,6 +88,31 @@ public class FinancialYearResource {
             .body(financialYear);
     }
 
+    /**
+     * {@code POST  /financial-years/:id/copy-forward} : Create a new financialYear from the budget structure of the "id" financialYear.
+     *
+     * @param id the id of the financialYear to copy.
+     * @param year the year of the new financialYear, the next year of the copied one if absent.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new financialYear,
+     * or with status {@code 400 (Bad Request)} if a financialYear of the same year already exists,
+     * or with status {@code 404 (Not Found)} if the financialYear to copy does not exist.
+     */
+    @PostMapping("/{id}/copy-forward")
+    public ResponseEntity<FinancialYear> copyForwardFinancialYear(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "year", required = false) Integer year
+    ) {
+        LOG.debug("REST request to copy FinancialYear {} forward into year {}", id, year);
+        return financialYearRolloverService
+            .copyForward(id, year)
+            .map(financialYear ->
+                ResponseEntity.created(URI.create("/api/financial-years/" + financialYear.getId()))
+                    .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, financialYear.getId().toString()))
+                    .body(financialYear)
+            )
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * {@code PUT  /financial-years/:id} : Updates an existing financialYear.
      *
@@ -98,11 +136,9 @@ public class FinancialYearResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!financialYearRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        financialYear = financialYearService.update(financialYear);
+        financialYear = financialYearService
+            .update(financialYear)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, financialYear.getId().toString()))
             .body(financialYear);
@@ -132,10 +168,6 @@ public class FinancialYearResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!financialYearRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<FinancialYear> result = financialYearService.partialUpdate(financialYear);
 
         return ResponseUtil.wrapOrNotFound(
@@ -149,17 +181,47 @@ public class FinancialYearResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of financialYears in body.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
+     * @param webRequest the current request, whose {@code If-None-Match} header is checked before the query.
+     * @return the {@link ResponseEntity} with status {@code 304 (Not Modified)} if the list did not change since the entity tag
+     * in the {@code If-None-Match} header, otherwise with status {@code 200 (OK)} and the list of financialYears in body.
      */
     @GetMapping("")
     public ResponseEntity<List<FinancialYear>> getAllFinancialYears(
         FinancialYearCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count,
+        WebRequest webRequest
     ) {
         LOG.debug("REST request to get FinancialYears by criteria: {}", criteria);
+        String versionTag = entityChangeTracker.getVersionTag(FinancialYear.class, AnnexDecision.class, Recipe.class, Expense.class);
+        if (ETagUtil.checkNotModified(webRequest, versionTag)) {
+            return null;
+        }
+
+        if (after != null) {
+            Window<FinancialYear> window = financialYearQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
 
-        Page<FinancialYear> page = financialYearQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        Slice<FinancialYear> page = financialYearQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
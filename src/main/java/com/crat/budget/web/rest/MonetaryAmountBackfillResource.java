@@ -0,0 +1,48 @@
+package com.crat.budget.web.rest;
+
+import com.crat.budget.security.AuthoritiesConstants;
+import com.crat.budget.service.MonetaryAmountBackfillService;
+import com.crat.budget.service.dto.MonetaryAmountBackfillReportDTO;
+import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for filling the numeric amounts of the existing rows from their amounts stored as text.
+ */
+@RestController
+@RequestMapping("/api/admin/monetary-amounts")
+public class MonetaryAmountBackfillResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MonetaryAmountBackfillResource.class);
+
+    private static final String ENTITY_NAME = "monetaryAmountBackfill";
+
+    private final MonetaryAmountBackfillService monetaryAmountBackfillService;
+
+    public MonetaryAmountBackfillResource(MonetaryAmountBackfillService monetaryAmountBackfillService) {
+        this.monetaryAmountBackfillService = monetaryAmountBackfillService;
+    }
+
+    /**
+     * {@code POST  /admin/monetary-amounts/backfill} : fill the numeric amounts of the annex decisions and the engagements.
+     *
+     * @param chunkSize the number of rows parsed and written per transaction.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the report, listing the texts which are
+     * not amounts, or with status {@code 400 (Bad Request)} if the chunk size is not positive.
+     */
+    @PostMapping("/backfill")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<MonetaryAmountBackfillReportDTO> backfill(
+        @RequestParam(name = "chunkSize", defaultValue = "500") int chunkSize
+    ) {
+        LOG.debug("REST request to backfill the monetary amounts by chunks of {}", chunkSize);
+        if (chunkSize < 1) {
+            throw new BadRequestAlertException("Invalid chunk size", ENTITY_NAME, "chunksizeinvalid");
+        }
+        return ResponseEntity.ok().body(monetaryAmountBackfillService.backfill(chunkSize));
+    }
+}
@@ -0,0 +1,90 @@
+package com.crat.budget.web.rest;
+
+import com.crat.budget.service.NomenclatureSnapshotService;
+import com.crat.budget.service.dto.ArticleNodeDTO;
+import com.crat.budget.service.dto.ChapterNodeDTO;
+import com.crat.budget.service.dto.NomenclatureTreeDTO;
+import com.crat.budget.service.dto.SubTitleNodeDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for reading the budget nomenclature tree, served from memory by the {@link NomenclatureSnapshotService}.
+ */
+@RestController
+@RequestMapping("/api/nomenclature")
+public class NomenclatureResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NomenclatureResource.class);
+
+    private final NomenclatureSnapshotService nomenclatureSnapshotService;
+
+    public NomenclatureResource(NomenclatureSnapshotService nomenclatureSnapshotService) {
+        this.nomenclatureSnapshotService = nomenclatureSnapshotService;
+    }
+
+    /**
+     * {@code GET  /nomenclature/tree} : get the whole nomenclature tree.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the tree in body.
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<NomenclatureTreeDTO> getTree() {
+        LOG.debug("REST request to get the nomenclature tree");
+        return ResponseEntity.ok().body(nomenclatureSnapshotService.getTree());
+    }
+
+    /**
+     * {@code GET  /nomenclature/sub-titles/:id} : get the subtree of the "id" sub-title.
+     *
+     * @param id the id of the sub-title.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the sub-title with its chapters and articles,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/sub-titles/{id}")
+    public ResponseEntity<SubTitleNodeDTO> getSubTitle(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the nomenclature of SubTitle : {}", id);
+        return ResponseUtil.wrapOrNotFound(nomenclatureSnapshotService.getSubTitle(id));
+    }
+
+    /**
+     * {@code GET  /nomenclature/chapters/:id} : get the subtree of the "id" chapter.
+     *
+     * @param id the id of the chapter.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the chapter with its articles,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/chapters/{id}")
+    public ResponseEntity<ChapterNodeDTO> getChapter(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the nomenclature of Chapter : {}", id);
+        return ResponseUtil.wrapOrNotFound(nomenclatureSnapshotService.getChapter(id));
+    }
+
+    /**
+     * {@code GET  /nomenclature/articles/:id} : get the "id" article.
+     *
+     * @param id the id of the article.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the article, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/articles/{id}")
+    public ResponseEntity<ArticleNodeDTO> getArticle(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the nomenclature of Article : {}", id);
+        return ResponseUtil.wrapOrNotFound(nomenclatureSnapshotService.getArticle(id));
+    }
+
+    /**
+     * {@code GET  /nomenclature/articles?code=:code} : look up the articles by code.
+     *
+     * @param code the code of the articles.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of articles in body.
+     */
+    @GetMapping(value = "/articles", params = "code")
+    public ResponseEntity<List<ArticleNodeDTO>> findArticlesByCode(@RequestParam("code") String code) {
+        LOG.debug("REST request to look up the nomenclature Articles by code : {}", code);
+        return ResponseEntity.ok().body(nomenclatureSnapshotService.findArticlesByCode(code));
+    }
+}
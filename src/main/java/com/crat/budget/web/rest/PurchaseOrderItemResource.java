@@ -1,11 +1,13 @@
 package com.crat.budget.web.rest;
 
 import com.crat.budget.domain.PurchaseOrderItem;
-import com.crat.budget.repository.PurchaseOrderItemRepository;
 import com.crat.budget.service.PurchaseOrderItemQueryService;
 import com.crat.budget.service.PurchaseOrderItemService;
 import com.crat.budget.service.criteria.PurchaseOrderItemCriteria;
+import com.crat.budget.service.dto.PurchaseOrderItemSummaryDTO;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,11 +15,14 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -42,17 +47,13 @@ public class PurchaseOrderItemResource {
 
     private final PurchaseOrderItemService purchaseOrderItemService;
 
-    private final PurchaseOrderItemRepository purchaseOrderItemRepository;
-
     private final PurchaseOrderItemQueryService purchaseOrderItemQueryService;
 
     public PurchaseOrderItemResource(
         PurchaseOrderItemService purchaseOrderItemService,
-        PurchaseOrderItemRepository purchaseOrderItemRepository,
         PurchaseOrderItemQueryService purchaseOrderItemQueryService
     ) {
         this.purchaseOrderItemService = purchaseOrderItemService;
-        this.purchaseOrderItemRepository = purchaseOrderItemRepository;
         this.purchaseOrderItemQueryService = purchaseOrderItemQueryService;
     }
 
@@ -99,11 +100,9 @@ public class PurchaseOrderItemResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!purchaseOrderItemRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        purchaseOrderItem = purchaseOrderItemService.update(purchaseOrderItem);
+        purchaseOrderItem = purchaseOrderItemService
+            .update(purchaseOrderItem)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, purchaseOrderItem.getId().toString()))
             .body(purchaseOrderItem);
@@ -133,10 +132,6 @@ public class PurchaseOrderItemResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!purchaseOrderItemRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<PurchaseOrderItem> result = purchaseOrderItemService.partialUpdate(purchaseOrderItem);
 
         return ResponseUtil.wrapOrNotFound(
@@ -150,16 +145,58 @@ public class PurchaseOrderItemResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of purchaseOrderItems in body.
      */
     @GetMapping("")
     public ResponseEntity<List<PurchaseOrderItem>> getAllPurchaseOrderItems(
         PurchaseOrderItemCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count
     ) {
         LOG.debug("REST request to get PurchaseOrderItems by criteria: {}", criteria);
 
-        Page<PurchaseOrderItem> page = purchaseOrderItemQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            Window<PurchaseOrderItem> window = purchaseOrderItemQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+
+        Slice<PurchaseOrderItem> page = purchaseOrderItemQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /purchase-order-items?view=summary} : get the summaries of all the purchaseOrderItems.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of purchaseOrderItem summaries in body.
+     */
+    @GetMapping(value = "", params = "view=summary")
+    public ResponseEntity<List<PurchaseOrderItemSummaryDTO>> getAllPurchaseOrderItemsSummaries(
+        PurchaseOrderItemCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get PurchaseOrderItem summaries by criteria: {}", criteria);
+
+        Page<PurchaseOrderItemSummaryDTO> page = purchaseOrderItemQueryService.findSummariesByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -1,30 +1,45 @@
 package com.crat.budget.web.rest;
 
 import com.crat.budget.domain.PurchaseOrder;
-import com.crat.budget.repository.PurchaseOrderRepository;
+import com.crat.budget.service.ExportFormat;
+import com.crat.budget.service.PurchaseOrderExportService;
 import com.crat.budget.service.PurchaseOrderQueryService;
 import com.crat.budget.service.PurchaseOrderService;
 import com.crat.budget.service.criteria.PurchaseOrderCriteria;
+import com.crat.budget.service.dto.PurchaseOrderRequestDTO;
+import com.crat.budget.service.dto.PurchaseOrderSummaryDTO;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.ETagUtil;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.crat.budget.domain.PurchaseOrder}.
@@ -37,23 +52,28 @@ public class PurchaseOrderResource {
 
     private static final String ENTITY_NAME = "purchaseOrder";
 
+    /**
+     * The maximum number of purchaseOrders created by one batch request.
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final PurchaseOrderService purchaseOrderService;
 
-    private final PurchaseOrderRepository purchaseOrderRepository;
-
     private final PurchaseOrderQueryService purchaseOrderQueryService;
 
+    private final PurchaseOrderExportService purchaseOrderExportService;
+
     public PurchaseOrderResource(
         PurchaseOrderService purchaseOrderService,
-        PurchaseOrderRepository purchaseOrderRepository,
-        PurchaseOrderQueryService purchaseOrderQueryService
+        PurchaseOrderQueryService purchaseOrderQueryService,
+        PurchaseOrderExportService purchaseOrderExportService
     ) {
         this.purchaseOrderService = purchaseOrderService;
-        this.purchaseOrderRepository = purchaseOrderRepository;
         this.purchaseOrderQueryService = purchaseOrderQueryService;
+        this.purchaseOrderExportService = purchaseOrderExportService;
     }
 
     /**
@@ -75,19 +95,65 @@ public class PurchaseOrderResource {
             .body(purchaseOrder);
     }
 
+    /**
+     * {@code POST  /purchase-orders/with-items} : Create a new purchaseOrder with its items, computing its amounts.
+     *
+     * @param purchaseOrder the purchaseOrder to create, with its items.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new purchaseOrder and its items,
+     * or with status {@code 400 (Bad Request)} if the request is not valid.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/with-items")
+    public ResponseEntity<PurchaseOrder> createPurchaseOrderWithItems(@Valid @RequestBody PurchaseOrderRequestDTO purchaseOrder)
+        throws URISyntaxException {
+        LOG.debug("REST request to save PurchaseOrder with items : {}", purchaseOrder);
+        PurchaseOrder result = purchaseOrderService.createWithItems(List.of(purchaseOrder)).get(0);
+        return ResponseEntity.created(new URI("/api/purchase-orders/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code POST  /purchase-orders/batch} : Create new purchaseOrders with their items, all or none.
+     *
+     * @param purchaseOrders the purchaseOrders to create, with their items, at most {@value #MAX_BATCH_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new purchaseOrders and their
+     * items, in the order of the request, or with status {@code 400 (Bad Request)} if the request is not valid.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<PurchaseOrder>> createPurchaseOrdersWithItems(
+        @Valid @RequestBody List<@NotNull @Valid PurchaseOrderRequestDTO> purchaseOrders
+    ) {
+        LOG.debug("REST request to save {} PurchaseOrders with items", purchaseOrders.size());
+        if (purchaseOrders.isEmpty() || purchaseOrders.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException(
+                "A batch must hold between 1 and " + MAX_BATCH_SIZE + " purchaseOrders",
+                ENTITY_NAME,
+                "batchsizeinvalid"
+            );
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(purchaseOrderService.createWithItems(purchaseOrders));
+    }
+
     /**
      * {@code PUT  /purchase-orders/:id} : Updates an existing purchaseOrder.
      *
      * @param id the id of the purchaseOrder to save.
+     * @param ifMatch the entity tag of the version of the purchaseOrder to update, or {@code *} to update any version;
+     * required unless the purchaseOrder holds its version.
      * @param purchaseOrder the purchaseOrder to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated purchaseOrder,
      * or with status {@code 400 (Bad Request)} if the purchaseOrder is not valid,
+     * or with status {@code 409 (Conflict)} if the purchaseOrder was updated meanwhile,
+     * or with status {@code 412 (Precondition Failed)} if the purchaseOrder was updated since the version of {@code ifMatch},
+     * or with status {@code 428 (Precondition Required)} if neither {@code ifMatch} nor the version of the purchaseOrder is given,
      * or with status {@code 500 (Internal Server Error)} if the purchaseOrder couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<PurchaseOrder> updatePurchaseOrder(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody PurchaseOrder purchaseOrder
     ) throws URISyntaxException {
         LOG.debug("REST request to update PurchaseOrder : {}, {}", id, purchaseOrder);
@@ -97,14 +163,20 @@ public class PurchaseOrderResource {
         if (!Objects.equals(id, purchaseOrder.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!purchaseOrderRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        ETagUtil.requireIfMatchOrVersion(ifMatch, purchaseOrder.getVersion());
+        if (ifMatch != null) {
+            Integer expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+            if (expectedVersion != null) {
+                purchaseOrder.setVersion(expectedVersion);
+            }
         }
 
-        purchaseOrder = purchaseOrderService.update(purchaseOrder);
+        purchaseOrder = ETagUtil.updateIfMatch(ifMatch, purchaseOrder, purchaseOrderService::update).orElseThrow(() ->
+            new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")
+        );
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, purchaseOrder.getId().toString()))
+            .eTag(ETagUtil.toETag(purchaseOrder.getVersion()))
             .body(purchaseOrder);
     }
 
@@ -112,16 +184,22 @@ public class PurchaseOrderResource {
      * {@code PATCH  /purchase-orders/:id} : Partial updates given fields of an existing purchaseOrder, field will ignore if it is null
      *
      * @param id the id of the purchaseOrder to save.
+     * @param ifMatch the entity tag of the version of the purchaseOrder to update, or {@code *} to update any version;
+     * required unless the purchaseOrder holds its version.
      * @param purchaseOrder the purchaseOrder to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated purchaseOrder,
      * or with status {@code 400 (Bad Request)} if the purchaseOrder is not valid,
      * or with status {@code 404 (Not Found)} if the purchaseOrder is not found,
+     * or with status {@code 409 (Conflict)} if the purchaseOrder was updated meanwhile,
+     * or with status {@code 412 (Precondition Failed)} if the purchaseOrder was updated since the version of {@code ifMatch},
+     * or with status {@code 428 (Precondition Required)} if neither {@code ifMatch} nor the version of the purchaseOrder is given,
      * or with status {@code 500 (Internal Server Error)} if the purchaseOrder couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<PurchaseOrder> partialUpdatePurchaseOrder(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody PurchaseOrder purchaseOrder
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update PurchaseOrder partially : {}, {}", id, purchaseOrder);
@@ -131,15 +209,19 @@ public class PurchaseOrderResource {
         if (!Objects.equals(id, purchaseOrder.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
-
-        if (!purchaseOrderRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        ETagUtil.requireIfMatchOrVersion(ifMatch, purchaseOrder.getVersion());
+        if (ifMatch != null) {
+            Integer expectedVersion = ETagUtil.parseIfMatch(ifMatch, ENTITY_NAME);
+            if (expectedVersion != null) {
+                purchaseOrder.setVersion(expectedVersion);
+            }
         }
 
-        Optional<PurchaseOrder> result = purchaseOrderService.partialUpdate(purchaseOrder);
+        Optional<PurchaseOrder> result = ETagUtil.updateIfMatch(ifMatch, purchaseOrder, purchaseOrderService::partialUpdate);
 
-        return ResponseUtil.wrapOrNotFound(
+        return ETagUtil.wrapOrNotFound(
             result,
+            PurchaseOrder::getVersion,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, purchaseOrder.getId().toString())
         );
     }
@@ -149,16 +231,58 @@ public class PurchaseOrderResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of purchaseOrders in body.
      */
     @GetMapping("")
     public ResponseEntity<List<PurchaseOrder>> getAllPurchaseOrders(
         PurchaseOrderCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count
     ) {
         LOG.debug("REST request to get PurchaseOrders by criteria: {}", criteria);
 
-        Page<PurchaseOrder> page = purchaseOrderQueryService.findByCriteria(criteria, pageable);
+        if (after != null) {
+            Window<PurchaseOrder> window = purchaseOrderQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+
+        Slice<PurchaseOrder> page = purchaseOrderQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /purchase-orders?view=summary} : get the summaries of all the purchaseOrders.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of purchaseOrder summaries in body.
+     */
+    @GetMapping(value = "", params = "view=summary")
+    public ResponseEntity<List<PurchaseOrderSummaryDTO>> getAllPurchaseOrdersSummaries(
+        PurchaseOrderCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get PurchaseOrder summaries by criteria: {}", criteria);
+
+        Page<PurchaseOrderSummaryDTO> page = purchaseOrderQueryService.findSummariesByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -175,17 +299,47 @@ public class PurchaseOrderResource {
         return ResponseEntity.ok().body(purchaseOrderQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /purchase-orders/export} : export all the purchaseOrders with their items.
+     * <p>
+     * The export is streamed to the response while it is read from the database, so it is not paginated.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param sort the order of the purchaseOrders, completed by their id.
+     * @param format the format of the export: {@code csv} (default), with one line per item, or {@code ndjson}, with
+     * one line per purchaseOrder.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the export as attachment in body, or with
+     * status {@code 400 (Bad Request)} if the format is unknown.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPurchaseOrders(
+        PurchaseOrderCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Sort sort,
+        @RequestParam(name = "format", required = false) String format
+    ) {
+        LOG.debug("REST request to export PurchaseOrders as {} by criteria: {}", format, criteria);
+        ExportFormat exportFormat = parseExportFormat(format);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType(MediaType.parseMediaType(exportFormat.getMediaType()), StandardCharsets.UTF_8));
+        headers.setContentDisposition(
+            ContentDisposition.attachment().filename("purchase-orders." + exportFormat.getFileExtension()).build()
+        );
+        return ResponseEntity.ok()
+            .headers(headers)
+            .body(outputStream -> purchaseOrderExportService.export(criteria, sort, exportFormat, outputStream));
+    }
+
     /**
      * {@code GET  /purchase-orders/:id} : get the "id" purchaseOrder.
      *
      * @param id the id of the purchaseOrder to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the purchaseOrder, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the purchaseOrder and its version as entity tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
     public ResponseEntity<PurchaseOrder> getPurchaseOrder(@PathVariable("id") Long id) {
         LOG.debug("REST request to get PurchaseOrder : {}", id);
         Optional<PurchaseOrder> purchaseOrder = purchaseOrderService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(purchaseOrder);
+        return ETagUtil.wrapOrNotFound(purchaseOrder, PurchaseOrder::getVersion, null);
     }
 
     /**
@@ -202,4 +356,15 @@ public class PurchaseOrderResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private ExportFormat parseExportFormat(String format) {
+        if (format == null || format.isBlank()) {
+            return ExportFormat.CSV;
+        }
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid export format", ENTITY_NAME, "exportformatinvalid");
+        }
+    }
 }
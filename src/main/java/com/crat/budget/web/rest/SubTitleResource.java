@@ -1,11 +1,15 @@
 package com.crat.budget.web.rest;
 
+import com.crat.budget.domain.Chapter;
 import com.crat.budget.domain.SubTitle;
-import com.crat.budget.repository.SubTitleRepository;
+import com.crat.budget.repository.EntityChangeTracker;
 import com.crat.budget.service.SubTitleQueryService;
 import com.crat.budget.service.SubTitleService;
 import com.crat.budget.service.criteria.SubTitleCriteria;
 import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.crat.budget.web.rest.util.ETagUtil;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,17 +17,19 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -42,18 +48,18 @@ public class SubTitleResource {
 
     private final SubTitleService subTitleService;
 
-    private final SubTitleRepository subTitleRepository;
-
     private final SubTitleQueryService subTitleQueryService;
 
+    private final EntityChangeTracker entityChangeTracker;
+
     public SubTitleResource(
         SubTitleService subTitleService,
-        SubTitleRepository subTitleRepository,
-        SubTitleQueryService subTitleQueryService
+        SubTitleQueryService subTitleQueryService,
+        EntityChangeTracker entityChangeTracker
     ) {
         this.subTitleService = subTitleService;
-        this.subTitleRepository = subTitleRepository;
         this.subTitleQueryService = subTitleQueryService;
+        this.entityChangeTracker = entityChangeTracker;
     }
 
     /**
@@ -98,11 +104,9 @@ public class SubTitleResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!subTitleRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        subTitle = subTitleService.update(subTitle);
+        subTitle = subTitleService
+            .update(subTitle)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, subTitle.getId().toString()))
             .body(subTitle);
@@ -132,10 +136,6 @@ public class SubTitleResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!subTitleRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<SubTitle> result = subTitleService.partialUpdate(subTitle);
 
         return ResponseUtil.wrapOrNotFound(
@@ -149,17 +149,47 @@ public class SubTitleResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of subTitles in body.
+     * @param after the cursor of the next window, enables keyset pagination when present (empty for the first window).
+     * @param include the comma separated associations to load along with the entities.
+     * @param count how the total is computed: {@code exact} (default), {@code estimate} or {@code none}.
+     * @param webRequest the current request, whose {@code If-None-Match} header is checked before the query.
+     * @return the {@link ResponseEntity} with status {@code 304 (Not Modified)} if the list did not change since the entity tag
+     * in the {@code If-None-Match} header, otherwise with status {@code 200 (OK)} and the list of subTitles in body.
      */
     @GetMapping("")
     public ResponseEntity<List<SubTitle>> getAllSubTitles(
         SubTitleCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after,
+        @RequestParam(name = "include", required = false) Set<String> include,
+        @RequestParam(name = SlicePaginationUtil.COUNT_PARAMETER, required = false) String count,
+        WebRequest webRequest
     ) {
         LOG.debug("REST request to get SubTitles by criteria: {}", criteria);
+        String versionTag = entityChangeTracker.getVersionTag(SubTitle.class, Chapter.class);
+        if (ETagUtil.checkNotModified(webRequest, versionTag)) {
+            return null;
+        }
 
-        Page<SubTitle> page = subTitleQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        if (after != null) {
+            Window<SubTitle> window = subTitleQueryService.findByCriteria(
+                criteria,
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME),
+                pageable.getSort(),
+                pageable.getPageSize(),
+                include
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+
+        Slice<SubTitle> page = subTitleQueryService.findByCriteria(
+            criteria,
+            pageable,
+            include,
+            SlicePaginationUtil.parseCountMode(count, ENTITY_NAME)
+        );
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -88,6 +88,48 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
             .getBody();
         if (ex instanceof com.crat.budget.service.InvalidPasswordException) return (ProblemDetailWithCause) new InvalidPasswordException()
             .getBody();
+        if (
+            ex instanceof com.crat.budget.service.InvalidFetchPlanException invalidFetchPlanException
+        ) return new BadRequestAlertException(
+            invalidFetchPlanException.getMessage(),
+            invalidFetchPlanException.getEntityName(),
+            "includeinvalid"
+        ).getProblemDetailWithCause();
+        if (
+            ex instanceof com.crat.budget.service.InvalidSortException invalidSortException
+        ) return new BadRequestAlertException(
+            invalidSortException.getMessage(),
+            invalidSortException.getEntityName(),
+            "sortinvalid"
+        ).getProblemDetailWithCause();
+        if (
+            ex instanceof com.crat.budget.service.CreditReservationException creditReservationException
+        ) return new BadRequestAlertException(
+            creditReservationException.getMessage(),
+            "creditReservation",
+            creditReservationException.getErrorKey()
+        ).getProblemDetailWithCause();
+        if (
+            ex instanceof com.crat.budget.service.InvalidPurchaseOrderException invalidPurchaseOrderException
+        ) return new BadRequestAlertException(
+            invalidPurchaseOrderException.getMessage(),
+            "purchaseOrder",
+            invalidPurchaseOrderException.getErrorKey()
+        ).getProblemDetailWithCause();
+        if (
+            ex instanceof com.crat.budget.service.InvalidImportException invalidImportException
+        ) return new BadRequestAlertException(
+            invalidImportException.getMessage(),
+            "budgetImport",
+            invalidImportException.getErrorKey()
+        ).getProblemDetailWithCause();
+        if (
+            ex instanceof com.crat.budget.service.FinancialYearRolloverException financialYearRolloverException
+        ) return new BadRequestAlertException(
+            financialYearRolloverException.getMessage(),
+            "financialYear",
+            financialYearRolloverException.getErrorKey()
+        ).getProblemDetailWithCause();
 
         if (
             ex instanceof ErrorResponseException exp && exp.getBody() instanceof ProblemDetailWithCause problemDetailWithCause
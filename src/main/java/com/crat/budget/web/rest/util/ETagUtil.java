@@ -0,0 +1,144 @@
+package com.crat.budget.web.rest.util;
+
+import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Utility class for the entity tags of versioned entities.
+ * <p>
+ * The entity tag of a versioned entity is its version, as a strong tag. A client sends it back in an {@code If-Match}
+ * header to update the entity only if nobody updated it meanwhile, otherwise the update fails with
+ * {@code 412 (Precondition Failed)}. A stale version sent in the body fails with {@code 409 (Conflict)}, like any
+ * optimistic locking failure. A resource may require one of them, and answer an update which sends neither with
+ * {@code 428 (Precondition Required)}: {@code If-Match: *} then states that the client overwrites any version.
+ * <p>
+ * The entity tag of a list is derived from the change counters of the listed entities and from the request parameters,
+ * so a client which sends it back in an {@code If-None-Match} header gets a {@code 304 (Not Modified)} without any query.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {}
+
+    /**
+     * Build the entity tag of a version.
+     *
+     * @param version the version of the entity.
+     * @return the strong entity tag.
+     */
+    public static String toETag(Integer version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Parse the version expected by an {@code If-Match} header.
+     *
+     * @param ifMatch the header value, such as {@code "3"}.
+     * @param entityName the entity name, used in the error message.
+     * @return the expected version, or {@code null} if any version matches ({@code *}).
+     * @throws BadRequestAlertException if the header is not the entity tag of a version.
+     * @throws ResponseStatusException with status {@code 412 (Precondition Failed)} if the header is a weak tag, which
+     * never matches as {@code If-Match} uses the strong comparison.
+     */
+    public static Integer parseIfMatch(String ifMatch, String entityName) {
+        String tag = ifMatch.trim();
+        if ("*".equals(tag)) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "A weak entity tag never matches");
+        }
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Integer.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new BadRequestAlertException("Invalid If-Match header", entityName, "ifmatchinvalid");
+        }
+    }
+
+    /**
+     * Require the version which an update expects, from an {@code If-Match} header or from the body.
+     *
+     * @param ifMatch the header value, if any.
+     * @param version the version sent in the body, if any.
+     * @throws ResponseStatusException with status {@code 428 (Precondition Required)} if neither is given.
+     */
+    public static void requireIfMatchOrVersion(String ifMatch, Integer version) {
+        if (ifMatch == null && version == null) {
+            throw new ResponseStatusException(
+                HttpStatus.PRECONDITION_REQUIRED,
+                "An update must send the version it expects, in an If-Match header or in the body"
+            );
+        }
+    }
+
+    /**
+     * Run the update of a versioned entity, whose expected version was taken from an {@code If-Match} header.
+     *
+     * @param ifMatch the header value, if any.
+     * @param entity the changes of the entity, holding the expected version.
+     * @param update the update.
+     * @param <T> the type of the entity.
+     * @param <X> the type of the result.
+     * @return the result of the update.
+     * @throws ResponseStatusException with status {@code 412 (Precondition Failed)} if the header does not match the
+     * version of the entity.
+     */
+    public static <T, X> X updateIfMatch(String ifMatch, T entity, Function<T, X> update) {
+        try {
+            return update.apply(entity);
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch == null || "*".equals(ifMatch.trim())) {
+                throw e;
+            }
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "The entity was updated meanwhile", e);
+        }
+    }
+
+    /**
+     * Wrap an optional versioned entity into a {@link ResponseEntity} with its entity tag, or throw a
+     * {@link ResponseStatusException} with status {@code 404 (Not Found)}.
+     *
+     * @param maybeResponse the optional entity.
+     * @param version the function which gives the version of the entity.
+     * @param header the headers to add to the response.
+     * @param <X> the type of the entity.
+     * @return the response.
+     */
+    public static <X> ResponseEntity<X> wrapOrNotFound(Optional<X> maybeResponse, Function<X, Integer> version, HttpHeaders header) {
+        return maybeResponse
+            .map(response -> ResponseEntity.ok().headers(header).eTag(toETag(version.apply(response))).body(response))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Check an {@code If-None-Match} header against the entity tag of a list, before the list is queried.
+     * <p>
+     * The entity tag is built from the version tag of the listed entities and from the path and parameters of the
+     * request, in any order. It is added to the response, whose status is set to {@code 304 (Not Modified)} if it matches.
+     *
+     * @param webRequest the current request.
+     * @param versionTag the version tag of the entities which the list depends on.
+     * @return {@code true} if the list is not modified, then the handler must return {@code null}.
+     */
+    public static boolean checkNotModified(WebRequest webRequest, String versionTag) {
+        StringBuilder request = new StringBuilder(webRequest.getDescription(false));
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(webRequest.getParameterMap()).entrySet()) {
+            request.append('&').append(parameter.getKey()).append('=').append(String.join(",", parameter.getValue()));
+        }
+        String requestHash = DigestUtils.md5DigestAsHex(request.toString().getBytes(StandardCharsets.UTF_8));
+        return webRequest.checkNotModified("\"" + versionTag + "-" + requestHash + "\"");
+    }
+}
@@ -0,0 +1,187 @@
+package com.crat.budget.web.rest.util;
+
+import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * A keyset page is addressed by an opaque cursor which holds the sort key values of the last row of the previous page,
+ * so the database can seek directly to the next row instead of skipping an {@code OFFSET}. The cursor is a base64url
+ * encoded JSON document of typed values, it is only meant to be handed back to the same endpoint with the same sort.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
+
+    public static final String CURSOR_PARAMETER = "after";
+
+    private static final String ENUM_PACKAGE = "com.crat.budget.domain.enumeration.";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Decode a cursor received in the {@code after} request parameter.
+     *
+     * @param cursor the opaque cursor, an empty value requests the first page.
+     * @param entityName the entity name, used in the error message.
+     * @return the matching {@link ScrollPosition}.
+     * @throws BadRequestAlertException if the cursor cannot be decoded.
+     */
+    public static ScrollPosition decodeCursor(String cursor, String entityName) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            JsonNode root = MAPPER.readTree(Base64.getUrlDecoder().decode(cursor));
+            if (!root.isObject()) {
+                throw new IllegalArgumentException("Cursor is not an object");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                keys.put(field.getKey(), decodeValue(field.getValue()));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeException | IOException | ReflectiveOperationException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Encode the position after the last element of a {@link Window} as an opaque cursor.
+     *
+     * @param window the current window.
+     * @return the cursor of the next window, or {@code null} if there is no next window.
+     */
+    public static String encodeNextCursor(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        ScrollPosition position = window.positionAt(window.size() - 1);
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            throw new IllegalStateException("Only keyset positions can be encoded as cursors");
+        }
+        ObjectNode root = MAPPER.createObjectNode();
+        keysetPosition.getKeys().forEach((key, value) -> root.set(key, encodeValue(value)));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(root));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cursor cannot be serialized", e);
+        }
+    }
+
+    /**
+     * Generate keyset pagination headers for a Spring Data {@link Window} object.
+     * <p>
+     * Unlike {@link tech.jhipster.web.util.PaginationUtil}, no {@code X-Total-Count} header is sent: the next cursor is
+     * returned in the {@code X-Next-Cursor} header and as a {@code next} link, and both are omitted on the last window.
+     *
+     * @param uriBuilder the URI builder of the current request.
+     * @param window the window.
+     * @param <T> the type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Window<T> window) {
+        HttpHeaders headers = new HttpHeaders();
+        String nextCursor = encodeNextCursor(window);
+        if (nextCursor != null) {
+            headers.add(HEADER_X_NEXT_CURSOR, nextCursor);
+            String link = uriBuilder.replaceQueryParam("page").replaceQueryParam(CURSOR_PARAMETER, nextCursor).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    private static ArrayNode encodeValue(Object value) {
+        ArrayNode node = MAPPER.createArrayNode();
+        if (value == null) {
+            return node.add("N").addNull();
+        }
+        if (value instanceof Long) {
+            return node.add("L").add(value.toString());
+        }
+        if (value instanceof Integer) {
+            return node.add("I").add(value.toString());
+        }
+        if (value instanceof String s) {
+            return node.add("S").add(s);
+        }
+        if (value instanceof BigDecimal d) {
+            return node.add("D").add(d.toPlainString());
+        }
+        if (value instanceof Instant) {
+            return node.add("T").add(value.toString());
+        }
+        if (value instanceof LocalDate) {
+            return node.add("LD").add(value.toString());
+        }
+        if (value instanceof Boolean) {
+            return node.add("B").add(value.toString());
+        }
+        if (value instanceof UUID) {
+            return node.add("U").add(value.toString());
+        }
+        if (value instanceof Enum<?> e && e.getDeclaringClass().getName().startsWith(ENUM_PACKAGE)) {
+            return node.add("E").add(e.getDeclaringClass().getName() + "#" + e.name());
+        }
+        throw new IllegalStateException("Unsupported keyset value type: " + value.getClass().getName());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object decodeValue(JsonNode node) throws ReflectiveOperationException {
+        if (!node.isArray() || node.size() != 2) {
+            throw new IllegalArgumentException("Malformed cursor value");
+        }
+        String type = node.get(0).asText();
+        if ("N".equals(type)) {
+            return null;
+        }
+        String value = node.get(1).asText();
+        return switch (type) {
+            case "L" -> Long.valueOf(value);
+            case "I" -> Integer.valueOf(value);
+            case "S" -> value;
+            case "D" -> new BigDecimal(value);
+            case "T" -> Instant.parse(value);
+            case "LD" -> LocalDate.parse(value);
+            case "B" -> Boolean.valueOf(value);
+            case "U" -> UUID.fromString(value);
+            case "E" -> {
+                int separator = value.indexOf('#');
+                String className = separator > 0 ? value.substring(0, separator) : "";
+                if (!className.startsWith(ENUM_PACKAGE)) {
+                    throw new IllegalArgumentException("Unsupported enum type");
+                }
+                Class<?> enumClass = Class.forName(className);
+                if (!enumClass.isEnum()) {
+                    throw new IllegalArgumentException("Unsupported enum type");
+                }
+                yield Enum.valueOf((Class<? extends Enum>) enumClass, value.substring(separator + 1));
+            }
+            default -> throw new IllegalArgumentException("Unsupported cursor value type");
+        };
+    }
+}
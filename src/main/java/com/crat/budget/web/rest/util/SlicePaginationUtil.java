@@ -0,0 +1,93 @@
+package com.crat.budget.web.rest.util;
+
+import com.crat.budget.service.CountMode;
+import com.crat.budget.service.EstimatedPage;
+import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Utility class for handling pagination with a selectable {@link CountMode}.
+ * <p>
+ * Counted and estimated pages get the usual {@code X-Total-Count} and {@code Link} headers of
+ * {@link PaginationUtil}, pages which were not counted only get {@code X-Has-Next} and the links which can be computed
+ * without a total. The {@code X-Total-Count-Mode} header tells which mode was actually applied, as an estimate falls
+ * back to an exact count when the criteria filters something.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String COUNT_PARAMETER = "count";
+
+    public static final String HEADER_X_TOTAL_COUNT_MODE = "X-Total-Count-Mode";
+
+    public static final String HEADER_X_HAS_NEXT = "X-Has-Next";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Parse the count mode received in the {@code count} request parameter.
+     *
+     * @param count the count mode, case insensitive, {@code exact} when empty.
+     * @param entityName the entity name, used in the error message.
+     * @return the matching {@link CountMode}.
+     * @throws BadRequestAlertException if the count mode is unknown.
+     */
+    public static CountMode parseCountMode(String count, String entityName) {
+        if (count == null || count.isBlank()) {
+            return CountMode.EXACT;
+        }
+        try {
+            return CountMode.valueOf(count.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid count mode", entityName, "countmodeinvalid");
+        }
+    }
+
+    /**
+     * Generate pagination headers for a Spring Data {@link Slice} object.
+     *
+     * @param uriBuilder the URI builder of the current request.
+     * @param slice the slice, a {@link Page} when the total is known.
+     * @param <T> the type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        if (slice instanceof Page<T> page) {
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+            headers.add(HEADER_X_TOTAL_COUNT_MODE, (page instanceof EstimatedPage ? CountMode.ESTIMATE : CountMode.EXACT).name().toLowerCase(Locale.ROOT));
+            return headers;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_X_TOTAL_COUNT_MODE, CountMode.NONE.name().toLowerCase(Locale.ROOT));
+        headers.add(HEADER_X_HAS_NEXT, Boolean.toString(slice.hasNext()));
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(prepareLink(uriBuilder, slice.getNumber() + 1, slice.getSize(), "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(prepareLink(uriBuilder, slice.getNumber() - 1, slice.getSize(), "prev"));
+        }
+        links.add(prepareLink(uriBuilder, 0, slice.getSize(), "first"));
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page", Integer.toString(pageNumber))
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return MessageFormat.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Utility classes for the Rest layer.
+ */
+package com.crat.budget.web.rest.util;
@@ -1,4 +1,4 @@
-import { HttpParams } from '@angular/common/http';
+import { HttpHeaders, HttpParams } from '@angular/common/http';
 
 export const createRequestOption = (req?: any): HttpParams => {
   let options: HttpParams = new HttpParams();
@@ -15,3 +15,17 @@ export const createRequestOption = (req?: any): HttpParams => {
 
   return options;
 };
+
+/**
+ * Headers which only let an update apply to the given version of an entity: the server answers
+ * 412 (Precondition Failed) when somebody updated it meanwhile.
+ */
+export const createIfMatchHeaders = (version?: number | null): HttpHeaders => {
+  let headers: HttpHeaders = new HttpHeaders();
+
+  if (version !== undefined && version !== null) {
+    headers = headers.set('If-Match', `"${version}"`);
+  }
+
+  return headers;
+};
@@ -7,6 +7,7 @@ export interface IAnnexDecision {
   creditsAlreadyOpen?: string | null;
   creditsOpen?: string | null;
   financialYear?: IFinancialYear | null;
+  version?: number | null;
 }
 
 export type NewAnnexDecision = Omit<IAnnexDecision, 'id'> & { id: null };
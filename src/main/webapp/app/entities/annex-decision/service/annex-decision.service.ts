@@ -4,7 +4,7 @@ import { Observable } from 'rxjs';
 
 import { isPresent } from 'app/core/util/operators';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
-import { createRequestOption } from 'app/core/request/request-util';
+import { createIfMatchHeaders, createRequestOption } from 'app/core/request/request-util';
 import { IAnnexDecision, NewAnnexDecision } from '../annex-decision.model';
 
 export type PartialUpdateAnnexDecision = Partial<IAnnexDecision> & Pick<IAnnexDecision, 'id'>;
@@ -25,12 +25,14 @@ export class AnnexDecisionService {
 
   update(annexDecision: IAnnexDecision): Observable<EntityResponseType> {
     return this.http.put<IAnnexDecision>(`${this.resourceUrl}/${this.getAnnexDecisionIdentifier(annexDecision)}`, annexDecision, {
+      headers: createIfMatchHeaders(annexDecision.version),
       observe: 'response',
     });
   }
 
   partialUpdate(annexDecision: PartialUpdateAnnexDecision): Observable<EntityResponseType> {
     return this.http.patch<IAnnexDecision>(`${this.resourceUrl}/${this.getAnnexDecisionIdentifier(annexDecision)}`, annexDecision, {
+      headers: createIfMatchHeaders(annexDecision.version),
       observe: 'response',
     });
   }
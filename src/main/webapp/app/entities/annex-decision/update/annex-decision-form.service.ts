@@ -23,6 +23,7 @@ type AnnexDecisionFormGroupContent = {
   creditsAlreadyOpen: FormControl<IAnnexDecision['creditsAlreadyOpen']>;
   creditsOpen: FormControl<IAnnexDecision['creditsOpen']>;
   financialYear: FormControl<IAnnexDecision['financialYear']>;
+  version: FormControl<IAnnexDecision['version']>;
 };
 
 export type AnnexDecisionFormGroup = FormGroup<AnnexDecisionFormGroupContent>;
@@ -47,6 +48,7 @@ export class AnnexDecisionFormService {
       creditsAlreadyOpen: new FormControl(annexDecisionRawValue.creditsAlreadyOpen),
       creditsOpen: new FormControl(annexDecisionRawValue.creditsOpen),
       financialYear: new FormControl(annexDecisionRawValue.financialYear),
+      version: new FormControl(annexDecisionRawValue.version),
     });
   }
 
@@ -8,6 +8,7 @@ export interface IDecision {
   decisionDate?: dayjs.Dayjs | null;
   engagement?: IEngagement | null;
   annexDecision?: IAnnexDecision | null;
+  version?: number | null;
 }
 
 export type NewDecision = Omit<IDecision, 'id'> & { id: null };
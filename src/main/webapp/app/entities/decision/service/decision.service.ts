@@ -6,7 +6,7 @@ import dayjs from 'dayjs/esm';
 
 import { isPresent } from 'app/core/util/operators';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
-import { createRequestOption } from 'app/core/request/request-util';
+import { createIfMatchHeaders, createRequestOption } from 'app/core/request/request-util';
 import { IDecision, NewDecision } from '../decision.model';
 
 export type PartialUpdateDecision = Partial<IDecision> & Pick<IDecision, 'id'>;
@@ -41,14 +41,20 @@ export class DecisionService {
   update(decision: IDecision): Observable<EntityResponseType> {
     const copy = this.convertDateFromClient(decision);
     return this.http
-      .put<RestDecision>(`${this.resourceUrl}/${this.getDecisionIdentifier(decision)}`, copy, { observe: 'response' })
+      .put<RestDecision>(`${this.resourceUrl}/${this.getDecisionIdentifier(decision)}`, copy, {
+        headers: createIfMatchHeaders(decision.version),
+        observe: 'response',
+      })
       .pipe(map(res => this.convertResponseFromServer(res)));
   }
 
   partialUpdate(decision: PartialUpdateDecision): Observable<EntityResponseType> {
     const copy = this.convertDateFromClient(decision);
     return this.http
-      .patch<RestDecision>(`${this.resourceUrl}/${this.getDecisionIdentifier(decision)}`, copy, { observe: 'response' })
+      .patch<RestDecision>(`${this.resourceUrl}/${this.getDecisionIdentifier(decision)}`, copy, {
+        headers: createIfMatchHeaders(decision.version),
+        observe: 'response',
+      })
       .pipe(map(res => this.convertResponseFromServer(res)));
   }
 
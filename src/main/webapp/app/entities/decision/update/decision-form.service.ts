@@ -35,6 +35,7 @@ type DecisionFormGroupContent = {
   decisionDate: FormControl<DecisionFormRawValue['decisionDate']>;
   engagement: FormControl<DecisionFormRawValue['engagement']>;
   annexDecision: FormControl<DecisionFormRawValue['annexDecision']>;
+  version: FormControl<DecisionFormRawValue['version']>;
 };
 
 export type DecisionFormGroup = FormGroup<DecisionFormGroupContent>;
@@ -62,6 +63,7 @@ export class DecisionFormService {
       }),
       engagement: new FormControl(decisionRawValue.engagement),
       annexDecision: new FormControl(decisionRawValue.annexDecision),
+      version: new FormControl(decisionRawValue.version),
     });
   }
 
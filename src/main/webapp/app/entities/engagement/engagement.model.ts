@@ -12,6 +12,7 @@ export interface IEngagement {
   headDaf?: string | null;
   financialController?: string | null;
   generalManager?: string | null;
+  version?: number | null;
 }
 
 export type NewEngagement = Omit<IEngagement, 'id'> & { id: null };
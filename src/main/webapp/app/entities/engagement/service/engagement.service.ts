@@ -6,7 +6,7 @@ import dayjs from 'dayjs/esm';
 
 import { isPresent } from 'app/core/util/operators';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
-import { createRequestOption } from 'app/core/request/request-util';
+import { createIfMatchHeaders, createRequestOption } from 'app/core/request/request-util';
 import { IEngagement, NewEngagement } from '../engagement.model';
 
 export type PartialUpdateEngagement = Partial<IEngagement> & Pick<IEngagement, 'id'>;
@@ -41,14 +41,20 @@ export class EngagementService {
   update(engagement: IEngagement): Observable<EntityResponseType> {
     const copy = this.convertDateFromClient(engagement);
     return this.http
-      .put<RestEngagement>(`${this.resourceUrl}/${this.getEngagementIdentifier(engagement)}`, copy, { observe: 'response' })
+      .put<RestEngagement>(`${this.resourceUrl}/${this.getEngagementIdentifier(engagement)}`, copy, {
+        headers: createIfMatchHeaders(engagement.version),
+        observe: 'response',
+      })
       .pipe(map(res => this.convertResponseFromServer(res)));
   }
 
   partialUpdate(engagement: PartialUpdateEngagement): Observable<EntityResponseType> {
     const copy = this.convertDateFromClient(engagement);
     return this.http
-      .patch<RestEngagement>(`${this.resourceUrl}/${this.getEngagementIdentifier(engagement)}`, copy, { observe: 'response' })
+      .patch<RestEngagement>(`${this.resourceUrl}/${this.getEngagementIdentifier(engagement)}`, copy, {
+        headers: createIfMatchHeaders(engagement.version),
+        observe: 'response',
+      })
       .pipe(map(res => this.convertResponseFromServer(res)));
   }
 
@@ -41,6 +41,7 @@ type EngagementFormGroupContent = {
   headDaf: FormControl<EngagementFormRawValue['headDaf']>;
   financialController: FormControl<EngagementFormRawValue['financialController']>;
   generalManager: FormControl<EngagementFormRawValue['generalManager']>;
+  version: FormControl<EngagementFormRawValue['version']>;
 };
 
 export type EngagementFormGroup = FormGroup<EngagementFormGroupContent>;
@@ -74,6 +75,7 @@ export class EngagementFormService {
       headDaf: new FormControl(engagementRawValue.headDaf),
       financialController: new FormControl(engagementRawValue.financialController),
       generalManager: new FormControl(engagementRawValue.generalManager),
+      version: new FormControl(engagementRawValue.version),
     });
   }
 
@@ -20,6 +20,7 @@ export interface IPurchaseOrder {
   annexDecision?: IAnnexDecision | null;
   supplier?: ISupplier | null;
   engagement?: IEngagement | null;
+  version?: number | null;
 }
 
 export type NewPurchaseOrder = Omit<IPurchaseOrder, 'id'> & { id: null };
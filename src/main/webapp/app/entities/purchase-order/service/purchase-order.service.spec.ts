@@ -62,6 +62,17 @@ describe('PurchaseOrder Service', () => {
       expect(expectedResult).toMatchObject(expected);
     });
 
+    it('should update a PurchaseOrder only at its version', () => {
+      const purchaseOrder = { ...sampleWithRequiredData, version: 3 };
+
+      service.update(purchaseOrder).subscribe();
+
+      const req = httpMock.expectOne({ method: 'PUT' });
+      expect(req.request.headers.get('If-Match')).toEqual('"3"');
+      expect(req.request.body.version).toEqual(3);
+      req.flush({ ...requireRestSample, version: 4 });
+    });
+
     it('should partial update a PurchaseOrder', () => {
       const patchObject = { ...sampleWithPartialData };
       const returnedFromService = { ...requireRestSample };
@@ -6,7 +6,7 @@ import dayjs from 'dayjs/esm';
 
 import { isPresent } from 'app/core/util/operators';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
-import { createRequestOption } from 'app/core/request/request-util';
+import { createIfMatchHeaders, createRequestOption } from 'app/core/request/request-util';
 import { IPurchaseOrder, NewPurchaseOrder } from '../purchase-order.model';
 
 export type PartialUpdatePurchaseOrder = Partial<IPurchaseOrder> & Pick<IPurchaseOrder, 'id'>;
@@ -41,14 +41,20 @@ export class PurchaseOrderService {
   update(purchaseOrder: IPurchaseOrder): Observable<EntityResponseType> {
     const copy = this.convertDateFromClient(purchaseOrder);
     return this.http
-      .put<RestPurchaseOrder>(`${this.resourceUrl}/${this.getPurchaseOrderIdentifier(purchaseOrder)}`, copy, { observe: 'response' })
+      .put<RestPurchaseOrder>(`${this.resourceUrl}/${this.getPurchaseOrderIdentifier(purchaseOrder)}`, copy, {
+        headers: createIfMatchHeaders(purchaseOrder.version),
+        observe: 'response',
+      })
       .pipe(map(res => this.convertResponseFromServer(res)));
   }
 
   partialUpdate(purchaseOrder: PartialUpdatePurchaseOrder): Observable<EntityResponseType> {
     const copy = this.convertDateFromClient(purchaseOrder);
     return this.http
-      .patch<RestPurchaseOrder>(`${this.resourceUrl}/${this.getPurchaseOrderIdentifier(purchaseOrder)}`, copy, { observe: 'response' })
+      .patch<RestPurchaseOrder>(`${this.resourceUrl}/${this.getPurchaseOrderIdentifier(purchaseOrder)}`, copy, {
+        headers: createIfMatchHeaders(purchaseOrder.version),
+        observe: 'response',
+      })
       .pipe(map(res => this.convertResponseFromServer(res)));
   }
 
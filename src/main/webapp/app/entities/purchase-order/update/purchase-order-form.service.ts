@@ -46,6 +46,7 @@ type PurchaseOrderFormGroupContent = {
   annexDecision: FormControl<PurchaseOrderFormRawValue['annexDecision']>;
   supplier: FormControl<PurchaseOrderFormRawValue['supplier']>;
   engagement: FormControl<PurchaseOrderFormRawValue['engagement']>;
+  version: FormControl<PurchaseOrderFormRawValue['version']>;
 };
 
 export type PurchaseOrderFormGroup = FormGroup<PurchaseOrderFormGroupContent>;
@@ -86,6 +87,7 @@ export class PurchaseOrderFormService {
       annexDecision: new FormControl(purchaseOrderRawValue.annexDecision),
       supplier: new FormControl(purchaseOrderRawValue.supplier),
       engagement: new FormControl(purchaseOrderRawValue.engagement),
+      version: new FormControl(purchaseOrderRawValue.version),
     });
   }
 
@@ -0,0 +1,117 @@
+package com.crat.budget.aop.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for the {@link StatementStatisticsDataSource}, over an in-memory H2 database.
+ */
+class StatementStatisticsDataSourceTest {
+
+    private JdbcDataSource database;
+
+    private final ListAppender<ILoggingEvent> logs = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:statement-statistics;DB_CLOSE_DELAY=-1");
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table item (id bigint primary key, name varchar(50), price decimal(21, 2))");
+        }
+        logs.start();
+        logger().addAppender(logs);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        logger().detachAppender(logs);
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table item");
+        }
+    }
+
+    @Test
+    void countsTheStatementsAndRowsInTheOpenScopes() throws SQLException {
+        StatementStatisticsDataSource dataSource = new StatementStatisticsDataSource(database, Duration.ofMinutes(1));
+
+        try (StatementStatistics request = StatementStatistics.open(); Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement("insert into item (id, name) values (?, ?)")) {
+                for (long id = 1; id <= 3; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, "item " + id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (StatementStatistics repository = StatementStatistics.open()) {
+                try (Statement select = connection.createStatement(); ResultSet resultSet = select.executeQuery("select id from item")) {
+                    while (resultSet.next()) {
+                        assertThat(resultSet.getStatement()).isSameAs(select);
+                    }
+                }
+                assertThat(repository.getStatements()).isEqualTo(1);
+                assertThat(repository.getRows()).isEqualTo(3);
+            }
+            assertThat(request.getStatements()).isEqualTo(2);
+            assertThat(request.getRows()).isEqualTo(6);
+            assertThat(request.getNanos()).isPositive();
+        }
+        assertThat(logs.list).isEmpty();
+    }
+
+    @Test
+    void countsNothingOutOfAScope() throws SQLException {
+        StatementStatisticsDataSource dataSource = new StatementStatisticsDataSource(database, Duration.ofMinutes(1));
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("insert into item (id, name) values (1, 'item')");
+        }
+
+        try (StatementStatistics statistics = StatementStatistics.open()) {
+            assertThat(statistics.getStatements()).isZero();
+            assertThat(statistics.getRows()).isZero();
+        }
+    }
+
+    @Test
+    void logsTheSlowStatementsWithTheShapesOfTheirParameters() throws SQLException {
+        StatementStatisticsDataSource dataSource = new StatementStatisticsDataSource(database, Duration.ZERO);
+
+        try (
+            Connection connection = dataSource.getConnection();
+            PreparedStatement insert = connection.prepareStatement("insert into item (id, name, price) values (?, ?, ?)")
+        ) {
+            insert.setLong(1, 1L);
+            insert.setString(2, "secret");
+            insert.setNull(3, Types.DECIMAL);
+            insert.executeUpdate();
+        }
+
+        assertThat(logs.list)
+            .singleElement()
+            .extracting(ILoggingEvent::getFormattedMessage)
+            .asString()
+            .contains("(1 updated rows): insert into item (id, name, price) values (?, ?, ?) with parameters [Long, String(6), null]")
+            .doesNotContain("secret");
+    }
+
+    private static Logger logger() {
+        return (Logger) LoggerFactory.getLogger(StatementStatisticsDataSource.class);
+    }
+}
@@ -0,0 +1,228 @@
+package com.crat.budget.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for the {@link ReadReplicaRoutingDataSource}, over stand-in data sources and a real transaction manager.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private static final Duration STICKINESS = Duration.ofSeconds(5);
+
+    private final MutableClock clock = new MutableClock();
+
+    private MeterRegistry meterRegistry;
+
+    private Connection primary;
+
+    private Connection replica1;
+
+    private Connection replica2;
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    private LazyConnectionDataSourceProxy dataSource;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = mock(Connection.class);
+        replica1 = mock(Connection.class);
+        replica2 = mock(Connection.class);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", dataSource(replica1));
+        replicas.put("replica-2", dataSource(replica2));
+        routingDataSource = new ReadReplicaRoutingDataSource(
+            dataSource(primary),
+            replicas,
+            MAX_LAG,
+            STICKINESS,
+            "select lag",
+            meterRegistry,
+            clock
+        );
+        routingDataSource.afterPropertiesSet();
+        dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        dataSource.setDefaultAutoCommit(false);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsTakeTurnsOnTheReplicas() throws SQLException {
+        // Replicas are only used once their lag is checked
+        assertThat(connectionOf(readOnly)).isSameAs(primary);
+
+        lag(replica1, 0);
+        lag(replica2, 1.5);
+        routingDataSource.checkReplicas();
+
+        assertThat(connectionOf(readOnly)).isSameAs(replica2);
+        assertThat(connectionOf(readOnly)).isSameAs(replica1);
+        assertThat(connectionOf(readOnly)).isSameAs(replica2);
+        assertThat(connectionOf(readWrite)).isSameAs(primary);
+
+        assertThat(count("replica-1", "read-only")).isEqualTo(1);
+        assertThat(count("replica-2", "read-only")).isEqualTo(2);
+        assertThat(count(ReadReplicaRoutingDataSource.PRIMARY, "read-write")).isEqualTo(1);
+        assertThat(count(ReadReplicaRoutingDataSource.PRIMARY, "no-replica")).isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("route", "replica-2").gauge().value()).isEqualTo(1.5);
+    }
+
+    @Test
+    void laggingOrUnreachableReplicasAreSkipped() throws SQLException {
+        lag(replica1, 10);
+        lag(replica2, 0);
+        routingDataSource.checkReplicas();
+
+        assertThat(connectionOf(readOnly)).isSameAs(replica2);
+        assertThat(connectionOf(readOnly)).isSameAs(replica2);
+
+        when(replica2.createStatement()).thenThrow(new SQLException("Connection refused"));
+        routingDataSource.checkReplicas();
+
+        assertThat(connectionOf(readOnly)).isSameAs(primary);
+
+        lag(replica1, 0);
+        routingDataSource.checkReplicas();
+
+        assertThat(connectionOf(readOnly)).isSameAs(replica1);
+    }
+
+    @Test
+    void usersReadTheirWritesFromThePrimary() throws SQLException {
+        lag(replica1, 0);
+        lag(replica2, 0);
+        routingDataSource.checkReplicas();
+        authenticate("writer");
+
+        assertThat(connectionOf(readWrite)).isSameAs(primary);
+        assertThat(connectionOf(readOnly)).isSameAs(primary);
+        assertThat(count(ReadReplicaRoutingDataSource.PRIMARY, "sticky")).isEqualTo(1);
+
+        // Other users still read from the replicas
+        authenticate("reader");
+        assertThat(connectionOf(readOnly)).isNotSameAs(primary);
+
+        // Until the window ends
+        authenticate("writer");
+        clock.advance(STICKINESS.plusMillis(1));
+        assertThat(connectionOf(readOnly)).isNotSameAs(primary);
+    }
+
+    @Test
+    void rolledBackTransactionsAreNotSticky() throws SQLException {
+        lag(replica1, 0);
+        lag(replica2, 0);
+        routingDataSource.checkReplicas();
+        authenticate("writer");
+
+        readWrite.executeWithoutResult(status -> {
+            targetConnection();
+            status.setRollbackOnly();
+        });
+
+        assertThat(connectionOf(readOnly)).isNotSameAs(primary);
+    }
+
+    private Connection connectionOf(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> targetConnection());
+    }
+
+    private Connection targetConnection() {
+        return ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+    }
+
+    private double count(String route, String reason) {
+        return meterRegistry.get(ReadReplicaRoutingDataSource.METER_NAME).tag("route", route).tag("reason", reason).counter().count();
+    }
+
+    private static void authenticate(String login) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(login, "password"));
+    }
+
+    private static void lag(Connection replica, double seconds) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(seconds);
+    }
+
+    private static DataSource dataSource(Connection connection) {
+        DataSource dataSource = mock(DataSource.class);
+        try {
+            when(dataSource.getConnection()).thenReturn(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return dataSource;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.crat.budget.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.Expense;
+import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.domain.PurchaseOrderItem;
+import com.crat.budget.domain.Recipe;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Checks that the lazy collections are loaded by batches of owners: one query per collection and batch, where loading
+ * them owner by owner takes one query per owner and collection.
+ */
+@IntegrationTest
+@Transactional
+class CollectionBatchFetchingIT {
+
+    private static final int OWNERS = 30;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void initTest() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void articleBagRelationshipsAreFetchedByBatches() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < OWNERS; i++) {
+            Recipe recipe = new Recipe().newYearForecast(i);
+            em.persist(recipe);
+            Expense expense = new Expense().newYearForecast(i);
+            em.persist(expense);
+            Article article = new Article().code("BATCH-" + i).designation("AAAAAAAAAA").addRecipe(recipe).addExpense(expense);
+            em.persist(article);
+            ids.add(0, article.getId());
+        }
+        em.flush();
+        em.clear();
+        startCounting();
+
+        List<Article> articles = em
+            .createQuery("select a from Article a where a.id in :ids order by a.id desc", Article.class)
+            .setParameter("ids", ids)
+            .getResultList();
+        articleRepository.fetchBagRelationships(articles);
+
+        // One query for the articles and one per collection, where fetching the collections article by article takes
+        // one more query per article and collection
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getCollectionLoadCount()).isEqualTo(2L * OWNERS);
+        // The articles are neither selected again nor reordered
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(3L * OWNERS);
+        assertThat(articles).extracting(Article::getId).containsExactlyElementsOf(ids);
+        assertThat(articles).allSatisfy(article -> {
+            assertThat(article.getRecipes()).hasSize(1);
+            assertThat(article.getExpenses()).hasSize(1);
+        });
+    }
+
+    @Test
+    void lazyCollectionsAreLoadedByBatches() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < OWNERS; i++) {
+            PurchaseOrder order = new PurchaseOrder().nameOfTheMinistry("AAAAAAAAAA").orderNumber("BATCH-" + i).orderDate(Instant.EPOCH);
+            em.persist(order);
+            for (int j = 0; j < 2; j++) {
+                em.persist(
+                    new PurchaseOrderItem()
+                        .productName("AAAAAAAAAA")
+                        .quantity(1)
+                        .unitPrice(BigDecimal.ONE)
+                        .totalAmount(BigDecimal.ONE)
+                        .purchaseOrder(order)
+                );
+            }
+            ids.add(order.getId());
+        }
+        em.flush();
+        em.clear();
+        startCounting();
+
+        List<PurchaseOrder> orders = em
+            .createQuery("select o from PurchaseOrder o where o.id in :ids", PurchaseOrder.class)
+            .setParameter("ids", ids)
+            .getResultList();
+        assertThat(orders).allSatisfy(order -> assertThat(order.getPurchaseOrderItems()).hasSize(2));
+
+        // One query for the orders and one for the items of all of them, instead of one per order
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionLoadCount()).isEqualTo(OWNERS);
+    }
+
+    private void startCounting() {
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+    }
+}
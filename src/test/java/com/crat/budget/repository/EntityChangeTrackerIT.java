@@ -0,0 +1,156 @@
+package com.crat.budget.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.Chapter;
+import com.crat.budget.domain.Supplier;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that the change counters are incremented by the committed transactions only, and that those of the reference
+ * entities are shared through the database with the other instances of the application.
+ */
+@IntegrationTest
+class EntityChangeTrackerIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityChangeTracker entityChangeTracker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> insertedSupplierIds = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        entityChangeTracker.refresh();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> insertedSupplierIds.forEach(id -> em.remove(em.find(Supplier.class, id))));
+    }
+
+    @Test
+    void committedWritesAreCounted() {
+        long version = entityChangeTracker.getVersion(Supplier.class);
+        long otherVersion = entityChangeTracker.getVersion(Chapter.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Supplier supplier = new Supplier().companyName("AAAAAAAAAA");
+            em.persist(supplier);
+            em.flush();
+            // Not counted before the commit
+            assertThat(counter(Supplier.class)).isEqualTo(version);
+            insertedSupplierIds.add(supplier.getId());
+            supplier.setAddress("BBBBBBBBBB");
+        });
+
+        // Once, whatever the number of writes of the transaction
+        assertThat(entityChangeTracker.getVersion(Supplier.class)).isEqualTo(version + 1);
+        assertThat(entityChangeTracker.getVersion(Chapter.class)).isEqualTo(otherVersion);
+        assertThat(entityChangeTracker.getVersion(Supplier.class, Chapter.class)).isEqualTo(version + otherVersion + 1);
+        // Only counted in memory
+        assertThat(
+            jdbcTemplate.queryForObject("select count(*) from entity_change where entity_name = ?", Long.class, Supplier.class.getName())
+        ).isZero();
+    }
+
+    @Test
+    void rolledBackWritesAreNotCounted() {
+        long version = entityChangeTracker.getVersion(Supplier.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            em.persist(new Supplier().companyName("AAAAAAAAAA"));
+            entityChangeTracker.recordChange(Chapter.class);
+            em.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(entityChangeTracker.getVersion(Supplier.class)).isEqualTo(version);
+    }
+
+    @Test
+    void bulkChangesAreCountedWithTheirTransaction() {
+        long version = entityChangeTracker.getVersion(Chapter.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityChangeTracker.recordChange(Chapter.class);
+            assertThat(counter(Chapter.class)).isEqualTo(version);
+        });
+        assertThat(entityChangeTracker.getVersion(Chapter.class)).isEqualTo(version + 1);
+
+        // Without a transaction, at once
+        entityChangeTracker.recordChange(Chapter.class);
+        assertThat(entityChangeTracker.getVersion(Chapter.class)).isEqualTo(version + 2);
+    }
+
+    @Test
+    void sharedChangesAreWrittenAfterTheCommit() {
+        long version = sharedCounter(Chapter.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityChangeTracker.recordChange(Chapter.class);
+            em.flush();
+            assertThat(sharedCounter(Chapter.class)).isEqualTo(version);
+        });
+
+        assertThat(sharedCounter(Chapter.class)).isEqualTo(version + 1);
+    }
+
+    @Test
+    void changesOfOtherInstancesAreSeen() {
+        long version = entityChangeTracker.getVersion(Chapter.class);
+        String versionTag = entityChangeTracker.getVersionTag(Chapter.class);
+        List<Long> notifiedVersions = new ArrayList<>();
+        entityChangeTracker.addChangeListener(() -> notifiedVersions.add(entityChangeTracker.getVersion(Chapter.class)), Chapter.class);
+
+        // As incremented by another instance, or by a manual fix
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update("update entity_change set version = version + 1 where entity_name = ?", Chapter.class.getName())
+        );
+        entityChangeTracker.refresh();
+
+        assertThat(entityChangeTracker.getVersion(Chapter.class)).isEqualTo(version + 1);
+        assertThat(entityChangeTracker.getVersionTag(Chapter.class)).isNotEqualTo(versionTag);
+        assertThat(notifiedVersions).contains(version + 1);
+    }
+
+    @Test
+    void versionTagsAreSharedForTheReferenceEntitiesOnly() {
+        assertThat(entityChangeTracker.getVersionTag(Chapter.class)).isEqualTo(Long.toHexString(sharedCounter(Chapter.class)));
+        assertThat(entityChangeTracker.getVersionTag(Chapter.class, Supplier.class)).contains("-");
+    }
+
+    private long sharedCounter(Class<?> entityClass) {
+        Long version = jdbcTemplate.queryForObject("select version from entity_change where entity_name = ?", Long.class, entityClass.getName());
+        return version != null ? version : 0;
+    }
+
+    private long counter(Class<?> entityClass) {
+        // Read by another transaction
+        TransactionTemplate otherTransaction = new TransactionTemplate(transactionManager);
+        otherTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return otherTransaction.execute(status -> entityChangeTracker.getVersion(entityClass));
+    }
+}
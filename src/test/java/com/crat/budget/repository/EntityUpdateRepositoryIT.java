@@ -0,0 +1,136 @@
+package com.crat.budget.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.domain.Supplier;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that an update only replaces the second level cache entry of the updated entity, where a bulk {@code UPDATE}
+ * evicts all the cached entities of its type. The cache is disabled in the other integration tests.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+class EntityUpdateRepositoryIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private PurchaseOrderRepository purchaseOrderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Object> inserted = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        transactionTemplate.executeWithoutResult(status ->
+            inserted.forEach(entity -> em.remove(em.find(entity.getClass(), util.getIdentifier(entity))))
+        );
+    }
+
+    @Test
+    void updateKeepsTheOtherCachedEntities() {
+        Supplier updated = insert(new Supplier().companyName("AAAAAAAAAA").address("AAAAAAAAAA"));
+        Supplier other = insert(new Supplier().companyName("CCCCCCCCCC"));
+        // Read both in the second level cache
+        transactionTemplate.executeWithoutResult(status -> {
+            em.find(Supplier.class, updated.getId());
+            em.find(Supplier.class, other.getId());
+        });
+        Cache cache = em.getEntityManagerFactory().getCache();
+        assertThat(cache.contains(Supplier.class, updated.getId())).isTrue();
+        assertThat(cache.contains(Supplier.class, other.getId())).isTrue();
+
+        transactionTemplate.executeWithoutResult(status ->
+            assertThat(supplierRepository.updateNonNullAttributes(new Supplier().id(updated.getId()).companyName("BBBBBBBBBB")))
+                .get()
+                .extracting(Supplier::getCompanyName)
+                .isEqualTo("BBBBBBBBBB")
+        );
+
+        assertThat(cache.contains(Supplier.class, other.getId())).isTrue();
+        assertThat(cache.contains(Supplier.class, updated.getId())).isTrue();
+        Supplier read = transactionTemplate.execute(status -> em.find(Supplier.class, updated.getId()));
+        assertThat(read.getCompanyName()).isEqualTo("BBBBBBBBBB");
+        // Unchanged by a PATCH
+        assertThat(read.getAddress()).isEqualTo("AAAAAAAAAA");
+    }
+
+    @Test
+    void clearedAttributesAreSetToNull() {
+        Supplier supplier = insert(new Supplier().companyName("AAAAAAAAAA").address("AAAAAAAAAA"));
+
+        transactionTemplate.executeWithoutResult(status ->
+            supplierRepository.updateNonNullAttributes(new Supplier().id(supplier.getId()), Set.of("address"))
+        );
+
+        Supplier read = transactionTemplate.execute(status -> em.find(Supplier.class, supplier.getId()));
+        assertThat(read.getCompanyName()).isEqualTo("AAAAAAAAAA");
+        assertThat(read.getAddress()).isNull();
+    }
+
+    @Test
+    void staleVersionIsRejected() {
+        PurchaseOrder purchaseOrder = insert(
+            new PurchaseOrder().nameOfTheMinistry("AAAAAAAAAA").orderNumber("AAAAAAAAAA").orderDate(Instant.now())
+        );
+        Long id = purchaseOrder.getId();
+        Integer version = purchaseOrder.getVersion();
+
+        PurchaseOrder changes = new PurchaseOrder().id(id).orderNumber("BBBBBBBBBB").version(version);
+        PurchaseOrder result = transactionTemplate.execute(status -> purchaseOrderRepository.updateNonNullAttributes(changes).orElseThrow());
+        assertThat(result.getVersion()).isEqualTo(version + 1);
+
+        PurchaseOrder stale = new PurchaseOrder().id(id).orderNumber("CCCCCCCCCC").version(version);
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> purchaseOrderRepository.updateNonNullAttributes(stale)))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        String orderNumber = transactionTemplate.execute(status -> em.find(PurchaseOrder.class, id).getOrderNumber());
+        assertThat(orderNumber).isEqualTo("BBBBBBBBBB");
+    }
+
+    @Test
+    void unknownEntityIsNotUpdated() {
+        Supplier unknown = new Supplier().id(Long.MAX_VALUE).companyName("BBBBBBBBBB");
+
+        Optional<Supplier> result = transactionTemplate.execute(status -> supplierRepository.updateNonNullAttributes(unknown));
+        assertThat(result).isEmpty();
+    }
+
+    private <E> E insert(E entity) {
+        transactionTemplate.executeWithoutResult(status -> em.persist(entity));
+        inserted.add(entity);
+        return entity;
+    }
+}
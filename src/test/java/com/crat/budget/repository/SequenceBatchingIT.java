@@ -0,0 +1,127 @@
+package com.crat.budget.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.DecisionItem;
+import com.crat.budget.domain.PurchaseOrderItem;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Benchmark of the batched inserts, which checks that the ids allocated by the sequence of each table let the inserts
+ * reach the configured JDBC batch size, and logs their time against unbatched inserts. The number of rows can be set
+ * with the {@code batch.benchmark.rows} system property:
+ * <pre>
+ * ./mvnw verify -Dit.test=SequenceBatchingIT -Dbatch.benchmark.rows=100000
+ * </pre>
+ */
+@IntegrationTest
+@Transactional
+class SequenceBatchingIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SequenceBatchingIT.class);
+
+    private static final int ROWS = Integer.getInteger("batch.benchmark.rows", 500);
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void purchaseOrderItemInsertsReachTheBatchSize() {
+        assertInsertsReachTheBatchSize(PurchaseOrderItem.class, () ->
+            new PurchaseOrderItem().productName("AAAAAAAAAA").quantity(1).unitPrice(BigDecimal.ONE).totalAmount(BigDecimal.ONE)
+        );
+    }
+
+    @Test
+    void decisionItemInsertsReachTheBatchSize() {
+        assertInsertsReachTheBatchSize(DecisionItem.class, () ->
+            new DecisionItem().beneficiary("AAAAAAAAAA").amount(1).observation(BigDecimal.ONE)
+        );
+    }
+
+    private <T> void assertInsertsReachTheBatchSize(Class<T> entityClass, Supplier<T> entitySupplier) {
+        SessionFactoryImplementor sessionFactory = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        int batchSize = sessionFactory.getSessionFactoryOptions().getJdbcBatchSize();
+        Optimizer optimizer = (
+            (SequenceStyleGenerator) sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass).getGenerator()
+        ).getOptimizer();
+        assertThat(batchSize).isGreaterThan(1);
+        assertThat(optimizer).isInstanceOf(PooledLoOptimizer.class);
+        int allocationSize = optimizer.getIncrementSize();
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            long unbatchedMillis = insert(entitySupplier, 1);
+            long unbatchedStatements = statistics.getPrepareStatementCount();
+            statistics.clear();
+            AtomicInteger batches = new AtomicInteger();
+            em
+                .unwrap(Session.class)
+                .addEventListeners(
+                    new BaseSessionEventListener() {
+                        @Override
+                        public void jdbcExecuteBatchStart() {
+                            batches.incrementAndGet();
+                        }
+                    }
+                );
+            long batchedMillis = insert(entitySupplier, batchSize);
+            long batchedStatements = statistics.getPrepareStatementCount();
+            LOG.info(
+                "Inserted {} {} in {} ms with {} statements unbatched, in {} ms with {} statements in {} batches",
+                ROWS,
+                entityClass.getSimpleName(),
+                unbatchedMillis,
+                unbatchedStatements,
+                batchedMillis,
+                batchedStatements,
+                batches.get()
+            );
+
+            // Every batch is full but the last
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+            assertThat(batches.get()).isEqualTo((ROWS + batchSize - 1) / batchSize);
+            // The insert is prepared once, and the sequence is called once per block of ids, plus a partly used block
+            long sequenceCalls = ROWS / allocationSize;
+            assertThat(batchedStatements).isBetween(1 + sequenceCalls, 2 + sequenceCalls);
+            assertThat(unbatchedStatements).isBetween(ROWS + sequenceCalls, ROWS + sequenceCalls + 1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private <T> long insert(Supplier<T> entitySupplier, int batchSize) {
+        Session session = em.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        List<T> entities = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            entities.add(entitySupplier.get());
+        }
+        long start = System.nanoTime();
+        entities.forEach(em::persist);
+        em.flush();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        em.clear();
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,135 @@
+package com.crat.budget.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.CreditReservation;
+import com.crat.budget.repository.AnnexDecisionRepository;
+import com.crat.budget.repository.CreditReservationRepository;
+import com.crat.budget.service.dto.CreditBalanceDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link CreditLedgerService}.
+ * <p>
+ * Not transactional: the reservations are made concurrently by other threads, each in its own transaction.
+ */
+@IntegrationTest
+class CreditLedgerServiceIT {
+
+    private static final BigDecimal CREDITS_OPEN = new BigDecimal("1000.00");
+
+    private static final BigDecimal AMOUNT = new BigDecimal("7.00");
+
+    private static final int THREADS = 16;
+
+    private static final int RESERVATIONS_PER_THREAD = 25;
+
+    @Autowired
+    private CreditLedgerService creditLedgerService;
+
+    @Autowired
+    private AnnexDecisionRepository annexDecisionRepository;
+
+    @Autowired
+    private CreditReservationRepository creditReservationRepository;
+
+    private AnnexDecision annexDecision;
+
+    @BeforeEach
+    public void initTest() {
+        annexDecision = annexDecisionRepository.saveAndFlush(
+            new AnnexDecision().designation("AAAAAAAAAA").creditsOpen(CREDITS_OPEN.toPlainString()).creditsOpenValue(CREDITS_OPEN)
+        );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        creditReservationRepository.deleteAllInBatch(
+            creditReservationRepository
+                .findAll()
+                .stream()
+                .filter(reservation -> reservation.getAnnexDecisionId().equals(annexDecision.getId()))
+                .toList()
+        );
+        // The credit line is deleted with its annex decision
+        annexDecisionRepository.deleteById(annexDecision.getId());
+    }
+
+    @Test
+    void concurrentReservationsNeverOverCommit() throws Exception {
+        Long annexDecisionId = annexDecision.getId();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<BigDecimal> observedAvailable = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            // Samples the balance while the reservations are made
+            Future<?> sampler = executor.submit(() -> {
+                while (running.get()) {
+                    creditLedgerService.getBalance(annexDecisionId).map(CreditBalanceDTO::available).ifPresent(observedAvailable::add);
+                }
+            });
+            List<Future<List<CreditReservation>>> clerks = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                clerks.add(
+                    executor.submit(() -> {
+                        start.await();
+                        List<CreditReservation> kept = new ArrayList<>();
+                        for (int i = 0; i < RESERVATIONS_PER_THREAD; i++) {
+                            try {
+                                CreditReservation reservation = creditLedgerService.reserve(annexDecisionId, AMOUNT, null).orElseThrow();
+                                if (i % 5 == 0) {
+                                    // Some commitments are cancelled, and their credits reserved again by others
+                                    creditLedgerService.release(reservation.getId());
+                                    creditLedgerService.release(reservation.getId());
+                                    released.incrementAndGet();
+                                } else {
+                                    kept.add(reservation);
+                                }
+                            } catch (CreditReservationException e) {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                        return kept;
+                    })
+                );
+            }
+            start.countDown();
+            List<CreditReservation> kept = new ArrayList<>();
+            for (Future<List<CreditReservation>> clerk : clerks) {
+                kept.addAll(clerk.get(2, TimeUnit.MINUTES));
+            }
+            running.set(false);
+            sampler.get(1, TimeUnit.MINUTES);
+
+            int maxKept = CREDITS_OPEN.divideToIntegralValue(AMOUNT).intValue();
+            assertThat(kept).hasSize(maxKept);
+            assertThat(rejected.get()).isEqualTo(THREADS * RESERVATIONS_PER_THREAD - released.get() - maxKept);
+            assertThat(observedAvailable).isNotEmpty().allSatisfy(available -> assertThat(available).isNotNegative());
+
+            CreditBalanceDTO balance = creditLedgerService.getBalance(annexDecisionId).orElseThrow();
+            assertThat(balance.reserved()).isEqualByComparingTo(AMOUNT.multiply(BigDecimal.valueOf(maxKept)));
+            assertThat(balance.available()).isEqualByComparingTo(CREDITS_OPEN.subtract(balance.reserved())).isNotNegative();
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.crat.budget.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.config.ApplicationProperties;
+import com.crat.budget.domain.Supplier;
+import com.crat.budget.repository.SupplierRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link DatasetGeneratorService}, at a small scale.
+ * <p>
+ * Not transactional: the chunks are written by transactions of their own, on other threads.
+ */
+@IntegrationTest
+class DatasetGeneratorServiceIT {
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Map<String, DatasetGeneratorService.GeneratedTable> tables = Map.of();
+
+    private final List<Supplier> suppliers = new ArrayList<>();
+
+    @AfterEach
+    public void cleanup() {
+        supplierRepository.deleteAll(suppliers);
+        if (!tables.isEmpty()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> deleteGeneratedRows());
+        }
+    }
+
+    private void deleteGeneratedRows() {
+        delete("budget_execution_summary", "financial_year_id", "financial_year");
+        delete("rel_article__recipe", "recipe_id", "recipe");
+        delete("rel_article__expense", "expense_id", "expense");
+        for (String table : List.of(
+            "mandate",
+            "decision_item",
+            "decision",
+            "purchase_order_item",
+            "purchase_order",
+            "engagement",
+            "supplier",
+            "expense",
+            "recipe",
+            "annex_decision",
+            "article",
+            "chapter",
+            "sub_title",
+            "financial_year"
+        )) {
+            delete(table, "id", table);
+        }
+    }
+
+    @Test
+    void generatesAReferentiallyConsistentDataset() {
+        ApplicationProperties.Dataset dataset = dataset();
+
+        tables = datasetGeneratorService
+            .generate(dataset)
+            .stream()
+            .collect(Collectors.toMap(DatasetGeneratorService.GeneratedTable::name, table -> table));
+
+        assertThat(tables.get("financial_year").rows()).isEqualTo(3);
+        assertThat(tables.get("purchase_order_item").rows()).isEqualTo(1_000);
+        assertThat(tables.get("rel_article__recipe").rows()).isEqualTo(60);
+        assertThat(count("purchase_order_item")).isEqualTo(1_000);
+        assertThat(count("decision_item")).isEqualTo(250);
+        assertThat(count("mandate")).isEqualTo(30);
+        assertThat(count("annex_decision")).isEqualTo(3);
+        // The budget execution of every generated year is summarized
+        DatasetGeneratorService.GeneratedTable financialYears = tables.get("financial_year");
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(distinct financial_year_id) from budget_execution_summary where financial_year_id between ? and ?",
+                Long.class,
+                financialYears.firstId(),
+                financialYears.firstId() + financialYears.rows() - 1
+            )
+        ).isEqualTo(3);
+
+        // Every order has items, and its totals are theirs
+        DatasetGeneratorService.GeneratedTable purchaseOrders = tables.get("purchase_order");
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from purchase_order po where po.id between ? and ? and (po.total_amount_without_tax is null" +
+                " or po.total_amount_without_tax <> (select sum(poi.total_amount) from purchase_order_item poi" +
+                " where poi.purchase_order_id = po.id)" +
+                " or po.total_amount_with_tax <> po.total_amount_without_tax + po.total_tax_amount)",
+                Long.class,
+                purchaseOrders.firstId(),
+                purchaseOrders.firstId() + purchaseOrders.rows() - 1
+            )
+        ).isZero();
+
+        // The orders refer to the annex decision of their year
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from purchase_order po join annex_decision ad on ad.id = po.annex_decision_id" +
+                " join financial_year fy on fy.id = ad.financial_year_id where po.id between ? and ?" +
+                " and extract(year from po.order_date) <> fy.year",
+                Long.class,
+                purchaseOrders.firstId(),
+                purchaseOrders.firstId() + purchaseOrders.rows() - 1
+            )
+        ).isZero();
+
+        // Once the block allocated before the generation is used up, the next block starts right after the generated ids
+        DatasetGeneratorService.GeneratedTable generatedSuppliers = tables.get("supplier");
+        Supplier supplier;
+        do {
+            supplier = supplierRepository.saveAndFlush(new Supplier().companyName("AAAAAAAAAA"));
+            suppliers.add(supplier);
+        } while (supplier.getId() < generatedSuppliers.firstId());
+        assertThat(supplier.getId()).isEqualTo(generatedSuppliers.firstId() + generatedSuppliers.rows());
+    }
+
+    @Test
+    void rejectsAnInconsistentScale() {
+        ApplicationProperties.Dataset dataset = dataset();
+        dataset.setDecisions(dataset.getEngagements() + 1);
+
+        assertThatThrownBy(() -> datasetGeneratorService.generate(dataset))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("at most one decision");
+    }
+
+    private static ApplicationProperties.Dataset dataset() {
+        ApplicationProperties.Dataset dataset = new ApplicationProperties.Dataset();
+        dataset.setFinancialYears(3);
+        dataset.setSubTitles(2);
+        dataset.setChapters(5);
+        dataset.setArticles(20);
+        dataset.setSuppliers(10);
+        dataset.setEngagements(40);
+        dataset.setPurchaseOrders(60);
+        dataset.setPurchaseOrderItems(1_000);
+        dataset.setDecisions(30);
+        dataset.setDecisionItems(250);
+        dataset.setMandates(30);
+        // Several chunks and statements per table, and a partial statement at the end of a chunk
+        dataset.setChunkSize(130);
+        dataset.setThreads(3);
+        return dataset;
+    }
+
+    private long count(String table) {
+        DatasetGeneratorService.GeneratedTable generated = tables.get(table);
+        return jdbcTemplate.queryForObject(
+            "select count(*) from " + table + " where id between ? and ?",
+            Long.class,
+            generated.firstId(),
+            generated.firstId() + generated.rows() - 1
+        );
+    }
+
+    private void delete(String table, String column, String generatedTable) {
+        DatasetGeneratorService.GeneratedTable generated = tables.get(generatedTable);
+        jdbcTemplate.update(
+            "delete from " + table + " where " + column + " between ? and ?",
+            generated.firstId(),
+            generated.firstId() + generated.rows() - 1
+        );
+    }
+}
@@ -0,0 +1,62 @@
+package com.crat.budget.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.service.IndexAdvisor.FilterUsage;
+import com.crat.budget.service.criteria.PurchaseOrderCriteria;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link IndexAdvisor}.
+ */
+@IntegrationTest
+@Transactional
+class IndexAdvisorIT {
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @Autowired
+    private PurchaseOrderQueryService purchaseOrderQueryService;
+
+    @Test
+    void recordsFilteredColumnsAndTheirIndexes() {
+        PurchaseOrderCriteria criteria = new PurchaseOrderCriteria();
+        criteria.nameOfTheMinistry().setEquals("ministry");
+        criteria.orderNumber().setEquals("BC-1");
+        criteria.supplierId().setEquals(1L);
+        criteria.purchaseOrderItemId().setEquals(1L);
+
+        purchaseOrderQueryService.findByCriteria(criteria, Pageable.ofSize(1), Set.of(), CountMode.EXACT);
+
+        List<FilterUsage> usages = indexAdvisor.getFilterUsages();
+        assertThat(findUsage(usages, "nameOfTheMinistry")).hasValueSatisfying(usage -> {
+            assertThat(usage.table()).isEqualTo("purchase_order");
+            assertThat(usage.columns()).containsExactly("name_of_the_ministry");
+            assertThat(usage.indexed()).isFalse();
+            assertThat(usage.hits()).isPositive();
+        });
+        assertThat(findUsage(usages, "orderNumber")).hasValueSatisfying(usage -> assertThat(usage.indexed()).isTrue());
+        assertThat(findUsage(usages, "supplier")).hasValueSatisfying(usage -> {
+            assertThat(usage.columns()).containsExactly("supplier_id");
+            assertThat(usage.indexed()).isTrue();
+        });
+        assertThat(findUsage(usages, "purchaseOrderItems")).hasValueSatisfying(usage -> {
+            assertThat(usage.table()).isEqualTo("purchase_order_item");
+            assertThat(usage.columns()).containsExactly("purchase_order_id");
+            assertThat(usage.indexed()).isTrue();
+        });
+        assertThat(indexAdvisor.getUnindexedFilters()).extracting(FilterUsage::attribute).contains("nameOfTheMinistry");
+    }
+
+    private static Optional<FilterUsage> findUsage(List<FilterUsage> usages, String attribute) {
+        return usages.stream().filter(usage -> "PurchaseOrder".equals(usage.entity()) && attribute.equals(usage.attribute())).findFirst();
+    }
+}
@@ -0,0 +1,50 @@
+package com.crat.budget.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class MonetaryAmountParserTest {
+
+    @Test
+    void parsePlainAmounts() {
+        assertThat(MonetaryAmountParser.parse("1500")).contains(new BigDecimal("1500.00"));
+        assertThat(MonetaryAmountParser.parse("-12.5")).contains(new BigDecimal("-12.50"));
+        assertThat(MonetaryAmountParser.parse("12,345")).contains(new BigDecimal("12345.00"));
+        assertThat(MonetaryAmountParser.parse("12,3456")).contains(new BigDecimal("12.35"));
+    }
+
+    @Test
+    void parseGroupedAmounts() {
+        assertThat(MonetaryAmountParser.parse("1 234 567,89")).contains(new BigDecimal("1234567.89"));
+        assertThat(MonetaryAmountParser.parse("1 234,5")).contains(new BigDecimal("1234.50"));
+        assertThat(MonetaryAmountParser.parse("1.234.567,89")).contains(new BigDecimal("1234567.89"));
+        assertThat(MonetaryAmountParser.parse("1,234,567.89")).contains(new BigDecimal("1234567.89"));
+        assertThat(MonetaryAmountParser.parse("1'234'567")).contains(new BigDecimal("1234567.00"));
+    }
+
+    @Test
+    void parseAmountsWithCurrency() {
+        assertThat(MonetaryAmountParser.parse("1 500,00 DA")).contains(new BigDecimal("1500.00"));
+        assertThat(MonetaryAmountParser.parse("DZD 1500")).contains(new BigDecimal("1500.00"));
+        assertThat(MonetaryAmountParser.parse("€12.30")).contains(new BigDecimal("12.30"));
+    }
+
+    @Test
+    void rejectTextsWhichAreNotAmounts() {
+        assertThat(MonetaryAmountParser.parse(null)).isEmpty();
+        assertThat(MonetaryAmountParser.parse("  ")).isEmpty();
+        assertThat(MonetaryAmountParser.parse("AAAAAAAAAA")).isEmpty();
+        assertThat(MonetaryAmountParser.parse("12 DA 50")).isEmpty();
+        assertThat(MonetaryAmountParser.parse("1..2")).isEmpty();
+        assertThat(MonetaryAmountParser.parse("12345678901234567890")).isEmpty();
+    }
+
+    @Test
+    void distinguishBlankTexts() {
+        assertThat(MonetaryAmountParser.isBlank(null)).isTrue();
+        assertThat(MonetaryAmountParser.isBlank("  ")).isTrue();
+        assertThat(MonetaryAmountParser.isBlank("AAAAAAAAAA")).isFalse();
+    }
+}
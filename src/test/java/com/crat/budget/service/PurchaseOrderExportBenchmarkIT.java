@@ -0,0 +1,169 @@
+package com.crat.budget.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.service.criteria.PurchaseOrderCriteria;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Benchmark of the {@link PurchaseOrderExportService}, which exports as many purchase orders, each with one item, as
+ * the {@code export.benchmark.rows} system property tells, and logs the throughput and the heap used:
+ * <pre>
+ * ./mvnw verify -Dit.test=PurchaseOrderExportBenchmarkIT -Dexport.benchmark.rows=1000000
+ * </pre>
+ * Running it with a small maximum heap ({@code -DargLine=-Xmx256m}) checks that the export does not keep its rows.
+ */
+@IntegrationTest
+@EnabledIfSystemProperty(named = "export.benchmark.rows", matches = "[0-9]+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PurchaseOrderExportBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PurchaseOrderExportBenchmarkIT.class);
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    @Autowired
+    private PurchaseOrderExportService purchaseOrderExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private int rows;
+
+    private long firstId;
+
+    @BeforeAll
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    public void insertRows() {
+        rows = Integer.parseInt(System.getProperty("export.benchmark.rows"));
+        firstId =
+            Math.max(
+                jdbcTemplate.queryForObject("select coalesce(max(id), 0) from purchase_order", Long.class),
+                jdbcTemplate.queryForObject("select coalesce(max(id), 0) from purchase_order_item", Long.class)
+            ) +
+            1_000_000;
+        Timestamp orderDate = Timestamp.from(Instant.now());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int start = 0; start < rows; start += INSERT_BATCH_SIZE) {
+            List<Object[]> purchaseOrders = new ArrayList<>();
+            List<Object[]> items = new ArrayList<>();
+            for (long id = firstId + start; id < firstId + Math.min(rows, start + INSERT_BATCH_SIZE); id++) {
+                BigDecimal amount = BigDecimal.valueOf(id % 100_000, 2);
+                purchaseOrders.add(new Object[] { id, "Ministry of Finance", "PO-" + id, orderDate, amount });
+                items.add(new Object[] { id, "Product, \"" + id + "\"", 1, amount, amount, id });
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(
+                    "insert into purchase_order (id, name_of_the_ministry, order_number, order_date, total_amount_with_tax) " +
+                    "values (?, ?, ?, ?, ?)",
+                    purchaseOrders
+                );
+                jdbcTemplate.batchUpdate(
+                    "insert into purchase_order_item (id, product_name, quantity, unit_price, total_amount, purchase_order_id) " +
+                    "values (?, ?, ?, ?, ?, ?)",
+                    items
+                );
+            });
+        }
+    }
+
+    @AfterAll
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    public void deleteRows() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from purchase_order_item where id >= ?", firstId);
+            jdbcTemplate.update("delete from purchase_order where id >= ?", firstId);
+        });
+    }
+
+    @ParameterizedTest
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    @EnumSource(ExportFormat.class)
+    void exportRows(ExportFormat format) throws Exception {
+        PurchaseOrderCriteria criteria = new PurchaseOrderCriteria();
+        LongFilter idFilter = new LongFilter();
+        idFilter.setGreaterThanOrEqual(firstId);
+        criteria.setId(idFilter);
+        CountingOutputStream outputStream = new CountingOutputStream();
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        AtomicLong maxHeap = new AtomicLong(heapBefore);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                maxHeap.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                Thread.onSpinWait();
+            }
+        });
+        sampler.start();
+        long start = System.nanoTime();
+        long exported;
+        try {
+            exported = purchaseOrderExportService.export(criteria, Sort.unsorted(), format, outputStream);
+        } finally {
+            running.set(false);
+            sampler.join();
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        LOG.info(
+            "Exported {} rows as {} in {} ms ({} rows/s, {} MiB written), heap used before {} MiB, max {} MiB, after {} MiB",
+            exported,
+            format,
+            elapsedMillis,
+            exported * 1000 / elapsedMillis,
+            outputStream.count / (1024 * 1024),
+            heapBefore / (1024 * 1024),
+            maxHeap.get() / (1024 * 1024),
+            heapAfter / (1024 * 1024)
+        );
+        assertThat(exported).isEqualTo(rows);
+        assertThat(outputStream.count).isGreaterThan(exported);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
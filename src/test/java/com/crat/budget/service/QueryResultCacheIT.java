@@ -0,0 +1,132 @@
+package com.crat.budget.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.aop.sql.StatementStatistics;
+import com.crat.budget.domain.FinancialYear;
+import com.crat.budget.domain.SubTitle;
+import com.crat.budget.repository.FinancialYearRepository;
+import com.crat.budget.repository.SubTitleRepository;
+import com.crat.budget.service.criteria.SubTitleCriteria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Integration tests for the {@link QueryResultCache} in front of the criteria query services.
+ * <p>
+ * Not transactional: the cache is only used by read-only transactions, and only invalidated by committed writes.
+ */
+@IntegrationTest
+class QueryResultCacheIT {
+
+    private static final String CODE_PREFIX = "CACHED-";
+
+    @Autowired
+    private SubTitleQueryService subTitleQueryService;
+
+    @Autowired
+    private SubTitleRepository subTitleRepository;
+
+    @Autowired
+    private FinancialYearRepository financialYearRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<SubTitle> subTitles = new ArrayList<>();
+
+    private FinancialYear financialYear;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void initTest() {
+        subTitles.add(subTitleRepository.saveAndFlush(new SubTitle().code(CODE_PREFIX + "1").designation("AAAAAAAAAA")));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        statistics.setStatisticsEnabled(false);
+        subTitleRepository.deleteAll(subTitles);
+        if (financialYear != null) {
+            financialYearRepository.delete(financialYear);
+        }
+    }
+
+    @Test
+    void resultsAreCachedUntilADependencyIsWritten() {
+        SubTitleCriteria criteria = new SubTitleCriteria();
+        StringFilter code = new StringFilter();
+        code.setContains(CODE_PREFIX);
+        criteria.setCode(code);
+        PageRequest page = PageRequest.of(0, 1, Sort.by("code"));
+        double hits = count("hit");
+        double misses = count("miss");
+
+        assertThat(findCodes(criteria, page)).containsExactly(CODE_PREFIX + "1");
+        assertThat(subTitleQueryService.countByCriteria(criteria)).isEqualTo(1);
+        assertThat(count("miss") - misses).isEqualTo(2);
+
+        // Equal criteria hit the cache: only the entities of the page are loaded, nothing is counted
+        startCounting();
+        SubTitleCriteria copy = criteria.copy();
+        assertThat(findCodes(copy, page)).containsExactly(CODE_PREFIX + "1");
+        assertThat(subTitleQueryService.countByCriteria(copy)).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(count("hit") - hits).isEqualTo(2);
+        // Not even a statement to check the versions of the dependencies
+        try (StatementStatistics sql = StatementStatistics.open()) {
+            assertThat(subTitleQueryService.countByCriteria(copy)).isEqualTo(1);
+            assertThat(sql.getStatements()).isZero();
+        }
+
+        // A write to an entity the queries do not depend on leaves them cached
+        financialYear = financialYearRepository.saveAndFlush(new FinancialYear().year(876_544));
+        assertThat(subTitleQueryService.countByCriteria(criteria)).isEqualTo(1);
+        assertThat(count("hit") - hits).isEqualTo(4);
+
+        // A committed write to the sub-titles invalidates them
+        subTitles.add(subTitleRepository.saveAndFlush(new SubTitle().code(CODE_PREFIX + "0").designation("AAAAAAAAAA")));
+        assertThat(findCodes(criteria, page)).containsExactly(CODE_PREFIX + "0");
+        assertThat(subTitleQueryService.countByCriteria(criteria)).isEqualTo(2);
+        assertThat(count("miss") - misses).isEqualTo(4);
+    }
+
+    private List<String> findCodes(SubTitleCriteria criteria, PageRequest page) {
+        Slice<SubTitle> result = subTitleQueryService.findByCriteria(criteria, page, Set.of(), CountMode.NONE);
+        return result.getContent().stream().map(SubTitle::getCode).toList();
+    }
+
+    private double count(String result) {
+        Counter counter = meterRegistry
+            .find(QueryResultCache.METER_NAME)
+            .tag("entity", SubTitle.class.getSimpleName())
+            .tag("result", result)
+            .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private void startCounting() {
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+    }
+}
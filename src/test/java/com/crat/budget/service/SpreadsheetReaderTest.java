@@ -0,0 +1,138 @@
+package com.crat.budget.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpreadsheetReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readCsvWithQuotedCells() throws IOException {
+        Path file = write(
+            "articles.csv",
+            "\uFEFFcode,designation\r\n\"61,10\",\"Fournitures \"\"bureau\"\"\nimprimées\"\r\n6120,\r\n,\n6130,Loyers"
+        );
+
+        List<SpreadsheetReader.Row> rows = readAll(ImportFormat.CSV, file);
+
+        assertThat(rows).extracting(SpreadsheetReader.Row::number).containsExactly(1L, 2L, 4L, 5L, 6L);
+        assertThat(rows.get(0).cells()).containsExactly("code", "designation");
+        assertThat(rows.get(1).cells()).containsExactly("61,10", "Fournitures \"bureau\"\nimprimées");
+        assertThat(rows.get(2).get(0)).isEqualTo("6120");
+        assertThat(rows.get(2).get(1)).isNull();
+        assertThat(rows.get(3).isBlank()).isTrue();
+        assertThat(rows.get(4).cells()).containsExactly("6130", "Loyers");
+    }
+
+    @Test
+    void readCsvWithSemicolons() throws IOException {
+        Path file = write("recipes.csv", "year;newYearForecast;articles\n2025;1 500;\"6110, 6120\"\n");
+
+        List<SpreadsheetReader.Row> rows = readAll(ImportFormat.CSV, file);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(1).cells()).containsExactly("2025", "1 500", "6110, 6120");
+    }
+
+    @Test
+    void rejectCsvWithUnterminatedQuote() throws IOException {
+        Path file = write("articles.csv", "code,designation\n6110,\"Fournitures\n");
+
+        assertThatThrownBy(() -> readAll(ImportFormat.CSV, file)).isInstanceOf(IOException.class).hasMessageContaining("line 2");
+    }
+
+    @Test
+    void readFirstSheetOfXlsx() throws IOException {
+        Path file = writeXlsx(
+            Map.of(
+                "xl/workbook.xml",
+                "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" " +
+                "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">" +
+                "<sheets><sheet name=\"Articles\" sheetId=\"1\" r:id=\"rId3\"/>" +
+                "<sheet name=\"Other\" sheetId=\"2\" r:id=\"rId1\"/></sheets>" +
+                "</workbook>",
+                "xl/_rels/workbook.xml.rels",
+                "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+                "<Relationship Id=\"rId1\" Target=\"worksheets/sheet1.xml\"/>" +
+                "<Relationship Id=\"rId3\" Target=\"/xl/worksheets/sheet2.xml\"/>" +
+                "</Relationships>",
+                "xl/sharedStrings.xml",
+                "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+                "<si><t>code</t></si><si><t>designation</t></si>" +
+                "<si><r><t>Fournitures </t></r><r><t>de bureau</t></r><rPh><t>ignored</t></rPh></si>" +
+                "</sst>",
+                "xl/worksheets/sheet1.xml",
+                "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData/></worksheet>",
+                "xl/worksheets/sheet2.xml",
+                "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>" +
+                "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"B1\" t=\"s\"><v>1</v></c></row>" +
+                "<row r=\"3\"><c r=\"A3\"><v>6110.0</v></c><c r=\"B3\" t=\"s\"><v>2</v></c>" +
+                "<c r=\"D3\" t=\"inlineStr\"><is><t>x</t></is></c></row>" +
+                "<row r=\"4\"><c r=\"B4\" t=\"b\"><v>1</v></c></row>" +
+                "</sheetData></worksheet>"
+            )
+        );
+
+        List<SpreadsheetReader.Row> rows = readAll(ImportFormat.XLSX, file);
+
+        assertThat(rows).extracting(SpreadsheetReader.Row::number).containsExactly(1L, 3L, 4L);
+        assertThat(rows.get(0).cells()).containsExactly("code", "designation");
+        assertThat(rows.get(1).cells()).containsExactly("6110", "Fournitures de bureau", null, "x");
+        assertThat(rows.get(2).cells()).containsExactly(null, "TRUE");
+    }
+
+    @Test
+    void rejectFileWhichIsNotXlsx() throws IOException {
+        Path file = write("articles.xlsx", "code,designation\n");
+
+        assertThatThrownBy(() -> readAll(ImportFormat.XLSX, file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void getColumnIndexOfCellReference() {
+        assertThat(XlsxSpreadsheetReader.columnIndex("A1")).isZero();
+        assertThat(XlsxSpreadsheetReader.columnIndex("Z9")).isEqualTo(25);
+        assertThat(XlsxSpreadsheetReader.columnIndex("AB12")).isEqualTo(27);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private Path writeXlsx(Map<String, String> entries) throws IOException {
+        Path file = directory.resolve("workbook.xlsx");
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    private static List<SpreadsheetReader.Row> readAll(ImportFormat format, Path file) throws IOException {
+        List<SpreadsheetReader.Row> rows = new ArrayList<>();
+        try (SpreadsheetReader reader = SpreadsheetReader.open(format, file)) {
+            for (SpreadsheetReader.Row row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
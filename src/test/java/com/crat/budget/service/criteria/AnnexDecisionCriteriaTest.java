@@ -78,8 +78,11 @@ class AnnexDecisionCriteriaTest {
         annexDecisionCriteria.id();
         annexDecisionCriteria.designation();
         annexDecisionCriteria.expenseAmount();
+        annexDecisionCriteria.expenseAmountValue();
         annexDecisionCriteria.creditsAlreadyOpen();
+        annexDecisionCriteria.creditsAlreadyOpenValue();
         annexDecisionCriteria.creditsOpen();
+        annexDecisionCriteria.creditsOpenValue();
         annexDecisionCriteria.financialYearId();
         annexDecisionCriteria.expenseId();
         annexDecisionCriteria.purchaseOrderId();
@@ -93,8 +96,11 @@ class AnnexDecisionCriteriaTest {
                 condition.apply(criteria.getId()) &&
                 condition.apply(criteria.getDesignation()) &&
                 condition.apply(criteria.getExpenseAmount()) &&
+                condition.apply(criteria.getExpenseAmountValue()) &&
                 condition.apply(criteria.getCreditsAlreadyOpen()) &&
+                condition.apply(criteria.getCreditsAlreadyOpenValue()) &&
                 condition.apply(criteria.getCreditsOpen()) &&
+                condition.apply(criteria.getCreditsOpenValue()) &&
                 condition.apply(criteria.getFinancialYearId()) &&
                 condition.apply(criteria.getExpenseId()) &&
                 condition.apply(criteria.getPurchaseOrderId()) &&
@@ -113,8 +119,11 @@ class AnnexDecisionCriteriaTest {
                 condition.apply(criteria.getId(), copy.getId()) &&
                 condition.apply(criteria.getDesignation(), copy.getDesignation()) &&
                 condition.apply(criteria.getExpenseAmount(), copy.getExpenseAmount()) &&
+                condition.apply(criteria.getExpenseAmountValue(), copy.getExpenseAmountValue()) &&
                 condition.apply(criteria.getCreditsAlreadyOpen(), copy.getCreditsAlreadyOpen()) &&
+                condition.apply(criteria.getCreditsAlreadyOpenValue(), copy.getCreditsAlreadyOpenValue()) &&
                 condition.apply(criteria.getCreditsOpen(), copy.getCreditsOpen()) &&
+                condition.apply(criteria.getCreditsOpenValue(), copy.getCreditsOpenValue()) &&
                 condition.apply(criteria.getFinancialYearId(), copy.getFinancialYearId()) &&
                 condition.apply(criteria.getExpenseId(), copy.getExpenseId()) &&
                 condition.apply(criteria.getPurchaseOrderId(), copy.getPurchaseOrderId()) &&
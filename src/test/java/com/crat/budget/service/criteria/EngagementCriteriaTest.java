@@ -80,9 +80,13 @@ class EngagementCriteriaTest {
         engagementCriteria.engagementDate();
         engagementCriteria.objectOfExpense();
         engagementCriteria.notifiedCredits();
+        engagementCriteria.notifiedCreditsValue();
         engagementCriteria.creditCommitted();
+        engagementCriteria.creditCommittedValue();
         engagementCriteria.creditsAvailable();
+        engagementCriteria.creditsAvailableValue();
         engagementCriteria.amountProposedCommitment();
+        engagementCriteria.amountProposedCommitmentValue();
         engagementCriteria.headDaf();
         engagementCriteria.financialController();
         engagementCriteria.generalManager();
@@ -100,9 +104,13 @@ class EngagementCriteriaTest {
                 condition.apply(criteria.getEngagementDate()) &&
                 condition.apply(criteria.getObjectOfExpense()) &&
                 condition.apply(criteria.getNotifiedCredits()) &&
+                condition.apply(criteria.getNotifiedCreditsValue()) &&
                 condition.apply(criteria.getCreditCommitted()) &&
+                condition.apply(criteria.getCreditCommittedValue()) &&
                 condition.apply(criteria.getCreditsAvailable()) &&
+                condition.apply(criteria.getCreditsAvailableValue()) &&
                 condition.apply(criteria.getAmountProposedCommitment()) &&
+                condition.apply(criteria.getAmountProposedCommitmentValue()) &&
                 condition.apply(criteria.getHeadDaf()) &&
                 condition.apply(criteria.getFinancialController()) &&
                 condition.apply(criteria.getGeneralManager()) &&
@@ -122,9 +130,13 @@ class EngagementCriteriaTest {
                 condition.apply(criteria.getEngagementDate(), copy.getEngagementDate()) &&
                 condition.apply(criteria.getObjectOfExpense(), copy.getObjectOfExpense()) &&
                 condition.apply(criteria.getNotifiedCredits(), copy.getNotifiedCredits()) &&
+                condition.apply(criteria.getNotifiedCreditsValue(), copy.getNotifiedCreditsValue()) &&
                 condition.apply(criteria.getCreditCommitted(), copy.getCreditCommitted()) &&
+                condition.apply(criteria.getCreditCommittedValue(), copy.getCreditCommittedValue()) &&
                 condition.apply(criteria.getCreditsAvailable(), copy.getCreditsAvailable()) &&
+                condition.apply(criteria.getCreditsAvailableValue(), copy.getCreditsAvailableValue()) &&
                 condition.apply(criteria.getAmountProposedCommitment(), copy.getAmountProposedCommitment()) &&
+                condition.apply(criteria.getAmountProposedCommitmentValue(), copy.getAmountProposedCommitmentValue()) &&
                 condition.apply(criteria.getHeadDaf(), copy.getHeadDaf()) &&
                 condition.apply(criteria.getFinancialController(), copy.getFinancialController()) &&
                 condition.apply(criteria.getGeneralManager(), copy.getGeneralManager()) &&
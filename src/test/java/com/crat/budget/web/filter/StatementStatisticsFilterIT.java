@@ -0,0 +1,59 @@
+package com.crat.budget.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.aop.sql.RepositoryStatementsAspect;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@AutoConfigureMockMvc
+@WithMockUser
+@IntegrationTest
+class StatementStatisticsFilterIT {
+
+    private static final String REQUEST_STATEMENTS = StatementStatisticsFilter.METER_NAME + ".statements";
+
+    private static final String REPOSITORY_STATEMENTS = RepositoryStatementsAspect.METER_NAME + ".statements";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void countsTheStatementsOfARequest() throws Exception {
+        long requests = count(REQUEST_STATEMENTS, "uri", "/api/suppliers/{id}");
+        long invocations = count(REPOSITORY_STATEMENTS, "repository", "SupplierRepository", "method", "findById");
+
+        // An unknown supplier, which is looked up in the database
+        MvcResult result = mockMvc.perform(get("/api/suppliers/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound()).andReturn();
+
+        assertThat(Long.parseLong(result.getResponse().getHeader(StatementStatisticsFilter.QUERY_COUNT_HEADER))).isPositive();
+        DistributionSummary statements = meterRegistry.get(REQUEST_STATEMENTS).tag("uri", "/api/suppliers/{id}").summary();
+        assertThat(statements.count()).isEqualTo(requests + 1);
+        assertThat(statements.getId().getTag("method")).isEqualTo("GET");
+        assertThat(count(REPOSITORY_STATEMENTS, "repository", "SupplierRepository", "method", "findById")).isEqualTo(invocations + 1);
+    }
+
+    @Test
+    void countsTheStatementsOfAnUnmappedRequest() throws Exception {
+        MvcResult result = mockMvc.perform(get("/file.js")).andExpect(status().isNotFound()).andReturn();
+
+        assertThat(result.getResponse().getHeader(StatementStatisticsFilter.QUERY_COUNT_HEADER)).isEqualTo("0");
+    }
+
+    private long count(String name, String... tags) {
+        DistributionSummary summary = meterRegistry.find(name).tags(tags).summary();
+        return summary != null ? summary.count() : 0;
+    }
+}
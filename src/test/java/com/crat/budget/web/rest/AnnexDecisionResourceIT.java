@@ -2,6 +2,7 @@ package com.crat.budget.web.rest;
 
 import static com.crat.budget.domain.AnnexDecisionAsserts.*;
 import static com.crat.budget.web.rest.TestUtil.createUpdateProxyForBean;
+import static com.crat.budget.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -13,6 +14,7 @@ import com.crat.budget.domain.FinancialYear;
 import com.crat.budget.repository.AnnexDecisionRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -45,6 +47,9 @@ class AnnexDecisionResourceIT {
     private static final String DEFAULT_CREDITS_OPEN = "AAAAAAAAAA";
     private static final String UPDATED_CREDITS_OPEN = "BBBBBBBBBB";
 
+    private static final BigDecimal DEFAULT_EXPENSE_AMOUNT_VALUE = new BigDecimal("1500.00");
+    private static final BigDecimal UPDATED_EXPENSE_AMOUNT_VALUE = new BigDecimal("2500.00");
+
     private static final String ENTITY_API_URL = "/api/annex-decisions";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -103,7 +108,8 @@ class AnnexDecisionResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedAnnexDecision != null) {
-            annexDecisionRepository.delete(insertedAnnexDecision);
+            // Delete by id, the inserted instance may hold a version which was updated meanwhile
+            annexDecisionRepository.deleteById(insertedAnnexDecision.getId());
             insertedAnnexDecision = null;
         }
     }
@@ -431,6 +437,42 @@ class AnnexDecisionResourceIT {
         );
     }
 
+    @Test
+    @Transactional
+    void getAllAnnexDecisionsByExpenseAmountValueIsGreaterThanOrEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedAnnexDecision = annexDecisionRepository.saveAndFlush(annexDecision.expenseAmountValue(DEFAULT_EXPENSE_AMOUNT_VALUE));
+
+        // Get all the annexDecisionList where expenseAmountValue is greater than or equal to
+        defaultAnnexDecisionFiltering(
+            "expenseAmountValue.greaterThanOrEqual=" + DEFAULT_EXPENSE_AMOUNT_VALUE,
+            "expenseAmountValue.greaterThanOrEqual=" + UPDATED_EXPENSE_AMOUNT_VALUE
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllAnnexDecisionsByExpenseAmountValueIsLessThanSomething() throws Exception {
+        // Initialize the database
+        insertedAnnexDecision = annexDecisionRepository.saveAndFlush(annexDecision.expenseAmountValue(DEFAULT_EXPENSE_AMOUNT_VALUE));
+
+        // Get all the annexDecisionList where expenseAmountValue is less than
+        defaultAnnexDecisionFiltering(
+            "expenseAmountValue.lessThan=" + UPDATED_EXPENSE_AMOUNT_VALUE,
+            "expenseAmountValue.lessThan=" + DEFAULT_EXPENSE_AMOUNT_VALUE
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllAnnexDecisionsByCreditsOpenValueIsNullOrNotNull() throws Exception {
+        // Initialize the database
+        insertedAnnexDecision = annexDecisionRepository.saveAndFlush(annexDecision);
+
+        // Get all the annexDecisionList where creditsOpenValue is null, the default credits open not being an amount
+        defaultAnnexDecisionFiltering("creditsOpenValue.specified=false", "creditsOpenValue.specified=true");
+    }
+
     @Test
     @Transactional
     void getAllAnnexDecisionsByFinancialYearIsEqualToSomething() throws Exception {
@@ -624,6 +666,38 @@ class AnnexDecisionResourceIT {
         );
     }
 
+    @Test
+    @Transactional
+    void partialUpdateAnnexDecisionAmountValues() throws Exception {
+        // Initialize the database
+        insertedAnnexDecision = annexDecisionRepository.saveAndFlush(
+            annexDecision.expenseAmount("1 500,00 DA").expenseAmountValue(DEFAULT_EXPENSE_AMOUNT_VALUE)
+        );
+
+        // An amount is parsed into its numeric value
+        restAnnexDecisionMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, annexDecision.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(new AnnexDecision().id(annexDecision.getId()).creditsOpen("2 500")))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.creditsOpenValue").value(sameNumber(UPDATED_EXPENSE_AMOUNT_VALUE)))
+            .andExpect(jsonPath("$.expenseAmountValue").value(sameNumber(DEFAULT_EXPENSE_AMOUNT_VALUE)));
+
+        // A text which is not an amount clears the numeric value
+        restAnnexDecisionMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, annexDecision.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(new AnnexDecision().id(annexDecision.getId()).expenseAmount(UPDATED_EXPENSE_AMOUNT)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.expenseAmount").value(UPDATED_EXPENSE_AMOUNT))
+            .andExpect(jsonPath("$.expenseAmountValue").isEmpty())
+            .andExpect(jsonPath("$.creditsOpenValue").value(sameNumber(UPDATED_EXPENSE_AMOUNT_VALUE)));
+    }
+
     @Test
     @Transactional
     void fullUpdateAnnexDecisionWithPatch() throws Exception {
@@ -662,14 +736,14 @@ class AnnexDecisionResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         annexDecision.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restAnnexDecisionMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, annexDecision.getId())
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(annexDecision))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the AnnexDecision in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
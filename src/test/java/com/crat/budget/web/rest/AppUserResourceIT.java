@@ -1008,12 +1008,12 @@ class AppUserResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         appUser.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restAppUserMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, appUser.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(appUser))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the AppUser in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
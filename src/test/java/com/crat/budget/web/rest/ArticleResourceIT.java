@@ -833,12 +833,12 @@ class ArticleResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         article.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restArticleMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, article.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(article))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Article in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
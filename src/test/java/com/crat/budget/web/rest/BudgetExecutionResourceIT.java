@@ -0,0 +1,428 @@
+package com.crat.budget.web.rest;
+
+import static com.crat.budget.web.rest.TestUtil.sameNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.BudgetExecutionSummary;
+import com.crat.budget.domain.Chapter;
+import com.crat.budget.domain.Expense;
+import com.crat.budget.domain.FinancialYear;
+import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.domain.Recipe;
+import com.crat.budget.domain.enumeration.FinancialCategoryEnum;
+import com.crat.budget.repository.AnnexDecisionRepository;
+import com.crat.budget.repository.ArticleRepository;
+import com.crat.budget.repository.BudgetExecutionSummaryRepository;
+import com.crat.budget.repository.ChapterRepository;
+import com.crat.budget.repository.ExpenseRepository;
+import com.crat.budget.repository.FinancialYearRepository;
+import com.crat.budget.repository.PurchaseOrderRepository;
+import com.crat.budget.repository.RecipeRepository;
+import com.crat.budget.service.BudgetExecutionGrouping;
+import com.crat.budget.service.BudgetExecutionService;
+import com.crat.budget.service.PurchaseOrderService;
+import com.crat.budget.service.dto.BudgetExecutionDTO;
+import com.crat.budget.service.dto.BudgetExecutionReportDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link BudgetExecutionResource} REST controller.
+ * <p>
+ * Not transactional: the summary is only maintained when the writes are committed, and refreshed concurrently by other
+ * threads.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class BudgetExecutionResourceIT {
+
+    private static final String API_URL = "/api/budget-execution/{financialYearId}";
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private FinancialYearRepository financialYearRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private AnnexDecisionRepository annexDecisionRepository;
+
+    @Autowired
+    private PurchaseOrderRepository purchaseOrderRepository;
+
+    @Autowired
+    private ChapterRepository chapterRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private BudgetExecutionSummaryRepository budgetExecutionSummaryRepository;
+
+    @Autowired
+    private BudgetExecutionService budgetExecutionService;
+
+    @Autowired
+    private PurchaseOrderService purchaseOrderService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restBudgetExecutionMockMvc;
+
+    private FinancialYear financialYear;
+
+    private Recipe recipe;
+
+    private Expense expense;
+
+    private AnnexDecision annexDecision;
+
+    private PurchaseOrder purchaseOrder;
+
+    private PurchaseOrder otherPurchaseOrder;
+
+    private Chapter chapter;
+
+    private Article article;
+
+    private Article otherArticle;
+
+    @BeforeEach
+    public void initTest() {
+        financialYear = financialYearRepository.saveAndFlush(FinancialYearResourceIT.createEntity());
+        recipe = recipeRepository.saveAndFlush(
+            RecipeResourceIT.createEntity()
+                .category(FinancialCategoryEnum.OPERATING_RECIPE)
+                .newYearForecast(100)
+                .financialYear(financialYear)
+        );
+        annexDecision = annexDecisionRepository.saveAndFlush(AnnexDecisionResourceIT.createEntity().financialYear(financialYear));
+        expense = expenseRepository.saveAndFlush(
+            ExpenseResourceIT.createEntity()
+                .category(FinancialCategoryEnum.OPERATING_EXPENSE)
+                .newYearForecast(500)
+                .financialYear(financialYear)
+                .annexDecision(annexDecision)
+        );
+        purchaseOrder = purchaseOrderRepository.saveAndFlush(
+            PurchaseOrderResourceIT.createEntity().totalAmountWithTax(new BigDecimal("120")).annexDecision(annexDecision)
+        );
+        chapter = chapterRepository.saveAndFlush(ChapterResourceIT.createEntity());
+        article = articleRepository.saveAndFlush(ArticleResourceIT.createEntity().chapter(chapter).addExpense(expense));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        budgetExecutionSummaryRepository.deleteAllInBatch(budgetExecutionSummaryRepository.findByFinancialYearId(financialYear.getId()));
+        if (otherArticle != null) {
+            articleRepository.deleteById(otherArticle.getId());
+        }
+        articleRepository.deleteById(article.getId());
+        chapterRepository.deleteById(chapter.getId());
+        if (otherPurchaseOrder != null) {
+            purchaseOrderRepository.deleteById(otherPurchaseOrder.getId());
+        }
+        purchaseOrderRepository.deleteById(purchaseOrder.getId());
+        expenseRepository.deleteById(expense.getId());
+        annexDecisionRepository.deleteById(annexDecision.getId());
+        recipeRepository.deleteById(recipe.getId());
+        financialYearRepository.deleteById(financialYear.getId());
+    }
+
+    @Test
+    void getBudgetExecution() throws Exception {
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.groupBy").value("CATEGORY"))
+            .andExpect(jsonPath("$.total.recipeForecast").value(sameNumber(new BigDecimal("100"))))
+            .andExpect(jsonPath("$.total.expenseForecast").value(sameNumber(new BigDecimal("500"))))
+            .andExpect(jsonPath("$.total.committedAmount").value(sameNumber(new BigDecimal("120"))))
+            .andExpect(jsonPath("$.total.availableAmount").value(sameNumber(new BigDecimal("380"))))
+            .andExpect(jsonPath("$.rows.length()").value(2))
+            .andExpect(jsonPath("$.rows[?(@.category == 'OPERATING_EXPENSE')].availableAmount").value(380.0));
+
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()).param("groupBy", "article"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows.length()").value(1))
+            .andExpect(jsonPath("$.rows[0].articleId").value(article.getId().intValue()))
+            .andExpect(jsonPath("$.rows[0].chapterId").value(chapter.getId().intValue()))
+            .andExpect(jsonPath("$.rows[0].committedAmount").value(sameNumber(new BigDecimal("120"))));
+    }
+
+    @Test
+    void getBudgetExecutionAfterUpdate() throws Exception {
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total.committedAmount").value(sameNumber(new BigDecimal("120"))));
+
+        // The summary is maintained by the write
+        restBudgetExecutionMockMvc
+            .perform(
+                patch("/api/purchase-orders/{id}", purchaseOrder.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(
+                        om.writeValueAsBytes(
+                            new PurchaseOrder()
+                                .id(purchaseOrder.getId())
+                                .version(purchaseOrder.getVersion())
+                                .totalAmountWithTax(new BigDecimal("200"))
+                        )
+                    )
+            )
+            .andExpect(status().isOk());
+
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()).param("groupBy", "chapter"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total.committedAmount").value(sameNumber(new BigDecimal("200"))))
+            .andExpect(jsonPath("$.total.availableAmount").value(sameNumber(new BigDecimal("300"))))
+            .andExpect(jsonPath("$.rows[0].chapterId").value(chapter.getId().intValue()))
+            .andExpect(jsonPath("$.rows[0].availableAmount").value(sameNumber(new BigDecimal("300"))));
+    }
+
+    @Test
+    void getBudgetExecutionOfArticlesSharingAnExpense() throws Exception {
+        otherArticle = articleRepository.saveAndFlush(ArticleResourceIT.createEntity().chapter(chapter).addExpense(expense));
+
+        // The amounts of the expense count once for the chapter of its two articles
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()).param("groupBy", "chapter"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows.length()").value(1))
+            .andExpect(jsonPath("$.rows[0].expenseForecast").value(sameNumber(new BigDecimal("500"))))
+            .andExpect(jsonPath("$.rows[0].committedAmount").value(sameNumber(new BigDecimal("120"))));
+
+        restBudgetExecutionMockMvc
+            .perform(
+                patch("/api/purchase-orders/{id}", purchaseOrder.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(
+                        om.writeValueAsBytes(
+                            new PurchaseOrder()
+                                .id(purchaseOrder.getId())
+                                .version(purchaseOrder.getVersion())
+                                .totalAmountWithTax(new BigDecimal("120.01"))
+                        )
+                    )
+            )
+            .andExpect(status().isOk());
+
+        // Each article holds the whole amounts linked to it
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()).param("groupBy", "article"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows.length()").value(2))
+            .andExpect(jsonPath("$.rows[0].articleId").value(article.getId().intValue()))
+            .andExpect(jsonPath("$.rows[0].expenseForecast").value(sameNumber(new BigDecimal("500"))))
+            .andExpect(jsonPath("$.rows[0].committedAmount").value(sameNumber(new BigDecimal("120.01"))))
+            .andExpect(jsonPath("$.rows[1].articleId").value(otherArticle.getId().intValue()))
+            .andExpect(jsonPath("$.rows[1].expenseForecast").value(sameNumber(new BigDecimal("500"))))
+            .andExpect(jsonPath("$.rows[1].committedAmount").value(sameNumber(new BigDecimal("120.01"))));
+
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()).param("groupBy", "chapter"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows.length()").value(1))
+            .andExpect(jsonPath("$.rows[0].committedAmount").value(sameNumber(new BigDecimal("120.01"))))
+            .andExpect(jsonPath("$.total.committedAmount").value(sameNumber(new BigDecimal("120.01"))));
+    }
+
+    @Test
+    void getBudgetExecutionAfterLinkingAnArticle() throws Exception {
+        restBudgetExecutionMockMvc.perform(get(API_URL, financialYear.getId())).andExpect(status().isOk());
+
+        // The write adds its differences: the amounts of the expense are added to the row of the new article
+        byte[] response = restBudgetExecutionMockMvc
+            .perform(
+                post("/api/articles")
+                    .contentType("application/json")
+                    .content(om.writeValueAsBytes(ArticleResourceIT.createEntity().chapter(chapter).addExpense(expense)))
+            )
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        otherArticle = om.readValue(response, Article.class);
+
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()).param("groupBy", "article"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total.expenseForecast").value(sameNumber(new BigDecimal("500"))))
+            .andExpect(jsonPath("$.rows.length()").value(2))
+            .andExpect(jsonPath("$.rows[0].expenseForecast").value(sameNumber(new BigDecimal("500"))))
+            .andExpect(jsonPath("$.rows[1].articleId").value(otherArticle.getId().intValue()))
+            .andExpect(jsonPath("$.rows[1].committedAmount").value(sameNumber(new BigDecimal("120"))));
+
+        // The chapter of both articles counts the expense once
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()).param("groupBy", "chapter"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows.length()").value(1))
+            .andExpect(jsonPath("$.rows[0].expenseForecast").value(sameNumber(new BigDecimal("500"))));
+
+        restBudgetExecutionMockMvc.perform(delete("/api/articles/{id}", otherArticle.getId())).andExpect(status().isNoContent());
+        otherArticle = null;
+
+        // The row of the deleted article is kept, with no amounts
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()).param("groupBy", "chapter"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows.length()").value(1))
+            .andExpect(jsonPath("$.rows[0].expenseForecast").value(sameNumber(new BigDecimal("500"))))
+            .andExpect(jsonPath("$.rows[0].committedAmount").value(sameNumber(new BigDecimal("120"))));
+    }
+
+    @Test
+    void concurrentRefreshesNeverDuplicateTheSummary() throws Exception {
+        Long financialYearId = financialYear.getId();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<BudgetExecutionReportDTO>> readers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                boolean refresher = thread % 2 == 0;
+                readers.add(
+                    executor.submit(() -> {
+                        start.await();
+                        if (refresher) {
+                            budgetExecutionService.refresh(Set.of(financialYearId));
+                        }
+                        // The first reads summarize the financial year themselves
+                        return budgetExecutionService.getReport(financialYearId, BudgetExecutionGrouping.ARTICLE).orElseThrow();
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<BudgetExecutionReportDTO> reader : readers) {
+                BudgetExecutionReportDTO report = reader.get(2, TimeUnit.MINUTES);
+                assertThat(report.total().committedAmount()).isEqualByComparingTo("120");
+                assertThat(report.rows()).singleElement().extracting(BudgetExecutionDTO::articleId).isEqualTo(article.getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // One total per category, one row for the chapter and one for the article of the expense
+        assertThat(budgetExecutionSummaryRepository.findByFinancialYearId(financialYearId))
+            .extracting(BudgetExecutionSummary::getChapterId, BudgetExecutionSummary::getArticleId)
+            .containsExactlyInAnyOrder(
+                tuple(null, null),
+                tuple(null, null),
+                tuple(chapter.getId(), null),
+                tuple(chapter.getId(), article.getId())
+            );
+    }
+
+    @Test
+    void concurrentWritesOfAnAnnexDecisionAddTheirDifferencesOnce() throws Exception {
+        otherPurchaseOrder = purchaseOrderRepository.saveAndFlush(
+            PurchaseOrderResourceIT.createEntity().totalAmountWithTax(new BigDecimal("30")).annexDecision(annexDecision)
+        );
+        Long financialYearId = financialYear.getId();
+        budgetExecutionService.getReport(financialYearId, BudgetExecutionGrouping.CATEGORY).orElseThrow();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // The first write of a purchase order of the annex decision waits before committing
+            Future<?> first = executor.submit(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    purchaseOrderService.partialUpdate(new PurchaseOrder().id(purchaseOrder.getId()).totalAmountWithTax(new BigDecimal("150")));
+                    written.countDown();
+                    try {
+                        commit.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+            );
+            assertThat(written.await(1, TimeUnit.MINUTES)).isTrue();
+            // The second write, of another purchase order of the same annex decision, waits for the first one to commit
+            Future<?> second = executor.submit(() ->
+                transactionTemplate.executeWithoutResult(status ->
+                    purchaseOrderService.partialUpdate(
+                        new PurchaseOrder().id(otherPurchaseOrder.getId()).totalAmountWithTax(new BigDecimal("50"))
+                    )
+                )
+            );
+            try {
+                second.get(1, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                // Still waiting for the lock of the annex decision
+            }
+            commit.countDown();
+            first.get(1, TimeUnit.MINUTES);
+            second.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 150 + 50, each difference added once
+        List<BudgetExecutionReportDTO> maintained = new ArrayList<>();
+        for (BudgetExecutionGrouping grouping : BudgetExecutionGrouping.values()) {
+            maintained.add(budgetExecutionService.getReport(financialYearId, grouping).orElseThrow());
+        }
+        assertThat(maintained.get(0).total().committedAmount()).isEqualByComparingTo("200");
+
+        // The same as the summary computed whole
+        budgetExecutionService.refresh(Set.of(financialYearId));
+        for (BudgetExecutionReportDTO report : maintained) {
+            assertThat(budgetExecutionService.getReport(financialYearId, report.groupBy()).orElseThrow())
+                .usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(report);
+        }
+    }
+
+    @Test
+    void getBudgetExecutionWithInvalidGrouping() throws Exception {
+        restBudgetExecutionMockMvc
+            .perform(get(API_URL, financialYear.getId()).param("groupBy", "month"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getNonExistingBudgetExecution() throws Exception {
+        restBudgetExecutionMockMvc.perform(get(API_URL, Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,264 @@
+package com.crat.budget.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.Chapter;
+import com.crat.budget.domain.Expense;
+import com.crat.budget.domain.FinancialYear;
+import com.crat.budget.domain.Recipe;
+import com.crat.budget.domain.SubTitle;
+import com.crat.budget.domain.enumeration.FinancialCategoryEnum;
+import com.crat.budget.repository.ArticleRepository;
+import com.crat.budget.repository.BudgetExecutionSummaryRepository;
+import com.crat.budget.repository.ChapterRepository;
+import com.crat.budget.repository.ExpenseRepository;
+import com.crat.budget.repository.FinancialYearRepository;
+import com.crat.budget.repository.RecipeRepository;
+import com.crat.budget.repository.SubTitleRepository;
+import com.crat.budget.security.AuthoritiesConstants;
+import com.crat.budget.service.BudgetImportType;
+import com.crat.budget.service.ImportJobStatus;
+import com.crat.budget.service.dto.ImportJobDTO;
+import com.crat.budget.service.dto.ImportRowErrorDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link BudgetImportResource} REST controller.
+ * <p>
+ * Not transactional: each chunk of a file is written in its own transaction, and written again row by row if it fails.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class BudgetImportResourceIT {
+
+    private static final String API_URL = "/api/imports";
+
+    private static final String CODE_PREFIX = "IMPORT-";
+
+    private static final int YEAR = 987_654;
+
+    private static final Duration JOB_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private SubTitleRepository subTitleRepository;
+
+    @Autowired
+    private ChapterRepository chapterRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private FinancialYearRepository financialYearRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private BudgetExecutionSummaryRepository budgetExecutionSummaryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc restBudgetImportMockMvc;
+
+    private SubTitle subTitle;
+
+    private Chapter chapter;
+
+    private FinancialYear financialYear;
+
+    @BeforeEach
+    public void initTest() {
+        subTitle = subTitleRepository.saveAndFlush(SubTitleResourceIT.createEntity().code(CODE_PREFIX + "ST"));
+        chapter = chapterRepository.saveAndFlush(ChapterResourceIT.createEntity().code(CODE_PREFIX + "CH").subTitle(subTitle));
+        financialYear = financialYearRepository.saveAndFlush(FinancialYearResourceIT.createEntity().year(YEAR));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        // The links to the recipes and expenses are deleted with their articles
+        articleRepository.deleteAll(importedArticles());
+        recipeRepository.deleteAll(recipeRepository.findAll().stream().filter(this::isOfFinancialYear).toList());
+        expenseRepository.deleteAll(expenseRepository.findAll().stream().filter(this::isOfFinancialYear).toList());
+        transactionTemplate.executeWithoutResult(status ->
+            budgetExecutionSummaryRepository.deleteByFinancialYearIdIn(List.of(financialYear.getId()))
+        );
+        financialYearRepository.deleteById(financialYear.getId());
+        chapterRepository.deleteById(chapter.getId());
+        subTitleRepository.deleteById(subTitle.getId());
+    }
+
+    @Test
+    void importArticles() throws Exception {
+        String csv =
+            "Code;Designation;Category;Sub-title;Chapter\n" +
+            "IMPORT-A1;Fournitures;operating expense;IMPORT-ST;IMPORT-CH\n" +
+            "IMPORT-A2;;;;IMPORT-CH\n" +
+            "\n" +
+            "IMPORT-A3;Loyers;;;IMPORT-UNKNOWN\n" +
+            "IMPORT-A4;Entretien;NOT_A_CATEGORY;;\n";
+
+        ImportJobDTO job = awaitJob(importFile("articles", "articles.csv", csv).andExpect(status().isAccepted()));
+
+        assertThat(job.type()).isEqualTo(BudgetImportType.ARTICLE);
+        assertThat(job.status()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.rowsRead()).isEqualTo(4);
+        assertThat(job.rowsImported()).isEqualTo(1);
+        assertThat(job.rowsFailed()).isEqualTo(3);
+        assertThat(job.errors())
+            .extracting(ImportRowErrorDTO::row, ImportRowErrorDTO::column)
+            .containsExactlyInAnyOrder(tuple(3L, "designation"), tuple(5L, "chapter"), tuple(6L, "category"));
+        List<Article> articles = importedArticles();
+        assertThat(articles).hasSize(1);
+        Article article = articles.get(0);
+        assertThat(article.getCode()).isEqualTo("IMPORT-A1");
+        assertThat(article.getCategory()).isEqualTo(FinancialCategoryEnum.OPERATING_EXPENSE);
+
+        // Importing again updates the article of the chapter, and leaves the columns missing from the file unchanged
+        job = awaitJob(importFile("articles", "articles.csv", "code,designation,chapter\nIMPORT-A1,Fournitures de bureau,IMPORT-CH\n"));
+        assertThat(job.rowsImported()).isEqualTo(1);
+        articles = importedArticles();
+        assertThat(articles).hasSize(1);
+        assertThat(articles.get(0).getId()).isEqualTo(article.getId());
+        assertThat(articles.get(0).getDesignation()).isEqualTo("Fournitures de bureau");
+        assertThat(articles.get(0).getCategory()).isEqualTo(FinancialCategoryEnum.OPERATING_EXPENSE);
+    }
+
+    @Test
+    void importRecipesAndExpenses() throws Exception {
+        Article article = articleRepository.saveAndFlush(ArticleResourceIT.createEntity().code(CODE_PREFIX + "A1").chapter(chapter));
+
+        ImportJobDTO job = awaitJob(
+            importFile(
+                "recipes",
+                "recipes.csv",
+                "year,newYearForecast,articles\n" + YEAR + ",1500,IMPORT-A1\n" + YEAR + ",\"2 000\",\n" + (YEAR + 1) + ",1,IMPORT-A1\n"
+            )
+        );
+        assertThat(job.rowsImported()).isEqualTo(2);
+        assertThat(job.errors()).extracting(ImportRowErrorDTO::row, ImportRowErrorDTO::column).containsExactly(tuple(4L, "year"));
+
+        job = awaitJob(importFile("expenses", "expenses.csv", "year,achievementsInThePastYear,articles\n" + YEAR + ",12.0,IMPORT-A1\n"));
+        assertThat(job.rowsImported()).isEqualTo(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // The rows of the same financial year update the same recipe
+            List<Recipe> recipes = recipeRepository.findAll().stream().filter(this::isOfFinancialYear).toList();
+            assertThat(recipes).hasSize(1);
+            assertThat(recipes.get(0).getNewYearForecast()).isEqualTo(2000);
+            List<Expense> expenses = expenseRepository.findAll().stream().filter(this::isOfFinancialYear).toList();
+            assertThat(expenses).hasSize(1);
+            assertThat(expenses.get(0).getAchievementsInThePastYear()).isEqualTo(12);
+            Article linked = articleRepository.findOneWithEagerRelationships(article.getId()).orElseThrow();
+            assertThat(linked.getRecipes()).containsExactly(recipes.get(0));
+            assertThat(linked.getExpenses()).containsExactly(expenses.get(0));
+        });
+        // The budget execution summary of the financial year is up to date
+        restBudgetImportMockMvc
+            .perform(get("/api/budget-execution/{financialYearId}", financialYear.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total.recipeForecast").value(2000))
+            .andExpect(jsonPath("$.total.expenseAchievements").value(12));
+    }
+
+    @Test
+    void importFileWithMissingColumns() throws Exception {
+        ImportJobDTO job = awaitJob(importFile("articles", "articles.csv", "code,label\nIMPORT-A1,Fournitures\n"));
+
+        assertThat(job.status()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.failure()).contains("designation");
+        assertThat(importedArticles()).isEmpty();
+    }
+
+    @Test
+    void getJobOfAnotherUser() throws Exception {
+        ImportJobDTO job = awaitJob(importFile("articles", "articles.csv", "code,designation,chapter\nIMPORT-A1,Fournitures,IMPORT-CH\n"));
+
+        restBudgetImportMockMvc.perform(get(API_URL + "/{id}", job.id()).with(user("other"))).andExpect(status().isNotFound());
+        restBudgetImportMockMvc
+            .perform(get(API_URL + "/{id}", job.id()).with(user("admin").authorities(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(job.id()));
+    }
+
+    @Test
+    void importInvalidFile() throws Exception {
+        importFile("chapters", "chapters.csv", "code\n")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.importtypeinvalid"));
+        importFile("articles", "articles.txt", "code\n")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.importformatinvalid"));
+        importFile("articles", "articles.csv", "")
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.importfileempty"));
+        restBudgetImportMockMvc.perform(get(API_URL + "/{id}", "unknown")).andExpect(status().isNotFound());
+    }
+
+    private ResultActions importFile(String type, String fileName, String content) throws Exception {
+        return restBudgetImportMockMvc.perform(
+            multipart(API_URL + "/{type}", type).file(
+                new MockMultipartFile("file", fileName, "text/csv", content.getBytes(StandardCharsets.UTF_8))
+            )
+        );
+    }
+
+    private ImportJobDTO awaitJob(ResultActions submission) throws Exception {
+        String location = submission.andExpect(status().isAccepted()).andReturn().getResponse().getHeader("Location");
+        Instant deadline = Instant.now().plus(JOB_TIMEOUT);
+        while (true) {
+            ImportJobDTO job = om.readValue(
+                restBudgetImportMockMvc.perform(get(location)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString(),
+                ImportJobDTO.class
+            );
+            if (job.status() == ImportJobStatus.COMPLETED || job.status() == ImportJobStatus.FAILED) {
+                return job;
+            }
+            assertThat(Instant.now()).as("end of the import job").isBefore(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private List<Article> importedArticles() {
+        return articleRepository.findAll().stream().filter(article -> article.getCode().startsWith(CODE_PREFIX)).toList();
+    }
+
+    private boolean isOfFinancialYear(Object recipeOrExpense) {
+        FinancialYear year = recipeOrExpense instanceof Recipe recipe
+            ? recipe.getFinancialYear()
+            : ((Expense) recipeOrExpense).getFinancialYear();
+        return year != null && Objects.equals(year.getId(), financialYear.getId());
+    }
+}
@@ -4,6 +4,7 @@ import static com.crat.budget.domain.ChapterAsserts.*;
 import static com.crat.budget.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -15,11 +16,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -181,6 +185,54 @@ class ChapterResourceIT {
             .andExpect(jsonPath("$.[*].designation").value(hasItem(DEFAULT_DESIGNATION)));
     }
 
+    @Test
+    void getAllChaptersWithIfNoneMatch() throws Exception {
+        // Not transactional: the change counters are only incremented once the changes are committed
+        insertedChapter = chapterRepository.saveAndFlush(chapter);
+
+        String eTag = restChapterMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=5"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            // The same parameters in another order, the list is not queried
+            restChapterMockMvc
+                .perform(get(ENTITY_API_URL + "?size=5&sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        // Another page has another entity tag
+        restChapterMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=5&page=1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+
+        restChapterMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, chapter.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(new Chapter().id(chapter.getId()).designation(UPDATED_DESIGNATION)))
+            )
+            .andExpect(status().isOk());
+
+        restChapterMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=5").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.[*].designation").value(hasItem(UPDATED_DESIGNATION)));
+    }
+
     @Test
     @Transactional
     void getChapter() throws Exception {
@@ -526,12 +578,12 @@ class ChapterResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         chapter.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restChapterMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, chapter.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(chapter))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Chapter in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -0,0 +1,158 @@
+package com.crat.budget.web.rest;
+
+import static com.crat.budget.web.rest.TestUtil.sameNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.CreditReservation;
+import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.repository.AnnexDecisionRepository;
+import com.crat.budget.repository.CreditReservationRepository;
+import com.crat.budget.repository.PurchaseOrderRepository;
+import com.crat.budget.service.dto.CreditReservationRequestDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link CreditLedgerResource} REST controller.
+ * <p>
+ * Not transactional: the credit line is created in its own transaction, which must see the annex decision.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CreditLedgerResourceIT {
+
+    private static final String API_URL = "/api/credit-ledger";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private AnnexDecisionRepository annexDecisionRepository;
+
+    @Autowired
+    private PurchaseOrderRepository purchaseOrderRepository;
+
+    @Autowired
+    private CreditReservationRepository creditReservationRepository;
+
+    @Autowired
+    private MockMvc restCreditLedgerMockMvc;
+
+    private AnnexDecision annexDecision;
+
+    private PurchaseOrder purchaseOrder;
+
+    @BeforeEach
+    public void initTest() {
+        annexDecision = annexDecisionRepository.saveAndFlush(
+            AnnexDecisionResourceIT.createEntity().creditsOpen("1000").creditsOpenValue(new BigDecimal("1000"))
+        );
+        purchaseOrder = purchaseOrderRepository.saveAndFlush(
+            PurchaseOrderResourceIT.createEntity().committedExpenditures(new BigDecimal("100")).annexDecision(annexDecision)
+        );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        creditReservationRepository.deleteAllInBatch(
+            creditReservationRepository
+                .findAll()
+                .stream()
+                .filter(reservation -> reservation.getAnnexDecisionId().equals(annexDecision.getId()))
+                .toList()
+        );
+        purchaseOrderRepository.deleteById(purchaseOrder.getId());
+        annexDecisionRepository.deleteById(annexDecision.getId());
+    }
+
+    @Test
+    void reserveAndRelease() throws Exception {
+        // The committed expenditures of the purchase orders are already reserved
+        restCreditLedgerMockMvc
+            .perform(get(API_URL + "/{annexDecisionId}", annexDecision.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reserved").value(sameNumber(new BigDecimal("100"))))
+            .andExpect(jsonPath("$.available").value(sameNumber(new BigDecimal("900"))));
+
+        CreditReservation reservation = om.readValue(
+            restCreditLedgerMockMvc
+                .perform(
+                    post(API_URL + "/{annexDecisionId}/reservations", annexDecision.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new CreditReservationRequestDTO(new BigDecimal("300"), purchaseOrder.getId())))
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("RESERVED"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            CreditReservation.class
+        );
+        PurchaseOrder committedPurchaseOrder = purchaseOrderRepository.findById(purchaseOrder.getId()).orElseThrow();
+        assertThat(committedPurchaseOrder.getCommittedExpenditures()).isEqualByComparingTo("400");
+        assertThat(committedPurchaseOrder.getAvailableBalance()).isEqualByComparingTo("600");
+        // Updated through the entity, whose cached state and version follow
+        assertThat(committedPurchaseOrder.getVersion()).isEqualTo(purchaseOrder.getVersion() + 1);
+
+        restCreditLedgerMockMvc
+            .perform(
+                post(API_URL + "/{annexDecisionId}/reservations", annexDecision.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new CreditReservationRequestDTO(new BigDecimal("600.01"), null)))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.insufficientcredits"));
+
+        restCreditLedgerMockMvc
+            .perform(post(API_URL + "/reservations/{id}/release", reservation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("RELEASED"));
+        restCreditLedgerMockMvc
+            .perform(get(API_URL + "/{annexDecisionId}", annexDecision.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.available").value(sameNumber(new BigDecimal("900"))));
+        assertThat(purchaseOrderRepository.findById(purchaseOrder.getId()).orElseThrow().getCommittedExpenditures()).isEqualByComparingTo(
+            "100"
+        );
+    }
+
+    @Test
+    void reserveWithInvalidRequest() throws Exception {
+        restCreditLedgerMockMvc
+            .perform(
+                post(API_URL + "/{annexDecisionId}/reservations", annexDecision.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new CreditReservationRequestDTO(BigDecimal.ZERO, null)))
+            )
+            .andExpect(status().isBadRequest());
+        restCreditLedgerMockMvc
+            .perform(
+                post(API_URL + "/{annexDecisionId}/reservations", annexDecision.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new CreditReservationRequestDTO(BigDecimal.TEN, Long.MAX_VALUE)))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.purchaseorderinvalid"));
+        restCreditLedgerMockMvc
+            .perform(
+                post(API_URL + "/{annexDecisionId}/reservations", Long.MAX_VALUE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new CreditReservationRequestDTO(BigDecimal.TEN, null)))
+            )
+            .andExpect(status().isNotFound());
+        restCreditLedgerMockMvc.perform(post(API_URL + "/reservations/{id}/release", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+}
@@ -629,14 +629,14 @@ class DecisionItemResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         decisionItem.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restDecisionItemMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, decisionItem.getId())
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(decisionItem))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the DecisionItem in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
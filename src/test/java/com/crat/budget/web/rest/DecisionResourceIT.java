@@ -92,7 +92,8 @@ class DecisionResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedDecision != null) {
-            decisionRepository.delete(insertedDecision);
+            // Delete by id, the inserted instance may hold a version which was updated meanwhile
+            decisionRepository.deleteById(insertedDecision.getId());
             insertedDecision = null;
         }
     }
@@ -542,14 +543,14 @@ class DecisionResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         decision.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restDecisionMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, decision.getId())
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(decision))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Decision in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
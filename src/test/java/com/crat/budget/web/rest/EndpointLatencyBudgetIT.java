@@ -0,0 +1,335 @@
+package com.crat.budget.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.config.ApplicationProperties;
+import com.crat.budget.security.AuthoritiesConstants;
+import com.crat.budget.service.DatasetGeneratorService;
+import com.crat.budget.web.filter.StatementStatisticsFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Performance integration tests, which replay a mix of calls on the REST resources against a generated dataset, and
+ * check the latencies and the SQL statements of each endpoint against its budget.
+ * <p>
+ * The dataset, the mix and the budgets are read from the JSON file given by the {@code latency.budgets} system property:
+ * <pre>
+ * ./mvnw verify -Dit.test=EndpointLatencyBudgetIT -Dlatency.budgets=src/test/resources/performance/latency-budgets.json
+ * </pre>
+ * In the paths and bodies of the endpoints, {@code {table}} stands for the id of a random generated row of the table.
+ * Each endpoint is first called alone a few times, which warms it up and counts the SQL statements of one request, as
+ * counted by the statement statistics of the data source, those of the JDBC template included. The mix is then replayed
+ * by concurrent clients, each endpoint being called in proportion to its weight, and the 95th and 99th percentiles of
+ * its latencies are compared with its budget. Every endpoint, the writes included, has a positive weight, so that its
+ * latencies are the ones of the mix. The measures are written to {@code target/latency-budget-report.json}.
+ * <p>
+ * The budgets are the target latencies of the endpoints, not their current measures. The connection pool has more
+ * connections than clients, so that a request does not wait for the connections of the others: with the single
+ * connection of the test profile, the latency of each request would include those of the requests queued before it.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=16")
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "latency.budgets", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointLatencyBudgetIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EndpointLatencyBudgetIT.class);
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\"?\\{([a-z_]+)}\"?");
+
+    private static final Path REPORT = Path.of("target", "latency-budget-report.json");
+
+    /**
+     * The dataset, the mix of calls and the budgets.
+     *
+     * @param dataset the scale of the generated dataset.
+     * @param clients the number of concurrent clients.
+     * @param requests the number of requests of the mix, shared between the clients.
+     * @param samples the number of calls of each endpoint alone, before the mix.
+     * @param endpoints the endpoints.
+     */
+    record Budgets(ApplicationProperties.Dataset dataset, int clients, int requests, int samples, List<Endpoint> endpoints) {}
+
+    /**
+     * An endpoint and its budget.
+     *
+     * @param name the name of the endpoint in the report.
+     * @param weight the share of the endpoint in the mix, positive.
+     * @param method the HTTP method.
+     * @param path the path and the query string.
+     * @param headers the headers of the request, if any.
+     * @param body the body of the request, if any.
+     * @param p95Millis the maximum 95th percentile of the latencies, in milliseconds.
+     * @param p99Millis the maximum 99th percentile of the latencies, in milliseconds.
+     * @param maxStatements the maximum number of statements of a request.
+     */
+    record Endpoint(
+        String name,
+        int weight,
+        String method,
+        String path,
+        Map<String, String> headers,
+        JsonNode body,
+        long p95Millis,
+        long p99Millis,
+        long maxStatements
+    ) {}
+
+    /**
+     * The measures of an endpoint.
+     */
+    record Measure(String name, int requests, long p50Millis, long p95Millis, long p99Millis, long statements, List<String> errors) {}
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Budgets budgets;
+
+    private final Map<String, DatasetGeneratorService.GeneratedTable> tables = new LinkedHashMap<>();
+
+    @BeforeAll
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    public void generateDataset() throws IOException {
+        budgets = om.readValue(Path.of(System.getProperty("latency.budgets")).toFile(), Budgets.class);
+        assertThat(budgets.endpoints()).allSatisfy(endpoint -> assertThat(endpoint.weight()).as(endpoint.name()).isPositive());
+        datasetGeneratorService.generate(budgets.dataset()).forEach(table -> tables.put(table.name(), table));
+    }
+
+    @AfterAll
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    public void deleteDataset() {
+        if (tables.isEmpty()) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            DatasetGeneratorService.GeneratedTable financialYears = tables.get("financial_year");
+            jdbcTemplate.update(
+                "delete from budget_execution_summary where financial_year_id between ? and ?",
+                financialYears.firstId(),
+                financialYears.firstId() + financialYears.rows() - 1
+            );
+            // The credit ledger of the generated annex decisions, opened by the calls
+            DatasetGeneratorService.GeneratedTable annexDecisions = tables.get("annex_decision");
+            for (String ledgerTable : List.of("credit_reservation", "credit_line")) {
+                jdbcTemplate.update(
+                    "delete from " + ledgerTable + " where annex_decision_id between ? and ?",
+                    annexDecisions.firstId(),
+                    annexDecisions.firstId() + annexDecisions.rows() - 1
+                );
+            }
+            List<DatasetGeneratorService.GeneratedTable> generated = new ArrayList<>(tables.values());
+            Collections.reverse(generated);
+            for (DatasetGeneratorService.GeneratedTable table : generated) {
+                // The join tables are emptied with their articles
+                DatasetGeneratorService.GeneratedTable rows = table.firstId() != null ? table : tables.get("article");
+                jdbcTemplate.update(
+                    "delete from " + table.name() + " where " + (table.firstId() != null ? "id" : "article_id") + " between ? and ?",
+                    rows.firstId(),
+                    rows.firstId() + rows.rows() - 1
+                );
+            }
+        });
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    void endpointsStayWithinTheirBudgets() throws Exception {
+        Map<String, List<String>> errors = new ConcurrentHashMap<>();
+        budgets.endpoints().forEach(endpoint -> errors.put(endpoint.name(), Collections.synchronizedList(new ArrayList<>())));
+
+        // Each endpoint alone: warm-up and statements
+        Map<String, Long> statements = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(budgets.dataset().getSeed());
+        for (Endpoint endpoint : budgets.endpoints()) {
+            for (int i = 0; i < budgets.samples(); i++) {
+                statements.merge(endpoint.name(), call(endpoint, random, errors), Math::max);
+            }
+        }
+
+        // The mix, by concurrent clients
+        Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+        budgets.endpoints().forEach(endpoint -> latencies.put(endpoint.name(), Collections.synchronizedList(new ArrayList<>())));
+        List<Endpoint> mix = budgets.endpoints();
+        int[] cumulativeWeights = new int[mix.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            totalWeight += mix.get(i).weight();
+            cumulativeWeights[i] = totalWeight;
+        }
+        int weights = totalWeight;
+        ExecutorService clients = Executors.newFixedThreadPool(budgets.clients());
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int client = 0; client < budgets.clients(); client++) {
+                SplittableRandom clientRandom = random.split();
+                runs.add(
+                    clients.submit(() -> {
+                        for (int i = 0; i < budgets.requests() / budgets.clients(); i++) {
+                            int index = Arrays.binarySearch(cumulativeWeights, clientRandom.nextInt(weights) + 1);
+                            Endpoint endpoint = mix.get(index >= 0 ? index : -index - 1);
+                            long start = System.nanoTime();
+                            call(endpoint, clientRandom, errors);
+                            latencies.get(endpoint.name()).add(System.nanoTime() - start);
+                        }
+                        return null;
+                    })
+                );
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        List<Measure> measures = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+        for (Endpoint endpoint : budgets.endpoints()) {
+            List<Long> sorted = latencies.get(endpoint.name()).stream().sorted().toList();
+            Measure measure = new Measure(
+                endpoint.name(),
+                sorted.size(),
+                percentile(sorted, 50),
+                percentile(sorted, 95),
+                percentile(sorted, 99),
+                statements.getOrDefault(endpoint.name(), 0L),
+                List.copyOf(errors.get(endpoint.name()))
+            );
+            measures.add(measure);
+            LOG.info(
+                "{}: {} requests, p50 {}ms, p95 {}ms (budget {}ms), p99 {}ms (budget {}ms), {} statements (budget {})",
+                measure.name(),
+                measure.requests(),
+                measure.p50Millis(),
+                measure.p95Millis(),
+                endpoint.p95Millis(),
+                measure.p99Millis(),
+                endpoint.p99Millis(),
+                measure.statements(),
+                endpoint.maxStatements()
+            );
+            if (measure.p95Millis() > endpoint.p95Millis()) {
+                violations.add(endpoint.name() + ": p95 of " + measure.p95Millis() + "ms over " + endpoint.p95Millis() + "ms");
+            }
+            if (measure.p99Millis() > endpoint.p99Millis()) {
+                violations.add(endpoint.name() + ": p99 of " + measure.p99Millis() + "ms over " + endpoint.p99Millis() + "ms");
+            }
+            if (measure.statements() > endpoint.maxStatements()) {
+                violations.add(endpoint.name() + ": " + measure.statements() + " statements over " + endpoint.maxStatements());
+            }
+            measure.errors().stream().distinct().forEach(error -> violations.add(endpoint.name() + ": " + error));
+        }
+        Files.createDirectories(REPORT.getParent());
+        om.writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), measures);
+
+        assertThat(violations).isEmpty();
+    }
+
+    /**
+     * Call an endpoint.
+     *
+     * @return the number of SQL statements of the request, as counted by the statement statistics of the data source.
+     */
+    private long call(Endpoint endpoint, SplittableRandom random, Map<String, List<String>> errors) throws Exception {
+        Map<String, Long> ids = new HashMap<>();
+        MockHttpServletRequestBuilder request = request(HttpMethod.valueOf(endpoint.method()), resolve(endpoint.path(), ids, random)).with(
+            user("latency-budget").authorities(
+                new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN),
+                new SimpleGrantedAuthority(AuthoritiesConstants.USER)
+            )
+        );
+        if (endpoint.headers() != null) {
+            endpoint.headers().forEach(request::header);
+        }
+        if (endpoint.body() != null) {
+            request.contentType("application/merge-patch+json").content(resolve(om.writeValueAsString(endpoint.body()), ids, random));
+        }
+        MvcResult result = restMockMvc.perform(request).andReturn();
+        int status = result.getResponse().getStatus();
+        if (status >= 300) {
+            errors.get(endpoint.name()).add("status " + status);
+        }
+        return Long.parseLong(result.getResponse().getHeader(StatementStatisticsFilter.QUERY_COUNT_HEADER));
+    }
+
+    /**
+     * Replace the placeholders of a text by the ids of random generated rows, the same for the same table.
+     */
+    private String resolve(String text, Map<String, Long> ids, SplittableRandom random) {
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            Long id = ids.computeIfAbsent(matcher.group(1), table -> {
+                DatasetGeneratorService.GeneratedTable generated = tables.get(table);
+                return generated.firstId() + random.nextLong(generated.rows());
+            });
+            matcher.appendReplacement(resolved, String.valueOf(id));
+        }
+        return matcher.appendTail(resolved).toString();
+    }
+
+    /**
+     * Get a percentile of latencies, in milliseconds, by the nearest-rank method.
+     */
+    private static long percentile(List<Long> sortedNanos, int percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.size());
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos.get(Math.max(rank, 1) - 1));
+    }
+}
@@ -4,14 +4,17 @@ import static com.crat.budget.domain.EngagementAsserts.*;
 import static com.crat.budget.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.crat.budget.IntegrationTest;
 import com.crat.budget.domain.Engagement;
 import com.crat.budget.repository.EngagementRepository;
+import com.crat.budget.web.filter.StatementStatisticsFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Random;
@@ -55,6 +58,9 @@ class EngagementResourceIT {
     private static final String DEFAULT_AMOUNT_PROPOSED_COMMITMENT = "AAAAAAAAAA";
     private static final String UPDATED_AMOUNT_PROPOSED_COMMITMENT = "BBBBBBBBBB";
 
+    private static final BigDecimal DEFAULT_CREDITS_AVAILABLE_VALUE = new BigDecimal("1500.00");
+    private static final BigDecimal UPDATED_CREDITS_AVAILABLE_VALUE = new BigDecimal("2500.00");
+
     private static final String DEFAULT_HEAD_DAF = "AAAAAAAAAA";
     private static final String UPDATED_HEAD_DAF = "BBBBBBBBBB";
 
@@ -134,7 +140,8 @@ class EngagementResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedEngagement != null) {
-            engagementRepository.delete(insertedEngagement);
+            // Delete by id, the inserted instance may hold a version which was updated meanwhile
+            engagementRepository.deleteById(insertedEngagement.getId());
             insertedEngagement = null;
         }
     }
@@ -234,6 +241,39 @@ class EngagementResourceIT {
             .andExpect(jsonPath("$.[*].generalManager").value(hasItem(DEFAULT_GENERAL_MANAGER)));
     }
 
+    @Test
+    @Transactional
+    void getAllEngagementsInAConstantNumberOfStatements() throws Exception {
+        for (int i = 0; i < 21; i++) {
+            Engagement other = createEntity().engagementNumber(UPDATED_ENGAGEMENT_NUMBER);
+            em.persist(other);
+            em.persist(DecisionResourceIT.createEntity().engagement(other));
+            em.persist(MandateResourceIT.createEntity().engagement(other));
+        }
+        em.flush();
+        em.clear();
+
+        // Both pages are full, so each one is counted, and the decision and mandate are fetched with the engagements
+        long onePerPage = getAllEngagementsStatements(1);
+        em.clear();
+        long twentyPerPage = getAllEngagementsStatements(20);
+
+        assertThat(twentyPerPage).isEqualTo(onePerPage);
+    }
+
+    private long getAllEngagementsStatements(int size) throws Exception {
+        String statements = restEngagementMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=" + size + "&engagementNumber.equals=" + UPDATED_ENGAGEMENT_NUMBER))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(size))
+            .andExpect(jsonPath("$.[*].decision.id").value(hasSize(size)))
+            .andExpect(jsonPath("$.[*].mandate.id").value(hasSize(size)))
+            .andReturn()
+            .getResponse()
+            .getHeader(StatementStatisticsFilter.QUERY_COUNT_HEADER);
+        return Long.parseLong(statements);
+    }
+
     @Test
     @Transactional
     void getEngagement() throws Exception {
@@ -678,6 +718,32 @@ class EngagementResourceIT {
         );
     }
 
+    @Test
+    @Transactional
+    void getAllEngagementsByCreditsAvailableValueIsGreaterThanSomething() throws Exception {
+        // Initialize the database
+        insertedEngagement = engagementRepository.saveAndFlush(engagement.creditsAvailableValue(DEFAULT_CREDITS_AVAILABLE_VALUE));
+
+        // Get all the engagementList where creditsAvailableValue is greater than
+        defaultEngagementFiltering(
+            "creditsAvailableValue.greaterThan=" + DEFAULT_CREDITS_AVAILABLE_VALUE.subtract(BigDecimal.ONE),
+            "creditsAvailableValue.greaterThan=" + DEFAULT_CREDITS_AVAILABLE_VALUE
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllEngagementsByCreditsAvailableValueIsLessThanOrEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedEngagement = engagementRepository.saveAndFlush(engagement.creditsAvailableValue(UPDATED_CREDITS_AVAILABLE_VALUE));
+
+        // Get all the engagementList where creditsAvailableValue is less than or equal to
+        defaultEngagementFiltering(
+            "creditsAvailableValue.lessThanOrEqual=" + UPDATED_CREDITS_AVAILABLE_VALUE,
+            "creditsAvailableValue.lessThanOrEqual=" + DEFAULT_CREDITS_AVAILABLE_VALUE
+        );
+    }
+
     @Test
     @Transactional
     void getAllEngagementsByHeadDafIsEqualToSomething() throws Exception {
@@ -1078,14 +1144,14 @@ class EngagementResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         engagement.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restEngagementMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, engagement.getId())
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(engagement))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Engagement in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
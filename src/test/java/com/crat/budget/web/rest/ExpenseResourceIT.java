@@ -664,12 +664,12 @@ class ExpenseResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         expense.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restExpenseMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, expense.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(expense))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Expense in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -8,12 +8,20 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.Expense;
 import com.crat.budget.domain.FinancialYear;
+import com.crat.budget.domain.Recipe;
 import com.crat.budget.repository.FinancialYearRepository;
+import com.crat.budget.web.filter.StatementStatisticsFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +44,8 @@ class FinancialYearResourceIT {
     private static final Integer UPDATED_YEAR = 2;
     private static final Integer SMALLER_YEAR = 1 - 1;
 
+    private static final Integer COPIED_YEAR = 876_543;
+
     private static final String ENTITY_API_URL = "/api/financial-years";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -161,6 +171,41 @@ class FinancialYearResourceIT {
             .andExpect(jsonPath("$.[*].year").value(hasItem(DEFAULT_YEAR)));
     }
 
+    @Test
+    @Transactional
+    void getAllFinancialYearsInAConstantNumberOfStatements() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            FinancialYear year = createEntity().year(COPIED_YEAR + 10 + i);
+            em.persist(year);
+            AnnexDecision annexDecision = AnnexDecisionResourceIT.createEntity().financialYear(year);
+            em.persist(annexDecision);
+            em.persist(RecipeResourceIT.createEntity().financialYear(year));
+            em.persist(ExpenseResourceIT.createEntity().financialYear(year).annexDecision(annexDecision));
+            ids.add(year.getId());
+        }
+        em.flush();
+        em.clear();
+
+        // The inverse one-to-ones of the years, and the expense of their annex decision, are fetched with the years
+        long oneYear = getAllFinancialYearsStatements(ids.subList(0, 1));
+        em.clear();
+        long threeYears = getAllFinancialYearsStatements(ids);
+
+        assertThat(threeYears).isEqualTo(oneYear);
+    }
+
+    private long getAllFinancialYearsStatements(List<Long> ids) throws Exception {
+        String statements = restFinancialYearMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&id.in=" + ids.stream().map(String::valueOf).collect(Collectors.joining(","))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(ids.size()))
+            .andReturn()
+            .getResponse()
+            .getHeader(StatementStatisticsFilter.QUERY_COUNT_HEADER);
+        return Long.parseLong(statements);
+    }
+
     @Test
     @Transactional
     void getFinancialYear() throws Exception {
@@ -454,14 +499,14 @@ class FinancialYearResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         financialYear.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restFinancialYearMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, financialYear.getId())
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(financialYear))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the FinancialYear in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -501,6 +546,79 @@ class FinancialYearResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void copyForwardFinancialYear() throws Exception {
+        FinancialYear copied = createEntity().year(COPIED_YEAR);
+        em.persist(copied);
+        AnnexDecision annexDecision = AnnexDecisionResourceIT.createEntity().financialYear(copied);
+        em.persist(annexDecision);
+        Recipe recipe = RecipeResourceIT.createEntity().financialYear(copied);
+        em.persist(recipe);
+        Expense expense = ExpenseResourceIT.createEntity().financialYear(copied).annexDecision(annexDecision);
+        em.persist(expense);
+        Article article = ArticleResourceIT.createEntity().addRecipe(recipe).addExpense(expense);
+        em.persist(article);
+        em.flush();
+
+        FinancialYear returnedFinancialYear = om.readValue(
+            restFinancialYearMockMvc
+                .perform(post(ENTITY_API_URL_ID + "/copy-forward", copied.getId()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.year").value(COPIED_YEAR + 1))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            FinancialYear.class
+        );
+        Long newId = returnedFinancialYear.getId();
+        em.clear();
+
+        // The new forecasts of the copied year become the achievements of the past year
+        Recipe newRecipe = em
+            .createQuery("select r from Recipe r join fetch r.articles where r.financialYear.id = :id", Recipe.class)
+            .setParameter("id", newId)
+            .getSingleResult();
+        assertThat(newRecipe.getAchievementsInThePastYear()).isEqualTo(recipe.getNewYearForecast());
+        assertThat(newRecipe.getNewYearForecast()).isNull();
+        assertThat(newRecipe.getCategory()).isEqualTo(recipe.getCategory());
+        assertThat(newRecipe.getArticles()).extracting(Article::getId).containsExactly(article.getId());
+        Expense newExpense = em
+            .createQuery("select e from Expense e join fetch e.articles where e.financialYear.id = :id", Expense.class)
+            .setParameter("id", newId)
+            .getSingleResult();
+        assertThat(newExpense.getAchievementsInThePastYear()).isEqualTo(expense.getNewYearForecast());
+        assertThat(newExpense.getNewYearForecast()).isNull();
+        assertThat(newExpense.getArticles()).extracting(Article::getId).containsExactly(article.getId());
+        // The expense refers to the copy of its annex decision
+        AnnexDecision newAnnexDecision = newExpense.getAnnexDecision();
+        assertThat(newAnnexDecision.getId()).isNotEqualTo(annexDecision.getId());
+        assertThat(newAnnexDecision.getFinancialYear().getId()).isEqualTo(newId);
+        assertThat(newAnnexDecision.getDesignation()).isEqualTo(annexDecision.getDesignation());
+        assertThat(newAnnexDecision.getCreditsOpen()).isEqualTo(annexDecision.getCreditsOpen());
+        // The budget execution summary of the new year is computed
+        restFinancialYearMockMvc
+            .perform(get("/api/budget-execution/{financialYearId}", newId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total.recipeAchievements").value(recipe.getNewYearForecast()));
+
+        // The year is opened only once
+        restFinancialYearMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/copy-forward", copied.getId()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.yearexists"));
+        restFinancialYearMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/copy-forward", copied.getId()).param("year", String.valueOf(COPIED_YEAR + 2)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.year").value(COPIED_YEAR + 2));
+    }
+
+    @Test
+    @Transactional
+    void copyForwardNonExistingFinancialYear() throws Exception {
+        restFinancialYearMockMvc.perform(post(ENTITY_API_URL_ID + "/copy-forward", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void deleteFinancialYear() throws Exception {
@@ -741,12 +741,12 @@ class MandateResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         mandate.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restMandateMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, mandate.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(mandate))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Mandate in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
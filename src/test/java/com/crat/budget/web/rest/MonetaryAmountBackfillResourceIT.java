@@ -0,0 +1,114 @@
+package com.crat.budget.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.AnnexDecision;
+import com.crat.budget.domain.Engagement;
+import com.crat.budget.repository.AnnexDecisionRepository;
+import com.crat.budget.repository.EngagementRepository;
+import com.crat.budget.security.AuthoritiesConstants;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link MonetaryAmountBackfillResource} REST controller.
+ * <p>
+ * Not transactional: the chunks are read and written by other threads, which only see committed rows.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class MonetaryAmountBackfillResourceIT {
+
+    private static final String API_URL = "/api/admin/monetary-amounts/backfill";
+
+    @Autowired
+    private AnnexDecisionRepository annexDecisionRepository;
+
+    @Autowired
+    private EngagementRepository engagementRepository;
+
+    @Autowired
+    private MockMvc restMonetaryAmountBackfillMockMvc;
+
+    private AnnexDecision parseableAnnexDecision;
+
+    private AnnexDecision unparseableAnnexDecision;
+
+    private Engagement engagement;
+
+    @BeforeEach
+    public void initTest() {
+        parseableAnnexDecision = annexDecisionRepository.saveAndFlush(
+            AnnexDecisionResourceIT.createEntity().expenseAmount("1 500,50 DA").creditsAlreadyOpen(null).creditsOpen("2.000")
+        );
+        unparseableAnnexDecision = annexDecisionRepository.saveAndFlush(
+            AnnexDecisionResourceIT.createEntity().expenseAmount("n/a").creditsAlreadyOpen(" ").creditsOpen(null)
+        );
+        engagement = engagementRepository.saveAndFlush(
+            EngagementResourceIT.createEntity()
+                .notifiedCredits("10000")
+                .creditCommitted("2500,5")
+                .creditsAvailable("7499.5")
+                .amountProposedCommitment(null)
+        );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        engagementRepository.deleteById(engagement.getId());
+        annexDecisionRepository.deleteById(unparseableAnnexDecision.getId());
+        annexDecisionRepository.deleteById(parseableAnnexDecision.getId());
+    }
+
+    @Test
+    void backfill() throws Exception {
+        restMonetaryAmountBackfillMockMvc
+            .perform(post(API_URL).param("chunkSize", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.unparseableAmounts.[*].id").value(hasItem(unparseableAnnexDecision.getId().intValue())))
+            .andExpect(jsonPath("$.unparseableAmounts[?(@.id == " + unparseableAnnexDecision.getId() + ")].field").value("expenseAmount"))
+            .andExpect(jsonPath("$.unparseableAmounts[?(@.id == " + unparseableAnnexDecision.getId() + ")].value").value("n/a"));
+
+        AnnexDecision annexDecision = annexDecisionRepository.findById(parseableAnnexDecision.getId()).orElseThrow();
+        assertThat(annexDecision.getExpenseAmountValue()).isEqualByComparingTo("1500.50");
+        assertThat(annexDecision.getCreditsAlreadyOpenValue()).isNull();
+        assertThat(annexDecision.getCreditsOpenValue()).isEqualByComparingTo("2000");
+        // The backfill does not conflict with the writes of the users
+        assertThat(annexDecision.getVersion()).isEqualTo(parseableAnnexDecision.getVersion());
+        assertThat(annexDecisionRepository.findById(unparseableAnnexDecision.getId()).orElseThrow().getExpenseAmountValue()).isNull();
+
+        Engagement backfilledEngagement = engagementRepository.findById(engagement.getId()).orElseThrow();
+        assertThat(backfilledEngagement.getNotifiedCreditsValue()).isEqualByComparingTo("10000");
+        assertThat(backfilledEngagement.getCreditCommittedValue()).isEqualByComparingTo("2500.50");
+        assertThat(backfilledEngagement.getCreditsAvailableValue()).isEqualByComparingTo(new BigDecimal("7499.50"));
+        assertThat(backfilledEngagement.getAmountProposedCommitmentValue()).isNull();
+
+        // Running it again writes nothing
+        restMonetaryAmountBackfillMockMvc
+            .perform(post(API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rowsUpdated").value(0));
+    }
+
+    @Test
+    void backfillWithInvalidChunkSize() throws Exception {
+        restMonetaryAmountBackfillMockMvc.perform(post(API_URL).param("chunkSize", "0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void backfillIsForbiddenToUsers() throws Exception {
+        restMonetaryAmountBackfillMockMvc.perform(post(API_URL)).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,124 @@
+package com.crat.budget.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.Article;
+import com.crat.budget.domain.Chapter;
+import com.crat.budget.domain.SubTitle;
+import com.crat.budget.repository.ArticleRepository;
+import com.crat.budget.repository.ChapterRepository;
+import com.crat.budget.repository.SubTitleRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link NomenclatureResource} REST controller.
+ * <p>
+ * Not transactional: the snapshot is only reloaded once the writes are committed.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class NomenclatureResourceIT {
+
+    private static final String API_URL = "/api/nomenclature";
+
+    private static final String UPDATED_DESIGNATION = "CCCCCCCCCC";
+
+    @Autowired
+    private SubTitleRepository subTitleRepository;
+
+    @Autowired
+    private ChapterRepository chapterRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restNomenclatureMockMvc;
+
+    private SubTitle subTitle;
+
+    private Chapter chapter;
+
+    private Article article;
+
+    @BeforeEach
+    public void initTest() {
+        subTitle = subTitleRepository.saveAndFlush(SubTitleResourceIT.createEntity());
+        chapter = chapterRepository.saveAndFlush(ChapterResourceIT.createEntity().subTitle(subTitle));
+        article = articleRepository.saveAndFlush(ArticleResourceIT.createEntity().chapter(chapter));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        articleRepository.deleteById(article.getId());
+        chapterRepository.deleteById(chapter.getId());
+        subTitleRepository.deleteById(subTitle.getId());
+    }
+
+    @Test
+    void getTree() throws Exception {
+        restNomenclatureMockMvc
+            .perform(get(API_URL + "/tree"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.subTitles.[*].id").value(hasItem(subTitle.getId().intValue())))
+            .andExpect(jsonPath("$.subTitles.[*].chapters.[*].id").value(hasItem(chapter.getId().intValue())))
+            .andExpect(jsonPath("$.subTitles.[*].chapters.[*].articles.[*].id").value(hasItem(article.getId().intValue())));
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            // Served from the snapshot
+            restNomenclatureMockMvc
+                .perform(get(API_URL + "/chapters/{id}", chapter.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subTitleId").value(subTitle.getId().intValue()))
+                .andExpect(jsonPath("$.articles.[*].id").value(hasItem(article.getId().intValue())));
+            restNomenclatureMockMvc
+                .perform(get(API_URL + "/sub-titles/{id}", subTitle.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chapters.[0].id").value(chapter.getId().intValue()));
+            restNomenclatureMockMvc
+                .perform(get(API_URL + "/articles").param("code", article.getCode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(article.getId().intValue())));
+            restNomenclatureMockMvc.perform(get(API_URL + "/articles/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void getArticleAfterUpdate() throws Exception {
+        restNomenclatureMockMvc
+            .perform(get(API_URL + "/articles/{id}", article.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.designation").value(article.getDesignation()));
+
+        article = articleRepository.saveAndFlush(article.designation(UPDATED_DESIGNATION));
+
+        restNomenclatureMockMvc
+            .perform(get(API_URL + "/articles/{id}", article.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.designation").value(UPDATED_DESIGNATION))
+            .andExpect(jsonPath("$.chapterId").value(chapter.getId().intValue()));
+    }
+}
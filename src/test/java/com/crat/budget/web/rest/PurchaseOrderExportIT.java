@@ -0,0 +1,144 @@
+package com.crat.budget.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.crat.budget.IntegrationTest;
+import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.domain.PurchaseOrderItem;
+import com.crat.budget.repository.PurchaseOrderItemRepository;
+import com.crat.budget.repository.PurchaseOrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the export of the {@link PurchaseOrderResource} REST controller.
+ * <p>
+ * Not transactional: the export reads the rows with its own connection, which only sees committed rows.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class PurchaseOrderExportIT {
+
+    private static final String API_URL = "/api/purchase-orders/export";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private PurchaseOrderRepository purchaseOrderRepository;
+
+    @Autowired
+    private PurchaseOrderItemRepository purchaseOrderItemRepository;
+
+    @Autowired
+    private MockMvc restPurchaseOrderMockMvc;
+
+    private String ministry;
+
+    private PurchaseOrder purchaseOrder;
+
+    private PurchaseOrder purchaseOrderWithoutItems;
+
+    private PurchaseOrderItem firstItem;
+
+    private PurchaseOrderItem secondItem;
+
+    @BeforeEach
+    public void initTest() {
+        ministry = "Ministry " + UUID.randomUUID();
+        purchaseOrder = purchaseOrderRepository.saveAndFlush(
+            PurchaseOrderResourceIT.createEntity().nameOfTheMinistry(ministry).orderNumber("PO-1")
+        );
+        purchaseOrderWithoutItems = purchaseOrderRepository.saveAndFlush(
+            PurchaseOrderResourceIT.createEntity().nameOfTheMinistry(ministry).orderNumber("PO-2").totalAmountWithTax(null)
+        );
+        firstItem = purchaseOrderItemRepository.saveAndFlush(
+            PurchaseOrderItemResourceIT.createEntity()
+                .productName("Paper, \"A4\"")
+                .unitPrice(new BigDecimal("1E+1"))
+                .purchaseOrder(purchaseOrder)
+        );
+        secondItem = purchaseOrderItemRepository.saveAndFlush(
+            PurchaseOrderItemResourceIT.createEntity().productName("Toner").purchaseOrder(purchaseOrder)
+        );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        purchaseOrderItemRepository.deleteById(secondItem.getId());
+        purchaseOrderItemRepository.deleteById(firstItem.getId());
+        purchaseOrderRepository.deleteById(purchaseOrderWithoutItems.getId());
+        purchaseOrderRepository.deleteById(purchaseOrder.getId());
+    }
+
+    @Test
+    void exportPurchaseOrdersAsCsv() throws Exception {
+        String[] lines = export("csv", "text/csv;charset=UTF-8", "purchase-orders.csv").split("\r\n");
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0])
+            .startsWith("id,orderNumber,orderDate,")
+            .endsWith(",itemId,itemProductName,itemQuantity,itemUnitPrice,itemTotalAmount");
+        assertThat(lines[1])
+            .startsWith(purchaseOrder.getId() + ",PO-1,")
+            .endsWith("," + firstItem.getId() + ",\"Paper, \"\"A4\"\"\",1,10.00,1.00");
+        assertThat(lines[2]).startsWith(purchaseOrder.getId() + ",PO-1,").contains("," + secondItem.getId() + ",Toner,");
+        assertThat(lines[3]).startsWith(purchaseOrderWithoutItems.getId() + ",PO-2,").endsWith(",,,,,,");
+    }
+
+    @Test
+    void exportPurchaseOrdersAsNdjson() throws Exception {
+        String[] lines = export("ndjson", "application/x-ndjson;charset=UTF-8", "purchase-orders.ndjson").split("\n");
+
+        assertThat(lines).hasSize(2);
+        JsonNode first = om.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(purchaseOrder.getId());
+        assertThat(first.get("nameOfTheMinistry").asText()).isEqualTo(ministry);
+        assertThat(first.get("items")).hasSize(2);
+        assertThat(first.get("items").get(0).get("productName").asText()).isEqualTo("Paper, \"A4\"");
+        assertThat(first.get("items").get(1).get("id").asLong()).isEqualTo(secondItem.getId());
+        JsonNode second = om.readTree(lines[1]);
+        assertThat(second.get("id").asLong()).isEqualTo(purchaseOrderWithoutItems.getId());
+        assertThat(second.get("totalAmountWithTax").isNull()).isTrue();
+        assertThat(second.get("items")).isEmpty();
+    }
+
+    @Test
+    void exportPurchaseOrdersWithInvalidFormat() throws Exception {
+        restPurchaseOrderMockMvc
+            .perform(get(API_URL).param("format", "xml"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.exportformatinvalid"));
+    }
+
+    private String export(String format, String contentType, String fileName) throws Exception {
+        MvcResult result = restPurchaseOrderMockMvc
+            .perform(get(API_URL).param("nameOfTheMinistry.equals", ministry).param("sort", "orderNumber,asc").param("format", format))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return restPurchaseOrderMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(contentType))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -12,6 +12,7 @@ import com.crat.budget.IntegrationTest;
 import com.crat.budget.domain.PurchaseOrder;
 import com.crat.budget.domain.PurchaseOrderItem;
 import com.crat.budget.repository.PurchaseOrderItemRepository;
+import com.crat.budget.web.rest.util.SlicePaginationUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
@@ -234,6 +235,56 @@ class PurchaseOrderItemResourceIT {
             .andExpect(jsonPath("$.[*].totalAmount").value(hasItem(sameNumber(DEFAULT_TOTAL_AMOUNT))));
     }
 
+    @Test
+    @Transactional
+    void getAllPurchaseOrderItemsWithoutCount() throws Exception {
+        // Initialize the database
+        insertedPurchaseOrderItem = purchaseOrderItemRepository.saveAndFlush(purchaseOrderItem);
+        PurchaseOrderItem second = purchaseOrderItemRepository.saveAndFlush(createEntity());
+
+        String filter = "sort=id,asc&size=1&count=none&id.in=" + purchaseOrderItem.getId() + "," + second.getId();
+
+        // Get the first slice
+        restPurchaseOrderItemMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(SlicePaginationUtil.HEADER_X_TOTAL_COUNT_MODE, "none"))
+            .andExpect(header().string(SlicePaginationUtil.HEADER_X_HAS_NEXT, "true"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(purchaseOrderItem.getId().intValue()));
+
+        // Get the last slice
+        restPurchaseOrderItemMockMvc
+            .perform(get(ENTITY_API_URL + "?page=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string(SlicePaginationUtil.HEADER_X_HAS_NEXT, "false"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()));
+
+        purchaseOrderItemRepository.delete(second);
+    }
+
+    @Test
+    @Transactional
+    void getAllPurchaseOrderItemsWithEstimatedCount() throws Exception {
+        // Initialize the database
+        insertedPurchaseOrderItem = purchaseOrderItemRepository.saveAndFlush(purchaseOrderItem);
+
+        // The test database has no planner statistics, so the estimate falls back to an exact count
+        restPurchaseOrderItemMockMvc
+            .perform(get(ENTITY_API_URL + "?count=estimate&id.equals=" + purchaseOrderItem.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(header().string(SlicePaginationUtil.HEADER_X_TOTAL_COUNT_MODE, "exact"));
+    }
+
+    @Test
+    @Transactional
+    void getAllPurchaseOrderItemsWithInvalidCountMode() throws Exception {
+        restPurchaseOrderItemMockMvc.perform(get(ENTITY_API_URL + "?count=approximate")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getPurchaseOrderItem() throws Exception {
@@ -788,14 +839,14 @@ class PurchaseOrderItemResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         purchaseOrderItem.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restPurchaseOrderItemMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, purchaseOrderItem.getId())
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(purchaseOrderItem))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the PurchaseOrderItem in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -4,7 +4,11 @@ import static com.crat.budget.domain.PurchaseOrderAsserts.*;
 import static com.crat.budget.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.crat.budget.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -12,23 +16,35 @@ import com.crat.budget.IntegrationTest;
 import com.crat.budget.domain.AnnexDecision;
 import com.crat.budget.domain.Engagement;
 import com.crat.budget.domain.PurchaseOrder;
+import com.crat.budget.domain.PurchaseOrderItem;
 import com.crat.budget.domain.Supplier;
 import com.crat.budget.repository.PurchaseOrderRepository;
+import com.crat.budget.service.dto.PurchaseOrderItemRequestDTO;
+import com.crat.budget.service.dto.PurchaseOrderRequestDTO;
+import com.crat.budget.web.rest.util.KeysetPaginationUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -157,7 +173,8 @@ class PurchaseOrderResourceIT {
     @AfterEach
     public void cleanup() {
         if (insertedPurchaseOrder != null) {
-            purchaseOrderRepository.delete(insertedPurchaseOrder);
+            // Delete by id, the inserted instance may hold a version which was updated meanwhile
+            purchaseOrderRepository.deleteById(insertedPurchaseOrder.getId());
             insertedPurchaseOrder = null;
         }
     }
@@ -201,6 +218,128 @@ class PurchaseOrderResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createPurchaseOrderWithItems() throws Exception {
+        AnnexDecision annexDecision = AnnexDecisionResourceIT.createEntity();
+        em.persist(annexDecision);
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        PurchaseOrderRequestDTO request = createRequest(annexDecision.getId(), 2);
+        restPurchaseOrderMockMvc
+            .perform(post(ENTITY_API_URL + "/with-items").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").isNumber())
+            .andExpect(jsonPath("$.annexDecision.id").value(annexDecision.getId().intValue()))
+            .andExpect(jsonPath("$.purchaseOrderItems", hasSize(2)))
+            .andExpect(jsonPath("$.purchaseOrderItems[?(@.productName == 'Item 0')].totalAmount").value(hasItem(sameNumber(new BigDecimal("3.34")))))
+            .andExpect(jsonPath("$.purchaseOrderItems[?(@.productName == 'Item 1')].totalAmount").value(hasItem(sameNumber(new BigDecimal("6.68")))))
+            // 10.02 without tax, 19% of tax and 1% prepaid
+            .andExpect(jsonPath("$.totalAmountWithoutTax").value(sameNumber(new BigDecimal("10.02"))))
+            .andExpect(jsonPath("$.totalTaxAmount").value(sameNumber(new BigDecimal("1.90"))))
+            .andExpect(jsonPath("$.prepaidTaxAmount").value(sameNumber(new BigDecimal("0.10"))))
+            .andExpect(jsonPath("$.totalAmountWithTax").value(sameNumber(new BigDecimal("11.92"))));
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createPurchaseOrdersWithItemsInBatch() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        List<PurchaseOrderRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            requests.add(createRequest(null, 10));
+        }
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restPurchaseOrderMockMvc
+                .perform(post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(requests)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(40))
+                .andExpect(jsonPath("$.[*].purchaseOrderItems[*].id", hasSize(400)));
+            em.flush();
+
+            // The 440 rows are inserted in batches of hibernate.jdbc.batch_size, with one sequence call per allocation of ids
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(440);
+            assertThat(statistics.getPrepareStatementCount()).isLessThan(50);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 40);
+    }
+
+    @Test
+    @Transactional
+    void createPurchaseOrdersWithItemsWithInvalidRequest() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        // The whole batch is rejected
+        restPurchaseOrderMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(createRequest(null, 1), createRequest(Long.MAX_VALUE, 1))))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.annexdecisionnotfound"));
+        restPurchaseOrderMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        om.writeValueAsBytes(
+                            List.of(
+                                createRequest(null, 1),
+                                createRequest(null, 0),
+                                new PurchaseOrderRequestDTO(null, null, null, null, null, null, null, null, null, null, null)
+                            )
+                        )
+                    )
+            )
+            .andExpect(status().isBadRequest());
+        restPurchaseOrderMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.batchsizeinvalid"));
+        restPurchaseOrderMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/with-items")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(createRequest(null, List.of(new PurchaseOrderItemRequestDTO("Item", 0, BigDecimal.ONE)))))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    private static PurchaseOrderRequestDTO createRequest(Long annexDecisionId, int itemCount) {
+        List<PurchaseOrderItemRequestDTO> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new PurchaseOrderItemRequestDTO("Item " + i, i + 1, new BigDecimal("3.34")));
+        }
+        return createRequest(annexDecisionId, items);
+    }
+
+    private static PurchaseOrderRequestDTO createRequest(Long annexDecisionId, List<PurchaseOrderItemRequestDTO> items) {
+        return new PurchaseOrderRequestDTO(
+            DEFAULT_NAME_OF_THE_MINISTRY,
+            DEFAULT_ORDER_NUMBER,
+            DEFAULT_ORDER_DATE,
+            new BigDecimal("19"),
+            BigDecimal.ONE,
+            DEFAULT_AUTH_EXPENDITURE_NUMBER,
+            DEFAULT_ALLOCATED_CREDITS,
+            annexDecisionId,
+            null,
+            null,
+            items
+        );
+    }
+
     @Test
     @Transactional
     void checkNameOfTheMinistryIsRequired() throws Exception {
@@ -275,6 +414,198 @@ class PurchaseOrderResourceIT {
             .andExpect(jsonPath("$.[*].availableBalance").value(hasItem(sameNumber(DEFAULT_AVAILABLE_BALANCE))));
     }
 
+    @Test
+    @Transactional
+    void getAllPurchaseOrdersWithKeysetPagination() throws Exception {
+        // Initialize the database
+        insertedPurchaseOrder = purchaseOrderRepository.saveAndFlush(purchaseOrder);
+        PurchaseOrder second = purchaseOrderRepository.saveAndFlush(createEntity().orderDate(UPDATED_ORDER_DATE));
+        PurchaseOrder third = purchaseOrderRepository.saveAndFlush(createEntity().orderDate(UPDATED_ORDER_DATE));
+
+        String filter = "sort=orderDate,asc&size=2&id.in=" + purchaseOrder.getId() + "," + second.getId() + "," + third.getId();
+
+        // Get the first window
+        MvcResult firstWindow = restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().exists(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(purchaseOrder.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn();
+        String cursor = firstWindow.getResponse().getHeader(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR);
+
+        // Seek to the last window
+        restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + cursor + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()));
+
+        purchaseOrderRepository.delete(second);
+        purchaseOrderRepository.delete(third);
+    }
+
+    @Test
+    @Transactional
+    void getAllPurchaseOrdersWithInvalidCursor() throws Exception {
+        restPurchaseOrderMockMvc.perform(get(ENTITY_API_URL + "?after=invalid")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllPurchaseOrdersWithIncludedAssociations() throws Exception {
+        // Initialize the database
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Supplier supplier = SupplierResourceIT.createEntity();
+            em.persist(supplier);
+            PurchaseOrder order = createEntity().supplier(supplier);
+            em.persist(order);
+            em.persist(PurchaseOrderItemResourceIT.createEntity().purchaseOrder(order));
+            ids.add(order.getId());
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restPurchaseOrderMockMvc
+                .perform(
+                    get(
+                        ENTITY_API_URL +
+                        "?sort=id,asc&include=supplier,purchaseOrderItems&id.in=" +
+                        ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+                    )
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$.[*].supplier.companyName", everyItem(is(SupplierResourceIT.createEntity().getCompanyName()))))
+                .andExpect(jsonPath("$.[*].purchaseOrderItems[*].id", hasSize(3)));
+
+            // One query for the ids of the page, one for the orders, one for the suppliers and one for the items,
+            // whatever the size of the page
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllPurchaseOrdersByPurchaseOrderItemsArePagedOnce() throws Exception {
+        // Initialize the database
+        List<Long> ids = new ArrayList<>();
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            PurchaseOrder order = createEntity().orderNumber("ORDER-" + i);
+            em.persist(order);
+            for (int j = 0; j < 3; j++) {
+                PurchaseOrderItem item = PurchaseOrderItemResourceIT.createEntity().purchaseOrder(order);
+                em.persist(item);
+                itemIds.add(item.getId());
+            }
+            ids.add(order.getId());
+        }
+        em.flush();
+        em.clear();
+        String idFilter = "&id.in=" + ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String filter = idFilter + "&purchaseOrderItemId.in=" + itemIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        // Each order matches through its three items, but is counted and paged once, in the order of the sort
+        restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=orderNumber,desc&size=1&page=0" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(ids.get(1).intValue()));
+        restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=orderNumber,desc&size=1&page=1&include=purchaseOrderItems" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(ids.get(0).intValue()))
+            .andExpect(jsonPath("$.[0].purchaseOrderItems", hasSize(3)));
+        restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=orderNumber,desc&count=none&size=1&purchaseOrderItemId.specified=false" + idFilter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getAllPurchaseOrderSummaries() throws Exception {
+        // Initialize the database
+        Supplier supplier = SupplierResourceIT.createEntity();
+        em.persist(supplier);
+        insertedPurchaseOrder = purchaseOrderRepository.saveAndFlush(purchaseOrder.supplier(supplier));
+
+        // Get the summaries of the purchaseOrders of the supplier
+        restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?view=summary&sort=orderDate,desc&supplierId.equals=" + supplier.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(purchaseOrder.getId().intValue()))
+            .andExpect(jsonPath("$.[0].orderNumber").value(DEFAULT_ORDER_NUMBER))
+            .andExpect(jsonPath("$.[0].orderDate").value(DEFAULT_ORDER_DATE.toString()))
+            .andExpect(jsonPath("$.[0].nameOfTheMinistry").value(DEFAULT_NAME_OF_THE_MINISTRY))
+            .andExpect(jsonPath("$.[0].totalAmountWithTax").value(sameNumber(DEFAULT_TOTAL_AMOUNT_WITH_TAX)))
+            .andExpect(jsonPath("$.[0].supplierId").value(supplier.getId().intValue()))
+            .andExpect(jsonPath("$.[0].supplierCompanyName").value(supplier.getCompanyName()))
+            .andExpect(jsonPath("$.[0].taxRate").doesNotExist());
+
+        restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?view=summary&supplierId.equals=" + (supplier.getId() + 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getAllPurchaseOrdersWithInvalidInclude() throws Exception {
+        restPurchaseOrderMockMvc.perform(get(ENTITY_API_URL + "?include=orderNumber")).andExpect(status().isBadRequest());
+        restPurchaseOrderMockMvc.perform(get(ENTITY_API_URL + "?include=unknown")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllDistinctPurchaseOrdersSortedOnOtherColumns() throws Exception {
+        insertedPurchaseOrder = purchaseOrderRepository.saveAndFlush(purchaseOrder);
+        String filter = "&distinct=true&id.equals=" + purchaseOrder.getId();
+
+        // Only the ids are selected, not the sort columns
+        restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=orderDate,desc" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(purchaseOrder.getId().intValue())));
+        restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=supplier.companyName,asc&sort=id,asc" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(purchaseOrder.getId().intValue())));
+        restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "/count?distinct=true&id.equals=" + purchaseOrder.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("1"));
+    }
+
+    @Test
+    @Transactional
+    void getAllPurchaseOrdersSortedOnACollection() throws Exception {
+        // Sorting on the items would repeat the purchase orders, once per item
+        restPurchaseOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=purchaseOrderItems.productName,asc"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.sortinvalid"));
+
+        // Sorting on a single valued association is allowed
+        restPurchaseOrderMockMvc.perform(get(ENTITY_API_URL + "?sort=supplier.companyName,asc&sort=id,asc")).andExpect(status().isOk());
+    }
+
     @Test
     @Transactional
     void getPurchaseOrder() throws Exception {
@@ -285,6 +616,7 @@ class PurchaseOrderResourceIT {
         restPurchaseOrderMockMvc
             .perform(get(ENTITY_API_URL_ID, purchaseOrder.getId()))
             .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.id").value(purchaseOrder.getId().intValue()))
             .andExpect(jsonPath("$.nameOfTheMinistry").value(DEFAULT_NAME_OF_THE_MINISTRY))
@@ -1381,11 +1713,151 @@ class PurchaseOrderResourceIT {
         assertPersistedPurchaseOrderToMatchAllProperties(updatedPurchaseOrder);
     }
 
+    @Test
+    @Transactional
+    void putPurchaseOrderWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedPurchaseOrder = purchaseOrderRepository.saveAndFlush(purchaseOrder);
+
+        PurchaseOrder updatedPurchaseOrder = purchaseOrderRepository.findById(purchaseOrder.getId()).orElseThrow();
+        em.detach(updatedPurchaseOrder);
+        updatedPurchaseOrder.orderNumber(UPDATED_ORDER_NUMBER).version(null);
+
+        restPurchaseOrderMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedPurchaseOrder.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedPurchaseOrder))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.version").value(1));
+
+        assertThat(getPersistedPurchaseOrder(updatedPurchaseOrder).getOrderNumber()).isEqualTo(UPDATED_ORDER_NUMBER);
+    }
+
+    @Test
+    @Transactional
+    void putPurchaseOrderWithStaleIfMatch() throws Exception {
+        // Initialize the database
+        insertedPurchaseOrder = purchaseOrderRepository.saveAndFlush(purchaseOrder);
+
+        PurchaseOrder updatedPurchaseOrder = purchaseOrderRepository.findById(purchaseOrder.getId()).orElseThrow();
+        em.detach(updatedPurchaseOrder);
+        updatedPurchaseOrder.orderNumber(UPDATED_ORDER_NUMBER);
+
+        // The purchaseOrder was updated meanwhile, by another client
+        restPurchaseOrderMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedPurchaseOrder.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"3\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedPurchaseOrder))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restPurchaseOrderMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedPurchaseOrder.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"3\"")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedPurchaseOrder))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // A weak entity tag never matches, even the current version
+        restPurchaseOrderMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedPurchaseOrder.getId())
+                    .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedPurchaseOrder))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restPurchaseOrderMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedPurchaseOrder.getId())
+                    .header(HttpHeaders.IF_MATCH, "invalid")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedPurchaseOrder))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertThat(getPersistedPurchaseOrder(updatedPurchaseOrder).getOrderNumber()).isEqualTo(DEFAULT_ORDER_NUMBER);
+    }
+
+    @Test
+    @Transactional
+    void putPurchaseOrderWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedPurchaseOrder = purchaseOrderRepository.saveAndFlush(purchaseOrder);
+
+        PurchaseOrder updatedPurchaseOrder = purchaseOrderRepository.findById(purchaseOrder.getId()).orElseThrow();
+        em.detach(updatedPurchaseOrder);
+        updatedPurchaseOrder.orderNumber(UPDATED_ORDER_NUMBER).version(3);
+
+        // Without If-Match, a stale version in the body is an optimistic locking failure
+        restPurchaseOrderMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedPurchaseOrder.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedPurchaseOrder))
+            )
+            .andExpect(status().isConflict());
+
+        assertThat(getPersistedPurchaseOrder(updatedPurchaseOrder).getOrderNumber()).isEqualTo(DEFAULT_ORDER_NUMBER);
+    }
+
+    @Test
+    @Transactional
+    void updatePurchaseOrderWithoutVersion() throws Exception {
+        // Initialize the database
+        insertedPurchaseOrder = purchaseOrderRepository.saveAndFlush(purchaseOrder);
+
+        PurchaseOrder updatedPurchaseOrder = purchaseOrderRepository.findById(purchaseOrder.getId()).orElseThrow();
+        em.detach(updatedPurchaseOrder);
+        updatedPurchaseOrder.orderNumber(UPDATED_ORDER_NUMBER).version(null);
+
+        // Neither If-Match nor a version in the body
+        restPurchaseOrderMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedPurchaseOrder.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedPurchaseOrder))
+            )
+            .andExpect(status().is(HttpStatus.PRECONDITION_REQUIRED.value()));
+
+        restPurchaseOrderMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedPurchaseOrder.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedPurchaseOrder))
+            )
+            .andExpect(status().is(HttpStatus.PRECONDITION_REQUIRED.value()));
+
+        assertThat(getPersistedPurchaseOrder(updatedPurchaseOrder).getOrderNumber()).isEqualTo(DEFAULT_ORDER_NUMBER);
+
+        // If-Match: * updates any version
+        restPurchaseOrderMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedPurchaseOrder.getId())
+                    .header(HttpHeaders.IF_MATCH, "*")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedPurchaseOrder))
+            )
+            .andExpect(status().isOk());
+
+        assertThat(getPersistedPurchaseOrder(updatedPurchaseOrder).getOrderNumber()).isEqualTo(UPDATED_ORDER_NUMBER);
+    }
+
     @Test
     @Transactional
     void putNonExistingPurchaseOrder() throws Exception {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         purchaseOrder.setId(longCount.incrementAndGet());
+        purchaseOrder.setVersion(0);
 
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restPurchaseOrderMockMvc
@@ -1445,6 +1917,7 @@ class PurchaseOrderResourceIT {
         // Update the purchaseOrder using partial update
         PurchaseOrder partialUpdatedPurchaseOrder = new PurchaseOrder();
         partialUpdatedPurchaseOrder.setId(purchaseOrder.getId());
+        partialUpdatedPurchaseOrder.setVersion(purchaseOrder.getVersion());
 
         partialUpdatedPurchaseOrder
             .orderNumber(UPDATED_ORDER_NUMBER)
@@ -1481,6 +1954,7 @@ class PurchaseOrderResourceIT {
         // Update the purchaseOrder using partial update
         PurchaseOrder partialUpdatedPurchaseOrder = new PurchaseOrder();
         partialUpdatedPurchaseOrder.setId(purchaseOrder.getId());
+        partialUpdatedPurchaseOrder.setVersion(purchaseOrder.getVersion());
 
         partialUpdatedPurchaseOrder
             .nameOfTheMinistry(UPDATED_NAME_OF_THE_MINISTRY)
@@ -1510,20 +1984,54 @@ class PurchaseOrderResourceIT {
         assertPurchaseOrderUpdatableFieldsEquals(partialUpdatedPurchaseOrder, getPersistedPurchaseOrder(partialUpdatedPurchaseOrder));
     }
 
+    @Test
+    @Transactional
+    void partialUpdatePurchaseOrderWithSingleUpdateStatement() throws Exception {
+        // Initialize the database
+        insertedPurchaseOrder = purchaseOrderRepository.saveAndFlush(purchaseOrder);
+        em.clear();
+
+        PurchaseOrder partialUpdatedPurchaseOrder = new PurchaseOrder();
+        partialUpdatedPurchaseOrder.setId(purchaseOrder.getId());
+        partialUpdatedPurchaseOrder.setVersion(purchaseOrder.getVersion());
+        partialUpdatedPurchaseOrder.orderNumber(UPDATED_ORDER_NUMBER);
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restPurchaseOrderMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedPurchaseOrder.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(om.writeValueAsBytes(partialUpdatedPurchaseOrder))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderNumber").value(UPDATED_ORDER_NUMBER))
+                .andExpect(jsonPath("$.nameOfTheMinistry").value(DEFAULT_NAME_OF_THE_MINISTRY));
+
+            // One update and one select to return the updated row: the budget execution does not read the order number
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     @Transactional
     void patchNonExistingPurchaseOrder() throws Exception {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         purchaseOrder.setId(longCount.incrementAndGet());
+        purchaseOrder.setVersion(0);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restPurchaseOrderMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, purchaseOrder.getId())
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(purchaseOrder))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the PurchaseOrder in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
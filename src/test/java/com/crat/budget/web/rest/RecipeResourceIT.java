@@ -641,12 +641,12 @@ class RecipeResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         recipe.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restRecipeMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, recipe.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(recipe))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Recipe in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -505,14 +505,14 @@ class SubTitleResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         subTitle.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restSubTitleMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, subTitle.getId())
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(subTitle))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the SubTitle in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -1142,14 +1142,14 @@ class SupplierResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         supplier.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The update matches no row
         restSupplierMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, supplier.getId())
                     .contentType("application/merge-patch+json")
                     .content(om.writeValueAsBytes(supplier))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Supplier in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
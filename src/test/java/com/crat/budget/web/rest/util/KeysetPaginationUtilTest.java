@@ -0,0 +1,82 @@
+package com.crat.budget.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.crat.budget.domain.enumeration.FinancialCategoryEnum;
+import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link KeysetPaginationUtil} utility class.
+ */
+class KeysetPaginationUtilTest {
+
+    @Test
+    void emptyCursorStartsAtTheFirstWindow() {
+        ScrollPosition position = KeysetPaginationUtil.decodeCursor("", "entity");
+        assertThat(position.isInitial()).isTrue();
+    }
+
+    @Test
+    void cursorRoundTripKeepsTypedKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("orderDate", Instant.parse("2025-03-02T14:36:26Z"));
+        keys.put("totalAmountWithTax", new BigDecimal("1234.50"));
+        keys.put("category", FinancialCategoryEnum.values()[0]);
+        keys.put("orderNumber", "BC/2025/001");
+        keys.put("id", 42L);
+        Window<String> window = Window.from(List.of("a", "b"), index -> ScrollPosition.forward(keys), true);
+
+        String cursor = KeysetPaginationUtil.encodeNextCursor(window);
+        ScrollPosition position = KeysetPaginationUtil.decodeCursor(cursor, "entity");
+
+        assertThat(position).isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) position).getKeys()).containsExactlyEntriesOf(keys);
+    }
+
+    @Test
+    void lastWindowHasNoNextCursor() {
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("id", 1L)), false);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            UriComponentsBuilder.fromUriString("/api/purchase-orders?size=1&after="),
+            window
+        );
+
+        assertThat(headers.containsKey(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR)).isFalse();
+        assertThat(headers.containsKey(HttpHeaders.LINK)).isFalse();
+    }
+
+    @Test
+    void nextLinkCarriesTheCursor() {
+        Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("id", 1L)), true);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            UriComponentsBuilder.fromUriString("/api/purchase-orders?size=1&page=3&after="),
+            window
+        );
+
+        String cursor = headers.getFirst(KeysetPaginationUtil.HEADER_X_NEXT_CURSOR);
+        assertThat(cursor).isNotBlank();
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo("</api/purchase-orders?size=1&after=" + cursor + ">; rel=\"next\"");
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor("not-a-cursor", "entity")).isInstanceOf(BadRequestAlertException.class);
+        String foreignEnum = Base64.getUrlEncoder().encodeToString("{\"k\":[\"E\",\"java.time.DayOfWeek#MONDAY\"]}".getBytes());
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor(foreignEnum, "entity")).isInstanceOf(BadRequestAlertException.class);
+    }
+}
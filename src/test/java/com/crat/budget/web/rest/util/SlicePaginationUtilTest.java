@@ -0,0 +1,72 @@
+package com.crat.budget.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.crat.budget.service.CountMode;
+import com.crat.budget.service.EstimatedPage;
+import com.crat.budget.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link SlicePaginationUtil} utility class.
+ */
+class SlicePaginationUtilTest {
+
+    private static final String BASE_URL = "/api/_search/example";
+
+    @Test
+    void countModeDefaultsToExact() {
+        assertThat(SlicePaginationUtil.parseCountMode(null, "entity")).isEqualTo(CountMode.EXACT);
+        assertThat(SlicePaginationUtil.parseCountMode("", "entity")).isEqualTo(CountMode.EXACT);
+        assertThat(SlicePaginationUtil.parseCountMode("None", "entity")).isEqualTo(CountMode.NONE);
+    }
+
+    @Test
+    void unknownCountModeIsRejected() {
+        assertThatThrownBy(() -> SlicePaginationUtil.parseCountMode("approximate", "entity")).isInstanceOf(BadRequestAlertException.class);
+    }
+
+    @Test
+    void sliceHeadersHaveNoTotal() {
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true);
+
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(UriComponentsBuilder.fromUriString(BASE_URL), slice);
+
+        assertThat(headers.get("X-Total-Count")).isNull();
+        assertThat(headers.getFirst(SlicePaginationUtil.HEADER_X_TOTAL_COUNT_MODE)).isEqualTo("none");
+        assertThat(headers.getFirst(SlicePaginationUtil.HEADER_X_HAS_NEXT)).isEqualTo("true");
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(
+            "<" +
+            BASE_URL +
+            "?page=2&size=2>; rel=\"next\",<" +
+            BASE_URL +
+            "?page=0&size=2>; rel=\"prev\",<" +
+            BASE_URL +
+            "?page=0&size=2>; rel=\"first\""
+        );
+    }
+
+    @Test
+    void pageHeadersReportTheCountMode() {
+        HttpHeaders exact = SlicePaginationUtil.generateSliceHttpHeaders(
+            UriComponentsBuilder.fromUriString(BASE_URL),
+            new PageImpl<>(List.of("a", "b"), PageRequest.of(0, 2), 10)
+        );
+        HttpHeaders estimate = SlicePaginationUtil.generateSliceHttpHeaders(
+            UriComponentsBuilder.fromUriString(BASE_URL),
+            new EstimatedPage<>(List.of("a", "b"), PageRequest.of(0, 2), 1000)
+        );
+
+        assertThat(exact.getFirst("X-Total-Count")).isEqualTo("10");
+        assertThat(exact.getFirst(SlicePaginationUtil.HEADER_X_TOTAL_COUNT_MODE)).isEqualTo("exact");
+        assertThat(estimate.getFirst("X-Total-Count")).isEqualTo("1000");
+        assertThat(estimate.getFirst(SlicePaginationUtil.HEADER_X_TOTAL_COUNT_MODE)).isEqualTo("estimate");
+    }
+}